@@ -0,0 +1,63 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.benchmark;
+
+import lombok.Getter;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.base.Localize;
+import org.ressec.lychee.localization.type.calendar.DayType;
+import org.ressec.lychee.localization.type.calendar.MonthType;
+
+/**
+ * A localizable object (similar to the ones of the applications) used by the {@link LocalizableBenchmark}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public class BenchmarkLocalizable implements Localizable
+{
+    /**
+     * Day (used to resolve the resource bundle key of the day name).
+     */
+    @Getter
+    final DayType day;
+
+    /**
+     * Month (used to resolve the resource bundle key of the month name).
+     */
+    @Getter
+    final MonthType month;
+
+    /**
+     * Localized name of the day.
+     */
+    @Getter
+    @Localize(bundle = "i18n/day", key = "day.${day}.name")
+    String dayName;
+
+    /**
+     * Localized name of the month.
+     */
+    @Getter
+    @Localize(bundle = "i18n/month", key = "month.${month}.name")
+    String monthName;
+
+    /**
+     * Creates a new localizable object.
+     * @param day Day.
+     * @param month Month.
+     */
+    public BenchmarkLocalizable(final DayType day, final MonthType month)
+    {
+        this.day = day;
+        this.month = month;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the Lychee benchmark suites, single-threaded then multi-threaded (one thread per available processor), with
+ * the allocation rates reported by the GC profiler.
+ * <p>
+ * Usage: {@code java -jar lychee-benchmark/target/benchmarks.jar [regex]}, where the optional regular expression
+ * selects the benchmarks to run (all by default). The JSON results are written in the directory set by the
+ * {@value #PROPERTY} system property ({@code benchmark} by default), so that they can be compared between two
+ * versions. The standard JMH command line remains available using: {@code java -cp benchmarks.jar org.openjdk.jmh.Main}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class BenchmarkRunner
+{
+    /**
+     * System property that can be set to the directory the results are written in.
+     */
+    public static final String PROPERTY = "lychee.benchmark.directory";
+
+    /**
+     * Avoid direct instantiation.
+     */
+    private BenchmarkRunner()
+    {
+        // Empty
+    }
+
+    /**
+     * Runs the benchmarks.
+     * @param arguments Optional regular expression selecting the benchmarks to run.
+     * @throws RunnerException Thrown in case the benchmarks cannot be run.
+     */
+    public static void main(final String[] arguments) throws RunnerException
+    {
+        String include = arguments.length > 0 ? arguments[0] : BenchmarkRunner.class.getPackageName() + ".*Benchmark";
+        File directory = new File(System.getProperty(PROPERTY, "benchmark"));
+        if (!directory.exists() && !directory.mkdirs())
+        {
+            throw new RunnerException(String.format("Cannot create benchmark result directory: '%s'", directory));
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        for (int threads : new int[] { 1, Runtime.getRuntime().availableProcessors() })
+        {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(directory, String.format("lychee-%s-%dt.json", timestamp, threads)).getPath())
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ressec.lychee.localization.type.calendar.DayType;
+import org.ressec.lychee.localization.type.geography.country.CountryType;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the localization of the localized enumerations (through their generated localizers).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumLocalizationBenchmark
+{
+    /**
+     * Locale the enumerations are localized to.
+     */
+    @Param({ "en", "fr" })
+    public String language;
+
+    /**
+     * Locale built from the language parameter.
+     */
+    private Locale locale;
+
+    /**
+     * Localizes the enumerations once so that their resource bundles are loaded before the measurements.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        locale = Locale.forLanguageTag(language);
+        DayType.SUNDAY.getName(locale);
+        CountryType.FRANCE.getName(locale);
+    }
+
+    /**
+     * Localizes the name of a day.
+     * @return Localized name.
+     */
+    @Benchmark
+    public String dayName()
+    {
+        return DayType.SUNDAY.getName(locale);
+    }
+
+    /**
+     * Localizes the name of a country.
+     * @return Localized name.
+     */
+    @Benchmark
+    public String countryName()
+    {
+        return CountryType.FRANCE.getName(locale);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.type.calendar.DayType;
+import org.ressec.lychee.localization.type.calendar.MonthType;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the localization of the annotated fields of a {@link Localizable} object.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalizableBenchmark
+{
+    /**
+     * Localizable object.
+     */
+    private BenchmarkLocalizable object;
+
+    /**
+     * Is the next localization in French?
+     */
+    private boolean french;
+
+    /**
+     * Creates and localizes the object once so that the resource bundles are loaded before the measurements.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        object = new BenchmarkLocalizable(DayType.SUNDAY, MonthType.MAY);
+        object.localize(Locale.ENGLISH);
+    }
+
+    /**
+     * Localizes the object (alternately in two languages).
+     * @return Localized name of the day.
+     */
+    @Benchmark
+    public String localize()
+    {
+        french = !french;
+        object.localize(french ? Locale.FRENCH : Locale.GERMAN);
+        return object.getDayName();
+    }
+}
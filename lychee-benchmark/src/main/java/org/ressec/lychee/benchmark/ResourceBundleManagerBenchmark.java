@@ -0,0 +1,97 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the resource bundle entry lookups of the {@link ResourceBundleManager}: hits (the entry exists for the
+ * requested language), fallbacks (no resource bundle exists for the requested language) and misses (the entry does
+ * not exist).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceBundleManagerBenchmark
+{
+    /**
+     * Resource bundle used by the benchmarks.
+     */
+    private static final String BUNDLE = "i18n/day";
+
+    /**
+     * Language without resource bundle (resolved through the fallback languages).
+     */
+    private static final Locale SWAHILI = new Locale("sw");
+
+    /**
+     * Resource bundle manager.
+     */
+    private ResourceBundleManager manager;
+
+    /**
+     * Loads the resource bundle for all its languages before the measurements.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        manager = ResourceBundleManager.getInstance();
+        manager.load(BUNDLE);
+    }
+
+    /**
+     * Looks up an existing entry for a language having a resource bundle.
+     * @return Localized value.
+     */
+    @Benchmark
+    public String getHit()
+    {
+        return manager.get(BUNDLE, "day.SUNDAY.name", Locale.FRENCH);
+    }
+
+    /**
+     * Resolves an existing entry for a language having no resource bundle.
+     * @return Localized value.
+     */
+    @Benchmark
+    public String resolveFallback()
+    {
+        return manager.resolve(BUNDLE, "day.SUNDAY.name", SWAHILI);
+    }
+
+    /**
+     * Looks up an entry not existing in the resource bundle.
+     * @return Exception raised by the lookup.
+     */
+    @Benchmark
+    public Object getMiss()
+    {
+        try
+        {
+            return manager.get(BUNDLE, "day.UNKNOWN.name", Locale.FRENCH);
+        }
+        catch (ResourceBundleException e)
+        {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the construction and the localization of {@link Rope}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RopeBenchmark
+{
+    /**
+     * Resource bundle used by the benchmarks.
+     */
+    private static final String BUNDLE = "i18n/day";
+
+    /**
+     * Rope localized alternately in two languages (a rope is only localized again when its locale changes).
+     */
+    private Rope rope;
+
+    /**
+     * Is the next localization in French?
+     */
+    private boolean french;
+
+    /**
+     * Loads the resource bundle and creates the rope before the measurements.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        ResourceBundleManager.getInstance().load(BUNDLE);
+        rope = Rope.from(BUNDLE, "day.SUNDAY.name");
+    }
+
+    /**
+     * Creates (and localizes to the current locale) a rope.
+     * @return Rope.
+     */
+    @Benchmark
+    public Rope create()
+    {
+        return Rope.from(BUNDLE, "day.MONDAY.name");
+    }
+
+    /**
+     * Localizes a rope to another locale.
+     * @return Localized value.
+     */
+    @Benchmark
+    public String localize()
+    {
+        french = !french;
+        rope.localize(french ? Locale.FRENCH : Locale.GERMAN);
+        return rope.getValue();
+    }
+}
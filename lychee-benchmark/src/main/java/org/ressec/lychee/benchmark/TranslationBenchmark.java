@@ -0,0 +1,171 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpServer;
+import io.gsonfire.GsonFireBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.ressec.avocado.core.helper.JsonHelper;
+import org.ressec.lychee.translation.base.TranslationException;
+import org.ressec.lychee.translation.base.operation.TranslationOperationTranslate;
+import org.ressec.lychee.translation.base.request.ITranslationRequest;
+import org.ressec.lychee.translation.base.request.TranslationRequest;
+import org.ressec.lychee.translation.base.result.ITranslationOperationResult;
+import org.ressec.lychee.translation.base.result.ITranslationResult;
+import org.ressec.lychee.translation.base.result.ITranslationResultError;
+import org.ressec.lychee.translation.engine.google.version.v1.GoogleTranslationProcessorVersion1;
+import org.ressec.lychee.translation.engine.google.version.v1.result.GoogleTranslationOperationResultVersion1Deserializer;
+import org.ressec.lychee.translation.engine.google.version.v1.result.GoogleTranslationResultErrorDeserializer;
+import org.ressec.lychee.translation.engine.google.version.v1.result.GoogleTranslationResultVersion1Deserializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the translation processor against an in-process fake endpoint (so that only the client side costs are
+ * measured: request building, HTTP exchange over the loopback interface and result deserialization), and the
+ * deserialization of the translation results alone.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslationBenchmark
+{
+    /**
+     * Response of the fake endpoint (a Google translation API version 1 result).
+     */
+    private static final String RESPONSE = "{\"sentences\":[{\"trans\":\"Sunday\",\"orig\":\"Dimanche\",\"backend\":1}],"
+            + "\"src\":\"fr\",\"confidence\":1.0,"
+            + "\"ld_result\":{\"srclangs\":[\"fr\"],\"srclangs_confidences\":[1.0],\"extended_srclangs\":[\"fr\"]}}";
+
+    /**
+     * Type of the deserialized translation results.
+     */
+    private static final Type RESULT_TYPE = new TypeToken<ITranslationResult>(){}.getType();
+
+    /**
+     * Fake endpoint.
+     */
+    private HttpServer server;
+
+    /**
+     * Executor of the fake endpoint (serving the multi-threaded runs concurrently).
+     */
+    private ExecutorService executor;
+
+    /**
+     * Endpoint URL of the fake translation API.
+     */
+    private String endpoint;
+
+    /**
+     * Json builder configured as the one of the Google translation API version 1 processor.
+     */
+    private Gson gson;
+
+    /**
+     * Starts the fake endpoint.
+     * @throws IOException Thrown in case the fake endpoint cannot be started.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        byte[] response = RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange ->
+        {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream output = exchange.getResponseBody())
+            {
+                output.write(response);
+            }
+        });
+
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        server.setExecutor(executor);
+        server.start();
+
+        endpoint = String.format("http://%s:%d/translate_a/t?client=dict-chrome-ex", server.getAddress().getHostString(), server.getAddress().getPort());
+
+        gson = new GsonFireBuilder()
+                .createGsonBuilder()
+                .setDateFormat("yyyy-MM-dd")
+                .setPrettyPrinting()
+                .enableComplexMapKeySerialization()
+                .registerTypeAdapter(ITranslationResult.class, new GoogleTranslationResultVersion1Deserializer())
+                .registerTypeAdapter(ITranslationResultError.class, new GoogleTranslationResultErrorDeserializer())
+                .registerTypeAdapter(ITranslationOperationResult.class, new GoogleTranslationOperationResultVersion1Deserializer())
+                .create();
+    }
+
+    /**
+     * Stops the fake endpoint.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executes a translation request (one translate operation) against the fake endpoint.
+     * @return Translated text.
+     * @throws TranslationException Thrown in case the translation fails.
+     */
+    @Benchmark
+    public String execute() throws TranslationException
+    {
+        ITranslationRequest request = new TranslationRequest("translate");
+        TranslationOperationTranslate operation = TranslationOperationTranslate.builder()
+                .withText("Dimanche")
+                .withSourceLanguage(Locale.FRENCH)
+                .withTargetLanguage(Locale.ENGLISH)
+                .build();
+        request.addOperation(operation);
+
+        GoogleTranslationProcessorVersion1 processor = GoogleTranslationProcessorVersion1.builder()
+                .withRequest(request)
+                .build();
+        processor.setEndpoint(endpoint);
+        processor.execute();
+
+        return operation.getTranslatedText();
+    }
+
+    /**
+     * Deserializes a translation result.
+     * @return Translation result.
+     */
+    @Benchmark
+    public ITranslationResult deserialize()
+    {
+        return JsonHelper.deserialize(gson, RESPONSE, RESULT_TYPE);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.base;
+
+import lombok.NonNull;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Enumeration of the case functions that can be applied to the variables of a {@link Localize} bundle or key
+ * template.
+ * <br><br><b>Example:</b><br>
+ * key = "day.LOWER(${day}).name" resolves to {@code day.monday.name} for the {@code MONDAY} day.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum CaseFunction
+{
+    /**
+     * Converts all the characters to lower case ({@code MONDAY} becomes {@code monday}).
+     */
+    LOWER
+            {
+                @Override
+                public String apply(final @NonNull String value)
+                {
+                    return value.toLowerCase(Locale.ROOT);
+                }
+            },
+
+    /**
+     * Converts all the characters to upper case ({@code monday} becomes {@code MONDAY}).
+     */
+    UPPER
+            {
+                @Override
+                public String apply(final @NonNull String value)
+                {
+                    return value.toUpperCase(Locale.ROOT);
+                }
+            },
+
+    /**
+     * Converts the first character to upper case and the other ones to lower case ({@code MONDAY} becomes
+     * {@code Monday}).
+     */
+    CAPITALIZE
+            {
+                @Override
+                public String apply(final @NonNull String value)
+                {
+                    return value.isEmpty()
+                            ? value
+                            : value.substring(0, 1).toUpperCase(Locale.ROOT) + value.substring(1).toLowerCase(Locale.ROOT);
+                }
+            },
+
+    /**
+     * Converts the first character to upper case, leaving the other ones unchanged ({@code mONDAY} becomes
+     * {@code MONDAY}).
+     */
+    CAPFIRST
+            {
+                @Override
+                public String apply(final @NonNull String value)
+                {
+                    return value.isEmpty() ? value : value.substring(0, 1).toUpperCase(Locale.ROOT) + value.substring(1);
+                }
+            },
+
+    /**
+     * Converts the first character of each word (separated by white spaces) to upper case, leaving the other ones
+     * unchanged ({@code new zealand} becomes {@code New Zealand}).
+     */
+    CAPFIRSTALL
+            {
+                @Override
+                public String apply(final @NonNull String value)
+                {
+                    StringBuilder builder = new StringBuilder(value.length());
+                    boolean first = true;
+
+                    for (int i = 0; i < value.length(); i++)
+                    {
+                        char c = value.charAt(i);
+                        builder.append(first ? Character.toUpperCase(c) : c);
+                        first = Character.isWhitespace(c);
+                    }
+
+                    return builder.toString();
+                }
+            };
+
+    /**
+     * Applies the case function to the given value.
+     * @param value Value.
+     * @return Converted value.
+     */
+    public abstract String apply(final @NonNull String value);
+
+    /**
+     * Returns the case function matching the given name.
+     * @param name Case function name.
+     * @return Optional case function.
+     */
+    public static Optional<CaseFunction> from(final @NonNull String name)
+    {
+        for (CaseFunction function : values())
+        {
+            if (function.name().equals(name))
+            {
+                return Optional.of(function);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -50,7 +50,8 @@ public interface Localizable extends Serializable
 
     /**
      * Localizes all entities (annotated fields and annotated methods) implementing the {@link Localizable} interface
-     * using the provided locale.
+     * using the provided locale. When the provided locale is the previous one, the entities are only localized again
+     * if the resource bundles changed since (see {@link #localizeIfStale(Locale)}).
      * @param locale Locale.
      * @param previous Previous locale used for a localization.
      * @return Locale used to realize the localization.
@@ -61,7 +62,37 @@ public interface Localizable extends Serializable
         {
             ResourceBundleManager.getInstance().resolveLocalizable(this, locale);
         }
+        else
+        {
+            ResourceBundleManager.getInstance().resolveLocalizableIfStale(this, locale);
+        }
+
+        return locale;
+    }
+
+    /**
+     * Localizes all entities (annotated fields and annotated methods) implementing the {@link Localizable} interface
+     * using the provided locale, unless they have already been localized to this locale since the resource bundles
+     * last changed (see {@link ResourceBundleManager#getEpoch()}).
+     * @param locale Locale.
+     * @return Locale used to realize the localization.
+     */
+    default Locale localizeIfStale(final @NonNull Locale locale)
+    {
+        ResourceBundleManager.getInstance().resolveLocalizableIfStale(this, locale);
+        return locale;
+    }
 
+    /**
+     * Localizes this entity and, transitively, the localizable entities it holds (see
+     * {@link ResourceBundleManager#resolveGraph(Object, Locale)}), the entities already localized to the provided
+     * locale being skipped.
+     * @param locale Locale.
+     * @return Locale used to realize the localization.
+     */
+    default Locale localizeGraph(final @NonNull Locale locale)
+    {
+        ResourceBundleManager.getInstance().resolveGraph(this, locale);
         return locale;
     }
-}
\ No newline at end of file
+}
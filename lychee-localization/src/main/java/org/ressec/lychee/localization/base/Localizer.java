@@ -0,0 +1,37 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.base;
+
+import lombok.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Provides a reflection free localization of the fields annotated with the {@link Localize} annotation of a
+ * {@link Localizable} entity.
+ * <p>
+ * Implementations are generated at compile time by the {@code lychee-processor} annotation processor (a class named
+ * {@code <Class>Localizer} is generated in the package of each localizable class) and automatically used by the
+ * {@link Localizable#localize()} services.
+ * @param <T> Type of the localizable entity.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface Localizer<T extends Localizable>
+{
+    /**
+     * Localizes the annotated fields of the given entity.
+     * @param instance Localizable entity.
+     * @param locale Locale.
+     */
+    void localize(final @NonNull T instance, final @NonNull Locale locale);
+}
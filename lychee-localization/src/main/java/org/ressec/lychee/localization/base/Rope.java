@@ -31,6 +31,27 @@ import java.util.Locale;
 @EqualsAndHashCode
 public final class Rope implements Serializable
 {
+    /**
+     * System property setting the maximum number of locales whose localized value is cached by a rope (0 to disable
+     * the cache).
+     */
+    public static final String CACHE_SIZE_PROPERTY = "lychee.localization.rope.cache.size";
+
+    /**
+     * Default maximum number of locales whose localized value is cached by a rope.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 4;
+
+    /**
+     * Maximum number of locales whose localized value is cached by a rope.
+     */
+    private static final int CACHE_SIZE = Math.max(0, Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE));
+
+    /**
+     * Template variable prefix of a bundle or key depending on the state of the rope reference.
+     */
+    private static final String VARIABLE_PREFIX = "${";
+
     /**
      * Underlying string current value.
      */
@@ -62,8 +83,21 @@ public final class Rope implements Serializable
     @EqualsAndHashCode.Exclude
     private String key;
 
+    /**
+     * Arguments of the localized message or {@code null} if the resource bundle value is not a message to format.
+     */
+    @Getter
+    @EqualsAndHashCode.Exclude
+    private transient Object[] arguments;
+
+    /**
+     * Quantity selecting the plural form of the localized message or {@code null} if the message has no plural forms.
+     */
+    @Getter
+    @EqualsAndHashCode.Exclude
+    private transient Number quantity;
+
     @Getter
-    @Setter
     private transient Object reference;
 
     @Getter
@@ -74,6 +108,32 @@ public final class Rope implements Serializable
     @Setter
     private transient Locale previousLocalized;
 
+    /**
+     * Catalog epoch (see {@link ResourceBundleManager#getEpoch()}) of the previous localization.
+     */
+    @Getter
+    private transient long previousEpoch;
+
+    /**
+     * Locales of the cached localized values, oldest first ({@code null} until a value is cached).
+     */
+    private transient Locale[] cachedLocales;
+
+    /**
+     * Cached localized values, parallel to the cached locales.
+     */
+    private transient String[] cachedValues;
+
+    /**
+     * Number of cached localized values.
+     */
+    private transient int cachedCount;
+
+    /**
+     * Catalog epoch (see {@link ResourceBundleManager#getEpoch()}) the cached localized values have been resolved at.
+     */
+    private transient long cachedEpoch;
+
     @Getter
     @Setter
     private transient Locale previousTranslated;
@@ -92,12 +152,40 @@ public final class Rope implements Serializable
      * @param key Resource bundle entry key or null if a free text string is to be set.
      * @param value Value to set if a free text string is to be set.
      */
-    @Builder(setterPrefix = "with")
     public Rope(final String bundle, final String key, final String value)
+    {
+        this(bundle, key, value, null);
+    }
+
+    /**
+     * Creates a new localizable and translatable string object whose resource bundle value is a message to format.
+     * @param bundle Resource bundle file pathname or null if a free text string is to be set.
+     * @param key Resource bundle entry key or null if a free text string is to be set.
+     * @param value Value to set if a free text string is to be set.
+     * @param arguments Arguments of the message or {@code null} if the resource bundle value is not a message.
+     */
+    public Rope(final String bundle, final String key, final String value, final Object[] arguments)
+    {
+        this(bundle, key, value, arguments, null);
+    }
+
+    /**
+     * Creates a new localizable and translatable string object whose resource bundle value has plural forms.
+     * @param bundle Resource bundle file pathname or null if a free text string is to be set.
+     * @param key Resource bundle entry key or null if a free text string is to be set.
+     * @param value Value to set if a free text string is to be set.
+     * @param arguments Arguments of the message or {@code null} if the resource bundle value is not a message.
+     * @param quantity Quantity selecting the plural form or {@code null} if the resource bundle value has no plural
+     * forms.
+     */
+    @Builder(setterPrefix = "with")
+    public Rope(final String bundle, final String key, final String value, final Object[] arguments, final Number quantity)
     {
         this.bundle = bundle;
         this.key = key;
         this.value = value;
+        this.arguments = arguments;
+        this.quantity = quantity;
 
         if (bundle != null)
         {
@@ -143,31 +231,206 @@ public final class Rope implements Serializable
     }
 
     /**
-     * Localizes the underlying text using the current {@link ResourceBundleManager} locale.
+     * Creates a localizable string given a resource bundle and a property key whose value is a message to format with
+     * the given arguments (see {@link org.ressec.lychee.localization.bundle.MessageTemplate}).
+     * @param bundle Resource bundle file.
+     * @param key Resource bundle entry key.
+     * @param arguments Message arguments.
+     * @return {@link Rope}.
      */
-    public final void localize()
+    public static Rope from(final @NonNull String bundle, final @NonNull String key, final Object... arguments)
+    {
+        return new Rope(bundle, key, null, arguments != null ? arguments : new Object[0]);
+    }
+
+    /**
+     * Creates a localizable string given a resource bundle and a property key having plural forms (such as
+     * {@code key.one} and {@code key.other}), the form being selected by the given quantity.
+     * @param bundle Resource bundle file.
+     * @param key Resource bundle entry key.
+     * @param quantity Quantity.
+     * @return {@link Rope}.
+     */
+    public static Rope plural(final @NonNull String bundle, final @NonNull String key, final @NonNull Number quantity)
+    {
+        return new Rope(bundle, key, null, null, quantity);
+    }
+
+    /**
+     * Sets the arguments of the localized message. If the rope has already been localized, it is localized again
+     * (using the same locale) with the new arguments, the compiled message being reused.
+     * @param arguments Message arguments.
+     * @return This rope.
+     */
+    public final Rope withArguments(final Object... arguments)
     {
-        Locale current = ResourceBundleManager.getInstance().getLocale();
-        if (previousLocalized == null || !previousLocalized.equals(current))
+        this.arguments = arguments != null ? arguments : new Object[0];
+        cachedCount = 0;
+
+        Locale locale = previousLocalized;
+        if (locale != null)
+        {
+            previousLocalized = null;
+            localize(locale);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets the quantity selecting the plural form of the localized message (see
+     * {@link ResourceBundleManager#resolvePlural(String, String, Locale, Number)}). Unless the rope carries arguments,
+     * the quantity is the only argument of the message. If the rope has already been localized, it is localized again
+     * (using the same locale) with the new quantity.
+     * @param quantity Quantity or {@code null} if the message has no plural forms.
+     * @return This rope.
+     */
+    public final Rope withQuantity(final Number quantity)
+    {
+        this.quantity = quantity;
+        cachedCount = 0;
+
+        Locale locale = previousLocalized;
+        if (locale != null)
         {
-            ResourceBundleManager.getInstance().resolveRope(this, reference, current);
+            previousLocalized = null;
+            localize(locale);
         }
 
-        previousLocalized = current;
+        return this;
+    }
+
+    /**
+     * Sets the object the bundle and key templates of the rope are expanded against (the cached localized values are
+     * discarded).
+     * @param reference Reference object or {@code null} to expand the templates against the rope itself.
+     */
+    public final void setReference(final Object reference)
+    {
+        this.reference = reference;
+        cachedCount = 0;
+    }
+
+    /**
+     * Localizes the underlying text using the current {@link ResourceBundleManager} locale.
+     */
+    public final void localize()
+    {
+        localize(ResourceBundleManager.getInstance().getLocale());
     }
 
     /**
-     * Localizes the underlying text given a locale.
+     * Localizes the underlying text given a locale. The text is resolved again only if the locale or the catalog
+     * epoch (see {@link ResourceBundleManager#getEpoch()}) changed since the previous localization.
+     * <p>
+     * The values resolved for the last few locales (see {@link #CACHE_SIZE_PROPERTY}) are cached until the catalog
+     * changes, so switching back to one of these locales does not resolve the text again. Values depending on the
+     * state of the reference object (bundle or key templates having variables) are never cached.
      * @param locale Locale.
      */
     public final void localize(final @NonNull Locale locale)
     {
-        if (previousLocalized == null || !previousLocalized.equals(locale))
+        long epoch = ResourceBundleManager.getInstance().getEpoch();
+        if (epoch != previousEpoch || !locale.equals(previousLocalized))
         {
-            ResourceBundleManager.getInstance().resolveRope(this, reference, locale);
+            String cached = findCached(locale, epoch);
+            if (cached != null)
+            {
+                value = cached;
+            }
+            else if (resolve(locale))
+            {
+                cache(locale, epoch);
+            }
         }
 
         previousLocalized = locale;
+        previousEpoch = epoch;
+    }
+
+    /**
+     * Returns the cached localized value of the given locale.
+     * @param locale Locale.
+     * @param epoch Current catalog epoch.
+     * @return Cached value or {@code null} if none (or if the cached values have been resolved at another epoch).
+     */
+    private String findCached(final @NonNull Locale locale, final long epoch)
+    {
+        if (epoch != cachedEpoch)
+        {
+            return null;
+        }
+
+        for (int i = 0; i < cachedCount; i++)
+        {
+            if (locale.equals(cachedLocales[i]))
+            {
+                return cachedValues[i];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Caches the value just assigned by a resolution for the given locale, evicting the oldest cached value if the cache is full.
+     * @param locale Locale.
+     * @param epoch Catalog epoch read before the value has been resolved.
+     */
+    private void cache(final @NonNull Locale locale, final long epoch)
+    {
+        if (CACHE_SIZE == 0 || value == null || !isCacheable(bundle) || !isCacheable(key))
+        {
+            return;
+        }
+
+        if (epoch != cachedEpoch || cachedLocales == null)
+        {
+            cachedLocales = cachedLocales != null ? cachedLocales : new Locale[CACHE_SIZE];
+            cachedValues = cachedValues != null ? cachedValues : new String[CACHE_SIZE];
+            cachedCount = 0;
+            cachedEpoch = epoch;
+        }
+
+        if (cachedCount == CACHE_SIZE)
+        {
+            System.arraycopy(cachedLocales, 1, cachedLocales, 0, CACHE_SIZE - 1);
+            System.arraycopy(cachedValues, 1, cachedValues, 0, CACHE_SIZE - 1);
+            cachedCount--;
+        }
+
+        cachedLocales[cachedCount] = locale;
+        cachedValues[cachedCount] = value;
+        cachedCount++;
+    }
+
+    /**
+     * Returns if a value resolved from the given bundle or key template can be cached.
+     * @param template Bundle or key template, {@code null} if none.
+     * @return True if the template has no variable, false otherwise.
+     */
+    private static boolean isCacheable(final String template)
+    {
+        return template == null || !template.contains(VARIABLE_PREFIX);
+    }
+
+    /**
+     * Resolves the localization of the underlying text.
+     * @param locale Locale.
+     * @return True if a localized value has been assigned, false otherwise.
+     */
+    private boolean resolve(final @NonNull Locale locale)
+    {
+        RopeEvent event = new RopeEvent();
+        event.begin();
+        try
+        {
+            return ResourceBundleManager.getInstance().resolveRope(this, reference, locale);
+        }
+        finally
+        {
+            event.record(RopeEvent.LOCALIZE, bundle, key, locale, null);
+        }
     }
 
     /**
@@ -189,7 +452,18 @@ public final class Rope implements Serializable
                 original = value;
             }
 
-            TranslationOperationTranslate operation = ResourceBundleManager.getInstance().translate(source, target, value);
+            RopeEvent event = new RopeEvent();
+            event.begin();
+            TranslationOperationTranslate operation = null;
+            try
+            {
+                operation = ResourceBundleManager.getInstance().translate(source, target, value);
+            }
+            finally
+            {
+                event.record(RopeEvent.TRANSLATE, bundle, key, target, operation != null ? operation.getApiVersion() : null);
+            }
+
             previousTranslated = target;
             value = operation.getTranslatedText();
             confidence = operation.getConfidence();
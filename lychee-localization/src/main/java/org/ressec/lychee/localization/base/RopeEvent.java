@@ -0,0 +1,96 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.base;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.NonNull;
+import org.ressec.lychee.translation.base.TranslationApiVersionType;
+
+import java.util.Locale;
+
+/**
+ * A JDK Flight Recorder event emitted each time a {@link Rope} is localized or translated.
+ * <p>
+ * Only the operations lasting at least the event threshold (1 ms by default, so that every translation but only
+ * the slow localizations are recorded) are recorded. As any JFR setting, the threshold can be changed for a
+ * recording (for example using a {@code .jfc} settings file).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Name(RopeEvent.NAME)
+@Label("Rope")
+@Description("Localization or translation of a rope")
+@Category({ "Lychee", "Localization" })
+@StackTrace(false)
+@Threshold("1 ms")
+final class RopeEvent extends Event
+{
+    /**
+     * Name of the event.
+     */
+    static final String NAME = "org.ressec.lychee.Rope";
+
+    /**
+     * Operation name of a localization.
+     */
+    static final String LOCALIZE = "localize";
+
+    /**
+     * Operation name of a translation.
+     */
+    static final String TRANSLATE = "translate";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bundle")
+    String bundle;
+
+    @Label("Key")
+    String key;
+
+    @Label("Locale")
+    @Description("Locale the rope is localized or translated to")
+    String locale;
+
+    @Label("Engine")
+    @Description("Translation API, only for a translation")
+    String engine;
+
+    /**
+     * Commits the event if it has to be recorded.
+     * @param operation Operation name ({@link #LOCALIZE} or {@link #TRANSLATE}).
+     * @param bundle Resource bundle path and name or {@code null} for a free text.
+     * @param key Resource bundle entry key or {@code null} for a free text.
+     * @param locale Locale the rope is localized or translated to.
+     * @param engine Translation API or {@code null} for a localization (or a failed translation).
+     */
+    void record(final @NonNull String operation, final String bundle, final String key, final @NonNull Locale locale, final TranslationApiVersionType engine)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.operation = operation;
+            this.bundle = bundle;
+            this.key = key;
+            this.locale = locale.toLanguageTag();
+            this.engine = engine != null ? engine.name() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,615 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A read-only binary catalog of resource bundles compiled (by the {@link BinaryCatalogCompiler}) from the resource
+ * bundle properties files.
+ * <p>
+ * The catalog is a single file opened with {@link FileChannel#map} (or read once into a direct buffer when it is
+ * packaged in a jar file): opening it does not involve any parsing and the values stay off-heap, a value being decoded
+ * only when it is retrieved.
+ * <p>
+ * File layout (big endian):
+ * <ul>
+ *     <li>header: magic, version, number of bundles, sections, slots and buckets and the offsets of the areas</li>
+ *     <li>bundles: (name, number of keys) for each resource bundle</li>
+ *     <li>sections: (bundle, language, locale of the resource bundle file, values table offset) for each language a
+ *     resource bundle has been compiled for</li>
+ *     <li>buckets and slots: a minimal perfect hash (hash and displace) of the (bundle, key) pairs, each slot holding
+ *     the key, its bundle and its ordinal in the bundle</li>
+ *     <li>values tables: for each section, the value offsets indexed by key ordinal ({@code -1} if undefined)</li>
+ *     <li>string pool: UTF-8 encoded strings, each one prefixed by its length in bytes</li>
+ * </ul>
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class BinaryCatalog
+{
+    /**
+     * Classpath resource name of the catalog compiled during the build.
+     */
+    public static final String RESOURCE = "i18n/lychee.catalog";
+
+    /**
+     * System property that can be set to the path of a catalog file to use instead of the packaged one.
+     */
+    public static final String PROPERTY = "lychee.catalog";
+
+    /**
+     * Catalog file magic number ('LYCT').
+     */
+    static final int MAGIC = 0x4C594354;
+
+    /**
+     * Catalog file format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Header size in bytes.
+     */
+    static final int HEADER_SIZE = 13 * Integer.BYTES;
+
+    /**
+     * Size of a bundle record in bytes.
+     */
+    static final int BUNDLE_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * Size of a section record in bytes.
+     */
+    static final int SECTION_SIZE = 4 * Integer.BYTES;
+
+    /**
+     * Size of a slot record in bytes.
+     */
+    static final int SLOT_SIZE = 3 * Integer.BYTES;
+
+    /**
+     * Separator between the bundle name and the key of a hashed (bundle, key) pair.
+     */
+    static final char SEPARATOR = '\0';
+
+    /**
+     * Catalog content.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Bundle names (k = name, v = bundle index).
+     */
+    private final Map<String, Integer> bundles;
+
+    /**
+     * Sections (k = bundle index, v = (k = language, w = section index)).
+     */
+    private final Map<Integer, Map<Locale, Integer>> sections;
+
+    /**
+     * UTF-8 bytes of the bundle names (indexed by bundle index), hashed with the keys on each lookup.
+     */
+    private final byte[][] names;
+
+    private final int slotCount;
+    private final int bucketCount;
+    private final int bundlesOffset;
+    private final int sectionsOffset;
+    private final int bucketsOffset;
+    private final int slotsOffset;
+
+    /**
+     * Creates a new catalog over the given content.
+     * @param buffer Catalog content.
+     * @throws ResourceBundleException Thrown in case the content is not a valid catalog.
+     */
+    private BinaryCatalog(final @NonNull ByteBuffer buffer)
+    {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+        {
+            throw new ResourceBundleException("Invalid resource bundle catalog: bad magic number or unsupported version!");
+        }
+
+        int bundleCount = buffer.getInt(8);
+        int sectionCount = buffer.getInt(12);
+        this.slotCount = buffer.getInt(16);
+        this.bucketCount = buffer.getInt(20);
+        this.bundlesOffset = buffer.getInt(24);
+        this.sectionsOffset = buffer.getInt(28);
+        this.bucketsOffset = buffer.getInt(32);
+        this.slotsOffset = buffer.getInt(36);
+
+        // Only the (small) bundle and section directories are read eagerly.
+        Map<String, Integer> indexes = new HashMap<>();
+        this.names = new byte[bundleCount][];
+        for (int i = 0; i < bundleCount; i++)
+        {
+            names[i] = getBytes(buffer.getInt(bundlesOffset + i * BUNDLE_SIZE));
+            indexes.put(new String(names[i], StandardCharsets.UTF_8), i);
+        }
+
+        Map<Integer, Map<Locale, Integer>> languages = new HashMap<>();
+        for (int i = 0; i < sectionCount; i++)
+        {
+            int offset = sectionsOffset + i * SECTION_SIZE;
+            languages.computeIfAbsent(buffer.getInt(offset), bundle -> new HashMap<>())
+                    .put(Locale.forLanguageTag(getString(buffer.getInt(offset + 4))), i);
+        }
+
+        this.bundles = Collections.unmodifiableMap(indexes);
+        this.sections = Collections.unmodifiableMap(languages);
+    }
+
+    /**
+     * Opens (maps) a catalog file.
+     * @param path Catalog file path.
+     * @return Catalog.
+     * @throws ResourceBundleException Thrown in case the file cannot be read or is not a valid catalog.
+     */
+    public static BinaryCatalog open(final @NonNull Path path)
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            // The mapping remains valid once the channel is closed.
+            return new BinaryCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot open resource bundle catalog: '%s' due to: %s", path, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Reads a catalog from the given stream into a direct (off-heap) buffer.
+     * @param stream Input stream.
+     * @return Catalog.
+     * @throws ResourceBundleException Thrown in case the stream cannot be read or is not a valid catalog.
+     */
+    public static BinaryCatalog read(final @NonNull InputStream stream)
+    {
+        try
+        {
+            byte[] content = stream.readAllBytes();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+            buffer.put(content).flip();
+            return new BinaryCatalog(buffer);
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot read resource bundle catalog due to: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Finds the catalog to use: the one referenced by the {@link #PROPERTY} system property if set, the one packaged
+     * as the {@link #RESOURCE} classpath resource otherwise.
+     * @return Optional catalog, empty if no catalog is available.
+     */
+    public static Optional<BinaryCatalog> find()
+    {
+        try
+        {
+            String path = System.getProperty(PROPERTY);
+            if (path != null)
+            {
+                return Optional.of(open(Paths.get(path)));
+            }
+
+            URL url = BinaryCatalog.class.getClassLoader().getResource(RESOURCE);
+            if (url == null)
+            {
+                return Optional.empty();
+            }
+
+            if ("file".equals(url.getProtocol()))
+            {
+                return Optional.of(open(Paths.get(url.toURI())));
+            }
+
+            try (InputStream stream = url.openStream())
+            {
+                return Optional.of(read(stream));
+            }
+        }
+        catch (IOException | URISyntaxException | RuntimeException e)
+        {
+            log.warn(String.format("Resource bundle catalog cannot be used, resource bundle files will be parsed instead: %s", e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns if the catalog contains the given resource bundle.
+     * @param bundle Resource bundle name.
+     * @return True if the catalog contains the resource bundle, false otherwise.
+     */
+    public boolean contains(final @NonNull String bundle)
+    {
+        return bundles.containsKey(bundle);
+    }
+
+    /**
+     * Returns the names of the resource bundles contained in the catalog.
+     * @return Set of resource bundle names.
+     */
+    public Set<String> getBundles()
+    {
+        return Collections.unmodifiableSet(bundles.keySet());
+    }
+
+    /**
+     * Returns the languages the given resource bundle has been compiled for.
+     * @param bundle Resource bundle name.
+     * @return Set of languages.
+     */
+    public Set<Locale> getLanguages(final @NonNull String bundle)
+    {
+        Integer index = bundles.get(bundle);
+        return index != null ? Collections.unmodifiableSet(sections.get(index).keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Returns the resource bundle compiled for the given language.
+     * @param bundle Resource bundle name.
+     * @param language Language.
+     * @return Optional resource bundle, empty if the resource bundle has not been compiled for the given language.
+     */
+    public Optional<ResourceBundle> getBundle(final @NonNull String bundle, final @NonNull Locale language)
+    {
+        Integer index = bundles.get(bundle);
+        Integer section = index != null ? sections.get(index).get(language) : null;
+
+        return section != null ? Optional.of(new CatalogBundle(bundle, index, section)) : Optional.empty();
+    }
+
+    /**
+     * Returns the value of a resource bundle entry.
+     * @param bundle Resource bundle name.
+     * @param key Resource bundle entry key.
+     * @param language Language.
+     * @return Value or {@code null} if the entry does not exist.
+     */
+    public String get(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale language)
+    {
+        Integer index = bundles.get(bundle);
+        Integer section = index != null ? sections.get(index).get(language) : null;
+
+        return section != null ? getValue(index, section, key) : null;
+    }
+
+    /**
+     * Returns the value of a key in a section.
+     * @param bundle Bundle index.
+     * @param section Section index.
+     * @param key Key.
+     * @return Value or {@code null} if the key is not defined.
+     */
+    private String getValue(final int bundle, final int section, final @NonNull String key)
+    {
+        int ordinal = findOrdinal(bundle, key);
+        if (ordinal < 0)
+        {
+            return null;
+        }
+
+        int table = buffer.getInt(sectionsOffset + section * SECTION_SIZE + 12);
+        int value = buffer.getInt(table + ordinal * Integer.BYTES);
+
+        return value >= 0 ? getString(value) : null;
+    }
+
+    /**
+     * Finds the ordinal of a key in its bundle using the perfect hash.
+     * @param bundle Bundle index.
+     * @param key Key.
+     * @return Key ordinal or {@code -1} if the bundle does not define the key.
+     */
+    private int findOrdinal(final int bundle, final @NonNull String key)
+    {
+        if (slotCount == 0)
+        {
+            return -1;
+        }
+
+        // The (bundle, key) pair is hashed and compared without being concatenated.
+        byte[] name = names[bundle];
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+
+        int displacement = buffer.getInt(bucketsOffset + Integer.remainderUnsigned(hash(name, bytes, 0), bucketCount) * Integer.BYTES);
+        int slot = slotsOffset + Integer.remainderUnsigned(hash(name, bytes, displacement), slotCount) * SLOT_SIZE;
+
+        return buffer.getInt(slot + 4) == bundle && equals(buffer.getInt(slot), name, bytes) ? buffer.getInt(slot + 8) : -1;
+    }
+
+    /**
+     * Returns the keys of a bundle.
+     * @param bundle Bundle index.
+     * @return Keys (indexed by ordinal).
+     */
+    private String[] getKeys(final int bundle)
+    {
+        String[] keys = new String[buffer.getInt(bundlesOffset + bundle * BUNDLE_SIZE + 4)];
+
+        for (int i = 0; i < slotCount; i++)
+        {
+            int slot = slotsOffset + i * SLOT_SIZE;
+            if (buffer.getInt(slot + 4) == bundle)
+            {
+                String pair = getString(buffer.getInt(slot));
+                keys[buffer.getInt(slot + 8)] = pair.substring(pair.indexOf(SEPARATOR) + 1);
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Returns if the pool string at the given offset equals the given (bundle, key) pair.
+     * @param offset Pool string offset.
+     * @param bundle Bundle name UTF-8 bytes.
+     * @param key Key UTF-8 bytes.
+     * @return True if equal, false otherwise.
+     */
+    private boolean equals(final int offset, final byte[] bundle, final byte[] key)
+    {
+        if (buffer.getInt(offset) != bundle.length + 1 + key.length)
+        {
+            return false;
+        }
+
+        int start = offset + Integer.BYTES;
+        if (buffer.get(start + bundle.length) != (byte) SEPARATOR)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < bundle.length; i++)
+        {
+            if (buffer.get(start + i) != bundle[i])
+            {
+                return false;
+            }
+        }
+
+        start += bundle.length + 1;
+        for (int i = 0; i < key.length; i++)
+        {
+            if (buffer.get(start + i) != key[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the bytes of the pool string at the given offset.
+     * @param offset Pool string offset.
+     * @return UTF-8 bytes.
+     */
+    private byte[] getBytes(final int offset)
+    {
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + Integer.BYTES);
+        view.get(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Decodes the pool string at the given offset.
+     * @param offset Pool string offset.
+     * @return String.
+     */
+    private String getString(final int offset)
+    {
+        return new String(getBytes(offset), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the UTF-8 bytes of a hashed (bundle, key) pair.
+     * @param bundle Bundle name UTF-8 bytes.
+     * @param key Key UTF-8 bytes.
+     * @return Pair bytes.
+     */
+    static byte[] pair(final byte[] bundle, final byte[] key)
+    {
+        byte[] pair = new byte[bundle.length + 1 + key.length];
+        System.arraycopy(bundle, 0, pair, 0, bundle.length);
+        pair[bundle.length] = (byte) SEPARATOR;
+        System.arraycopy(key, 0, pair, bundle.length + 1, key.length);
+
+        return pair;
+    }
+
+    /**
+     * Hashes the given bytes (FNV-1a followed by a murmur3 finalizer) using the given seed.
+     * @param bytes Bytes.
+     * @param seed Seed.
+     * @return Hash.
+     */
+    static int hash(final byte[] bytes, final int seed)
+    {
+        return finish(mix(0x811C9DC5 ^ (seed * 0x9E3779B9), bytes));
+    }
+
+    /**
+     * Hashes the given (bundle, key) pair as {@link #hash(byte[], int)} hashes its concatenation (see
+     * {@link #pair(byte[], byte[])}).
+     * @param bundle Bundle name UTF-8 bytes.
+     * @param key Key UTF-8 bytes.
+     * @param seed Seed.
+     * @return Hash.
+     */
+    static int hash(final byte[] bundle, final byte[] key, final int seed)
+    {
+        int hash = mix(0x811C9DC5 ^ (seed * 0x9E3779B9), bundle);
+        hash ^= (byte) SEPARATOR;
+        hash *= 0x01000193;
+
+        return finish(mix(hash, key));
+    }
+
+    /**
+     * Mixes the given bytes into an FNV-1a hash.
+     * @param initial Initial hash.
+     * @param bytes Bytes.
+     * @return Hash.
+     */
+    private static int mix(final int initial, final byte[] bytes)
+    {
+        int hash = initial;
+        for (byte element : bytes)
+        {
+            hash ^= element;
+            hash *= 0x01000193;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Applies the murmur3 finalizer to an FNV-1a hash.
+     * @param initial FNV-1a hash.
+     * @return Hash.
+     */
+    private static int finish(final int initial)
+    {
+        int hash = initial;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+
+        return hash;
+    }
+
+    /**
+     * A resource bundle whose values are read from the catalog.
+     */
+    final class CatalogBundle extends ResourceBundle
+    {
+        /**
+         * Resource bundle name.
+         */
+        private final String name;
+
+        /**
+         * Bundle index.
+         */
+        private final int bundle;
+
+        /**
+         * Section index.
+         */
+        private final int section;
+
+        /**
+         * Locale of the resource bundle file the section has been compiled from.
+         */
+        private final Locale locale;
+
+        /**
+         * Creates a new catalog resource bundle.
+         * @param name Resource bundle name.
+         * @param bundle Bundle index.
+         * @param section Section index.
+         */
+        private CatalogBundle(final String name, final int bundle, final int section)
+        {
+            this.name = name;
+            this.bundle = bundle;
+            this.section = section;
+            this.locale = Locale.forLanguageTag(BinaryCatalog.this.getString(buffer.getInt(sectionsOffset + section * SECTION_SIZE + 8)));
+        }
+
+        /**
+         * Returns the catalog containing the resource bundle.
+         * @return Catalog.
+         */
+        BinaryCatalog getCatalog()
+        {
+            return BinaryCatalog.this;
+        }
+
+        /**
+         * Returns the value of a key without going through the {@link ResourceBundle} lookup (and its exceptions).
+         * @param key Key.
+         * @return Value or {@code null} if the key is not defined.
+         */
+        String getValue(final @NonNull String key)
+        {
+            return BinaryCatalog.this.getValue(bundle, section, key);
+        }
+
+        @Override
+        public Locale getLocale()
+        {
+            return locale;
+        }
+
+        @Override
+        public String getBaseBundleName()
+        {
+            return name;
+        }
+
+        @Override
+        protected Object handleGetObject(final @NonNull String key)
+        {
+            return getValue(key);
+        }
+
+        @Override
+        protected Set<String> handleKeySet()
+        {
+            Set<String> keys = new HashSet<>();
+            for (String key : BinaryCatalog.this.getKeys(bundle))
+            {
+                if (key != null && getValue(key) != null)
+                {
+                    keys.add(key);
+                }
+            }
+
+            return keys;
+        }
+
+        @Override
+        public Enumeration<String> getKeys()
+        {
+            return Collections.enumeration(handleKeySet());
+        }
+    }
+}
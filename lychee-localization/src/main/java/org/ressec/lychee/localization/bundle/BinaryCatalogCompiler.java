@@ -0,0 +1,452 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the resource bundle properties files of a directory into a {@link BinaryCatalog} file.
+ * <p>
+ * The resource bundles are loaded through the standard {@link ResourceBundle} mechanism for each of the languages
+ * supported by the {@link ResourceBundleManager}, so that the compiled values (parent resource bundles and fallback
+ * locales being applied) are the ones the manager would have loaded from the properties files.
+ * <p>
+ * This class is invoked during the build ({@code process-classes} phase) to package the catalog with the module:
+ * <pre>
+ *     java BinaryCatalogCompiler &lt;classes directory&gt; &lt;catalog file&gt; [&lt;resource directory&gt;]
+ * </pre>
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class BinaryCatalogCompiler
+{
+    /**
+     * Default directory (relative to the classes directory) containing the resource bundle properties files.
+     */
+    private static final String DEFAULT_DIRECTORY = "i18n";
+
+    /**
+     * Pattern of a resource bundle properties file name (base name and optional locale suffix).
+     */
+    static final Pattern PROPERTIES_FILE = Pattern.compile("^(.+?)(_[a-z]{2,3}(_[A-Z]{2})?)?\\.properties$");
+
+    /**
+     * Default locale used as fallback by the resource bundle lookup: the one the {@link ResourceBundleManager} sets as
+     * JVM default locale, set explicitly so that the compiler never initializes the manager (nor changes the default
+     * locale of the JVM running it).
+     */
+    private static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+
+    /**
+     * Resource bundle lookup control, falling back to the default locale.
+     */
+    private static final ResourceBundle.Control CONTROL = new ResourceBundle.Control()
+    {
+        @Override
+        public Locale getFallbackLocale(final String baseName, final Locale locale)
+        {
+            return locale.equals(DEFAULT_LOCALE) ? null : DEFAULT_LOCALE;
+        }
+    };
+
+    /**
+     * Maximum displacement tried when building the perfect hash.
+     */
+    private static final int MAX_DISPLACEMENT = 1 << 24;
+
+    /**
+     * Avoid direct instantiation.
+     */
+    private BinaryCatalogCompiler()
+    {
+        // Empty
+    }
+
+    /**
+     * Compiles the resource bundle properties files.
+     * @param arguments Classes directory, catalog file and optional resource directory (default to {@code i18n}).
+     */
+    public static void main(final String[] arguments)
+    {
+        if (arguments.length < 2)
+        {
+            throw new IllegalArgumentException("Usage: BinaryCatalogCompiler <classes directory> <catalog file> [<resource directory>]");
+        }
+
+        compile(Paths.get(arguments[0]), arguments.length > 2 ? arguments[2] : DEFAULT_DIRECTORY, Paths.get(arguments[1]));
+    }
+
+    /**
+     * Compiles the resource bundle properties files of a directory into a catalog file.
+     * @param root Root directory (classes directory) the resource bundles are loaded from.
+     * @param directory Directory, relative to the root one, containing the resource bundle properties files.
+     * @param output Catalog file.
+     * @throws ResourceBundleException Thrown in case the catalog cannot be compiled.
+     */
+    public static void compile(final @NonNull Path root, final @NonNull String directory, final @NonNull Path output)
+    {
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { root.toUri().toURL() }, null))
+        {
+            Map<String, Map<Locale, ResourceBundle>> bundles = new TreeMap<>();
+            for (String name : findBundles(root, directory))
+            {
+                Map<Locale, ResourceBundle> languages = new LinkedHashMap<>();
+                for (Locale locale : FilteredLocales.get())
+                {
+                    try
+                    {
+                        languages.put(ResourceBundleIndex.languageOf(locale), ResourceBundle.getBundle(name, locale, loader, CONTROL));
+                    }
+                    catch (MissingResourceException e)
+                    {
+                        // Not available for this language.
+                    }
+                }
+
+                if (!languages.isEmpty())
+                {
+                    bundles.put(name, languages);
+                }
+            }
+
+            Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+            Files.write(temporary, write(bundles));
+
+            // Replaced atomically: a catalog being mapped by a running JVM is never truncated.
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info(String.format("Resource bundle catalog: '%s' compiled with %d resource bundles (%d bytes)",
+                    output, bundles.size(), Files.size(output)));
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot compile resource bundle catalog: '%s' due to: %s", output, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Finds the names of the resource bundles of a directory.
+     * @param root Root directory.
+     * @param directory Directory, relative to the root one, containing the resource bundle properties files.
+     * @return Resource bundle names (for example: {@code i18n/day}).
+     * @throws IOException Thrown in case the directory cannot be listed.
+     */
+    private static Set<String> findBundles(final @NonNull Path root, final @NonNull String directory) throws IOException
+    {
+        try (Stream<Path> files = Files.list(root.resolve(directory)))
+        {
+            return files.map(file -> PROPERTIES_FILE.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> directory + "/" + matcher.group(1))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    /**
+     * Serializes the resource bundles into the catalog format.
+     * @param bundles Resource bundles (k = name, v = (k = language, w = resource bundle)).
+     * @return Catalog content.
+     * @throws IOException Thrown in case an error occurred while serializing.
+     */
+    private static byte[] write(final @NonNull Map<String, Map<Locale, ResourceBundle>> bundles) throws IOException
+    {
+        Pool pool = new Pool();
+        List<String> names = new ArrayList<>(bundles.keySet());
+        List<List<String>> keys = new ArrayList<>();
+        List<byte[]> pairs = new ArrayList<>();
+        List<int[]> slots = new ArrayList<>(); // (key reference, bundle index, ordinal)
+
+        // Keys of each bundle (union of the keys of all its languages) and their ordinals.
+        for (int bundle = 0; bundle < names.size(); bundle++)
+        {
+            SortedSet<String> union = new TreeSet<>();
+            bundles.get(names.get(bundle)).values().forEach(element -> union.addAll(element.keySet()));
+            keys.add(new ArrayList<>(union));
+
+            int ordinal = 0;
+            for (String key : union)
+            {
+                byte[] pair = BinaryCatalog.pair(names.get(bundle).getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8));
+                pairs.add(pair);
+                slots.add(new int[] { pool.add(pair), bundle, ordinal++ });
+            }
+        }
+
+        int[] buckets = new int[Math.max(1, pairs.size() / 4)];
+        int[] positions = buildPerfectHash(pairs, buckets);
+
+        // Sections and their values tables.
+        List<int[]> sections = new ArrayList<>(); // (bundle index, language reference, locale reference)
+        List<int[]> tables = new ArrayList<>();
+        for (int bundle = 0; bundle < names.size(); bundle++)
+        {
+            for (Map.Entry<Locale, ResourceBundle> language : bundles.get(names.get(bundle)).entrySet())
+            {
+                ResourceBundle element = language.getValue();
+                sections.add(new int[] {
+                        bundle,
+                        pool.add(language.getKey().toLanguageTag().getBytes(StandardCharsets.UTF_8)),
+                        pool.add(element.getLocale().toLanguageTag().getBytes(StandardCharsets.UTF_8)) });
+
+                int[] table = new int[keys.get(bundle).size()];
+                for (int ordinal = 0; ordinal < table.length; ordinal++)
+                {
+                    String key = keys.get(bundle).get(ordinal);
+                    table[ordinal] = element.containsKey(key) ? pool.add(element.getString(key).getBytes(StandardCharsets.UTF_8)) : -1;
+                }
+                tables.add(table);
+            }
+        }
+
+        // Offsets of the areas.
+        int bundlesOffset = BinaryCatalog.HEADER_SIZE;
+        int sectionsOffset = bundlesOffset + names.size() * BinaryCatalog.BUNDLE_SIZE;
+        int bucketsOffset = sectionsOffset + sections.size() * BinaryCatalog.SECTION_SIZE;
+        int slotsOffset = bucketsOffset + buckets.length * Integer.BYTES;
+        int tablesOffset = slotsOffset + pairs.size() * BinaryCatalog.SLOT_SIZE;
+        int poolOffset = tablesOffset + tables.stream().mapToInt(table -> table.length * Integer.BYTES).sum();
+
+        List<Integer> nameReferences = new ArrayList<>();
+        for (String name : names)
+        {
+            nameReferences.add(pool.add(name.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream(poolOffset + pool.size());
+        DataOutputStream out = new DataOutputStream(content);
+
+        // Header
+        out.writeInt(BinaryCatalog.MAGIC);
+        out.writeInt(BinaryCatalog.VERSION);
+        out.writeInt(names.size());
+        out.writeInt(sections.size());
+        out.writeInt(pairs.size());
+        out.writeInt(buckets.length);
+        out.writeInt(bundlesOffset);
+        out.writeInt(sectionsOffset);
+        out.writeInt(bucketsOffset);
+        out.writeInt(slotsOffset);
+        out.writeInt(tablesOffset);
+        out.writeInt(poolOffset);
+        out.writeInt(pool.size());
+
+        // Bundles
+        for (int bundle = 0; bundle < names.size(); bundle++)
+        {
+            out.writeInt(poolOffset + nameReferences.get(bundle));
+            out.writeInt(keys.get(bundle).size());
+        }
+
+        // Sections
+        int tableOffset = tablesOffset;
+        for (int section = 0; section < sections.size(); section++)
+        {
+            out.writeInt(sections.get(section)[0]);
+            out.writeInt(poolOffset + sections.get(section)[1]);
+            out.writeInt(poolOffset + sections.get(section)[2]);
+            out.writeInt(tableOffset);
+            tableOffset += tables.get(section).length * Integer.BYTES;
+        }
+
+        // Perfect hash
+        for (int displacement : buckets)
+        {
+            out.writeInt(displacement);
+        }
+
+        int[][] ordered = new int[pairs.size()][];
+        for (int i = 0; i < positions.length; i++)
+        {
+            ordered[positions[i]] = slots.get(i);
+        }
+
+        for (int[] slot : ordered)
+        {
+            out.writeInt(poolOffset + slot[0]);
+            out.writeInt(slot[1]);
+            out.writeInt(slot[2]);
+        }
+
+        // Values tables
+        for (int[] table : tables)
+        {
+            for (int value : table)
+            {
+                out.writeInt(value >= 0 ? poolOffset + value : -1);
+            }
+        }
+
+        pool.writeTo(out);
+        out.flush();
+
+        return content.toByteArray();
+    }
+
+    /**
+     * Builds a minimal perfect hash (hash and displace) of the given (bundle, key) pairs.
+     * @param pairs Pairs.
+     * @param buckets Buckets, filled with the displacement of each bucket.
+     * @return Slot of each pair.
+     * @throws ResourceBundleException Thrown in case no perfect hash can be found.
+     */
+    private static int[] buildPerfectHash(final @NonNull List<byte[]> pairs, final int[] buckets)
+    {
+        int size = pairs.size();
+        int[] positions = new int[size];
+        boolean[] used = new boolean[size];
+
+        List<List<Integer>> members = new ArrayList<>();
+        for (int i = 0; i < buckets.length; i++)
+        {
+            members.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < size; i++)
+        {
+            members.get(Integer.remainderUnsigned(BinaryCatalog.hash(pairs.get(i), 0), buckets.length)).add(i);
+        }
+
+        // Largest buckets are placed first, while most slots are still free.
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < buckets.length; i++)
+        {
+            order.add(i);
+        }
+        order.sort((first, second) -> members.get(second).size() - members.get(first).size());
+
+        for (int bucket : order)
+        {
+            List<Integer> elements = members.get(bucket);
+            if (elements.isEmpty())
+            {
+                continue;
+            }
+
+            int displacement = 1;
+            int[] candidates = new int[elements.size()];
+            while (!place(pairs, elements, displacement, used, candidates))
+            {
+                if (++displacement > MAX_DISPLACEMENT)
+                {
+                    throw new ResourceBundleException("Cannot build the perfect hash of the resource bundle catalog!");
+                }
+            }
+
+            buckets[bucket] = displacement;
+            for (int i = 0; i < candidates.length; i++)
+            {
+                used[candidates[i]] = true;
+                positions[elements.get(i)] = candidates[i];
+            }
+        }
+
+        return positions;
+    }
+
+    /**
+     * Tries to place the pairs of a bucket using the given displacement.
+     * @param pairs Pairs.
+     * @param elements Indexes of the pairs of the bucket.
+     * @param displacement Displacement.
+     * @param used Already used slots.
+     * @param candidates Candidate slots, filled if the bucket can be placed.
+     * @return True if all the pairs of the bucket land in distinct free slots, false otherwise.
+     */
+    private static boolean place(final List<byte[]> pairs, final List<Integer> elements, final int displacement, final boolean[] used, final int[] candidates)
+    {
+        for (int i = 0; i < candidates.length; i++)
+        {
+            int slot = Integer.remainderUnsigned(BinaryCatalog.hash(pairs.get(elements.get(i)), displacement), used.length);
+            if (used[slot])
+            {
+                return false;
+            }
+
+            for (int j = 0; j < i; j++)
+            {
+                if (candidates[j] == slot)
+                {
+                    return false;
+                }
+            }
+
+            candidates[i] = slot;
+        }
+
+        return true;
+    }
+
+    /**
+     * A pool of UTF-8 strings, each one prefixed by its length in bytes. Identical strings are stored once.
+     */
+    private static final class Pool
+    {
+        /**
+         * Pool content.
+         */
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        /**
+         * Offsets of the pooled strings (k = string bytes, v = offset).
+         */
+        private final Map<ByteBuffer, Integer> offsets = new HashMap<>();
+
+        /**
+         * Adds a string to the pool.
+         * @param bytes UTF-8 bytes.
+         * @return Offset of the string, relative to the start of the pool.
+         */
+        int add(final byte[] bytes)
+        {
+            return offsets.computeIfAbsent(ByteBuffer.wrap(bytes), key -> {
+                int offset = content.size();
+                content.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                content.writeBytes(bytes);
+                return offset;
+            });
+        }
+
+        /**
+         * Returns the pool size in bytes.
+         * @return Size.
+         */
+        int size()
+        {
+            return content.size();
+        }
+
+        /**
+         * Writes the pool content.
+         * @param out Output stream.
+         * @throws IOException Thrown in case an error occurred while writing.
+         */
+        void writeTo(final DataOutputStream out) throws IOException
+        {
+            content.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,552 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A watcher of an external directory of resource bundle properties files, taking precedence over the classpath (and
+ * the binary catalog) and hot reloaded into the {@link ResourceBundleManager} when they change.
+ * <p>
+ * The directory mirrors the layout of the classpath: the {@code i18n/day_fr.properties} file of the directory is the
+ * french file of the {@code i18n/day} resource bundle. When a file is created, modified or deleted, only this file is
+ * parsed again and the languages of the resource bundle depending on it are rebuilt from the already parsed files, then
+ * swapped atomically into the manager: lookups in progress keep reading the previous index snapshot and never see a
+ * partially reloaded resource bundle.
+ * <p>
+ * Reload counts and durations are exposed as metrics. Use {@link ResourceBundleManager#watch(Path)} to create a
+ * watcher and {@link #close()} to stop it.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class BundleDirectoryWatcher implements AutoCloseable
+{
+    /**
+     * Extension of the resource bundle properties files.
+     */
+    private static final String EXTENSION = ".properties";
+
+    /**
+     * Pattern of a resource bundle properties file name (relative to the directory, without its extension) made of the
+     * resource bundle name, an optional language and an optional country (region files are not supported, resource
+     * bundles being registered per language).
+     */
+    private static final Pattern FILE_NAME = Pattern.compile("^(.+?)(?:_([a-z]{2,3})(?:_([A-Z]{2}))?)?$");
+
+    /**
+     * Watched directory.
+     */
+    @Getter
+    private final Path directory;
+
+    /**
+     * Resource bundle manager the resource bundles are reloaded into.
+     */
+    private final ResourceBundleManager manager;
+
+    /**
+     * Watch service.
+     */
+    private final WatchService service;
+
+    /**
+     * Parsed properties files (k = resource bundle name, v = (k = language or {@link Locale#ROOT}, w = entries)).
+     */
+    private final Map<String, Map<Locale, Map<String, String>>> files = new ConcurrentHashMap<>();
+
+    /**
+     * Thread waiting for the file system events.
+     */
+    private final Thread thread;
+
+    /**
+     * Number of successful reloads.
+     */
+    private final AtomicLong reloadCount = new AtomicLong();
+
+    /**
+     * Number of failed reloads.
+     */
+    private final AtomicLong failedReloadCount = new AtomicLong();
+
+    /**
+     * Number of overflows (events lost by the watch service, the whole directory being reloaded).
+     */
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    /**
+     * Total duration of the reloads, in nanoseconds.
+     */
+    private final AtomicLong reloadNanos = new AtomicLong();
+
+    /**
+     * Duration of the last reload, in nanoseconds.
+     */
+    private final AtomicLong lastReloadNanos = new AtomicLong();
+
+    /**
+     * Creates a new watcher, parsing all the resource bundle properties files of the directory.
+     * @param manager Resource bundle manager the resource bundles are reloaded into.
+     * @param directory Directory to watch.
+     * @throws ResourceBundleException Thrown in case the directory cannot be watched.
+     */
+    BundleDirectoryWatcher(final @NonNull ResourceBundleManager manager, final @NonNull Path directory)
+    {
+        this.manager = manager;
+        this.directory = directory.toAbsolutePath().normalize();
+
+        if (!Files.isDirectory(this.directory))
+        {
+            throw new ResourceBundleException(String.format("Resource bundle directory: '%s' does not exist!", this.directory));
+        }
+
+        try
+        {
+            this.service = this.directory.getFileSystem().newWatchService();
+            files.putAll(scan());
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Resource bundle directory: '%s' cannot be watched: %s", this.directory, e.getMessage()), e);
+        }
+
+        this.thread = new Thread(this::run, "lychee-bundle-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the directory, first reloading the registered resource bundles having files in the directory.
+     */
+    void start()
+    {
+        for (String name : files.keySet())
+        {
+            reload(name, null);
+        }
+
+        thread.start();
+    }
+
+    /**
+     * Returns the resource bundle read from the directory for the given language.
+     * @param name Resource bundle name.
+     * @param language Language.
+     * @return Optional resource bundle, empty if the directory contains no file for the resource bundle and language
+     * (nor a base file).
+     */
+    Optional<ResourceBundle> getBundle(final @NonNull String name, final @NonNull Locale language)
+    {
+        Map<Locale, Map<String, String>> languages = files.get(name);
+        if (languages == null)
+        {
+            return Optional.empty();
+        }
+
+        Map<String, String> base = languages.get(Locale.ROOT);
+        Map<String, String> specific = languages.get(language);
+        if (specific == null && base == null)
+        {
+            return Optional.empty();
+        }
+
+        Map<String, String> entries = new HashMap<>(base != null ? base : Collections.emptyMap());
+        entries.putAll(specific != null ? specific : Collections.emptyMap());
+
+        return Optional.of(new DirectoryBundle(specific != null ? language : Locale.ROOT, entries));
+    }
+
+    /**
+     * Returns the number of successful reloads.
+     * @return Number of reloads.
+     */
+    public long getReloadCount()
+    {
+        return reloadCount.get();
+    }
+
+    /**
+     * Returns the number of failed reloads.
+     * @return Number of reloads.
+     */
+    public long getFailedReloadCount()
+    {
+        return failedReloadCount.get();
+    }
+
+    /**
+     * Returns the number of overflows: bursts of changes for which the watch service lost events, the whole directory
+     * having been parsed and reloaded.
+     * @return Number of overflows.
+     */
+    public long getOverflowCount()
+    {
+        return overflowCount.get();
+    }
+
+    /**
+     * Returns the duration of the last reload.
+     * @return Duration.
+     */
+    public Duration getLastReloadDuration()
+    {
+        return Duration.ofNanos(lastReloadNanos.get());
+    }
+
+    /**
+     * Returns the total duration of the reloads.
+     * @return Duration.
+     */
+    public Duration getTotalReloadDuration()
+    {
+        return Duration.ofNanos(reloadNanos.get());
+    }
+
+    /**
+     * Returns if the watcher is still watching the directory.
+     * @return True if the watcher is running, false otherwise.
+     */
+    public boolean isRunning()
+    {
+        return thread.isAlive();
+    }
+
+    /**
+     * Stops watching the directory. Reloaded resource bundles stay registered in the manager.
+     */
+    @Override
+    public void close()
+    {
+        manager.unwatch(this);
+
+        try
+        {
+            service.close();
+        }
+        catch (IOException e)
+        {
+            log.warn(String.format("Resource bundle directory: '%s' watch service cannot be closed: %s", directory, e.getMessage()));
+        }
+
+        thread.interrupt();
+    }
+
+    /**
+     * Waits for the file system events and reloads the resource bundles whose files changed.
+     */
+    private void run()
+    {
+        while (!Thread.currentThread().isInterrupted())
+        {
+            WatchKey key;
+            try
+            {
+                key = service.take();
+            }
+            catch (InterruptedException | ClosedWatchServiceException e)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            // Events of a same key (for example several writes of a same file) are coalesced into one reload.
+            Map<String, Set<Locale>> changes = new LinkedHashMap<>();
+            Path folder = (Path) key.watchable();
+            boolean overflow = false;
+            for (WatchEvent<?> event : key.pollEvents())
+            {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                {
+                    overflow = true;
+                    continue;
+                }
+
+                Path path = folder.resolve((Path) event.context());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path))
+                {
+                    register(path);
+                    continue;
+                }
+
+                Optional<Map.Entry<String, Locale>> file = event.kind() == StandardWatchEventKinds.ENTRY_DELETE ? remove(path) : parse(path);
+                file.ifPresent(element -> changes.computeIfAbsent(element.getKey(), name -> new HashSet<>()).add(element.getValue()));
+            }
+            key.reset();
+
+            if (overflow)
+            {
+                rescan();
+                continue;
+            }
+
+            for (Map.Entry<String, Set<Locale>> change : changes.entrySet())
+            {
+                reload(change.getKey(), change.getValue().contains(Locale.ROOT) ? null : change.getValue());
+            }
+        }
+    }
+
+    /**
+     * Parses the whole directory again and reloads all the resource bundles, events having been lost by the watch
+     * service.
+     */
+    private void rescan()
+    {
+        overflowCount.incrementAndGet();
+        log.warn(String.format("Resource bundle directory: '%s' changes overflowed, reloading all its resource bundles", directory));
+
+        Set<String> names = new HashSet<>(files.keySet());
+        try
+        {
+            Map<String, Map<Locale, Map<String, String>>> scanned = scan();
+            files.keySet().retainAll(scanned.keySet());
+            files.putAll(scanned);
+            names.addAll(scanned.keySet());
+        }
+        catch (IOException e)
+        {
+            failedReloadCount.incrementAndGet();
+            log.error(String.format("Resource bundle directory: '%s' cannot be parsed again: %s", directory, e.getMessage()), e);
+            return;
+        }
+
+        for (String name : names)
+        {
+            reload(name, null);
+        }
+    }
+
+    /**
+     * Walks the directory, registering its sub-directories to the watch service and parsing its resource bundle
+     * properties files.
+     * @return Parsed properties files (k = resource bundle name, v = (k = language or {@link Locale#ROOT}, w = entries)).
+     * @throws IOException Thrown in case the directory cannot be walked.
+     */
+    private Map<String, Map<Locale, Map<String, String>>> scan() throws IOException
+    {
+        Map<String, Map<Locale, Map<String, String>>> scanned = new HashMap<>();
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            for (Path path : (Iterable<Path>) paths::iterator)
+            {
+                if (Files.isDirectory(path))
+                {
+                    register(path);
+                }
+                else
+                {
+                    parse(path, scanned);
+                }
+            }
+        }
+
+        return scanned;
+    }
+
+    /**
+     * Reloads a resource bundle into the manager.
+     * @param name Resource bundle name.
+     * @param changed Languages whose file changed or {@code null} if all the languages have to be reloaded.
+     */
+    private void reload(final @NonNull String name, final Set<Locale> changed)
+    {
+        long start = System.nanoTime();
+        try
+        {
+            if (manager.reload(name, changed, this))
+            {
+                long duration = System.nanoTime() - start;
+                lastReloadNanos.set(duration);
+                reloadNanos.addAndGet(duration);
+                reloadCount.incrementAndGet();
+                log.info(String.format("Resource bundle: '%s' reloaded from directory: '%s' in %d ms", name, directory, duration / 1_000_000));
+            }
+        }
+        catch (RuntimeException e)
+        {
+            failedReloadCount.incrementAndGet();
+            log.error(String.format("Resource bundle: '%s' cannot be reloaded from directory: '%s': %s", name, directory, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Registers a directory (and its sub-directories) to the watch service.
+     * @param folder Directory.
+     */
+    private void register(final @NonNull Path folder)
+    {
+        try
+        {
+            folder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        catch (IOException e)
+        {
+            log.warn(String.format("Resource bundle directory: '%s' cannot be watched: %s", folder, e.getMessage()));
+        }
+    }
+
+    /**
+     * Parses a resource bundle properties file.
+     * @param path File path.
+     * @return Optional resource bundle name and language (or {@link Locale#ROOT}) of the file, empty if the file is not
+     * a resource bundle properties file or cannot be read.
+     */
+    private Optional<Map.Entry<String, Locale>> parse(final @NonNull Path path)
+    {
+        return parse(path, files);
+    }
+
+    /**
+     * Parses a resource bundle properties file into the given parsed properties files.
+     * @param path File path.
+     * @param target Parsed properties files (k = resource bundle name, v = (k = language or {@link Locale#ROOT}, w =
+     * entries)).
+     * @return Optional resource bundle name and language (or {@link Locale#ROOT}) of the file, empty if the file is not
+     * a resource bundle properties file or cannot be read.
+     */
+    private Optional<Map.Entry<String, Locale>> parse(final @NonNull Path path, final @NonNull Map<String, Map<Locale, Map<String, String>>> target)
+    {
+        Optional<Map.Entry<String, Locale>> file = identify(path);
+        if (file.isPresent())
+        {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+            {
+                Properties properties = new Properties();
+                properties.load(reader);
+
+                Map<String, String> entries = new HashMap<>();
+                for (String key : properties.stringPropertyNames())
+                {
+                    entries.put(key, properties.getProperty(key));
+                }
+
+                target.computeIfAbsent(file.get().getKey(), name -> new ConcurrentHashMap<>()).put(file.get().getValue(), Collections.unmodifiableMap(entries));
+            }
+            catch (IOException | IllegalArgumentException e)
+            {
+                // The file may be partially written, it will be parsed again on its next modification event.
+                log.warn(String.format("Resource bundle file: '%s' cannot be parsed: %s", path, e.getMessage()));
+                return Optional.empty();
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * Removes a deleted resource bundle properties file.
+     * @param path File path.
+     * @return Optional resource bundle name and language (or {@link Locale#ROOT}) of the file, empty if the file is not
+     * a resource bundle properties file.
+     */
+    private Optional<Map.Entry<String, Locale>> remove(final @NonNull Path path)
+    {
+        Optional<Map.Entry<String, Locale>> file = identify(path);
+        file.ifPresent(element -> files.getOrDefault(element.getKey(), Collections.emptyMap()).remove(element.getValue()));
+
+        return file;
+    }
+
+    /**
+     * Identifies the resource bundle of a properties file.
+     * @param path File path.
+     * @return Optional resource bundle name and language (or {@link Locale#ROOT}) of the file.
+     */
+    private Optional<Map.Entry<String, Locale>> identify(final @NonNull Path path)
+    {
+        String relative = directory.relativize(path.toAbsolutePath().normalize()).toString().replace('\\', '/');
+        if (!relative.endsWith(EXTENSION))
+        {
+            return Optional.empty();
+        }
+
+        Matcher matcher = FILE_NAME.matcher(relative.substring(0, relative.length() - EXTENSION.length()));
+        if (!matcher.matches())
+        {
+            return Optional.empty();
+        }
+
+        if (matcher.group(3) != null)
+        {
+            log.warn(String.format("Resource bundle file: '%s' ignored: region specific files are not supported, resource bundles being registered per language", path));
+            return Optional.empty();
+        }
+
+        Locale language = matcher.group(2) != null ? Locale.forLanguageTag(matcher.group(2)) : Locale.ROOT;
+        return Optional.of(new AbstractMap.SimpleImmutableEntry<>(matcher.group(1), language));
+    }
+
+    /**
+     * A resource bundle made of the entries of the properties files of the directory.
+     */
+    private static final class DirectoryBundle extends ResourceBundle
+    {
+        /**
+         * Resource bundle locale.
+         */
+        private final Locale locale;
+
+        /**
+         * Entries, the ones of the base file being already applied.
+         */
+        private final Map<String, String> entries;
+
+        /**
+         * Creates a new resource bundle.
+         * @param locale Resource bundle locale.
+         * @param entries Entries.
+         */
+        DirectoryBundle(final @NonNull Locale locale, final @NonNull Map<String, String> entries)
+        {
+            this.locale = locale;
+            this.entries = entries;
+        }
+
+        @Override
+        public Locale getLocale()
+        {
+            return locale;
+        }
+
+        @Override
+        protected Object handleGetObject(final @NonNull String key)
+        {
+            return entries.get(key);
+        }
+
+        @Override
+        protected Set<String> handleKeySet()
+        {
+            return entries.keySet();
+        }
+
+        @Override
+        public Enumeration<String> getKeys()
+        {
+            return Collections.enumeration(entries.keySet());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.NonNull;
+
+import java.util.Locale;
+
+/**
+ * A JDK Flight Recorder event emitted for each loading (or hot reloading) of a resource bundle by the
+ * {@link ResourceBundleManager}.
+ * <p>
+ * Only the loadings lasting at least the event threshold (0 ms by default) are recorded. As any JFR setting, the
+ * threshold can be changed for a recording (for example using a {@code .jfc} settings file).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Name(BundleLoadEvent.NAME)
+@Label("Resource Bundle Load")
+@Description("Loading of a resource bundle")
+@Category({ "Lychee", "Localization" })
+@Threshold("0 ms")
+final class BundleLoadEvent extends Event
+{
+    /**
+     * Name of the event.
+     */
+    static final String NAME = "org.ressec.lychee.BundleLoad";
+
+    @Label("Bundle")
+    String bundle;
+
+    @Label("Locale")
+    @Description("Requested locale, '*' if all the available locales are loaded")
+    String locale;
+
+    @Label("Languages")
+    @Description("Number of languages the resource bundle has been found for")
+    int languages;
+
+    @Label("Reload")
+    @Description("True if the resource bundle has been reloaded from a watched directory")
+    boolean reload;
+
+    /**
+     * Commits the event if it has to be recorded.
+     * @param bundle Resource bundle path and name.
+     * @param locale Requested locale or {@code null} if all the available locales are loaded.
+     * @param languages Number of languages the resource bundle has been found for.
+     * @param reload True if the resource bundle has been reloaded, false if it has been loaded.
+     */
+    void record(final @NonNull String bundle, final Locale locale, final int languages, final boolean reload)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.bundle = bundle;
+            this.locale = locale != null ? locale.toLanguageTag() : "*";
+            this.languages = languages;
+            this.reload = reload;
+            commit();
+        }
+    }
+}
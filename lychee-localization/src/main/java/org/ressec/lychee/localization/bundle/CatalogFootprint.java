@@ -0,0 +1,96 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+
+/**
+ * A report of the (estimated) heap footprint of the resource bundles loaded by the {@link ResourceBundleManager}.
+ * <p>
+ * It compares the compact layout used by the manager (keys shared by all the languages of a resource bundle, values
+ * deduplicated and stored as Latin-1 or UTF-8 byte arrays) against the layout of the same entries held as one
+ * {@link java.util.ResourceBundle} (and its hash map of {@link String} keys and values) per resource bundle and language.
+ * Estimations assume a 64-bit JVM using compressed object references and compact strings.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class CatalogFootprint
+{
+    /**
+     * Number of (resource bundle, language) pairs held in the heap.
+     */
+    @Getter
+    private final int bundles;
+
+    /**
+     * Number of resource bundle entries held in the heap.
+     */
+    @Getter
+    private final long entries;
+
+    /**
+     * Number of distinct values held in the heap.
+     */
+    @Getter
+    private final long distinctValues;
+
+    /**
+     * Estimated heap footprint of the compact layout, in bytes.
+     */
+    @Getter
+    private final long compactBytes;
+
+    /**
+     * Estimated heap footprint of the same entries held as resource bundles, in bytes.
+     */
+    @Getter
+    private final long legacyBytes;
+
+    /**
+     * Creates a new footprint report.
+     * @param bundles Number of (resource bundle, language) pairs held in the heap.
+     * @param entries Number of resource bundle entries held in the heap.
+     * @param distinctValues Number of distinct values held in the heap.
+     * @param compactBytes Estimated heap footprint of the compact layout, in bytes.
+     * @param legacyBytes Estimated heap footprint of the same entries held as resource bundles, in bytes.
+     */
+    CatalogFootprint(final int bundles, final long entries, final long distinctValues, final long compactBytes, final long legacyBytes)
+    {
+        this.bundles = bundles;
+        this.entries = entries;
+        this.distinctValues = distinctValues;
+        this.compactBytes = compactBytes;
+        this.legacyBytes = legacyBytes;
+    }
+
+    /**
+     * Returns the estimated number of bytes saved by the compact layout.
+     * @return Number of bytes.
+     */
+    public long getSavedBytes()
+    {
+        return legacyBytes - compactBytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+                "Catalog footprint(bundles=%d, entries=%d, distinct values=%d, compact=%d bytes, resource bundles=%d bytes, saved=%.1f%%)",
+                bundles,
+                entries,
+                distinctValues,
+                compactBytes,
+                legacyBytes,
+                legacyBytes > 0 ? 100.0 * getSavedBytes() / legacyBytes : 0.0);
+    }
+}
@@ -0,0 +1,618 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.zip.CRC32;
+
+/**
+ * A snapshot of the resource bundles registered in a {@link ResourceBundleManager} and of its fallback chains, written
+ * to a file once the resource bundles are loaded and restored on the next start to avoid reading (and parsing) the
+ * resource bundle files again.
+ * <p>
+ * A snapshot is restored with a single bulk read of its file. It is only valid if the configuration of the manager
+ * (configured languages and JVM default locale) and the checksums of the source resource bundle files (and of the
+ * binary catalog) have not changed since it has been written: checksums of the files packaged in a jar file are read
+ * from its directory, so validating a snapshot does not involve reading their content.
+ * <p>
+ * Resource bundles read from the {@link BinaryCatalog} are already stored off-heap: their entries are not copied into
+ * the snapshot, only the fact they have been registered, and they are mapped again from the catalog when the snapshot
+ * is restored (the catalog being one of the checksummed sources).
+ * <p>
+ * File layout (big endian):
+ * <ul>
+ *     <li>header: magic, version</li>
+ *     <li>configuration: configured languages, JVM default locale</li>
+ *     <li>sources: (resource name, checksum) for each source file</li>
+ *     <li>bundles: (name, loaded for all the languages, requested languages, languages) for each resource bundle,
+ *     each language being made of (language, locale of the resource bundle file, read from the binary catalog,
+ *     entries if not read from the binary catalog)</li>
+ *     <li>chains: (configuration, fallback chain) for each computed fallback chain</li>
+ *     <li>trailer: CRC-32 checksum of the previous content</li>
+ * </ul>
+ * Strings are UTF-8 encoded and prefixed by their length in bytes.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class CatalogSnapshot
+{
+    /**
+     * Snapshot file magic number ('LYSN').
+     */
+    static final int MAGIC = 0x4C59534E;
+
+    /**
+     * Snapshot file format version.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Checksums of the source files (k = resource name, v = checksum).
+     */
+    private final Map<String, Long> sources;
+
+    /**
+     * Resource bundles (k = name, v = resource bundle).
+     */
+    private final Map<String, Bundle> bundles;
+
+    /**
+     * Fallback chains (k = configuration, v = fallback chain).
+     */
+    @Getter
+    private final Map<List<Locale>, List<Locale>> chains;
+
+    /**
+     * Creates a new snapshot.
+     * @param sources Checksums of the source files (k = resource name, v = checksum).
+     * @param bundles Resource bundles (k = name, v = resource bundle).
+     * @param chains Fallback chains (k = configuration, v = fallback chain).
+     */
+    private CatalogSnapshot(final @NonNull Map<String, Long> sources, final @NonNull Map<String, Bundle> bundles, final @NonNull Map<List<Locale>, List<Locale>> chains)
+    {
+        this.sources = sources;
+        this.bundles = bundles;
+        this.chains = chains;
+    }
+
+    /**
+     * Takes a snapshot of the given index and fallback chains. Only the resource bundles registered for at least one
+     * language are part of the snapshot: a resource bundle not found for any language is searched again once the
+     * snapshot is restored.
+     * @param index Index.
+     * @param chains Fallback chains (k = configuration, v = fallback chain).
+     * @return Snapshot.
+     */
+    static CatalogSnapshot of(final @NonNull ResourceBundleIndex index, final @NonNull Map<List<Locale>, List<Locale>> chains)
+    {
+        Map<String, Bundle> bundles = new LinkedHashMap<>();
+        for (String name : index.getBundles())
+        {
+            if (index.getLanguages(name).isEmpty())
+            {
+                continue;
+            }
+
+            Map<Locale, Locale> locales = new LinkedHashMap<>();
+            Map<Locale, Map<String, String>> entries = new LinkedHashMap<>();
+            for (Locale language : index.getLanguages(name))
+            {
+                locales.put(language, index.getBundleLocale(name, language));
+                if (index.isMapped(name, language))
+                {
+                    // Mapped again from the binary catalog when restored.
+                    continue;
+                }
+
+                Map<String, String> values = new HashMap<>();
+                for (String key : index.getKeys(name, language))
+                {
+                    String value = index.get(name, key, language);
+                    if (value != null)
+                    {
+                        values.put(key, value);
+                    }
+                }
+
+                entries.put(language, values);
+            }
+
+            bundles.put(name, new Bundle(index.isRegistered(name, null), index.getRequestedLanguages(name), locales, entries));
+        }
+
+        return new CatalogSnapshot(computeSources(bundles.keySet()), bundles, new HashMap<>(chains));
+    }
+
+    /**
+     * Reads a snapshot file.
+     * @param path Snapshot file path.
+     * @return Optional snapshot, empty if the file does not exist or is not valid anymore (its sources or the
+     * configuration having changed).
+     * @throws ResourceBundleException Thrown in case the file cannot be read or is not a valid snapshot.
+     */
+    static Optional<CatalogSnapshot> read(final @NonNull Path path)
+    {
+        ByteBuffer buffer;
+        try
+        {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.BIG_ENDIAN);
+        }
+        catch (NoSuchFileException e)
+        {
+            return Optional.empty();
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot read catalog snapshot: '%s' due to: %s", path, e.getMessage()), e);
+        }
+
+        try
+        {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, Math.max(0, buffer.capacity() - Long.BYTES));
+            if (buffer.capacity() < 2 * Integer.BYTES + Long.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong(buffer.capacity() - Long.BYTES) != crc.getValue())
+            {
+                throw new ResourceBundleException(String.format("Invalid catalog snapshot: '%s' (bad magic number, unsupported version or corrupted)!", path));
+            }
+
+            if (!readLocales(buffer).equals(ResourceBundleManager.getFilteredLocales()) || !readLocale(buffer).equals(Locale.getDefault()))
+            {
+                return Optional.empty();
+            }
+
+            Map<String, Long> sources = new LinkedHashMap<>();
+            for (int i = buffer.getInt(); i > 0; i--)
+            {
+                sources.put(readString(buffer), buffer.getLong());
+            }
+
+            Map<String, Bundle> bundles = new LinkedHashMap<>();
+            for (int i = buffer.getInt(); i > 0; i--)
+            {
+                String name = readString(buffer);
+                boolean completed = buffer.get() != 0;
+                Set<Locale> requested = new HashSet<>(readLocales(buffer));
+
+                Map<Locale, Locale> locales = new LinkedHashMap<>();
+                Map<Locale, Map<String, String>> entries = new LinkedHashMap<>();
+                for (int j = buffer.getInt(); j > 0; j--)
+                {
+                    Locale language = readLocale(buffer);
+                    locales.put(language, readLocale(buffer));
+                    if (buffer.get() != 0)
+                    {
+                        continue;
+                    }
+
+                    int count = buffer.getInt();
+                    Map<String, String> values = new HashMap<>(count * 4 / 3 + 1);
+                    for (int k = 0; k < count; k++)
+                    {
+                        values.put(readString(buffer), readString(buffer));
+                    }
+                    entries.put(language, values);
+                }
+
+                bundles.put(name, new Bundle(completed, requested, locales, entries));
+            }
+
+            Map<List<Locale>, List<Locale>> chains = new HashMap<>();
+            for (int i = buffer.getInt(); i > 0; i--)
+            {
+                chains.put(readLocales(buffer), readLocales(buffer));
+            }
+
+            return sources.equals(computeSources(bundles.keySet()))
+                    ? Optional.of(new CatalogSnapshot(sources, bundles, chains))
+                    : Optional.empty();
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e)
+        {
+            throw new ResourceBundleException(String.format("Invalid catalog snapshot: '%s' due to: %s", path, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Writes the snapshot to a file. The file is replaced atomically.
+     * @param path Snapshot file path.
+     * @throws ResourceBundleException Thrown in case the file cannot be written.
+     */
+    void write(final @NonNull Path path)
+    {
+        try
+        {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(content);
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeLocales(out, ResourceBundleManager.getFilteredLocales());
+            writeLocale(out, Locale.getDefault());
+
+            out.writeInt(sources.size());
+            for (Map.Entry<String, Long> source : sources.entrySet())
+            {
+                writeString(out, source.getKey());
+                out.writeLong(source.getValue());
+            }
+
+            out.writeInt(bundles.size());
+            for (Map.Entry<String, Bundle> bundle : bundles.entrySet())
+            {
+                writeString(out, bundle.getKey());
+                out.writeBoolean(bundle.getValue().completed);
+                writeLocales(out, bundle.getValue().requested);
+
+                out.writeInt(bundle.getValue().locales.size());
+                for (Map.Entry<Locale, Locale> language : bundle.getValue().locales.entrySet())
+                {
+                    writeLocale(out, language.getKey());
+                    writeLocale(out, language.getValue());
+
+                    Map<String, String> values = bundle.getValue().entries.get(language.getKey());
+                    out.writeBoolean(values == null);
+                    if (values == null)
+                    {
+                        continue;
+                    }
+
+                    out.writeInt(values.size());
+                    for (Map.Entry<String, String> value : values.entrySet())
+                    {
+                        writeString(out, value.getKey());
+                        writeString(out, value.getValue());
+                    }
+                }
+            }
+
+            out.writeInt(chains.size());
+            for (Map.Entry<List<Locale>, List<Locale>> chain : chains.entrySet())
+            {
+                writeLocales(out, chain.getKey());
+                writeLocales(out, chain.getValue());
+            }
+
+            out.flush();
+            CRC32 crc = new CRC32();
+            crc.update(content.toByteArray());
+            out.writeLong(crc.getValue());
+            out.flush();
+
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temporary, content.toByteArray());
+
+            // Replaced atomically: a concurrent restore never reads a partially written snapshot.
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot write catalog snapshot: '%s' due to: %s", path, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns an index containing the entries of the given index and the resource bundles of the snapshot.
+     * @param index Index.
+     * @param catalog Binary catalog the resource bundles read from a binary catalog are mapped from, {@code null} if
+     * there is none.
+     * @return New index.
+     * @throws ResourceBundleException Thrown in case a resource bundle read from a binary catalog is missing.
+     */
+    ResourceBundleIndex restore(final @NonNull ResourceBundleIndex index, final BinaryCatalog catalog)
+    {
+        ResourceBundleIndex restored = index;
+        for (Map.Entry<String, Bundle> element : bundles.entrySet())
+        {
+            Bundle bundle = element.getValue();
+
+            Map<Locale, ResourceBundle> loaded = new HashMap<>();
+            for (Map.Entry<Locale, Locale> language : bundle.locales.entrySet())
+            {
+                Map<String, String> values = bundle.entries.get(language.getKey());
+                loaded.put(language.getKey(), values != null
+                        ? new SnapshotBundle(language.getValue(), values)
+                        : map(catalog, element.getKey(), language.getKey()));
+            }
+
+            // Resource bundles are merged by the first request, the other ones are only recorded as served.
+            for (Locale language : bundle.requested)
+            {
+                restored = restored.with(element.getKey(), language, loaded);
+                loaded = Collections.emptyMap();
+            }
+
+            if (bundle.completed)
+            {
+                restored = restored.with(element.getKey(), null, loaded);
+            }
+        }
+
+        return restored;
+    }
+
+    /**
+     * Returns a resource bundle of a binary catalog.
+     * @param catalog Binary catalog, {@code null} if there is none.
+     * @param name Resource bundle name.
+     * @param language Language.
+     * @return Resource bundle.
+     * @throws ResourceBundleException Thrown in case the resource bundle is not in the binary catalog.
+     */
+    private static ResourceBundle map(final BinaryCatalog catalog, final @NonNull String name, final @NonNull Locale language)
+    {
+        return Optional.ofNullable(catalog)
+                .flatMap(element -> element.getBundle(name, language))
+                .orElseThrow(() -> new ResourceBundleException(String.format("Cannot restore resource bundle: '%s' for language: '%s' (not found in binary catalog)!", name, language)));
+    }
+
+    /**
+     * Returns the number of resource bundles of the snapshot.
+     * @return Number of resource bundles.
+     */
+    int size()
+    {
+        return bundles.size();
+    }
+
+    /**
+     * Computes the checksums of the source files of the given resource bundles: their resource bundle properties files
+     * and the binary catalog (if any).
+     * @param names Resource bundle names.
+     * @return Checksums (k = resource name, v = checksum).
+     */
+    private static Map<String, Long> computeSources(final @NonNull Collection<String> names)
+    {
+        ClassLoader loader = ResourceBundleManager.class.getClassLoader();
+
+        Set<String> resources = new TreeSet<>();
+        Map<String, Set<String>> directories = new HashMap<>();
+        for (String name : names)
+        {
+            String directory = name.lastIndexOf('/') > 0 ? name.substring(0, name.lastIndexOf('/')) : "";
+            for (String resource : directories.computeIfAbsent(directory, element -> ClasspathScanner.findResources(loader, element, false)))
+            {
+                Matcher matcher = BinaryCatalogCompiler.PROPERTIES_FILE.matcher(resource);
+                if (matcher.matches() && matcher.group(1).equals(name))
+                {
+                    resources.add(resource);
+                }
+            }
+        }
+
+        // Resource bundles can also be read from the binary catalog, possibly an external one.
+        String external = System.getProperty(BinaryCatalog.PROPERTY);
+        if (external == null)
+        {
+            resources.add(BinaryCatalog.RESOURCE);
+        }
+
+        // Checksums of the resources packaged in a same jar file are read with a single pass on its directory.
+        Map<String, Long> checksums = new TreeMap<>(ClasspathScanner.checksums(loader, resources));
+        checksums.remove(BinaryCatalog.RESOURCE, -1L);
+
+        long catalog = external != null ? checksum(Paths.get(external)) : -1;
+        if (catalog >= 0)
+        {
+            checksums.put(external, catalog);
+        }
+
+        return checksums;
+    }
+
+    /**
+     * Returns the CRC-32 checksum of the content of a file.
+     * @param path File path.
+     * @return Checksum or {@code -1} if the file cannot be read.
+     */
+    private static long checksum(final @NonNull Path path)
+    {
+        try
+        {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(path));
+            return crc.getValue();
+        }
+        catch (IOException e)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * Writes a string.
+     * @param out Output stream.
+     * @param value String.
+     * @throws IOException Thrown in case an error occurred while writing.
+     */
+    private static void writeString(final @NonNull DataOutputStream out, final @NonNull String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes a locale.
+     * @param out Output stream.
+     * @param locale Locale.
+     * @throws IOException Thrown in case an error occurred while writing.
+     */
+    private static void writeLocale(final @NonNull DataOutputStream out, final @NonNull Locale locale) throws IOException
+    {
+        writeString(out, locale.toLanguageTag());
+    }
+
+    /**
+     * Writes a collection of locales.
+     * @param out Output stream.
+     * @param locales Locales.
+     * @throws IOException Thrown in case an error occurred while writing.
+     */
+    private static void writeLocales(final @NonNull DataOutputStream out, final @NonNull Collection<Locale> locales) throws IOException
+    {
+        out.writeInt(locales.size());
+        for (Locale locale : locales)
+        {
+            writeLocale(out, locale);
+        }
+    }
+
+    /**
+     * Reads a string.
+     * @param buffer Buffer.
+     * @return String.
+     */
+    private static String readString(final @NonNull ByteBuffer buffer)
+    {
+        int length = buffer.getInt();
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+
+        return value;
+    }
+
+    /**
+     * Reads a locale.
+     * @param buffer Buffer.
+     * @return Locale.
+     */
+    private static Locale readLocale(final @NonNull ByteBuffer buffer)
+    {
+        return Locale.forLanguageTag(readString(buffer));
+    }
+
+    /**
+     * Reads a list of locales.
+     * @param buffer Buffer.
+     * @return Locales.
+     */
+    private static List<Locale> readLocales(final @NonNull ByteBuffer buffer)
+    {
+        int count = buffer.getInt();
+        List<Locale> locales = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            locales.add(readLocale(buffer));
+        }
+
+        return Collections.unmodifiableList(locales);
+    }
+
+    /**
+     * The content of a resource bundle in a snapshot.
+     */
+    private static final class Bundle
+    {
+        /**
+         * True if the resource bundle has been loaded for all the languages.
+         */
+        private final boolean completed;
+
+        /**
+         * Languages the resource bundle has been requested for.
+         */
+        private final Set<Locale> requested;
+
+        /**
+         * Locales of the resource bundle files (k = language, v = locale).
+         */
+        private final Map<Locale, Locale> locales;
+
+        /**
+         * Entries (k = language, v = entries), the languages read from the binary catalog having none.
+         */
+        private final Map<Locale, Map<String, String>> entries;
+
+        /**
+         * Creates a new resource bundle content.
+         * @param completed True if the resource bundle has been loaded for all the languages.
+         * @param requested Languages the resource bundle has been requested for.
+         * @param locales Locales of the resource bundle files (k = language, v = locale).
+         * @param entries Entries (k = language, v = entries), the languages read from the binary catalog having none.
+         */
+        private Bundle(final boolean completed, final @NonNull Set<Locale> requested, final @NonNull Map<Locale, Locale> locales, final @NonNull Map<Locale, Map<String, String>> entries)
+        {
+            this.completed = completed;
+            this.requested = requested;
+            this.locales = locales;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * A resource bundle restored from a snapshot.
+     */
+    private static final class SnapshotBundle extends ResourceBundle
+    {
+        /**
+         * Resource bundle locale.
+         */
+        private final Locale locale;
+
+        /**
+         * Entries.
+         */
+        private final Map<String, String> entries;
+
+        /**
+         * Creates a new resource bundle.
+         * @param locale Resource bundle locale.
+         * @param entries Entries.
+         */
+        private SnapshotBundle(final @NonNull Locale locale, final @NonNull Map<String, String> entries)
+        {
+            this.locale = locale;
+            this.entries = entries;
+        }
+
+        @Override
+        public Locale getLocale()
+        {
+            return locale;
+        }
+
+        @Override
+        protected Object handleGetObject(final @NonNull String key)
+        {
+            return entries.get(key);
+        }
+
+        @Override
+        protected Set<String> handleKeySet()
+        {
+            return entries.keySet();
+        }
+
+        @Override
+        public Enumeration<String> getKeys()
+        {
+            return Collections.enumeration(entries.keySet());
+        }
+    }
+}
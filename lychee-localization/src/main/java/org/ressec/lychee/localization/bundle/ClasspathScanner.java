@@ -0,0 +1,272 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * A scanner of the resources of a classpath directory, located in file system directories or in jar files.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+final class ClasspathScanner
+{
+    /**
+     * Avoid direct instantiation.
+     */
+    private ClasspathScanner()
+    {
+        // Empty
+    }
+
+    /**
+     * Finds the resources of a classpath directory, in all the classpath entries containing it.
+     * @param loader Class loader.
+     * @param directory Classpath directory (for example {@code i18n} or {@code org/ressec/lychee}).
+     * @param recursive True to also find the resources of the sub directories, false otherwise.
+     * @return Resource names (for example {@code i18n/day_fr.properties}), sorted.
+     */
+    static Set<String> findResources(final @NonNull ClassLoader loader, final @NonNull String directory, final boolean recursive)
+    {
+        Set<String> resources = new TreeSet<>();
+
+        try
+        {
+            Enumeration<URL> urls = loader.getResources(directory);
+            while (urls.hasMoreElements())
+            {
+                URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol()))
+                {
+                    resources.addAll(findFiles(Paths.get(url.toURI()), directory, recursive));
+                }
+                else if ("jar".equals(url.getProtocol()))
+                {
+                    resources.addAll(findEntries(url, directory, recursive));
+                }
+                else
+                {
+                    log.debug(String.format("Classpath directory: '%s' cannot be scanned (unsupported protocol)", url));
+                }
+            }
+        }
+        catch (IOException | URISyntaxException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot scan classpath directory: '%s' due to: %s", directory, e.getMessage()), e);
+        }
+
+        return resources;
+    }
+
+    /**
+     * Finds the files of a file system directory.
+     * @param path Directory path.
+     * @param directory Classpath directory.
+     * @param recursive True to also find the files of the sub directories, false otherwise.
+     * @return Resource names.
+     * @throws IOException Thrown in case the directory cannot be listed.
+     */
+    private static Set<String> findFiles(final @NonNull Path path, final @NonNull String directory, final boolean recursive) throws IOException
+    {
+        try (Stream<Path> files = recursive ? Files.walk(path) : Files.list(path))
+        {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> directory + "/" + path.relativize(file).toString().replace(path.getFileSystem().getSeparator(), "/"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Finds the entries of a jar file directory.
+     * @param url Url of the directory in the jar file.
+     * @param directory Classpath directory.
+     * @param recursive True to also find the entries of the sub directories, false otherwise.
+     * @return Resource names.
+     * @throws IOException Thrown in case the jar file cannot be read.
+     */
+    private static Set<String> findEntries(final @NonNull URL url, final @NonNull String directory, final boolean recursive) throws IOException
+    {
+        Set<String> resources = new TreeSet<>();
+        String prefix = directory + "/";
+
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jar = ((JarURLConnection) connection).getJarFile())
+        {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements())
+            {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (!entry.isDirectory() && name.startsWith(prefix) && (recursive || name.indexOf('/', prefix.length()) < 0))
+                {
+                    resources.add(name);
+                }
+            }
+        }
+
+        return resources;
+    }
+
+    /**
+     * Returns the CRC-32 checksums of the content of classpath resources. Each jar file is opened once and the
+     * checksums of its entries are read from its directory, without reading their content.
+     * @param loader Class loader.
+     * @param resources Resource names.
+     * @return Checksums (k = resource name, v = checksum or {@code -1} if the resource does not exist).
+     * @throws ResourceBundleException Thrown in case a resource cannot be read.
+     */
+    static Map<String, Long> checksums(final @NonNull ClassLoader loader, final @NonNull Collection<String> resources)
+    {
+        Map<String, Long> checksums = new HashMap<>();
+        Map<URL, Map<String, String>> jars = new LinkedHashMap<>();
+
+        for (String resource : resources)
+        {
+            URL url = loader.getResource(resource);
+            if (url == null)
+            {
+                checksums.put(resource, -1L);
+                continue;
+            }
+
+            try
+            {
+                URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection)
+                {
+                    // Only resolves the jar file url and the entry name, the jar file is not opened yet.
+                    JarURLConnection jar = (JarURLConnection) connection;
+                    jars.computeIfAbsent(jar.getJarFileURL(), element -> new HashMap<>()).put(jar.getEntryName(), resource);
+                }
+                else
+                {
+                    checksums.put(resource, checksum(url));
+                }
+            }
+            catch (IOException e)
+            {
+                throw new ResourceBundleException(String.format("Cannot read classpath resource: '%s' due to: %s", resource, e.getMessage()), e);
+            }
+        }
+
+        for (Map.Entry<URL, Map<String, String>> jar : jars.entrySet())
+        {
+            checksums.putAll(checksums(jar.getKey(), jar.getValue()));
+        }
+
+        return checksums;
+    }
+
+    /**
+     * Returns the CRC-32 checksums of entries of a jar file, read from a single enumeration of its directory.
+     * @param url Url of the jar file.
+     * @param entries Entries (k = entry name, v = resource name).
+     * @return Checksums (k = resource name, v = checksum or {@code -1} if the entry does not exist).
+     * @throws ResourceBundleException Thrown in case the jar file cannot be read.
+     */
+    private static Map<String, Long> checksums(final @NonNull URL url, final @NonNull Map<String, String> entries)
+    {
+        Map<String, Long> checksums = new HashMap<>();
+        for (String resource : entries.values())
+        {
+            checksums.put(resource, -1L);
+        }
+
+        try
+        {
+            URLConnection connection = new URL("jar:" + url + "!/").openConnection();
+            connection.setUseCaches(false);
+            try (JarFile jar = ((JarURLConnection) connection).getJarFile())
+            {
+                Enumeration<JarEntry> enumeration = jar.entries();
+                while (enumeration.hasMoreElements())
+                {
+                    JarEntry entry = enumeration.nextElement();
+                    String resource = entries.get(entry.getName());
+                    if (resource != null)
+                    {
+                        // The checksum is unknown when the directory has not been written with it.
+                        long crc = entry.getCrc();
+                        if (crc < 0)
+                        {
+                            try (InputStream stream = jar.getInputStream(entry))
+                            {
+                                crc = checksum(stream);
+                            }
+                        }
+
+                        checksums.put(resource, crc);
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot read jar file: '%s' due to: %s", url, e.getMessage()), e);
+        }
+
+        return checksums;
+    }
+
+    /**
+     * Returns the CRC-32 checksum of the content of a resource.
+     * @param url Resource url.
+     * @return Checksum.
+     * @throws IOException Thrown in case the resource cannot be read.
+     */
+    private static long checksum(final @NonNull URL url) throws IOException
+    {
+        try (InputStream stream = url.openStream())
+        {
+            return checksum(stream);
+        }
+    }
+
+    /**
+     * Returns the CRC-32 checksum of the content of a stream.
+     * @param stream Input stream.
+     * @return Checksum.
+     * @throws IOException Thrown in case the stream cannot be read.
+     */
+    private static long checksum(final @NonNull InputStream stream) throws IOException
+    {
+        CRC32 crc = new CRC32();
+        crc.update(stream.readAllBytes());
+
+        return crc.getValue();
+    }
+}
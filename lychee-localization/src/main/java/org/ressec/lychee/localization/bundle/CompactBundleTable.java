@@ -0,0 +1,281 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * An immutable and compact table of the entries of a resource bundle for all its loaded languages.
+ * <p>
+ * The keys are held once (whatever the number of languages) in an open addressing hash table whose slots index, for
+ * each language, an array of the {@link ValuePool pooled} encoded values.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class CompactBundleTable
+{
+    /**
+     * Empty table.
+     */
+    static final CompactBundleTable EMPTY = new CompactBundleTable(new String[1], Collections.emptyMap(), 0);
+
+    /**
+     * Keys (open addressing hash table, {@code null} for a free slot).
+     */
+    private final String[] keys;
+
+    /**
+     * Encoded values (k = language, v = encoded values indexed by key slot).
+     */
+    private final Map<Locale, byte[][]> values;
+
+    /**
+     * Number of keys.
+     */
+    private final int size;
+
+    /**
+     * Creates a new table.
+     * @param keys Keys.
+     * @param values Encoded values (k = language, v = encoded values indexed by key slot).
+     * @param size Number of keys.
+     */
+    private CompactBundleTable(final String[] keys, final Map<Locale, byte[][]> values, final int size)
+    {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Returns a table containing the entries of this table and the ones of the given resource bundles, replacing the
+     * entries of the languages already in the table.
+     * @param bundles Resource bundles (k = language, v = resource bundle).
+     * @param pool Value pool.
+     * @return New table.
+     */
+    CompactBundleTable with(final @NonNull Map<Locale, ResourceBundle> bundles, final @NonNull ValuePool pool)
+    {
+        Set<String> union = new LinkedHashSet<>();
+        for (String key : keys)
+        {
+            if (key != null)
+            {
+                union.add(key);
+            }
+        }
+
+        for (ResourceBundle bundle : bundles.values())
+        {
+            union.addAll(bundle.keySet());
+        }
+
+        // Keys are re-hashed (and existing languages re-indexed) only if new keys have been found.
+        String[] table = keys;
+        Map<Locale, byte[][]> elements = new HashMap<>();
+        if (union.size() == size)
+        {
+            elements.putAll(values);
+        }
+        else
+        {
+            table = new String[Integer.highestOneBit(Math.max(union.size(), 1) * 2) * 2];
+            for (String key : union)
+            {
+                table[probe(table, key)] = key;
+            }
+
+            for (Map.Entry<Locale, byte[][]> language : values.entrySet())
+            {
+                byte[][] reindexed = new byte[table.length][];
+                for (int slot = 0; slot < keys.length; slot++)
+                {
+                    if (keys[slot] != null)
+                    {
+                        reindexed[probe(table, keys[slot])] = language.getValue()[slot];
+                    }
+                }
+                elements.put(language.getKey(), reindexed);
+            }
+        }
+
+        for (Map.Entry<Locale, ResourceBundle> language : bundles.entrySet())
+        {
+            byte[][] encoded = new byte[table.length][];
+            for (String key : language.getValue().keySet())
+            {
+                encoded[probe(table, key)] = pool.intern(language.getValue().getString(key));
+            }
+            elements.put(language.getKey(), encoded);
+        }
+
+        return new CompactBundleTable(table, Collections.unmodifiableMap(elements), union.size());
+    }
+
+    /**
+     * Returns if the table contains entries for the given language.
+     * @param language Language.
+     * @return True if the table contains entries for the language, false otherwise.
+     */
+    boolean contains(final @NonNull Locale language)
+    {
+        return values.containsKey(language);
+    }
+
+    /**
+     * Returns the value of an entry.
+     * @param key Key.
+     * @param language Language.
+     * @return Value or {@code null} if the entry does not exist.
+     */
+    String get(final @NonNull String key, final @NonNull Locale language)
+    {
+        byte[][] encoded = values.get(language);
+        if (encoded == null)
+        {
+            return null;
+        }
+
+        int slot = probe(keys, key);
+        return keys[slot] != null && encoded[slot] != null ? ValuePool.decode(encoded[slot]) : null;
+    }
+
+    /**
+     * Returns the keys of the entries existing for the given language.
+     * @param language Language.
+     * @return Set of keys, empty if the table contains no entry for the language.
+     */
+    Set<String> getKeys(final @NonNull Locale language)
+    {
+        byte[][] encoded = values.get(language);
+        if (encoded == null)
+        {
+            return Collections.emptySet();
+        }
+
+        Set<String> elements = new HashSet<>();
+        for (int slot = 0; slot < keys.length; slot++)
+        {
+            if (keys[slot] != null && encoded[slot] != null)
+            {
+                elements.add(keys[slot]);
+            }
+        }
+
+        return elements;
+    }
+
+    /**
+     * Accumulates the estimated heap footprint of the table.
+     * @param footprint Footprint accumulator ({@code [bundles, entries, compact bytes, legacy bytes]}).
+     * @param distinct Distinct encoded values already accounted for.
+     */
+    void measure(final @NonNull long[] footprint, final @NonNull Set<byte[]> distinct)
+    {
+        long compact = object(12 + 3 * 4) + array(4L * keys.length) + object(48) + array(4L * 16);
+        for (String key : keys)
+        {
+            if (key != null)
+            {
+                compact += string(key.getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+
+        long legacy = 0;
+        for (byte[][] language : values.values())
+        {
+            compact += object(32) + array(4L * language.length);
+
+            int entries = 0;
+            for (int slot = 0; slot < keys.length; slot++)
+            {
+                if (keys[slot] != null && language[slot] != null)
+                {
+                    entries++;
+                    legacy += object(32) + string(keys[slot].getBytes(StandardCharsets.UTF_8).length);
+
+                    // Strings hold one byte per character if they are Latin-1 only, two bytes otherwise.
+                    legacy += string(language[slot][0] == ValuePool.LATIN1
+                            ? language[slot].length - 1
+                            : 2 * ValuePool.decode(language[slot]).length());
+
+                    if (distinct.add(language[slot]))
+                    {
+                        compact += array(language[slot].length);
+                    }
+                }
+            }
+
+            // Resource bundle, its hash map and the hash map table.
+            legacy += object(40) + object(48) + array(4L * Integer.highestOneBit(Math.max((int) (entries / 0.75f), 1) * 2));
+            footprint[0]++;
+            footprint[1] += entries;
+        }
+
+        footprint[2] += compact;
+        footprint[3] += legacy;
+    }
+
+    /**
+     * Returns the slot of a key: the slot holding the key if the key exists, the free slot it would be stored in
+     * otherwise.
+     * @param table Keys.
+     * @param key Key.
+     * @return Slot.
+     */
+    private static int probe(final String[] table, final String key)
+    {
+        int mask = table.length - 1;
+        int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+
+        while (table[slot] != null && !table[slot].equals(key))
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns the estimated size of an object.
+     * @param size Size of the header and the fields.
+     * @return Aligned size.
+     */
+    private static long object(final long size)
+    {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Returns the estimated size of an array.
+     * @param size Size of the elements.
+     * @return Aligned size.
+     */
+    private static long array(final long size)
+    {
+        return object(16 + size);
+    }
+
+    /**
+     * Returns the estimated size of a string.
+     * @param bytes Number of bytes of its content.
+     * @return Aligned size.
+     */
+    private static long string(final long bytes)
+    {
+        return object(24) + array(bytes);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The locales the resource bundles are loaded for, computed once as the JVM available locales do not change. Kept out
+ * of the {@link ResourceBundleManager} so that tools (such as the {@link BinaryCatalogCompiler}) can use them without
+ * initializing the manager.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class FilteredLocales
+{
+    /**
+     * Filtered locales.
+     */
+    private static final List<Locale> LOCALES = filterLocales();
+
+    /**
+     * Avoid direct instantiation.
+     */
+    private FilteredLocales()
+    {
+        // Empty
+    }
+
+    /**
+     * Returns the locales the resource bundles are loaded for.
+     * @return Filtered locales.
+     */
+    static List<Locale> get()
+    {
+        return LOCALES;
+    }
+
+    /**
+     * Returns a list of filtered {@link Locale} based on a range of authorized languages.
+     * @return List of filtered {@link Locale}.
+     */
+    private static List<Locale> filterLocales()
+    {
+        final String languagesPriorityRange = "en;q=1.0,fr;q=0.5,de;q=0.5,it;q=0.5,es;q=0.5,ja;q=0.5,af;q=0.5," +
+                "ar;q=0.5,bg;q=0.5,cs;q=0.5,da;q=0.5,el;q=0.5,et;q=0.5,fi;q=0.5,hi;q=0.5,hu;q=0.5,iw;q=0.5,ko;q=0.5," +
+                "nl;q=0.5,no;q=0.5,pl;q=0.5,pt;q=0.5,ro;q=0.5,ru;q=0.5,sq;q=0.5,th;q=0.5,tr;q=0.5,zh;q=0.5";
+
+        List<String> listWithDuplicates = new ArrayList<>();
+        // Get only locales for languages
+        for (Locale current : Locale.getAvailableLocales())
+        {
+            listWithDuplicates.add(current.getLanguage());
+        }
+
+        // Remove duplicates
+        List<String> listWithoutDuplicates = listWithDuplicates.stream()
+                .distinct()
+                .collect(Collectors.toList());
+
+        List<Locale.LanguageRange> languageRanges = Locale.LanguageRange.parse(languagesPriorityRange);
+        List<String> filtered = Locale.filterTags(languageRanges, listWithoutDuplicates);
+
+        return Collections.unmodifiableList(filtered.stream().map(Locale::forLanguageTag).collect(Collectors.toList()));
+    }
+}
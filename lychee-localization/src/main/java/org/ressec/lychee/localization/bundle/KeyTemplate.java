@@ -0,0 +1,345 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+import org.ressec.lychee.localization.base.CaseFunction;
+import org.ressec.lychee.localization.base.LocalizationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compiled {@code Localize} bundle or key template (for example: {@code country.${this}.name} or
+ * {@code day.LOWER(${day}).name}).
+ * <p>
+ * A template is parsed once per (class, template) pair into its literal and variable segments, each variable being
+ * bound to a method handle reading the corresponding field, and an optional {@link CaseFunction}. Expanding a
+ * template is then a single pass over its segments, without any parsing nor reflection.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class KeyTemplate
+{
+    /**
+     * Variable segment prefix.
+     */
+    private static final String VARIABLE_PREFIX = "${";
+
+    /**
+     * Variable segment suffix.
+     */
+    private static final String VARIABLE_SUFFIX = "}";
+
+    /**
+     * Variable referencing the instance itself.
+     */
+    private static final String VARIABLE_THIS = "this";
+
+    /**
+     * Maximum number of cached compiled templates per class.
+     */
+    private static final int MAX_TEMPLATES = 1_024;
+
+    /**
+     * Compiled templates having variables (k = class, v = (k = template, w = compiled template)).
+     */
+    private static final ClassValue<Map<String, KeyTemplate>> TEMPLATES = new ClassValue<>()
+    {
+        @Override
+        protected Map<String, KeyTemplate> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Template segments.
+     */
+    private final Segment[] segments;
+
+    /**
+     * Expanded value if the template has no variable, {@code null} otherwise.
+     */
+    private final String constant;
+
+    /**
+     * Creates a new compiled template.
+     * @param segments Template segments.
+     * @param constant Expanded value if the template has no variable, {@code null} otherwise.
+     */
+    private KeyTemplate(final Segment[] segments, final String constant)
+    {
+        this.segments = segments;
+        this.constant = constant;
+    }
+
+    /**
+     * Returns the compiled template for the given class.
+     * @param type Class of the instances the template will be expanded against.
+     * @param template Template.
+     * @return Compiled template.
+     * @throws LocalizationException Thrown in case the template is malformed or references an unknown field.
+     */
+    static KeyTemplate of(final @NonNull Class<?> type, final @NonNull String template)
+    {
+        if (!template.contains(VARIABLE_PREFIX))
+        {
+            // Constant templates (such as runtime built keys) are not worth caching.
+            return new KeyTemplate(new Segment[0], template);
+        }
+
+        Map<String, KeyTemplate> templates = TEMPLATES.get(type);
+        KeyTemplate compiled = templates.get(template);
+        if (compiled == null)
+        {
+            if (templates.size() >= MAX_TEMPLATES)
+            {
+                templates.clear();
+            }
+
+            // Compiled outside the map lock (the compilation is idempotent).
+            compiled = compile(type, template);
+            templates.putIfAbsent(template, compiled);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Expands the given template against the given instance.
+     * @param instance Object instance.
+     * @param template Template.
+     * @return Expanded template.
+     * @throws LocalizationException Thrown in case the template cannot be expanded.
+     */
+    static String expand(final @NonNull Object instance, final @NonNull String template)
+    {
+        if (!template.contains(VARIABLE_PREFIX))
+        {
+            return template;
+        }
+
+        return of(instance.getClass(), template).expand(instance);
+    }
+
+    /**
+     * Expands the template against the given instance.
+     * @param instance Object instance.
+     * @return Expanded template.
+     * @throws LocalizationException Thrown in case a variable cannot be read.
+     */
+    String expand(final @NonNull Object instance)
+    {
+        if (constant != null)
+        {
+            return constant;
+        }
+
+        StringBuilder builder = new StringBuilder(64);
+        for (Segment segment : segments)
+        {
+            segment.append(builder, instance);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Compiles a template.
+     * @param type Class of the instances the template will be expanded against.
+     * @param template Template.
+     * @return Compiled template.
+     */
+    private static KeyTemplate compile(final @NonNull Class<?> type, final @NonNull String template)
+    {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean variables = false;
+        int position = 0;
+
+        while (position < template.length())
+        {
+            int start = template.indexOf(VARIABLE_PREFIX, position);
+            if (start < 0)
+            {
+                literal.append(template, position, template.length());
+                break;
+            }
+
+            int end = template.indexOf(VARIABLE_SUFFIX, start);
+            if (end < 0)
+            {
+                throw new LocalizationException(String.format("Unclosed variable at position: %d of template: '%s'", start, template));
+            }
+
+            String name = template.substring(start + VARIABLE_PREFIX.length(), end).trim();
+            if (name.isEmpty())
+            {
+                throw new LocalizationException(String.format("Empty variable at position: %d of template: '%s'", start, template));
+            }
+
+            literal.append(template, position, start);
+            position = end + VARIABLE_SUFFIX.length();
+
+            // Is the variable wrapped by a case function such as: LOWER(${name})?
+            CaseFunction function = null;
+            if (position < template.length() && template.charAt(position) == ')')
+            {
+                function = findFunction(literal);
+                if (function != null)
+                {
+                    literal.setLength(literal.length() - function.name().length() - 1);
+                    position++;
+                }
+            }
+
+            if (literal.length() > 0)
+            {
+                segments.add(new Segment(literal.toString(), null, null));
+                literal.setLength(0);
+            }
+
+            segments.add(new Segment(null, getAccessor(type, name, template), function));
+            variables = true;
+        }
+
+        if (literal.length() > 0)
+        {
+            segments.add(new Segment(literal.toString(), null, null));
+        }
+
+        return new KeyTemplate(segments.toArray(new Segment[0]), variables ? null : template);
+    }
+
+    /**
+     * Finds the case function whose opening (for example: {@code LOWER(}) ends the given literal.
+     * @param literal Literal preceding a variable.
+     * @return Case function or {@code null} if none.
+     */
+    private static CaseFunction findFunction(final @NonNull StringBuilder literal)
+    {
+        int open = literal.length() - 1;
+        if (open < 0 || literal.charAt(open) != '(')
+        {
+            return null;
+        }
+
+        int start = open;
+        while (start > 0 && Character.isUpperCase(literal.charAt(start - 1)))
+        {
+            start--;
+        }
+
+        Optional<CaseFunction> function = CaseFunction.from(literal.substring(start, open));
+        return function.orElse(null);
+    }
+
+    /**
+     * Returns the method handle reading a variable value.
+     * @param type Class of the instances the template will be expanded against.
+     * @param name Variable name.
+     * @param template Template.
+     * @return Method handle of type {@code (Object)Object}.
+     */
+    private static MethodHandle getAccessor(final @NonNull Class<?> type, final @NonNull String name, final @NonNull String template)
+    {
+        if (VARIABLE_THIS.equals(name))
+        {
+            return MethodHandles.identity(Object.class);
+        }
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass())
+        {
+            try
+            {
+                Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            }
+            catch (NoSuchFieldException e)
+            {
+                // Try with the super class.
+            }
+            catch (IllegalAccessException | RuntimeException e)
+            {
+                throw new LocalizationException(String.format(
+                        "Cannot access field: '%s' of class: '%s' referenced by template: '%s'", name, current.getName(), template), e);
+            }
+        }
+
+        throw new LocalizationException(String.format(
+                "No field: '%s' found in class: '%s' (or its super classes) referenced by template: '%s'", name, type.getName(), template));
+    }
+
+    /**
+     * A template segment (literal text or variable).
+     */
+    private static final class Segment
+    {
+        private final String literal;
+        private final MethodHandle accessor;
+        private final CaseFunction function;
+
+        /**
+         * Creates a new segment.
+         * @param literal Literal text or {@code null} for a variable segment.
+         * @param accessor Variable accessor or {@code null} for a literal segment.
+         * @param function Case function applied to the variable value or {@code null} if none.
+         */
+        Segment(final String literal, final MethodHandle accessor, final CaseFunction function)
+        {
+            this.literal = literal;
+            this.accessor = accessor;
+            this.function = function;
+        }
+
+        /**
+         * Appends the expanded segment.
+         * @param builder Builder.
+         * @param instance Object instance.
+         */
+        void append(final StringBuilder builder, final Object instance)
+        {
+            if (literal != null)
+            {
+                builder.append(literal);
+                return;
+            }
+
+            Object value;
+            try
+            {
+                value = accessor.invokeExact(instance);
+            }
+            catch (Error e)
+            {
+                throw e;
+            }
+            catch (Throwable e)
+            {
+                throw new LocalizationException(String.format(
+                        "Cannot read variable value from instance of class: '%s' due to: %s", instance.getClass().getName(), e.getMessage()),
+                        e instanceof Exception ? (Exception) e : new RuntimeException(e));
+            }
+
+            builder.append(function != null ? function.apply(String.valueOf(value)) : String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram.
+ * <p>
+ * Latencies are counted in power of two buckets of nanoseconds (the bucket {@code i} containing the latencies from
+ * {@code 2^(i-1)} to {@code 2^i - 1} nanoseconds), each bucket being a striped counter. Recording a latency neither
+ * locks nor allocates, percentiles are estimated by the upper bound of the bucket they fall in.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class LatencyHistogram
+{
+    /**
+     * Number of buckets (one per bit of a positive long).
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * Buckets (indexed by the number of significant bits of the latency).
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    /**
+     * Sum of the recorded latencies, in nanoseconds.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Maximum recorded latency, in nanoseconds.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a new empty histogram.
+     */
+    public LatencyHistogram()
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency.
+     * @param nanos Latency in nanoseconds (negative latencies are recorded as zero).
+     */
+    public void record(final long nanos)
+    {
+        long value = Math.max(nanos, 0);
+
+        buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     * @return Count.
+     */
+    public long getCount()
+    {
+        long count = 0;
+        for (LongAdder bucket : buckets)
+        {
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the sum of the recorded latencies.
+     * @return Total duration.
+     */
+    public Duration getTotal()
+    {
+        return Duration.ofNanos(sum.sum());
+    }
+
+    /**
+     * Returns the maximum recorded latency.
+     * @return Maximum duration.
+     */
+    public Duration getMax()
+    {
+        return Duration.ofNanos(max.get());
+    }
+
+    /**
+     * Returns the mean recorded latency.
+     * @return Mean duration ({@link Duration#ZERO} if no latency has been recorded).
+     */
+    public Duration getMean()
+    {
+        long count = getCount();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(sum.sum() / count);
+    }
+
+    /**
+     * Returns an estimate of a percentile of the recorded latencies: the upper bound of the bucket containing it
+     * (capped to the maximum recorded latency).
+     * @param percentile Percentile, between 0 and 100.
+     * @return Estimated duration ({@link Duration#ZERO} if no latency has been recorded).
+     */
+    public Duration getPercentile(final double percentile)
+    {
+        if (percentile < 0 || percentile > 100)
+        {
+            throw new IllegalArgumentException(String.format("Invalid percentile: %s, must be between 0 and 100!", percentile));
+        }
+
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS && count > 0; i++)
+        {
+            cumulated += counts[i];
+            if (cumulated >= Math.max(rank, 1))
+            {
+                return Duration.ofNanos(Math.min((1L << i) - 1, max.get()));
+            }
+        }
+
+        return Duration.ZERO;
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void reset()
+    {
+        for (LongAdder bucket : buckets)
+        {
+            bucket.reset();
+        }
+
+        sum.reset();
+        max.reset();
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A localization context binding a locale to the current thread (platform or virtual thread) for the duration of a
+ * scope.
+ * <p>
+ * While a locale is bound, {@link ResourceBundleManager#getLocale()} returns it instead of the global locale of the
+ * manager, so that all the services not taking an explicit locale (for example {@code DayType#getName()},
+ * {@code Rope#localize()} or {@code Localizable#localize()}) resolve against it. Different threads can therefore
+ * serve different locales at the same time without any contention.
+ * <p>
+ * The bound locale can be propagated to other threads by wrapping the tasks or the executors, or by using the
+ * {@link #supplyAsync(Supplier, Executor)} and {@link #runAsync(Runnable, Executor)} services, which capture the
+ * locale bound at submission time. Dependent stages of a {@link CompletableFuture} should use an executor wrapped by
+ * {@link #capture(Executor)}.
+ * <pre>
+ * try (LocaleContext.Scope scope = LocaleContext.open(Locale.FRENCH))
+ * {
+ *     String name = DayType.MONDAY.getName(); // Lundi
+ * }
+ * </pre>
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class LocaleContext
+{
+    /**
+     * Locale bound to the current thread.
+     */
+    private static final ThreadLocal<Locale> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Avoid direct instantiation.
+     */
+    private LocaleContext()
+    {
+        // Empty
+    }
+
+    /**
+     * Returns the locale bound to the current thread.
+     * @return Optional locale.
+     */
+    public static Optional<Locale> current()
+    {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Binds a locale to the current thread until the returned scope is closed.
+     * @param locale Locale to bind.
+     * @return Scope to close to restore the previously bound locale (if any).
+     */
+    public static Scope open(final @NonNull Locale locale)
+    {
+        return bind(locale);
+    }
+
+    /**
+     * Executes a task with the given locale bound to the current thread.
+     * @param locale Locale to bind.
+     * @param task Task to execute.
+     */
+    public static void run(final @NonNull Locale locale, final @NonNull Runnable task)
+    {
+        try (Scope scope = open(locale))
+        {
+            task.run();
+        }
+    }
+
+    /**
+     * Executes a task with the given locale bound to the current thread.
+     * @param locale Locale to bind.
+     * @param task Task to execute.
+     * @param <T> Type of the result.
+     * @return Task result.
+     */
+    public static <T> T call(final @NonNull Locale locale, final @NonNull Supplier<T> task)
+    {
+        try (Scope scope = open(locale))
+        {
+            return task.get();
+        }
+    }
+
+    /**
+     * Wraps a task so that it is executed with the locale bound to the current thread at wrapping time.
+     * @param task Task to wrap.
+     * @return Wrapped task.
+     */
+    public static Runnable wrap(final @NonNull Runnable task)
+    {
+        final Locale captured = CURRENT.get();
+        return () -> {
+            try (Scope scope = bind(captured))
+            {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it is executed with the locale bound to the current thread at wrapping time.
+     * @param task Task to wrap.
+     * @param <T> Type of the result.
+     * @return Wrapped task.
+     */
+    public static <T> Callable<T> wrapCallable(final @NonNull Callable<T> task)
+    {
+        final Locale captured = CURRENT.get();
+        return () -> {
+            try (Scope scope = bind(captured))
+            {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Wraps a supplier so that it is executed with the locale bound to the current thread at wrapping time.
+     * @param task Supplier to wrap.
+     * @param <T> Type of the result.
+     * @return Wrapped supplier.
+     */
+    public static <T> Supplier<T> wrapSupplier(final @NonNull Supplier<T> task)
+    {
+        final Locale captured = CURRENT.get();
+        return () -> {
+            try (Scope scope = bind(captured))
+            {
+                return task.get();
+            }
+        };
+    }
+
+    /**
+     * Wraps an executor so that the submitted tasks are executed with the locale bound to the submitting thread.
+     * @param executor Executor to wrap.
+     * @return Wrapped executor.
+     */
+    public static Executor wrap(final @NonNull Executor executor)
+    {
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * Wraps an executor so that the submitted tasks are executed with the locale bound to the current thread at
+     * wrapping time, whatever the thread submitting them.
+     * <p>
+     * This is typically used with the {@code *Async} services of {@link CompletableFuture} whose dependent stages are
+     * submitted by the thread completing the previous stage.
+     * @param executor Executor to wrap.
+     * @return Wrapped executor.
+     */
+    public static Executor capture(final @NonNull Executor executor)
+    {
+        final Locale captured = CURRENT.get();
+        return task -> executor.execute(() -> {
+            try (Scope scope = bind(captured))
+            {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Wraps an executor service so that the submitted tasks are executed with the locale bound to the submitting
+     * thread.
+     * @param executor Executor service to wrap.
+     * @return Wrapped executor service.
+     */
+    public static ExecutorService wrap(final @NonNull ExecutorService executor)
+    {
+        return new ContextExecutorService(executor);
+    }
+
+    /**
+     * Asynchronously executes a supplier with the locale bound to the current thread.
+     * @param task Supplier to execute.
+     * @param executor Executor to use.
+     * @param <T> Type of the result.
+     * @return Completable future.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(final @NonNull Supplier<T> task, final @NonNull Executor executor)
+    {
+        return CompletableFuture.supplyAsync(wrapSupplier(task), executor);
+    }
+
+    /**
+     * Asynchronously executes a task with the locale bound to the current thread.
+     * @param task Task to execute.
+     * @param executor Executor to use.
+     * @return Completable future.
+     */
+    public static CompletableFuture<Void> runAsync(final @NonNull Runnable task, final @NonNull Executor executor)
+    {
+        return CompletableFuture.runAsync(wrap(task), executor);
+    }
+
+    /**
+     * Binds a locale (possibly {@code null}) to the current thread.
+     * @param locale Locale to bind or {@code null} to unbind the current one.
+     * @return Scope restoring the previously bound locale.
+     */
+    private static Scope bind(final Locale locale)
+    {
+        Locale previous = CURRENT.get();
+        set(locale);
+        return new Scope(previous);
+    }
+
+    /**
+     * Sets the locale bound to the current thread.
+     * @param locale Locale or {@code null} to unbind the current one.
+     */
+    private static void set(final Locale locale)
+    {
+        if (locale != null)
+        {
+            CURRENT.set(locale);
+        }
+        else
+        {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * A localization scope restoring, when closed, the locale previously bound to the thread having opened it.
+     */
+    public static final class Scope implements AutoCloseable
+    {
+        /**
+         * Locale bound before the scope has been opened.
+         */
+        private final Locale previous;
+
+        /**
+         * Creates a new scope.
+         * @param previous Locale bound before the scope has been opened.
+         */
+        private Scope(final Locale previous)
+        {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close()
+        {
+            set(previous);
+        }
+    }
+
+    /**
+     * An executor service propagating the locale bound to the submitting thread to the submitted tasks.
+     */
+    private static final class ContextExecutorService extends AbstractExecutorService
+    {
+        /**
+         * Underlying executor service.
+         */
+        private final ExecutorService delegate;
+
+        /**
+         * Creates a new executor service.
+         * @param delegate Underlying executor service.
+         */
+        private ContextExecutorService(final ExecutorService delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(final @NonNull Runnable task)
+        {
+            delegate.execute(wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(final @NonNull Callable<T> task)
+        {
+            return delegate.submit(wrapCallable(task));
+        }
+
+        @Override
+        public Future<?> submit(final @NonNull Runnable task)
+        {
+            return delegate.submit(wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(final @NonNull Runnable task, final T result)
+        {
+            return delegate.submit(wrap(task), result);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(final @NonNull Collection<? extends Callable<T>> tasks) throws InterruptedException
+        {
+            return delegate.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(final @NonNull Collection<? extends Callable<T>> tasks, final long timeout, final @NonNull TimeUnit unit) throws InterruptedException
+        {
+            return delegate.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(final @NonNull Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException
+        {
+            return delegate.invokeAny(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(final @NonNull Collection<? extends Callable<T>> tasks, final long timeout, final @NonNull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+        {
+            return delegate.invokeAny(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown()
+        {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow()
+        {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown()
+        {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated()
+        {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final @NonNull TimeUnit unit) throws InterruptedException
+        {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+        /**
+         * Wraps a collection of tasks.
+         * @param tasks Tasks to wrap.
+         * @param <T> Type of the result.
+         * @return Wrapped tasks.
+         */
+        private static <T> List<Callable<T>> wrapAll(final Collection<? extends Callable<T>> tasks)
+        {
+            return tasks.stream().map(LocaleContext::wrapCallable).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a {@link ResourceBundleManager}: lookup counters (by resource bundle, language and outcome) and
+ * latency histograms of the timed operations.
+ * <p>
+ * Counters are striped {@link LongAdder} and histograms are lock-free, so recording a metric neither locks nor
+ * allocates (once a counter exists for a resource bundle and a language). When the metrics are disabled (the
+ * default unless the {@link #PROPERTY} system property is set to {@code true}), recording costs a single volatile
+ * read. Metrics are exposed through JMX (see {@link #registerMBean()}) and pulled by {@link MetricsExporter}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class LocalizationMetrics implements LocalizationMetricsMXBean
+{
+    /**
+     * System property that can be set to {@code true} to enable the metrics at startup.
+     */
+    public static final String PROPERTY = "lychee.localization.metrics";
+
+    /**
+     * Name of the JMX MBean of the metrics.
+     */
+    public static final String OBJECT_NAME = "org.ressec.lychee.localization:type=LocalizationMetrics";
+
+    /**
+     * Resource bundle name of the lookups realized against all the registered resource bundles.
+     */
+    public static final String ANY_BUNDLE = "*";
+
+    /**
+     * Percentiles exposed through JMX.
+     */
+    private static final double[] PERCENTILES = { 50, 90, 99 };
+
+    /**
+     * Lookup counters (k = resource bundle name, v = counters indexed by language then by outcome ordinal).
+     */
+    private final Map<String, Map<Locale, LongAdder[]>> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Latency histograms of the timed operations.
+     */
+    private final Map<LocalizationTimer, LatencyHistogram> histograms = new EnumMap<>(LocalizationTimer.class);
+
+    /**
+     * Are the metrics recorded?
+     */
+    private volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * Creates new (empty) metrics.
+     */
+    LocalizationMetrics()
+    {
+        for (LocalizationTimer timer : LocalizationTimer.values())
+        {
+            histograms.put(timer, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Counts a lookup.
+     * @param bundle Resource bundle path and name or {@link #ANY_BUNDLE}.
+     * @param language Requested language.
+     * @param outcome Lookup outcome.
+     */
+    void count(final @NonNull String bundle, final @NonNull Locale language, final @NonNull LookupOutcome outcome)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        Map<Locale, LongAdder[]> languages = counters.get(bundle);
+        if (languages == null)
+        {
+            languages = counters.computeIfAbsent(bundle, name -> new ConcurrentHashMap<>());
+        }
+
+        LongAdder[] adders = languages.get(language);
+        if (adders == null)
+        {
+            adders = languages.computeIfAbsent(language, LocalizationMetrics::createAdders);
+        }
+
+        adders[outcome.ordinal()].increment();
+    }
+
+    /**
+     * Starts timing an operation.
+     * @return Start time in nanoseconds, {@code 0} if the metrics are disabled.
+     */
+    long start()
+    {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the latency of a timed operation.
+     * @param timer Timed operation.
+     * @param start Start time returned by {@link #start()} ({@code 0} if the metrics were disabled, in which case
+     * nothing is recorded).
+     */
+    void stop(final @NonNull LocalizationTimer timer, final long start)
+    {
+        if (start != 0)
+        {
+            histograms.get(timer).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the number of lookups of a resource bundle for a language having a given outcome.
+     * @param bundle Resource bundle path and name or {@link #ANY_BUNDLE}.
+     * @param language Requested language.
+     * @param outcome Lookup outcome.
+     * @return Number of lookups.
+     */
+    public long getCount(final @NonNull String bundle, final @NonNull Locale language, final @NonNull LookupOutcome outcome)
+    {
+        Map<Locale, LongAdder[]> languages = counters.get(bundle);
+        LongAdder[] adders = languages != null ? languages.get(language) : null;
+        return adders != null ? adders[outcome.ordinal()].sum() : 0;
+    }
+
+    /**
+     * Returns the number of lookups having a given outcome.
+     * @param outcome Lookup outcome.
+     * @return Number of lookups (all resource bundles and languages).
+     */
+    public long getCount(final @NonNull LookupOutcome outcome)
+    {
+        long count = 0;
+        for (Map<Locale, LongAdder[]> languages : counters.values())
+        {
+            for (LongAdder[] adders : languages.values())
+            {
+                count += adders[outcome.ordinal()].sum();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the latency histogram of an operation.
+     * @param timer Timed operation.
+     * @return Latency histogram.
+     */
+    public LatencyHistogram getHistogram(final @NonNull LocalizationTimer timer)
+    {
+        return histograms.get(timer);
+    }
+
+    @Override
+    public long getHitCount()
+    {
+        return getCount(LookupOutcome.HIT);
+    }
+
+    @Override
+    public long getFallbackCount()
+    {
+        return getCount(LookupOutcome.FALLBACK);
+    }
+
+    @Override
+    public long getMissCount()
+    {
+        return getCount(LookupOutcome.MISS);
+    }
+
+    @Override
+    public Map<String, Long> getCounters()
+    {
+        Map<String, Long> values = new TreeMap<>();
+        export(new MetricsExporter()
+        {
+            @Override
+            public void exportCounter(final @NonNull String bundle, final @NonNull Locale language, final @NonNull LookupOutcome outcome, final long count)
+            {
+                values.put(String.format("%s#%s#%s", bundle, language.toLanguageTag(), outcome.name().toLowerCase()), count);
+            }
+
+            @Override
+            public void exportHistogram(final @NonNull LocalizationTimer timer, final @NonNull LatencyHistogram histogram)
+            {
+                // Only the counters are collected.
+            }
+        });
+
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getLatencies()
+    {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<LocalizationTimer, LatencyHistogram> entry : histograms.entrySet())
+        {
+            String name = entry.getKey().name().toLowerCase();
+            LatencyHistogram histogram = entry.getValue();
+
+            values.put(name + ".count", histogram.getCount());
+            values.put(name + ".mean", TimeUnit.NANOSECONDS.toMicros(histogram.getMean().toNanos()));
+            values.put(name + ".max", TimeUnit.NANOSECONDS.toMicros(histogram.getMax().toNanos()));
+            for (double percentile : PERCENTILES)
+            {
+                values.put(String.format("%s.p%d", name, (int) percentile), TimeUnit.NANOSECONDS.toMicros(histogram.getPercentile(percentile).toNanos()));
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Exports the current value of the counters and histograms.
+     * @param exporter Metrics exporter.
+     */
+    public void export(final @NonNull MetricsExporter exporter)
+    {
+        for (Map.Entry<String, Map<Locale, LongAdder[]>> bundle : counters.entrySet())
+        {
+            for (Map.Entry<Locale, LongAdder[]> language : bundle.getValue().entrySet())
+            {
+                for (LookupOutcome outcome : LookupOutcome.values())
+                {
+                    exporter.exportCounter(bundle.getKey(), language.getKey(), outcome, language.getValue()[outcome.ordinal()].sum());
+                }
+            }
+        }
+
+        for (Map.Entry<LocalizationTimer, LatencyHistogram> entry : histograms.entrySet())
+        {
+            exporter.exportHistogram(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        counters.clear();
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Registers the metrics as a JMX MBean (named {@link #OBJECT_NAME}) in the platform MBean server. Does nothing if
+     * already registered.
+     * @throws ResourceBundleException Thrown in case the MBean cannot be registered.
+     */
+    public void registerMBean()
+    {
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+            log.info(String.format("Localization metrics registered as MBean: '%s'", OBJECT_NAME));
+        }
+        catch (InstanceAlreadyExistsException e)
+        {
+            log.debug(String.format("Localization metrics already registered as MBean: '%s'", OBJECT_NAME));
+        }
+        catch (JMException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot register localization metrics as MBean: '%s' due to: %s", OBJECT_NAME, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Unregisters the JMX MBean of the metrics. Does nothing if not registered.
+     * @throws ResourceBundleException Thrown in case the MBean cannot be unregistered.
+     */
+    public void unregisterMBean()
+    {
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        }
+        catch (InstanceNotFoundException e)
+        {
+            // Not registered.
+        }
+        catch (JMException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot unregister localization metrics MBean: '%s' due to: %s", OBJECT_NAME, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Creates the counters of a language (one per lookup outcome).
+     * @param language Language.
+     * @return Counters.
+     */
+    private static LongAdder[] createAdders(final Locale language)
+    {
+        LongAdder[] adders = new LongAdder[LookupOutcome.values().length];
+        for (int i = 0; i < adders.length; i++)
+        {
+            adders[i] = new LongAdder();
+        }
+
+        return adders;
+    }
+}
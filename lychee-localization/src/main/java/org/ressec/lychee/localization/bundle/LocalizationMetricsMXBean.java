@@ -0,0 +1,70 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of the {@link LocalizationMetrics}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface LocalizationMetricsMXBean
+{
+    /**
+     * Returns if the metrics are recorded.
+     * @return True if the metrics are recorded, false otherwise.
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables the recording of the metrics.
+     * @param enabled True to record the metrics, false otherwise.
+     */
+    void setEnabled(final boolean enabled);
+
+    /**
+     * Returns the number of lookups found in the resource bundle of the requested language.
+     * @return Number of hits.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups found in the resource bundle of a fallback language.
+     * @return Number of fallbacks.
+     */
+    long getFallbackCount();
+
+    /**
+     * Returns the number of lookups not found.
+     * @return Number of misses.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the lookup counters.
+     * @return Counters (k = resource bundle, language and outcome separated by a {@code #}, v = count).
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns the latencies of the timed operations.
+     * @return Latencies in microseconds (k = operation and statistic separated by a {@code .}, for example
+     * {@code load.p99}, v = latency).
+     */
+    Map<String, Long> getLatencies();
+
+    /**
+     * Resets the counters and histograms.
+     */
+    void reset();
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.ressec.avocado.core.exception.unchecked.AnnotationException;
+import org.ressec.avocado.core.helper.ReflectionHelper;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.base.LocalizationException;
+import org.ressec.lychee.localization.base.Localize;
+import org.ressec.lychee.localization.base.Rope;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The localization plan of a class whose fields are localized by reflection (no localizer having been generated at
+ * compile time for it).
+ * <p>
+ * A plan is computed once per class: it lists the fields annotated with the {@link Localize} annotation (in the class
+ * hierarchy), each one bound to the method handles of its getter and setter and to its compiled bundle and key
+ * templates. Localizing an instance is then a pass over the steps of the plan, without any reflective lookup.
+ * <p>
+ * A plan also lists, computed on first use by a graph localization (see
+ * {@link ResourceBundleManager#resolveGraph(Object, java.util.Locale)}), the accessors of the children of the class:
+ * the fields (not annotated) typed as {@link Localizable} or {@link Rope}, or as collections, maps (values) or arrays
+ * of them. Fields of the platform classes ({@code java.*} and {@code javax.*}) and fields that cannot be made
+ * accessible are ignored.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+final class LocalizationPlan
+{
+    /**
+     * Getter method name prefix.
+     */
+    private static final String GETTER_PREFIX = "get";
+
+    /**
+     * Setter method name prefix.
+     */
+    private static final String SETTER_PREFIX = "set";
+
+    /**
+     * Computed plans (k = class, v = plan).
+     */
+    private static final ClassValue<LocalizationPlan> PLANS = new ClassValue<>()
+    {
+        @Override
+        protected LocalizationPlan computeValue(final Class<?> type)
+        {
+            return new LocalizationPlan(type);
+        }
+    };
+
+    /**
+     * Plan steps, one per annotated field.
+     */
+    @Getter
+    private final List<Step> steps;
+
+    /**
+     * Class the plan has been computed for.
+     */
+    private final Class<?> type;
+
+    /**
+     * Child accessors, of type {@code (Object)Object}, one per field holding nested localizable entities, or
+     * {@code null} until first needed.
+     */
+    private volatile List<MethodHandle> children;
+
+    /**
+     * Computes the plan of a class.
+     * @param type Class.
+     */
+    private LocalizationPlan(final @NonNull Class<?> type)
+    {
+        this.type = type;
+        this.steps = Collections.unmodifiableList(ReflectionHelper.findAnnotatedFieldsInClassHierarchy(type, Localize.class).stream()
+                .map(field -> new Step(type, field))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the plan of the given class, computing it on first use.
+     * @param type Class.
+     * @return Localization plan.
+     * @throws LocalizationException Thrown in case a template of an annotated field is malformed.
+     */
+    static LocalizationPlan of(final @NonNull Class<?> type)
+    {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Returns the accessors of the children of the class, computing them on first use.
+     * @return Child accessors, of type {@code (Object)Object}.
+     */
+    List<MethodHandle> getChildren()
+    {
+        List<MethodHandle> accessors = children;
+        if (accessors == null)
+        {
+            // Idempotent, a concurrent computation is harmless.
+            accessors = Collections.unmodifiableList(findChildren(type));
+            children = accessors;
+        }
+
+        return accessors;
+    }
+
+    /**
+     * Finds the fields (in the class hierarchy, platform classes excluded) holding nested localizable entities and
+     * returns their accessors.
+     * @param type Class.
+     * @return Child accessors.
+     */
+    private static List<MethodHandle> findChildren(final @NonNull Class<?> type)
+    {
+        List<MethodHandle> accessors = new ArrayList<>();
+
+        for (Class<?> current = type; current != null && !isPlatform(current); current = current.getSuperclass())
+        {
+            for (Field field : current.getDeclaredFields())
+            {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || field.isAnnotationPresent(Localize.class) || !isChild(field))
+                {
+                    continue;
+                }
+
+                try
+                {
+                    field.setAccessible(true);
+                    accessors.add(MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class)));
+                }
+                catch (IllegalAccessException | RuntimeException e)
+                {
+                    log.debug(String.format("Field: '%s' of class: '%s' ignored by graph localizations as it cannot be accessed due to: %s",
+                            field.getName(), current.getName(), e.getMessage()));
+                }
+            }
+        }
+
+        return accessors;
+    }
+
+    /**
+     * Returns if the given class is a platform class.
+     * @param type Class.
+     * @return True if the class belongs to a {@code java.*} or {@code javax.*} package, false otherwise.
+     */
+    private static boolean isPlatform(final @NonNull Class<?> type)
+    {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    /**
+     * Returns if a field holds nested localizable entities: typed as {@link Localizable} or {@link Rope}, or as a
+     * collection, a map (values) or an array of them.
+     * @param field Field.
+     * @return True if the field holds nested localizable entities, false otherwise.
+     */
+    private static boolean isChild(final @NonNull Field field)
+    {
+        Class<?> type = field.getType();
+        if (type.isArray())
+        {
+            return isLocalizable(type.getComponentType());
+        }
+
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type))
+        {
+            if (!(field.getGenericType() instanceof ParameterizedType))
+            {
+                return false;
+            }
+
+            Type[] arguments = ((ParameterizedType) field.getGenericType()).getActualTypeArguments();
+            return arguments.length > 0 && isLocalizable(arguments[arguments.length - 1]);
+        }
+
+        return isLocalizable(type);
+    }
+
+    /**
+     * Returns if the given type (or the upper bound of the given wildcard) is a {@link Localizable} or a {@link Rope}
+     * type.
+     * @param type Type.
+     * @return True if the type is localizable, false otherwise.
+     */
+    private static boolean isLocalizable(final @NonNull Type type)
+    {
+        if (type instanceof WildcardType)
+        {
+            return isLocalizable(((WildcardType) type).getUpperBounds()[0]);
+        }
+
+        if (type instanceof ParameterizedType)
+        {
+            return isLocalizable(((ParameterizedType) type).getRawType());
+        }
+
+        return type instanceof Class && (Localizable.class.isAssignableFrom((Class<?>) type) || type == Rope.class);
+    }
+
+    /**
+     * Finds a method (by name and parameter types) in the given class or its super classes and returns its method
+     * handle.
+     * @param type Class.
+     * @param name Method name.
+     * @param parameters Parameter types.
+     * @return Method handle or {@code null} if the method does not exist.
+     */
+    private static MethodHandle findMethod(final @NonNull Class<?> type, final @NonNull String name, final Class<?>... parameters)
+    {
+        for (Class<?> current = type; current != null; current = current.getSuperclass())
+        {
+            try
+            {
+                Method method = current.getDeclaredMethod(name, parameters);
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            }
+            catch (NoSuchMethodException e)
+            {
+                // Try with the super class.
+            }
+            catch (IllegalAccessException | RuntimeException e)
+            {
+                throw new LocalizationException(String.format(
+                        "Cannot access method: '%s' of class: '%s' due to: %s", name, current.getName(), e.getMessage()), e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * A plan step, localizing an annotated field.
+     */
+    static final class Step
+    {
+        /**
+         * Class the plan has been computed for.
+         */
+        private final Class<?> type;
+
+        /**
+         * Field name.
+         */
+        @Getter
+        private final String name;
+
+        /**
+         * Field type.
+         */
+        @Getter
+        private final Class<?> fieldType;
+
+        /**
+         * Field annotation.
+         */
+        @Getter
+        private final Localize annotation;
+
+        /**
+         * True if the field is declared by a class implementing the {@link Localizable} interface.
+         */
+        @Getter
+        private final boolean localizable;
+
+        /**
+         * Compiled bundle template or {@code null} if the annotation has no bundle.
+         */
+        private final KeyTemplate bundle;
+
+        /**
+         * Compiled key template or {@code null} if the annotation has no key.
+         */
+        private final KeyTemplate key;
+
+        /**
+         * Getter method handle, of type {@code (Object)Object}, or {@code null} if the field has no getter.
+         */
+        private final MethodHandle getter;
+
+        /**
+         * Setter method handle, of type {@code (Object,String)void}, or {@code null} if the field has no setter.
+         */
+        private final MethodHandle setter;
+
+        /**
+         * Creates a new step.
+         * @param type Class the plan is computed for.
+         * @param field Annotated field.
+         */
+        private Step(final @NonNull Class<?> type, final @NonNull Field field)
+        {
+            this.type = type;
+            this.name = field.getName();
+            this.fieldType = field.getType();
+            this.annotation = field.getDeclaredAnnotation(Localize.class);
+            this.localizable = Localizable.class.isAssignableFrom(field.getDeclaringClass());
+            this.bundle = annotation.bundle().isEmpty() ? null : KeyTemplate.of(type, annotation.bundle());
+            this.key = annotation.key().isEmpty() ? null : KeyTemplate.of(type, annotation.key());
+
+            MethodHandle reader = findMethod(type, GETTER_PREFIX + StringUtils.capitalize(name));
+            MethodHandle writer = findMethod(type, SETTER_PREFIX + StringUtils.capitalize(name), String.class);
+            this.getter = reader != null ? reader.asType(MethodType.methodType(Object.class, Object.class)) : null;
+            this.setter = writer != null ? writer.asType(MethodType.methodType(void.class, Object.class, String.class)) : null;
+        }
+
+        /**
+         * Reads the field value through its getter.
+         * @param instance Object instance.
+         * @return Field value.
+         * @throws AnnotationException Thrown in case the field has no getter.
+         */
+        Object read(final @NonNull Object instance)
+        {
+            if (getter == null)
+            {
+                throw new AnnotationException(String.format(
+                        "No public getter found for field name: '%s', instance class name: '%s'!", name, type.getName()));
+            }
+
+            try
+            {
+                return getter.invokeExact(instance);
+            }
+            catch (Error | RuntimeException e)
+            {
+                throw e;
+            }
+            catch (Throwable e)
+            {
+                throw new LocalizationException(String.format("Cannot read field: '%s' due to: %s", name, e.getMessage()),
+                        e instanceof Exception ? (Exception) e : new RuntimeException(e));
+            }
+        }
+
+        /**
+         * Writes the field value through its setter.
+         * @param instance Object instance.
+         * @param value Value.
+         * @throws AnnotationException Thrown in case the field has no setter.
+         */
+        void write(final @NonNull Object instance, final @NonNull String value)
+        {
+            if (setter == null)
+            {
+                throw new AnnotationException(String.format(
+                        "No public setter found for field name: '%s', instance class name: '%s'!", name, type.getName()));
+            }
+
+            try
+            {
+                setter.invokeExact(instance, value);
+            }
+            catch (Error | RuntimeException e)
+            {
+                throw e;
+            }
+            catch (Throwable e)
+            {
+                throw new LocalizationException(String.format("Cannot write field: '%s' due to: %s", name, e.getMessage()),
+                        e instanceof Exception ? (Exception) e : new RuntimeException(e));
+            }
+        }
+
+        /**
+         * Expands the bundle template of the annotation.
+         * @param instance Object instance.
+         * @return Expanded resource bundle name.
+         * @throws AnnotationException Thrown in case the annotation has no bundle.
+         */
+        String expandBundle(final @NonNull Object instance)
+        {
+            if (bundle == null)
+            {
+                throw new AnnotationException(String.format(
+                        "Field: '%s' of class: '%s' annotated with: '%s' must have the property: 'bundle' set!",
+                        name, type.getName(), Localize.class.getName()));
+            }
+
+            return bundle.expand(instance);
+        }
+
+        /**
+         * Expands the key template of the annotation.
+         * @param instance Object instance.
+         * @return Expanded resource bundle key.
+         * @throws AnnotationException Thrown in case the annotation has no key.
+         */
+        String expandKey(final @NonNull Object instance)
+        {
+            if (key == null)
+            {
+                throw new AnnotationException(String.format(
+                        "Field: '%s' of class: '%s' annotated with: '%s' must have the property: 'key' set!",
+                        name, type.getName(), Localize.class.getName()));
+            }
+
+            return key.expand(instance);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The localization stamps of the nodes of localized object graphs: for each node (compared by identity and weakly
+ * referenced, so that a stamp never prevents a node from being garbage collected), the locale it has been localized
+ * to, the catalog epoch (see {@link ResourceBundleManager#getEpoch()}) it has been localized at and the nodes it has
+ * been reached from.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LocalizationStamps
+{
+    /**
+     * Stamps (k = weakly referenced node, v = stamp).
+     */
+    private final Map<Object, Stamp> stamps = new ConcurrentHashMap<>();
+
+    /**
+     * Queue of the references of the garbage collected nodes.
+     */
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /**
+     * Returns the stamp of the given node.
+     * @param node Node.
+     * @return Stamp or {@code null} if the node has never been localized.
+     */
+    Stamp get(final @NonNull Object node)
+    {
+        return stamps.get(new Lookup(node));
+    }
+
+    /**
+     * Marks the stamp (if any) of the given node as stale, the node having been localized without being stamped. This
+     * is a no-op (and does not allocate) as long as no node has ever been stamped.
+     * @param node Node.
+     */
+    void forget(final @NonNull Object node)
+    {
+        if (stamps.isEmpty())
+        {
+            return;
+        }
+
+        Stamp stamp = get(node);
+        if (stamp != null)
+        {
+            stamp.stale = true;
+        }
+    }
+
+    /**
+     * Records that the given node has been localized to the given locale at the given catalog epoch.
+     * @param node Node.
+     * @param parent Node the given node has been reached from or {@code null} if the node is a root.
+     * @param locale Locale.
+     * @param epoch Catalog epoch.
+     * @return Stamp of the node.
+     */
+    Stamp stamp(final @NonNull Object node, final Object parent, final @NonNull Locale locale, final long epoch)
+    {
+        expunge();
+
+        Stamp stamp = stamps.computeIfAbsent(new Node(node, queue), key -> new Stamp());
+        stamp.update(locale, epoch);
+        link(stamp, parent);
+
+        return stamp;
+    }
+
+    /**
+     * Records that the node owning the given stamp has been reached from the given parent node. The parents that have
+     * been garbage collected are pruned each time a new parent is recorded.
+     * @param stamp Stamp.
+     * @param parent Parent node or {@code null} if the node is a root.
+     */
+    void link(final @NonNull Stamp stamp, final Object parent)
+    {
+        if (parent != null)
+        {
+            Set<Node> parents = stamp.getParents();
+            if (parents.add(new Node(parent, null)))
+            {
+                parents.removeIf(Node::isCleared);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the given node, so that it is localized again, and marks the subtrees of the nodes it has been
+     * reached from as dirty, so that the invalidated node is reached again even though its ancestors are up to date.
+     * @param node Node.
+     */
+    void invalidate(final @NonNull Object node)
+    {
+        Stamp stamp = get(node);
+        if (stamp == null)
+        {
+            return;
+        }
+
+        stamp.stale = true;
+
+        Set<Stamp> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Stamp> pending = new ArrayDeque<>();
+        pending.push(stamp);
+        while (!pending.isEmpty())
+        {
+            Stamp current = pending.pop();
+            if (!visited.add(current))
+            {
+                continue;
+            }
+
+            Set<Node> parents = current.parents;
+            if (parents == null)
+            {
+                continue;
+            }
+
+            parents.removeIf(Node::isCleared);
+            for (Node parent : parents)
+            {
+                Stamp ancestor = stamps.get(parent);
+                if (ancestor != null)
+                {
+                    ancestor.dirty = true;
+                    pending.push(ancestor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the stamps of the garbage collected nodes.
+     */
+    private void expunge()
+    {
+        for (Object reference = queue.poll(); reference != null; reference = queue.poll())
+        {
+            stamps.remove(reference);
+        }
+    }
+
+    /**
+     * A weak reference to a node, compared by identity.
+     */
+    private static final class Node extends WeakReference<Object>
+    {
+        /**
+         * Identity hash code of the node.
+         */
+        private final int hash;
+
+        /**
+         * Creates a new node reference.
+         * @param node Node.
+         * @param queue Queue to register the reference with or {@code null} if none.
+         */
+        private Node(final @NonNull Object node, final ReferenceQueue<Object> queue)
+        {
+            super(node, queue);
+            this.hash = System.identityHashCode(node);
+        }
+
+        /**
+         * Returns if the node has been garbage collected.
+         * @return True if the node has been garbage collected, false otherwise.
+         */
+        private boolean isCleared()
+        {
+            return get() == null;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+
+            Object node = get();
+            if (other instanceof Lookup)
+            {
+                return node != null && node == ((Lookup) other).node;
+            }
+
+            return other instanceof Node && node != null && node == ((Node) other).get();
+        }
+    }
+
+    /**
+     * A (strong) lookup key of a node, equal to the weak reference to the same node.
+     */
+    private static final class Lookup
+    {
+        /**
+         * Node.
+         */
+        private final Object node;
+
+        /**
+         * Creates a new lookup key.
+         * @param node Node.
+         */
+        private Lookup(final @NonNull Object node)
+        {
+            this.node = node;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(node);
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            return other instanceof Node && node == ((Node) other).get();
+        }
+    }
+
+    /**
+     * The localization stamp of a node.
+     */
+    static final class Stamp
+    {
+        /**
+         * Nodes the node has been reached from ({@code null} until a parent is recorded).
+         */
+        private volatile Set<Node> parents;
+
+        /**
+         * Locale the node has been localized to.
+         */
+        private volatile Locale locale;
+
+        /**
+         * Catalog epoch the node has been localized at.
+         */
+        private volatile long epoch;
+
+        /**
+         * True if the node has been invalidated.
+         */
+        private volatile boolean stale;
+
+        /**
+         * True if a node of the subtree of the node has been invalidated.
+         */
+        private volatile boolean dirty;
+
+        /**
+         * Returns if the node has been localized to the given locale at the given catalog epoch and not invalidated
+         * since.
+         * @param locale Locale.
+         * @param epoch Catalog epoch.
+         * @return True if the node is up to date, false otherwise.
+         */
+        boolean isCurrent(final @NonNull Locale locale, final long epoch)
+        {
+            return !stale && this.epoch == epoch && locale.equals(this.locale);
+        }
+
+        /**
+         * Returns the nodes the node has been reached from, creating the set on first use.
+         * @return Parent nodes.
+         */
+        private Set<Node> getParents()
+        {
+            Set<Node> set = parents;
+            if (set == null)
+            {
+                synchronized (this)
+                {
+                    set = parents;
+                    if (set == null)
+                    {
+                        set = ConcurrentHashMap.newKeySet();
+                        parents = set;
+                    }
+                }
+            }
+
+            return set;
+        }
+
+        /**
+         * Returns and clears the dirty flag of the node.
+         * @return True if a node of the subtree of the node has been invalidated, false otherwise.
+         */
+        boolean clean()
+        {
+            boolean value = dirty;
+            dirty = false;
+            return value;
+        }
+
+        /**
+         * Updates the stamp after a localization of the node.
+         * @param locale Locale.
+         * @param epoch Catalog epoch.
+         */
+        private void update(final @NonNull Locale locale, final long epoch)
+        {
+            this.epoch = epoch;
+            this.locale = locale;
+            this.stale = false;
+            this.dirty = false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+/**
+ * A fork/join task localizing a range of instances of the same class (see
+ * {@link ResourceBundleManager#localizeAll(java.util.Collection, Locale)}).
+ * <p>
+ * The range is split in halves until it holds at most the configured threshold of instances, each leaf localizing its
+ * instances sequentially with the locale bound (see {@link LocaleContext}) to the submitting thread, if any.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LocalizationTask extends RecursiveAction
+{
+    /**
+     * Instances (all of the same class).
+     */
+    private final transient List<?> instances;
+
+    /**
+     * Localization of an instance, computed once for the class of the instances.
+     */
+    private final transient BiConsumer<Object, Locale> localization;
+
+    /**
+     * Target locale.
+     */
+    private final Locale locale;
+
+    /**
+     * Locale bound to the submitting thread or {@code null} if none.
+     */
+    private final Locale bound;
+
+    /**
+     * Maximum number of instances localized sequentially.
+     */
+    private final int threshold;
+
+    /**
+     * Index of the first instance of the range (inclusive).
+     */
+    private final int from;
+
+    /**
+     * Index of the last instance of the range (exclusive).
+     */
+    private final int to;
+
+    /**
+     * Creates a new localization task.
+     * @param instances Instances (all of the same class).
+     * @param localization Localization of an instance.
+     * @param locale Target locale.
+     * @param bound Locale bound to the submitting thread or {@code null} if none.
+     * @param threshold Maximum number of instances localized sequentially.
+     * @param from Index of the first instance of the range (inclusive).
+     * @param to Index of the last instance of the range (exclusive).
+     */
+    LocalizationTask(final @NonNull List<?> instances, final @NonNull BiConsumer<Object, Locale> localization, final @NonNull Locale locale,
+                     final Locale bound, final int threshold, final int from, final int to)
+    {
+        this.instances = instances;
+        this.localization = localization;
+        this.locale = locale;
+        this.bound = bound;
+        this.threshold = threshold;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute()
+    {
+        if (to - from <= threshold)
+        {
+            if (bound != null)
+            {
+                LocaleContext.run(bound, this::localize);
+            }
+            else
+            {
+                localize();
+            }
+
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        invokeAll(new LocalizationTask(instances, localization, locale, bound, threshold, from, middle),
+                new LocalizationTask(instances, localization, locale, bound, threshold, middle, to));
+    }
+
+    /**
+     * Localizes the instances of the range.
+     */
+    private void localize()
+    {
+        for (int i = from; i < to; i++)
+        {
+            localization.accept(instances.get(i), locale);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+/**
+ * An enumeration of the operations of the {@link ResourceBundleManager} whose latency is recorded by the
+ * {@link LocalizationMetrics}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum LocalizationTimer
+{
+    /**
+     * Loading of a resource bundle (for one or all the languages).
+     */
+    LOAD,
+
+    /**
+     * Hot reloading of a resource bundle from a watched directory.
+     */
+    RELOAD,
+
+    /**
+     * Resolution of the {@link org.ressec.lychee.localization.base.Localize} annotated method calling the manager.
+     */
+    CALLER
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.reflections.ReflectionUtils;
+import org.ressec.lychee.localization.base.Localize;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the method annotated with the {@link Localize} annotation having (directly or not) invoked one of the
+ * {@link ResourceBundleManager} resolution services.
+ * <p>
+ * The call stack is walked lazily and the walk stops at the first matching frame. The outcome of the evaluation of a
+ * call site (class and method name), positive or negative, is memoized so that subsequent calls from the same call
+ * site do not involve any reflection.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LocalizeCallerResolver
+{
+    /**
+     * Call site having no annotated method.
+     */
+    private static final LocalizeCaller NONE = new LocalizeCaller(null, null);
+
+    /**
+     * Stack walker retaining the class references of the frames.
+     */
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /**
+     * Evaluated call sites (k = class, v = (k = method name, w = caller)).
+     */
+    private static final ClassValue<Map<String, LocalizeCaller>> CALL_SITES = new ClassValue<>()
+    {
+        @Override
+        protected Map<String, LocalizeCaller> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Avoid direct instantiation.
+     */
+    private LocalizeCallerResolver()
+    {
+        // Empty
+    }
+
+    /**
+     * Retrieves the first caller method annotated with the {@link Localize} annotation in the current call stack.
+     * @return Optional caller.
+     */
+    static Optional<LocalizeCaller> findCaller()
+    {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != ResourceBundleManager.class
+                        && frame.getDeclaringClass() != LocalizeCallerResolver.class)
+                .map(frame -> getCaller(frame.getDeclaringClass(), frame.getMethodName()))
+                .filter(caller -> caller != NONE)
+                .findFirst());
+    }
+
+    /**
+     * Returns the (memoized) caller for the given call site.
+     * @param clazz Class containing the method.
+     * @param methodName Method name.
+     * @return Caller or {@link #NONE} if the call site is not annotated.
+     */
+    private static LocalizeCaller getCaller(final @NonNull Class<?> clazz, final @NonNull String methodName)
+    {
+        return CALL_SITES.get(clazz).computeIfAbsent(methodName, name -> evaluate(clazz, name));
+    }
+
+    /**
+     * Evaluates a call site (finds the method annotated with the {@link Localize} annotation).
+     * @param clazz Class containing the method to evaluate.
+     * @param methodName Method name.
+     * @return Caller or {@link #NONE} if the call site is not annotated.
+     */
+    private static LocalizeCaller evaluate(final @NonNull Class<?> clazz, final @NonNull String methodName)
+    {
+        Method method;
+
+        try
+        {
+            method = clazz.getMethod(methodName);
+            if (method.isAnnotationPresent(Localize.class))
+            {
+                return new LocalizeCaller(method, method.getAnnotation(Localize.class));
+            }
+
+            // Do we have another method with the same name and that would be annotated?
+            @SuppressWarnings("unchecked")
+            Set<Method> methods = ReflectionUtils.getAllMethods(method.getDeclaringClass(),
+                    ReflectionUtils.withModifier(Modifier.PUBLIC),
+                    ReflectionUtils.withPrefix(method.getName()));
+
+            for (Method m : methods)
+            {
+                if (m.isAnnotationPresent(Localize.class))
+                {
+                    return new LocalizeCaller(m, m.getAnnotation(Localize.class));
+                }
+            }
+        }
+        catch (NoSuchMethodException nsme)
+        {
+            try
+            {
+                // Maybe another method with a Locale parameter?
+                method = clazz.getMethod(methodName, Locale.class);
+
+                // We found our caller.
+                if (method.isAnnotationPresent(Localize.class))
+                {
+                    return new LocalizeCaller(method, method.getAnnotation(Localize.class));
+                }
+            }
+            catch (NoSuchMethodException e)
+            {
+                // Do nothing, seems to be the wrong method!
+            }
+        }
+        catch (NoClassDefFoundError | SecurityException e)
+        {
+            // Do nothing, the class cannot be introspected!
+        }
+
+        return NONE;
+    }
+
+    /**
+     * A resolved caller method and its {@link Localize} annotation.
+     */
+    static final class LocalizeCaller
+    {
+        /**
+         * Annotated method.
+         */
+        @Getter
+        private final Method method;
+
+        /**
+         * Method annotation.
+         */
+        @Getter
+        private final Localize annotation;
+
+        /**
+         * Creates a new caller.
+         * @param method Annotated method.
+         * @param annotation Method annotation.
+         */
+        private LocalizeCaller(final Method method, final Localize annotation)
+        {
+            this.method = method;
+            this.annotation = annotation;
+        }
+    }
+}
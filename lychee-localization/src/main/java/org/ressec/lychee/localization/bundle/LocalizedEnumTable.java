@@ -0,0 +1,212 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A table of the localized values of one property (for example the name) of all the constants of an enumeration.
+ * <p>
+ * Values are materialized lazily into per-language arrays indexed by the {@link Enum#ordinal()} of the constants so
+ * that, once resolved, retrieving a localized value is an array load. The tables are bound to the catalog (index
+ * snapshot) of the {@link ResourceBundleManager} they have been filled from and are discarded as soon as the catalog
+ * changes (resource bundles loaded or cleared).
+ * <p>
+ * Only the values resolved from a resource bundle file existing for the requested language are stored: values
+ * resolved through a fallback locale depend on the (possibly thread scoped) current locale of the manager and are
+ * always resolved by the {@link ResourceBundleManager}.
+ * <p>
+ * Instances are created by the resolvers generated by the {@code lychee-processor} annotation processor for the
+ * methods of enumerations annotated with the {@code Localize} annotation.
+ * @param <E> Enumeration type.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class LocalizedEnumTable<E extends Enum<E>>
+{
+    /**
+     * Tables created so far (weakly referenced, tables being held by the generated resolvers).
+     */
+    private static final Set<LocalizedEnumTable<?>> TABLES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * Enumeration constants.
+     */
+    private final E[] constants;
+
+    /**
+     * Number of enumeration constants.
+     */
+    private final int size;
+
+    /**
+     * Function returning the (expanded) resource bundle name of a constant.
+     */
+    private final Function<E, String> bundle;
+
+    /**
+     * Function returning the (expanded) resource bundle key of a constant.
+     */
+    private final Function<E, String> key;
+
+    /**
+     * Current tables.
+     */
+    private volatile Tables tables = new Tables(ResourceBundleIndex.EMPTY);
+
+    /**
+     * Creates a new localized enumeration table.
+     * @param type Enumeration class.
+     * @param bundle Function returning the (expanded) resource bundle name of a constant.
+     * @param key Function returning the (expanded) resource bundle key of a constant.
+     */
+    public LocalizedEnumTable(final @NonNull Class<E> type, final @NonNull Function<E, String> bundle, final @NonNull Function<E, String> key)
+    {
+        this.constants = type.getEnumConstants();
+        this.size = constants.length;
+        this.bundle = bundle;
+        this.key = key;
+
+        TABLES.add(this);
+    }
+
+    /**
+     * Returns the tables created so far.
+     * @return List of tables.
+     */
+    static List<LocalizedEnumTable<?>> getTables()
+    {
+        synchronized (TABLES)
+        {
+            return new ArrayList<>(TABLES);
+        }
+    }
+
+    /**
+     * Resolves the localized values of all the constants for the given languages. Languages having no resource bundle
+     * file are skipped, their values depending on the fallback locales.
+     * @param languages Languages.
+     * @return Number of values resolved (the first element) and failed to resolve (the second element).
+     */
+    int[] preload(final @NonNull Collection<Locale> languages)
+    {
+        int resolved = 0;
+        int failed = 0;
+
+        for (Locale language : languages)
+        {
+            for (E constant : constants)
+            {
+                try
+                {
+                    if (getNative(constant, language) != null)
+                    {
+                        resolved++;
+                    }
+                }
+                catch (ResourceBundleException e)
+                {
+                    failed++;
+                }
+            }
+        }
+
+        return new int[] { resolved, failed };
+    }
+
+    /**
+     * Returns the localized value of the given constant.
+     * @param constant Enumeration constant.
+     * @param locale Locale.
+     * @return Localized value.
+     */
+    public String get(final @NonNull E constant, final @NonNull Locale locale)
+    {
+        String value = getNative(constant, ResourceBundleIndex.languageOf(locale));
+        if (value == null)
+        {
+            // No resource bundle file for this language, the value depends on the fallback locales.
+            return ResourceBundleManager.getInstance().resolve(bundle.apply(constant), key.apply(constant), locale);
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the localized value of the given constant, only if a resource bundle file exists for the given language.
+     * @param constant Enumeration constant.
+     * @param language Language.
+     * @return Localized value or {@code null} if no resource bundle file exists for the given language.
+     */
+    private String getNative(final @NonNull E constant, final @NonNull Locale language)
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+
+        Tables current = tables;
+        if (current.index != manager.snapshot())
+        {
+            // The catalog has changed, discard the tables.
+            current = new Tables(manager.snapshot());
+            tables = current;
+        }
+
+        String[] values = current.values.computeIfAbsent(language, element -> new String[size]);
+        String value = values[constant.ordinal()];
+        if (value == null)
+        {
+            value = manager.resolveNative(bundle.apply(constant), key.apply(constant), language);
+            if (value != null)
+            {
+                // Benign race: concurrent writers store the same value.
+                values[constant.ordinal()] = value;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Per-language tables filled from a given catalog.
+     */
+    private static final class Tables
+    {
+        /**
+         * Catalog the tables are filled from.
+         */
+        private final ResourceBundleIndex index;
+
+        /**
+         * Localized values (k = language, v = values indexed by constant ordinal).
+         */
+        private final Map<Locale, String[]> values = new ConcurrentHashMap<>();
+
+        /**
+         * Creates new tables.
+         * @param index Catalog the tables are filled from.
+         */
+        private Tables(final ResourceBundleIndex index)
+        {
+            this.index = index;
+        }
+    }
+}
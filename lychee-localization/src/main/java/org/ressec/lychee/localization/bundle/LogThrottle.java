@@ -0,0 +1,125 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A throttle limiting the log messages emitted for a same subject to one per interval, counting the suppressed ones
+ * so that they can be reported with the next emitted message.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LogThrottle
+{
+    /**
+     * Maximum number of tracked subjects, the window of the subject whose last message has been emitted the longest
+     * time ago being forgotten beyond.
+     */
+    private static final int MAX_SUBJECTS = 1_024;
+
+    /**
+     * Minimum interval between two messages of a same subject, in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * Emission windows (k = subject, v = window).
+     */
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new throttle.
+     * @param interval Minimum interval between two messages of a same subject.
+     */
+    LogThrottle(final @NonNull Duration interval)
+    {
+        this.interval = interval.toNanos();
+    }
+
+    /**
+     * Tries to emit a message for the given subject.
+     * @param subject Subject of the message.
+     * @return Number of messages suppressed since the last emitted one if the message can be emitted, {@code -1} if it
+     * has to be suppressed.
+     */
+    long tryAcquire(final @NonNull String subject)
+    {
+        if (windows.size() >= MAX_SUBJECTS && !windows.containsKey(subject))
+        {
+            evictOldest();
+        }
+
+        long now = System.nanoTime();
+        Window window = windows.computeIfAbsent(subject, element -> new Window(now - interval));
+
+        long next = window.next.get();
+        if (now - next >= 0 && window.next.compareAndSet(next, now + interval))
+        {
+            return window.suppressed.getAndSet(0);
+        }
+
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    /**
+     * Forgets the window of the subject whose last message has been emitted the longest time ago. Only invoked when a
+     * new subject is tracked while the maximum number of subjects is reached.
+     */
+    private void evictOldest()
+    {
+        Map.Entry<String, Window> oldest = null;
+        for (Map.Entry<String, Window> element : windows.entrySet())
+        {
+            if (oldest == null || element.getValue().next.get() - oldest.getValue().next.get() < 0)
+            {
+                oldest = element;
+            }
+        }
+
+        if (oldest != null)
+        {
+            windows.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    /**
+     * Emission window of a subject.
+     */
+    private static final class Window
+    {
+        /**
+         * Time from which the next message can be emitted, in nanoseconds.
+         */
+        private final AtomicLong next;
+
+        /**
+         * Number of messages suppressed since the last emitted one.
+         */
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * Creates a new window.
+         * @param next Time from which the next message can be emitted, in nanoseconds.
+         */
+        Window(final long next)
+        {
+            this.next = new AtomicLong(next);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.NonNull;
+
+import java.util.Locale;
+
+/**
+ * A JDK Flight Recorder event emitted for each resource bundle entry lookup of the {@link ResourceBundleManager}.
+ * <p>
+ * Lookups being very frequent, only the ones lasting at least the event threshold (1 ms by default, typically
+ * lookups triggering the loading of a resource bundle) are recorded. As any JFR setting, the threshold can be changed
+ * for a recording (for example using a {@code .jfc} settings file).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Name(LookupEvent.NAME)
+@Label("Resource Bundle Lookup")
+@Description("Lookup of a resource bundle entry")
+@Category({ "Lychee", "Localization" })
+@StackTrace(false)
+@Threshold("1 ms")
+final class LookupEvent extends Event
+{
+    /**
+     * Name of the event.
+     */
+    static final String NAME = "org.ressec.lychee.Lookup";
+
+    @Label("Bundle")
+    String bundle;
+
+    @Label("Key")
+    String key;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Found")
+    boolean found;
+
+    /**
+     * Commits the event if it has to be recorded.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key.
+     * @param locale Requested locale.
+     * @param found True if the entry has been found, false otherwise.
+     */
+    void record(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale, final boolean found)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.bundle = bundle;
+            this.key = key;
+            this.locale = locale.toLanguageTag();
+            this.found = found;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+/**
+ * An enumeration of the outcomes of a resource bundle entry lookup, counted by the {@link LocalizationMetrics}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum LookupOutcome
+{
+    /**
+     * The entry has been found in the resource bundle of the requested language.
+     */
+    HIT,
+
+    /**
+     * The entry has been found in the resource bundle of a fallback language.
+     */
+    FALLBACK,
+
+    /**
+     * The entry has not been found.
+     */
+    MISS
+}
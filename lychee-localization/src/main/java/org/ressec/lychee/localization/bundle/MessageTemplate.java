@@ -0,0 +1,648 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.text.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable and thread safe message pattern compiled once for a locale, then rendered any number of times with
+ * different arguments without parsing the pattern again.
+ * <p>
+ * The pattern syntax is the {@link MessageFormat} one: {@code {0}}, {@code {0,number}}, {@code {0,number,integer}},
+ * {@code {0,number,#.##}}, {@code {0,date,short}}, {@code {0,time}}, {@code {0,choice,0#no file|1#one file|1<{0} files}},
+ * a single quote quoting a section of the pattern and two single quotes producing a single quote. Arguments can also be
+ * named (for example {@code {count}}), their values being then given by a map.
+ * <p>
+ * As with {@link MessageFormat}, an argument without any value is rendered as its placeholder (for example
+ * {@code {0}}).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class MessageTemplate
+{
+    /**
+     * Default number formats (k = locale, v = number format prototype).
+     */
+    private static final Map<Locale, Format> NUMBER_FORMATS = new ConcurrentHashMap<>();
+
+    /**
+     * Default date formats (k = locale, v = date format prototype).
+     */
+    private static final Map<Locale, Format> DATE_FORMATS = new ConcurrentHashMap<>();
+
+    /**
+     * Message pattern.
+     */
+    @Getter
+    private final String pattern;
+
+    /**
+     * Locale the pattern is compiled for.
+     */
+    @Getter
+    private final Locale locale;
+
+    /**
+     * Compiled segments.
+     */
+    private final Segment[] segments;
+
+    /**
+     * Compiles a message pattern.
+     * @param pattern Message pattern.
+     * @param locale Locale used to format the numbers and the dates.
+     * @throws ResourceBundleException Thrown in case the pattern is not a valid message pattern.
+     */
+    public MessageTemplate(final @NonNull String pattern, final @NonNull Locale locale)
+    {
+        this.pattern = pattern;
+        this.locale = locale;
+        this.segments = compile(pattern, locale);
+    }
+
+    /**
+     * Returns if the message has arguments.
+     * @return True if the message contains at least one argument, false if it is a plain text.
+     */
+    public boolean hasArguments()
+    {
+        return segments.length > 1 || (segments.length == 1 && !(segments[0] instanceof Literal));
+    }
+
+    /**
+     * Formats the message with positional arguments.
+     * @param arguments Arguments.
+     * @return Formatted message.
+     */
+    public String format(final Object... arguments)
+    {
+        return formatTo(new StringBuilder(pattern.length() + 16), arguments).toString();
+    }
+
+    /**
+     * Formats the message with named arguments.
+     * @param arguments Arguments (k = argument name, v = value).
+     * @return Formatted message.
+     */
+    public String format(final @NonNull Map<String, ?> arguments)
+    {
+        return formatTo(new StringBuilder(pattern.length() + 16), arguments).toString();
+    }
+
+    /**
+     * Formats the message with positional arguments into a string builder.
+     * @param output Output.
+     * @param arguments Arguments.
+     * @return Output.
+     */
+    public StringBuilder formatTo(final @NonNull StringBuilder output, final Object... arguments)
+    {
+        return (StringBuilder) render(output, new Positional(arguments));
+    }
+
+    /**
+     * Formats the message with named arguments into a string builder.
+     * @param output Output.
+     * @param arguments Arguments (k = argument name, v = value).
+     * @return Output.
+     */
+    public StringBuilder formatTo(final @NonNull StringBuilder output, final @NonNull Map<String, ?> arguments)
+    {
+        return (StringBuilder) render(output, new Named(arguments));
+    }
+
+    /**
+     * Formats the message with positional arguments into an appendable.
+     * @param output Output.
+     * @param arguments Arguments.
+     * @param <A> Appendable type.
+     * @return Output.
+     * @throws ResourceBundleException Thrown in case the message cannot be appended to the output.
+     */
+    public <A extends Appendable> A formatTo(final @NonNull A output, final Object... arguments)
+    {
+        return render(output, new Positional(arguments));
+    }
+
+    /**
+     * Formats the message with named arguments into an appendable.
+     * @param output Output.
+     * @param arguments Arguments (k = argument name, v = value).
+     * @param <A> Appendable type.
+     * @return Output.
+     * @throws ResourceBundleException Thrown in case the message cannot be appended to the output.
+     */
+    public <A extends Appendable> A formatTo(final @NonNull A output, final @NonNull Map<String, ?> arguments)
+    {
+        return render(output, new Named(arguments));
+    }
+
+    @Override
+    public String toString()
+    {
+        return pattern;
+    }
+
+    /**
+     * Renders the segments of the message.
+     * @param output Output.
+     * @param arguments Arguments.
+     * @param <A> Appendable type.
+     * @return Output.
+     */
+    private <A extends Appendable> A render(final @NonNull A output, final @NonNull Arguments arguments)
+    {
+        try
+        {
+            for (Segment segment : segments)
+            {
+                segment.render(output, arguments);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ResourceBundleException(String.format("Cannot format message: '%s' due to: '%s'", pattern, e.getMessage()), e);
+        }
+
+        return output;
+    }
+
+    /**
+     * Compiles a message pattern into segments.
+     * @param pattern Message pattern.
+     * @param locale Locale.
+     * @return Segments.
+     * @throws ResourceBundleException Thrown in case the pattern is not a valid message pattern.
+     */
+    private static Segment[] compile(final @NonNull String pattern, final @NonNull Locale locale)
+    {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < pattern.length(); i++)
+        {
+            char c = pattern.charAt(i);
+            if (c == '\'')
+            {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'')
+                {
+                    text.append('\'');
+                    i++;
+                }
+                else
+                {
+                    quoted = !quoted;
+                }
+            }
+            else if (c == '{' && !quoted)
+            {
+                int end = findClosingBrace(pattern, i);
+                if (text.length() > 0)
+                {
+                    segments.add(new Literal(text.toString()));
+                    text.setLength(0);
+                }
+
+                segments.add(compileArgument(pattern, pattern.substring(i + 1, end), locale));
+                i = end;
+            }
+            else if (c == '}' && !quoted)
+            {
+                throw new ResourceBundleException(String.format("Unmatched braces in message pattern: '%s'", pattern));
+            }
+            else
+            {
+                text.append(c);
+            }
+        }
+
+        if (text.length() > 0)
+        {
+            segments.add(new Literal(text.toString()));
+        }
+
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * Finds the brace closing an argument.
+     * @param pattern Message pattern.
+     * @param start Index of the opening brace.
+     * @return Index of the closing brace.
+     * @throws ResourceBundleException Thrown in case the braces are unmatched.
+     */
+    private static int findClosingBrace(final @NonNull String pattern, final int start)
+    {
+        int depth = 0;
+        boolean quoted = false;
+
+        for (int i = start; i < pattern.length(); i++)
+        {
+            char c = pattern.charAt(i);
+            if (c == '\'')
+            {
+                quoted = !quoted;
+            }
+            else if (!quoted && c == '{')
+            {
+                depth++;
+            }
+            else if (!quoted && c == '}' && --depth == 0)
+            {
+                return i;
+            }
+        }
+
+        throw new ResourceBundleException(String.format("Unmatched braces in message pattern: '%s'", pattern));
+    }
+
+    /**
+     * Compiles an argument.
+     * @param pattern Message pattern.
+     * @param argument Argument definition (without its braces).
+     * @param locale Locale.
+     * @return Argument segment.
+     * @throws ResourceBundleException Thrown in case the argument is not valid.
+     */
+    private static Segment compileArgument(final @NonNull String pattern, final @NonNull String argument, final @NonNull Locale locale)
+    {
+        String[] parts = argument.split(",", 3);
+        String name = parts[0].trim();
+        if (name.isEmpty())
+        {
+            throw new ResourceBundleException(String.format("Missing argument name in message pattern: '%s'", pattern));
+        }
+
+        int index = name.chars().allMatch(Character::isDigit) ? Integer.parseInt(name) : -1;
+        String type = parts.length > 1 ? parts[1].trim() : "";
+        String style = parts.length > 2 ? parts[2].trim() : "";
+
+        try
+        {
+            switch (type)
+            {
+                case "":
+                    return new Argument(index, name, null, locale);
+
+                case "number":
+                    return new Argument(index, name, createNumberFormat(style, locale), locale);
+
+                case "date":
+                    return new Argument(index, name, createDateFormat(style, locale, false), locale);
+
+                case "time":
+                    return new Argument(index, name, createDateFormat(style, locale, true), locale);
+
+                case "choice":
+                    return new Choice(index, name, new ChoiceFormat(style), locale);
+
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown format type: '%s'", type));
+            }
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new ResourceBundleException(String.format("Invalid argument: '{%s}' in message pattern: '%s' due to: '%s'", argument, pattern, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Creates a number format.
+     * @param style Format style ({@code integer}, {@code percent}, {@code currency} or a decimal format pattern).
+     * @param locale Locale.
+     * @return Number format.
+     */
+    private static Format createNumberFormat(final @NonNull String style, final @NonNull Locale locale)
+    {
+        switch (style)
+        {
+            case "":
+                return null;
+
+            case "integer":
+                return NumberFormat.getIntegerInstance(locale);
+
+            case "percent":
+                return NumberFormat.getPercentInstance(locale);
+
+            case "currency":
+                return NumberFormat.getCurrencyInstance(locale);
+
+            default:
+                return new DecimalFormat(style, DecimalFormatSymbols.getInstance(locale));
+        }
+    }
+
+    /**
+     * Creates a date or time format.
+     * @param style Format style ({@code short}, {@code medium}, {@code long}, {@code full} or a date format pattern).
+     * @param locale Locale.
+     * @param time True for a time format, false for a date format.
+     * @return Date format.
+     */
+    private static Format createDateFormat(final @NonNull String style, final @NonNull Locale locale, final boolean time)
+    {
+        int value;
+        switch (style)
+        {
+            case "short":
+                value = DateFormat.SHORT;
+                break;
+
+            case "":
+            case "medium":
+                value = DateFormat.MEDIUM;
+                break;
+
+            case "long":
+                value = DateFormat.LONG;
+                break;
+
+            case "full":
+                value = DateFormat.FULL;
+                break;
+
+            default:
+                return new SimpleDateFormat(style, locale);
+        }
+
+        return time ? DateFormat.getTimeInstance(value, locale) : DateFormat.getDateInstance(value, locale);
+    }
+
+    /**
+     * Formats a value with a format prototype. {@link Format} instances are not thread safe, the prototype is cloned.
+     * @param prototype Format prototype.
+     * @param value Value.
+     * @return Formatted value.
+     */
+    private static String apply(final @NonNull Format prototype, final @NonNull Object value)
+    {
+        return ((Format) prototype.clone()).format(value);
+    }
+
+    /**
+     * Arguments of a rendering.
+     */
+    private interface Arguments
+    {
+        /**
+         * Returns if an argument has a value.
+         * @param index Argument index or {@code -1} for a named argument.
+         * @param name Argument name.
+         * @return True if the argument has a value, false otherwise.
+         */
+        boolean contains(int index, String name);
+
+        /**
+         * Returns the value of an argument.
+         * @param index Argument index or {@code -1} for a named argument.
+         * @param name Argument name.
+         * @return Value, possibly {@code null}.
+         */
+        Object get(int index, String name);
+    }
+
+    /**
+     * Positional arguments.
+     */
+    private static final class Positional implements Arguments
+    {
+        private final Object[] values;
+
+        /**
+         * Creates new positional arguments.
+         * @param values Values.
+         */
+        Positional(final Object[] values)
+        {
+            this.values = values != null ? values : new Object[0];
+        }
+
+        @Override
+        public boolean contains(final int index, final String name)
+        {
+            return index >= 0 && index < values.length;
+        }
+
+        @Override
+        public Object get(final int index, final String name)
+        {
+            return values[index];
+        }
+    }
+
+    /**
+     * Named arguments.
+     */
+    private static final class Named implements Arguments
+    {
+        private final Map<String, ?> values;
+
+        /**
+         * Creates new named arguments.
+         * @param values Values (k = argument name, v = value).
+         */
+        Named(final @NonNull Map<String, ?> values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(final int index, final String name)
+        {
+            return values.containsKey(name);
+        }
+
+        @Override
+        public Object get(final int index, final String name)
+        {
+            return values.get(name);
+        }
+    }
+
+    /**
+     * A compiled segment of a message.
+     */
+    private abstract static class Segment
+    {
+        /**
+         * Renders the segment.
+         * @param output Output.
+         * @param arguments Arguments.
+         * @throws IOException Thrown in case the segment cannot be appended to the output.
+         */
+        abstract void render(Appendable output, Arguments arguments) throws IOException;
+    }
+
+    /**
+     * A literal text segment.
+     */
+    private static final class Literal extends Segment
+    {
+        private final String text;
+
+        /**
+         * Creates a new literal segment.
+         * @param text Text.
+         */
+        Literal(final @NonNull String text)
+        {
+            this.text = text;
+        }
+
+        @Override
+        void render(final Appendable output, final Arguments arguments) throws IOException
+        {
+            output.append(text);
+        }
+    }
+
+    /**
+     * An argument segment, optionally formatted.
+     */
+    private static class Argument extends Segment
+    {
+        /**
+         * Argument index or {@code -1} for a named argument.
+         */
+        final int index;
+
+        /**
+         * Argument name.
+         */
+        final String name;
+
+        /**
+         * Format prototype or {@code null} for the default format of the value.
+         */
+        private final Format format;
+
+        /**
+         * Locale.
+         */
+        private final Locale locale;
+
+        /**
+         * Creates a new argument segment.
+         * @param index Argument index or {@code -1} for a named argument.
+         * @param name Argument name.
+         * @param format Format prototype or {@code null} for the default format of the value.
+         * @param locale Locale.
+         */
+        Argument(final int index, final @NonNull String name, final Format format, final @NonNull Locale locale)
+        {
+            this.index = index;
+            this.name = name;
+            this.format = format;
+            this.locale = locale;
+        }
+
+        @Override
+        void render(final Appendable output, final Arguments arguments) throws IOException
+        {
+            if (!arguments.contains(index, name))
+            {
+                output.append('{').append(name).append('}');
+                return;
+            }
+
+            Object value = arguments.get(index, name);
+            if (value == null)
+            {
+                output.append("null");
+            }
+            else if (format != null)
+            {
+                output.append(apply(format, value));
+            }
+            else if (value instanceof Number)
+            {
+                output.append(apply(NUMBER_FORMATS.computeIfAbsent(locale, NumberFormat::getInstance), value));
+            }
+            else if (value instanceof Date)
+            {
+                output.append(apply(DATE_FORMATS.computeIfAbsent(locale, element -> DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, element)), value));
+            }
+            else
+            {
+                output.append(value.toString());
+            }
+        }
+    }
+
+    /**
+     * A choice argument segment, selecting a sub-message according to a numeric argument.
+     */
+    private static final class Choice extends Argument
+    {
+        /**
+         * Lower limits of the choices, in ascending order.
+         */
+        private final double[] limits;
+
+        /**
+         * Compiled choices.
+         */
+        private final MessageTemplate[] choices;
+
+        /**
+         * Creates a new choice segment.
+         * @param index Argument index or {@code -1} for a named argument.
+         * @param name Argument name.
+         * @param format Choice format.
+         * @param locale Locale.
+         */
+        Choice(final int index, final @NonNull String name, final @NonNull ChoiceFormat format, final @NonNull Locale locale)
+        {
+            super(index, name, null, locale);
+
+            this.limits = format.getLimits();
+            Object[] formats = format.getFormats();
+            this.choices = new MessageTemplate[formats.length];
+            for (int i = 0; i < formats.length; i++)
+            {
+                choices[i] = new MessageTemplate(String.valueOf(formats[i]), locale);
+            }
+        }
+
+        @Override
+        void render(final Appendable output, final Arguments arguments) throws IOException
+        {
+            Object value = arguments.contains(index, name) ? arguments.get(index, name) : null;
+            if (!(value instanceof Number) || limits.length == 0)
+            {
+                super.render(output, arguments);
+                return;
+            }
+
+            double number = ((Number) value).doubleValue();
+            int selected = 0;
+            while (selected + 1 < limits.length && number >= limits[selected + 1])
+            {
+                selected++;
+            }
+
+            // The selected choice is itself a message, rendered with the same arguments.
+            for (Segment segment : choices[selected].segments)
+            {
+                segment.render(output, arguments);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.util.Locale;
+
+/**
+ * An exporter of the {@link LocalizationMetrics} to a monitoring system.
+ * <p>
+ * Exporters are pulled by {@link LocalizationMetrics#export(MetricsExporter)}, which reports the current value of
+ * each counter and histogram, so they can be invoked by any scheduler of the monitoring system.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface MetricsExporter
+{
+    /**
+     * Exports the count of the lookups of a resource bundle for a language having a given outcome.
+     * @param bundle Resource bundle path and name ({@link LocalizationMetrics#ANY_BUNDLE} for the lookups realized
+     * against all the registered resource bundles).
+     * @param language Requested language.
+     * @param outcome Lookup outcome.
+     * @param count Number of lookups since the metrics have been reset.
+     */
+    void exportCounter(final @NonNull String bundle, final @NonNull Locale language, final @NonNull LookupOutcome outcome, final long count);
+
+    /**
+     * Exports the latency histogram of an operation.
+     * @param timer Timed operation.
+     * @param histogram Latency histogram.
+     */
+    void exportHistogram(final @NonNull LocalizationTimer timer, final @NonNull LatencyHistogram histogram);
+}
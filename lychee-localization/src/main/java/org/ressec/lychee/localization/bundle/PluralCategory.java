@@ -0,0 +1,67 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+
+/**
+ * An enumeration of the CLDR plural categories.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum PluralCategory
+{
+    /**
+     * Zero category (for example Arabic 0).
+     */
+    ZERO("zero"),
+
+    /**
+     * One category (for example English 1).
+     */
+    ONE("one"),
+
+    /**
+     * Two category (for example Arabic or Hebrew 2).
+     */
+    TWO("two"),
+
+    /**
+     * Few category (for example Russian 2-4, Polish 22).
+     */
+    FEW("few"),
+
+    /**
+     * Many category (for example Russian 5-20, French 1000000).
+     */
+    MANY("many"),
+
+    /**
+     * Other category (the general plural form, required for every language).
+     */
+    OTHER("other");
+
+    /**
+     * CLDR name of the category, used as resource bundle key suffix (for example {@code country.count.one}).
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * Creates a new plural category.
+     * @param name CLDR name of the category.
+     */
+    PluralCategory(final String name)
+    {
+        this.name = name;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The CLDR cardinal plural rules of a language, compiled into lookup tables.
+ * <p>
+ * The rules of the languages the resource bundles are loaded for (see {@link ResourceBundleManager}) only depend on
+ * the last two digits of the integer part of a number once it is greater than 99 (plus, for some of them, on it being
+ * a multiple of a million), and on the integer part and on its fraction digits being all zero or not only for a number
+ * having visible fraction digits. Each rule is
+ * evaluated once for all these cases when compiled, selecting a category is then an array lookup without any
+ * allocation. Languages without rules only have the {@link PluralCategory#OTHER} category.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class PluralRules
+{
+    /**
+     * CLDR plural rules (k = language, v = rule).
+     */
+    private static final Map<String, Rule> RULES = createRules();
+
+    /**
+     * Compiled plural rules (k = language, v = compiled rules).
+     */
+    private static final Map<String, PluralRules> COMPILED = new ConcurrentHashMap<>();
+
+    /**
+     * Categories of the numbers lower than 100 (indexed by number).
+     */
+    private final PluralCategory[] small = new PluralCategory[100];
+
+    /**
+     * Categories of the numbers greater than 99 (indexed by the number modulo 100).
+     */
+    private final PluralCategory[] large = new PluralCategory[100];
+
+    /**
+     * Categories of the numbers having visible fraction digits, not all zero (indexed by the integer part, capped to 2).
+     */
+    private final PluralCategory[] fractions = new PluralCategory[3];
+
+    /**
+     * Categories of the numbers having visible fraction digits, all zero (indexed by the integer part, capped to 2).
+     */
+    private final PluralCategory[] zeros = new PluralCategory[3];
+
+    /**
+     * True if the multiples of a million are in the {@link PluralCategory#MANY} category.
+     */
+    private final boolean millions;
+
+    /**
+     * Language of the rules.
+     */
+    @Getter
+    private final String language;
+
+    /**
+     * Compiles the plural rules of a language.
+     * @param language Language.
+     * @param rule CLDR rule.
+     */
+    private PluralRules(final @NonNull String language, final @NonNull Rule rule)
+    {
+        this.language = language;
+
+        for (int i = 0; i < 100; i++)
+        {
+            small[i] = rule.select(i, 0, 0);
+            large[i] = rule.select(1_000 + i, 0, 0);
+        }
+
+        for (int i = 0; i < fractions.length; i++)
+        {
+            fractions[i] = rule.select(i, 1, 1);
+            zeros[i] = rule.select(i, 1, 0);
+        }
+
+        this.millions = rule.select(1_000_000, 0, 0) == PluralCategory.MANY && large[0] != PluralCategory.MANY;
+    }
+
+    /**
+     * Returns the plural rules of the language of a locale.
+     * @param locale Locale.
+     * @return Plural rules.
+     */
+    public static PluralRules forLocale(final @NonNull Locale locale)
+    {
+        return COMPILED.computeIfAbsent(locale.getLanguage(), language -> new PluralRules(language, RULES.getOrDefault(language, (i, v, t) -> PluralCategory.OTHER)));
+    }
+
+    /**
+     * Selects the plural category of an integer.
+     * @param number Number.
+     * @return Plural category.
+     */
+    public PluralCategory select(final long number)
+    {
+        long i = number < 0 ? (number == Long.MIN_VALUE ? Long.MAX_VALUE : -number) : number;
+        if (i < 100)
+        {
+            return small[(int) i];
+        }
+
+        return millions && i % 1_000_000 == 0 ? PluralCategory.MANY : large[(int) (i % 100)];
+    }
+
+    /**
+     * Selects the plural category of a number. A floating point number without fraction is handled as an integer, a
+     * {@link BigDecimal} as a number having as many visible fraction digits as its scale.
+     * @param number Number.
+     * @return Plural category.
+     */
+    public PluralCategory select(final @NonNull Number number)
+    {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte)
+        {
+            return select(number.longValue());
+        }
+
+        if (number instanceof BigInteger)
+        {
+            BigInteger value = ((BigInteger) number).abs();
+            return value.bitLength() < 64 ? select(value.longValue()) : select(value.mod(BigInteger.valueOf(1_000_000)).longValue() + 1_000_000L);
+        }
+
+        if (number instanceof BigDecimal)
+        {
+            BigDecimal value = ((BigDecimal) number).abs();
+            long integer = value.toBigInteger().min(BigInteger.valueOf(Long.MAX_VALUE)).longValue();
+            if (value.scale() <= 0)
+            {
+                return select(value.toBigInteger());
+            }
+
+            // Visible fraction digits all zero (for example 1.0) match the CLDR "n = 1" conditions but not "v = 0" ones.
+            return value.stripTrailingZeros().scale() <= 0
+                    ? zeros[(int) Math.min(integer, 2)]
+                    : fractions[(int) Math.min(integer, 2)];
+        }
+
+        double value = Math.abs(number.doubleValue());
+        if (value == Math.rint(value) || Double.isInfinite(value))
+        {
+            return select(value >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) value);
+        }
+
+        return Double.isNaN(value) ? PluralCategory.OTHER : fractions[(int) Math.min((long) value, 2)];
+    }
+
+    /**
+     * Returns the CLDR cardinal plural rules of the supported languages.
+     * @return Rules (k = language, v = rule).
+     */
+    private static Map<String, Rule> createRules()
+    {
+        Map<String, Rule> rules = new HashMap<>();
+
+        // one: i = 1 and v = 0
+        Rule germanic = (i, v, t) -> i == 1 && v == 0 ? PluralCategory.ONE : PluralCategory.OTHER;
+        for (String language : new String[] { "en", "de", "nl", "fi", "et" })
+        {
+            rules.put(language, germanic);
+        }
+
+        // one: n = 1
+        Rule single = (i, v, t) -> i == 1 && t == 0 ? PluralCategory.ONE : PluralCategory.OTHER;
+        for (String language : new String[] { "af", "bg", "el", "hu", "no", "nb", "sq", "tr" })
+        {
+            rules.put(language, single);
+        }
+
+        // Languages without plural forms.
+        Rule none = (i, v, t) -> PluralCategory.OTHER;
+        for (String language : new String[] { "ja", "ko", "th", "zh" })
+        {
+            rules.put(language, none);
+        }
+
+        // many: e = 0 and i != 0 and i % 1000000 = 0 and v = 0; one: i = 0,1 (fr, pt), n = 1 (es), i = 1 and v = 0 (it)
+        rules.put("fr", (i, v, t) -> i <= 1 ? PluralCategory.ONE : isMillion(i, v) ? PluralCategory.MANY : PluralCategory.OTHER);
+        rules.put("pt", rules.get("fr"));
+        rules.put("es", (i, v, t) -> i == 1 && t == 0 ? PluralCategory.ONE : isMillion(i, v) ? PluralCategory.MANY : PluralCategory.OTHER);
+        rules.put("it", (i, v, t) -> i == 1 && v == 0 ? PluralCategory.ONE : isMillion(i, v) ? PluralCategory.MANY : PluralCategory.OTHER);
+
+        // one: n = 1 or t != 0 and i = 0,1
+        rules.put("da", (i, v, t) -> (i == 1 && t == 0) || (t != 0 && i <= 1) ? PluralCategory.ONE : PluralCategory.OTHER);
+
+        // one: i = 0 or n = 1
+        rules.put("hi", (i, v, t) -> i == 0 || (i == 1 && t == 0) ? PluralCategory.ONE : PluralCategory.OTHER);
+
+        rules.put("ar", (i, v, t) ->
+        {
+            if (v != 0)
+            {
+                return PluralCategory.OTHER;
+            }
+
+            long mod100 = i % 100;
+            return i == 0 ? PluralCategory.ZERO
+                    : i == 1 ? PluralCategory.ONE
+                    : i == 2 ? PluralCategory.TWO
+                    : mod100 >= 3 && mod100 <= 10 ? PluralCategory.FEW
+                    : mod100 >= 11 ? PluralCategory.MANY
+                    : PluralCategory.OTHER;
+        });
+
+        rules.put("cs", (i, v, t) -> v != 0 ? PluralCategory.MANY
+                : i == 1 ? PluralCategory.ONE
+                : i >= 2 && i <= 4 ? PluralCategory.FEW
+                : PluralCategory.OTHER);
+
+        // one: i = 1 and v = 0 or i = 0 and v != 0; two: i = 2 and v = 0
+        Rule hebrew = (i, v, t) -> (i == 1 && v == 0) || (i == 0 && v != 0) ? PluralCategory.ONE
+                : i == 2 && v == 0 ? PluralCategory.TWO
+                : PluralCategory.OTHER;
+        rules.put("he", hebrew);
+        rules.put("iw", hebrew);
+
+        rules.put("pl", (i, v, t) ->
+        {
+            if (v != 0)
+            {
+                return PluralCategory.OTHER;
+            }
+
+            long mod10 = i % 10;
+            long mod100 = i % 100;
+            return i == 1 ? PluralCategory.ONE
+                    : mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14) ? PluralCategory.FEW
+                    : PluralCategory.MANY;
+        });
+
+        rules.put("ro", (i, v, t) ->
+        {
+            long mod100 = i % 100;
+            return i == 1 && v == 0 ? PluralCategory.ONE
+                    : v != 0 || i == 0 || (mod100 >= 1 && mod100 <= 19) ? PluralCategory.FEW
+                    : PluralCategory.OTHER;
+        });
+
+        rules.put("ru", (i, v, t) ->
+        {
+            if (v != 0)
+            {
+                return PluralCategory.OTHER;
+            }
+
+            long mod10 = i % 10;
+            long mod100 = i % 100;
+            return mod10 == 1 && mod100 != 11 ? PluralCategory.ONE
+                    : mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14) ? PluralCategory.FEW
+                    : PluralCategory.MANY;
+        });
+
+        return Collections.unmodifiableMap(rules);
+    }
+
+    /**
+     * Returns if an integer is a (non zero) multiple of a million.
+     * @param i Integer part.
+     * @param v Number of visible fraction digits.
+     * @return True if the number is a multiple of a million, false otherwise.
+     */
+    private static boolean isMillion(final long i, final int v)
+    {
+        return v == 0 && i != 0 && i % 1_000_000 == 0;
+    }
+
+    /**
+     * A CLDR plural rule, expressed on the integer part, the number of visible fraction digits and the visible fraction
+     * digits without trailing zeros of a number.
+     */
+    @FunctionalInterface
+    private interface Rule
+    {
+        /**
+         * Selects the plural category of a number.
+         * @param i Integer part (absolute value).
+         * @param v Number of visible fraction digits.
+         * @param t Visible fraction digits without trailing zeros ({@code 0} if they are all zero).
+         * @return Plural category.
+         */
+        PluralCategory select(long i, int v, long t);
+    }
+}
@@ -0,0 +1,628 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * An immutable and pre-compiled index of the resource bundle entries registered in the {@link ResourceBundleManager}.
+ * <p>
+ * The entries of a resource bundle are held by a {@link CompactBundleTable} sharing the keys between all the languages
+ * of the resource bundle, the resource bundle parent chain being already applied, so that retrieving a value is a
+ * single hash probe. Values are deduplicated (across resource bundles and languages) by a {@link ValuePool} and stored
+ * as Latin-1 or UTF-8 byte arrays decoded when retrieved; the loaded {@link ResourceBundle} are not retained. An index
+ * is never modified once built, a new one is built (copy-on-write) and published by the {@link ResourceBundleManager}
+ * each time its set of registered resource bundles changes, so that it can be safely read by any number of threads
+ * without locking.
+ * <p>
+ * Resource bundles read from a {@link BinaryCatalog} are not copied into the index: their values stay in the catalog
+ * (off-heap) and are decoded when retrieved.
+ * <p>
+ * Each key is also indexed with the names of the resource bundles containing it, so that looking up a key whatever
+ * the resource bundle only probes the resource bundles containing it.
+ * <p>
+ * The index also records the resource bundle loading requests already served (for a given language or for all the
+ * languages), whether they found a resource bundle file or not, so that a resource bundle is never searched twice.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class ResourceBundleIndex
+{
+    /**
+     * Empty index (no resource bundle registered).
+     */
+    static final ResourceBundleIndex EMPTY = empty();
+
+    /**
+     * Cache of language only locales (k = locale, v = language locale).
+     */
+    private static final Map<Locale, Locale> LANGUAGES = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of memoized fallback resolutions per index.
+     */
+    private static final int MAX_FALLBACKS = 16_384;
+
+    /**
+     * Maximum number of compiled messages per index.
+     */
+    private static final int MAX_MESSAGES = 16_384;
+
+    /**
+     * Memoized fallback resolutions (k = bundle/key/fallback chain, v = value). They are only valid for this index and
+     * are discarded with it.
+     */
+    private final Map<Memo, String> fallbacks = new ConcurrentHashMap<>();
+
+    /**
+     * Compiled messages (k = bundle/key/locale, v = message). They are only valid for this index and are discarded
+     * with it.
+     */
+    private final Map<Memo, MessageTemplate> messages = new ConcurrentHashMap<>();
+
+    /**
+     * Resource bundle entries (k = resource bundle name, v = compact table), in registration order.
+     */
+    private final Map<String, CompactBundleTable> tables;
+
+    /**
+     * Pool of the encoded values, shared by all the indexes derived from the same empty index.
+     */
+    private final ValuePool pool;
+
+    /**
+     * Registered resource bundles (k = bundle name, v = (k = registered language, w = locale of the loaded bundle)).
+     */
+    private final Map<String, Map<Locale, Locale>> languages;
+
+    /**
+     * Resource bundles read from a binary catalog (k = resource bundle name, v = (k = language, w = resource bundle)).
+     */
+    private final Map<String, Map<Locale, BinaryCatalog.CatalogBundle>> mapped;
+
+    /**
+     * Names of the resource bundles containing a key (k = key, v = resource bundle names), in registration order. Keys
+     * are never removed: a resource bundle name is still listed after a reload removing the key from it.
+     */
+    private final Map<String, String[]> owners;
+
+    /**
+     * Served loading requests for a given language (k = bundle name, v = requested languages), including the ones
+     * for which no resource bundle file has been found.
+     */
+    private final Map<String, Set<Locale>> requested;
+
+    /**
+     * Names of the resource bundles already loaded for all the languages, including the ones for which no resource
+     * bundle file has been found.
+     */
+    private final Set<String> completed;
+
+    /**
+     * Builds a new index.
+     * @param tables Resource bundle entries (k = resource bundle name, v = compact table).
+     * @param pool Pool of the encoded values.
+     * @param languages Registered resource bundles (k = bundle name, v = (k = language, w = bundle locale)).
+     * @param mapped Resource bundles read from a binary catalog (k = resource bundle name, v = (k = language, w = resource bundle)).
+     * @param owners Names of the resource bundles containing a key (k = key, v = resource bundle names).
+     * @param requested Served loading requests for a given language (k = bundle name, v = requested languages).
+     * @param completed Names of the resource bundles already loaded for all the languages.
+     */
+    private ResourceBundleIndex(final @NonNull Map<String, CompactBundleTable> tables, final @NonNull ValuePool pool,
+                                final @NonNull Map<String, Map<Locale, Locale>> languages,
+                                final @NonNull Map<String, Map<Locale, BinaryCatalog.CatalogBundle>> mapped,
+                                final @NonNull Map<String, String[]> owners,
+                                final @NonNull Map<String, Set<Locale>> requested, final @NonNull Set<String> completed)
+    {
+        this.tables = tables;
+        this.pool = pool;
+        this.languages = languages;
+        this.mapped = mapped;
+        this.owners = owners;
+        this.requested = requested;
+        this.completed = completed;
+    }
+
+    /**
+     * Creates a new empty index, with its own value pool.
+     * @return Empty index.
+     */
+    static ResourceBundleIndex empty()
+    {
+        return new ResourceBundleIndex(Collections.emptyMap(), new ValuePool(), Collections.emptyMap(),
+                Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet());
+    }
+
+    /**
+     * Returns an index containing the entries of this index and the given resource bundles, and recording the given
+     * loading request as served. Resource bundles already registered for a language are kept.
+     * @param name Resource bundle name.
+     * @param language Requested language or {@code null} if the resource bundle has been loaded for all the languages.
+     * @param loaded Resource bundles to register (k = language, v = resource bundle), possibly empty.
+     * @return New index or this index if the given resource bundles and request are already registered.
+     */
+    ResourceBundleIndex with(final @NonNull String name, final Locale language, final @NonNull Map<Locale, ResourceBundle> loaded)
+    {
+        Map<String, Set<Locale>> requests = requested;
+        Set<String> names = completed;
+
+        if (!isRegistered(name, language))
+        {
+            if (language == null)
+            {
+                names = new HashSet<>(completed);
+                names.add(name);
+                names = Collections.unmodifiableSet(names);
+            }
+            else
+            {
+                Set<Locale> elements = new HashSet<>(requested.getOrDefault(name, Collections.emptySet()));
+                elements.add(language);
+                requests = new HashMap<>(requested);
+                requests.put(name, Collections.unmodifiableSet(elements));
+                requests = Collections.unmodifiableMap(requests);
+            }
+        }
+
+        return merge(name, loaded, false, requests, names);
+    }
+
+    /**
+     * Returns an index in which the given resource bundles replace the ones registered for their language. Replaced
+     * resource bundles are always held by the index (even if they have been read from a binary catalog).
+     * @param name Resource bundle name.
+     * @param reloaded Resource bundles to register (k = language, v = resource bundle).
+     * @return New index or this index if there is nothing to replace.
+     */
+    ResourceBundleIndex replace(final @NonNull String name, final @NonNull Map<Locale, ResourceBundle> reloaded)
+    {
+        return merge(name, reloaded, true, requested, completed);
+    }
+
+    /**
+     * Returns an index containing the entries of this index and the given resource bundles.
+     * @param name Resource bundle name.
+     * @param loaded Resource bundles to register (k = language, v = resource bundle).
+     * @param replace True if the given resource bundles replace the registered ones, false if they are ignored.
+     * @param requests Served loading requests for a given language (k = bundle name, v = requested languages).
+     * @param names Names of the resource bundles already loaded for all the languages.
+     * @return New index or this index if nothing changed.
+     */
+    private ResourceBundleIndex merge(final @NonNull String name, final @NonNull Map<Locale, ResourceBundle> loaded,
+                                      final boolean replace, final @NonNull Map<String, Set<Locale>> requests,
+                                      final @NonNull Set<String> names)
+    {
+        Map<Locale, Locale> registered = languages.getOrDefault(name, Collections.emptyMap());
+        Map<Locale, ResourceBundle> parsed = new HashMap<>();
+        Map<Locale, BinaryCatalog.CatalogBundle> compiled = new HashMap<>();
+        Map<Locale, Locale> locales = new LinkedHashMap<>(registered);
+
+        for (Map.Entry<Locale, ResourceBundle> element : loaded.entrySet())
+        {
+            if (replace || !registered.containsKey(element.getKey()))
+            {
+                locales.put(element.getKey(), element.getValue().getLocale());
+                if (!replace && element.getValue() instanceof BinaryCatalog.CatalogBundle)
+                {
+                    // Values are read from the catalog when retrieved.
+                    compiled.put(element.getKey(), (BinaryCatalog.CatalogBundle) element.getValue());
+                }
+                else
+                {
+                    parsed.put(element.getKey(), element.getValue());
+                }
+            }
+        }
+
+        if (parsed.isEmpty() && compiled.isEmpty())
+        {
+            return requests != requested || names != completed
+                    ? new ResourceBundleIndex(tables, pool, languages, mapped, owners, requests, names)
+                    : this;
+        }
+
+        Map<String, Map<Locale, Locale>> elements = new LinkedHashMap<>(languages);
+        elements.put(name, Collections.unmodifiableMap(locales));
+
+        Map<String, String[]> keys = owners;
+        for (ResourceBundle bundle : parsed.values())
+        {
+            keys = index(keys, name, bundle.keySet());
+        }
+        for (BinaryCatalog.CatalogBundle bundle : compiled.values())
+        {
+            keys = index(keys, name, bundle.keySet());
+        }
+
+        Map<String, CompactBundleTable> entries = tables;
+        if (!parsed.isEmpty())
+        {
+            entries = new LinkedHashMap<>(tables);
+            entries.put(name, tables.getOrDefault(name, CompactBundleTable.EMPTY).with(parsed, pool));
+            entries = Collections.unmodifiableMap(entries);
+        }
+
+        Map<String, Map<Locale, BinaryCatalog.CatalogBundle>> catalog = mapped;
+        Map<Locale, BinaryCatalog.CatalogBundle> previous = mapped.getOrDefault(name, Collections.emptyMap());
+        if (!compiled.isEmpty() || !Collections.disjoint(previous.keySet(), parsed.keySet()))
+        {
+            // Replaced languages are no more read from the catalog.
+            compiled.putAll(previous);
+            compiled.keySet().removeAll(parsed.keySet());
+            catalog = new TreeMap<>(mapped);
+            catalog.put(name, Collections.unmodifiableMap(compiled));
+            catalog = Collections.unmodifiableMap(catalog);
+        }
+
+        return new ResourceBundleIndex(entries, pool, Collections.unmodifiableMap(elements), catalog, keys, requests, names);
+    }
+
+    /**
+     * Returns an index of the resource bundles containing a key also listing the given resource bundle for the given
+     * keys. The index is only copied if one of the keys is not already listed for the resource bundle, which is not the
+     * case when registering other languages of a resource bundle sharing the same keys.
+     * @param owners Names of the resource bundles containing a key (k = key, v = resource bundle names).
+     * @param name Resource bundle name.
+     * @param keys Keys of the resource bundle.
+     * @return New index or the given one if all the keys are already listed for the resource bundle.
+     */
+    private static Map<String, String[]> index(final @NonNull Map<String, String[]> owners, final @NonNull String name, final @NonNull Set<String> keys)
+    {
+        Map<String, String[]> updated = owners;
+        for (String key : keys)
+        {
+            String[] names = updated.get(key);
+            if (names == null || !Arrays.asList(names).contains(name))
+            {
+                if (updated == owners)
+                {
+                    updated = new HashMap<>(owners);
+                }
+
+                String[] extended = names == null ? new String[1] : Arrays.copyOf(names, names.length + 1);
+                extended[extended.length - 1] = name;
+                updated.put(key, extended);
+            }
+        }
+
+        return updated == owners ? owners : Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Returns if a loading request has already been served for the given resource bundle, whether a resource bundle
+     * file has been found or not.
+     * @param name Resource bundle name.
+     * @param language Requested language or {@code null} for a request loading the resource bundle for all the
+     * languages.
+     * @return True if the request has already been served, false otherwise.
+     */
+    boolean isRegistered(final @NonNull String name, final Locale language)
+    {
+        if (completed.contains(name))
+        {
+            return true;
+        }
+
+        return language != null && requested.getOrDefault(name, Collections.emptySet()).contains(language);
+    }
+
+    /**
+     * Returns the language only locale of the given locale (for example {@code fr} for {@code fr_CA}).
+     * @param locale Locale.
+     * @return Language locale.
+     */
+    static Locale languageOf(final @NonNull Locale locale)
+    {
+        return LANGUAGES.computeIfAbsent(locale, element -> Locale.forLanguageTag(element.getLanguage()));
+    }
+
+    /**
+     * Returns if the index is empty.
+     * @return True if no resource bundle is registered, false otherwise.
+     */
+    boolean isEmpty()
+    {
+        return languages.isEmpty();
+    }
+
+    /**
+     * Returns the value of a resource bundle entry.
+     * @param bundle Resource bundle name.
+     * @param key Resource bundle entry key.
+     * @param language Language locale.
+     * @return Value or {@code null} if the entry does not exist.
+     */
+    String get(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale language)
+    {
+        CompactBundleTable table = tables.get(bundle);
+        String value = table != null ? table.get(key, language) : null;
+        if (value == null && !mapped.isEmpty())
+        {
+            BinaryCatalog.CatalogBundle element = mapped.getOrDefault(bundle, Collections.emptyMap()).get(language);
+            value = element != null ? element.getValue(key) : null;
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the keys of a resource bundle for a language.
+     * @param bundle Resource bundle name.
+     * @param language Language locale.
+     * @return Set of keys, empty if the resource bundle is not registered for the language.
+     */
+    Set<String> getKeys(final @NonNull String bundle, final @NonNull Locale language)
+    {
+        CompactBundleTable table = tables.get(bundle);
+        if (table != null && table.contains(language))
+        {
+            return table.getKeys(language);
+        }
+
+        BinaryCatalog.CatalogBundle element = mapped.getOrDefault(bundle, Collections.emptyMap()).get(language);
+        return element != null ? element.keySet() : Collections.emptySet();
+    }
+
+    /**
+     * Returns the value of the first resource bundle entry matching the given key whatever the resource bundle.
+     * @param key Resource bundle entry key.
+     * @param language Language locale.
+     * @return Value or {@code null} if the entry does not exist.
+     */
+    String lookup(final @NonNull String key, final @NonNull Locale language)
+    {
+        String[] names = owners.get(key);
+        if (names == null)
+        {
+            return null;
+        }
+
+        for (String name : names)
+        {
+            CompactBundleTable table = tables.get(name);
+            String value = table != null ? table.get(key, language) : null;
+            if (value != null)
+            {
+                return value;
+            }
+        }
+
+        for (String name : names)
+        {
+            BinaryCatalog.CatalogBundle element = mapped.getOrDefault(name, Collections.emptyMap()).get(language);
+            String value = element != null ? element.getValue(key) : null;
+            if (value != null)
+            {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the locale of the resource bundle registered for the given language. It can differ from the requested
+     * language when no resource bundle file exist for it.
+     * @param bundle Resource bundle name.
+     * @param language Language locale.
+     * @return Resource bundle locale or {@code null} if the resource bundle is not registered for the given language.
+     */
+    Locale getBundleLocale(final @NonNull String bundle, final @NonNull Locale language)
+    {
+        Map<Locale, Locale> elements = languages.get(bundle);
+        return elements != null ? elements.get(language) : null;
+    }
+
+    /**
+     * Returns if a resource bundle is read from a binary catalog for the given language, its values not being held by
+     * the index.
+     * @param bundle Resource bundle name.
+     * @param language Language locale.
+     * @return True if the resource bundle is read from a binary catalog, false otherwise.
+     */
+    boolean isMapped(final @NonNull String bundle, final @NonNull Locale language)
+    {
+        return mapped.getOrDefault(bundle, Collections.emptyMap()).containsKey(language);
+    }
+
+    /**
+     * Returns the names of the registered resource bundles.
+     * @return Set of resource bundle names, in registration order.
+     */
+    Set<String> getBundles()
+    {
+        return Collections.unmodifiableSet(languages.keySet());
+    }
+
+    /**
+     * Returns the languages a resource bundle has been requested for (loading requests for a given language).
+     * @param bundle Resource bundle name.
+     * @return Set of language locales.
+     */
+    Set<Locale> getRequestedLanguages(final @NonNull String bundle)
+    {
+        return requested.getOrDefault(bundle, Collections.emptySet());
+    }
+
+    /**
+     * Returns the languages a resource bundle is registered for.
+     * @param bundle Resource bundle name.
+     * @return Set of language locales.
+     */
+    Set<Locale> getLanguages(final @NonNull String bundle)
+    {
+        Map<Locale, Locale> elements = languages.get(bundle);
+        return elements != null ? Collections.unmodifiableSet(elements.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Finds the name of the (english) resource bundle containing the given key.
+     * @param key Resource bundle entry key.
+     * @return Optional resource bundle name.
+     */
+    Optional<String> findBundle(final @NonNull String key)
+    {
+        String[] names = owners.get(key);
+        if (names == null)
+        {
+            return Optional.empty();
+        }
+
+        for (String name : names)
+        {
+            CompactBundleTable table = tables.get(name);
+            if (table != null && table.get(key, Locale.ENGLISH) != null)
+            {
+                return Optional.of(name);
+            }
+        }
+
+        for (String name : names)
+        {
+            BinaryCatalog.CatalogBundle english = mapped.getOrDefault(name, Collections.emptyMap()).get(Locale.ENGLISH);
+            if (english != null && english.getValue(key) != null)
+            {
+                return Optional.of(name);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the memoized value resolved through a fallback chain.
+     * @param bundle Resource bundle name.
+     * @param key Resource bundle entry key.
+     * @param chain Fallback chain (language locales) the value has been resolved through.
+     * @return Value or {@code null} if not memoized.
+     */
+    String getFallback(final @NonNull String bundle, final @NonNull String key, final @NonNull List<Locale> chain)
+    {
+        return fallbacks.isEmpty() ? null : fallbacks.get(new Memo(bundle, key, chain));
+    }
+
+    /**
+     * Memoizes a value resolved through a fallback chain.
+     * @param bundle Resource bundle name.
+     * @param key Resource bundle entry key.
+     * @param chain Fallback chain (language locales) the value has been resolved through.
+     * @param value Value.
+     */
+    void putFallback(final @NonNull String bundle, final @NonNull String key, final @NonNull List<Locale> chain, final @NonNull String value)
+    {
+        if (fallbacks.size() < MAX_FALLBACKS)
+        {
+            fallbacks.put(new Memo(bundle, key, chain), value);
+        }
+    }
+
+    /**
+     * Returns the compiled message of a resource bundle entry, compiling it if needed. Messages are memoized per locale
+     * (the message formatting locale) and fallback chain (the pattern being resolved through the chain, which depends
+     * on the current locale, possibly bound to the calling thread).
+     * @param bundle Resource bundle name.
+     * @param key Resource bundle entry key.
+     * @param locale Locale of the message.
+     * @param chain Fallback chain (language locales) the pattern is resolved through.
+     * @param compiler Function compiling the message if not already compiled.
+     * @return Compiled message.
+     */
+    MessageTemplate getMessage(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale,
+                               final @NonNull List<Locale> chain, final @NonNull Supplier<MessageTemplate> compiler)
+    {
+        Memo memo = new Memo(bundle, key, Arrays.asList(locale, chain));
+        MessageTemplate message = messages.get(memo);
+        if (message == null)
+        {
+            message = compiler.get();
+            if (messages.size() < MAX_MESSAGES)
+            {
+                messages.putIfAbsent(memo, message);
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Returns the estimated heap footprint of the resource bundle entries held by the index.
+     * @return Footprint report.
+     */
+    CatalogFootprint footprint()
+    {
+        long[] footprint = new long[4];
+        Set<byte[]> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (CompactBundleTable table : tables.values())
+        {
+            table.measure(footprint, distinct);
+        }
+
+        return new CatalogFootprint((int) footprint[0], footprint[1], distinct.size(), footprint[2], footprint[3]);
+    }
+
+    /**
+     * Composite (bundle, key, qualifier) key of a memoized resolution, the qualifier being a fallback chain or a
+     * (locale, fallback chain) pair.
+     */
+    private static final class Memo
+    {
+        private final String bundle;
+        private final String key;
+        private final Object qualifier;
+        private final int hash;
+
+        /**
+         * Creates a new key.
+         * @param bundle Resource bundle name.
+         * @param key Resource bundle entry key.
+         * @param qualifier Fallback chain or (locale, fallback chain) pair.
+         */
+        Memo(final @NonNull String bundle, final @NonNull String key, final @NonNull Object qualifier)
+        {
+            this.bundle = bundle;
+            this.key = key;
+            this.qualifier = qualifier;
+            this.hash = 31 * (31 * bundle.hashCode() + key.hashCode()) + qualifier.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+
+            if (!(other instanceof Memo))
+            {
+                return false;
+            }
+
+            Memo memo = (Memo) other;
+            return hash == memo.hash
+                    && key.equals(memo.key)
+                    && bundle.equals(memo.bundle)
+                    && (qualifier == memo.qualifier || qualifier.equals(memo.qualifier));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
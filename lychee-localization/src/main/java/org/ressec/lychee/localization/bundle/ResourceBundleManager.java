@@ -11,22 +11,16 @@
  */
 package org.ressec.lychee.localization.bundle;
 
-import com.google.common.collect.Maps;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Synchronized;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang3.StringUtils;
-import org.reflections.ReflectionUtils;
-import org.ressec.avocado.core.exception.checked.StringExpanderException;
 import org.ressec.avocado.core.exception.unchecked.AnnotationException;
-import org.ressec.avocado.core.exception.unchecked.NotImplementedException;
-import org.ressec.avocado.core.helper.ReflectionHelper;
-import org.ressec.avocado.core.helper.StringExpander;
 import org.ressec.lychee.localization.base.Localizable;
 import org.ressec.lychee.localization.base.LocalizationException;
 import org.ressec.lychee.localization.base.Localize;
+import org.ressec.lychee.localization.base.Localizer;
 import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.LocalizeCallerResolver.LocalizeCaller;
 import org.ressec.lychee.translation.base.TranslationException;
 import org.ressec.lychee.translation.base.operation.TranslationOperationDetect;
 import org.ressec.lychee.translation.base.operation.TranslationOperationSupportedLanguages;
@@ -36,24 +30,105 @@ import org.ressec.lychee.translation.base.request.ITranslationRequest;
 import org.ressec.lychee.translation.base.request.TranslationRequest;
 import org.ressec.lychee.translation.engine.google.version.v1.GoogleTranslationProcessorVersion1;
 
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 /**
  * A resource bundle manager (singleton) that serves as a central and unique access point to manage resource bundles.
+ * <p>
+ * The manager is thread safe. Lookups are wait-free: they read the current immutable {@link ResourceBundleIndex}
+ * snapshot through a volatile reference. Writers (loading, clearing resource bundles or changing the locales) build a
+ * new snapshot (copy-on-write) and publish it while holding a {@link ReentrantLock}, never a monitor, so that virtual
+ * threads are not pinned to their carrier thread.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
  * @version 1.0.0
  */
 @Log4j2
 public final class ResourceBundleManager
 {
+    /**
+     * System property that can be set to the path of a catalog snapshot file to restore at startup (see
+     * {@link #restoreSnapshot(Path)}).
+     */
+    public static final String SNAPSHOT_PROPERTY = "lychee.localization.snapshot";
+
     private static final String EXCEPTION_NO_TRANSLATION_REQUEST_AVAILABLE = "No translation request available!";
-    private static final String SETTER_PREFIX = "set";
-    private static final String GETTER_PREFIX = "get";
-    private static final String ROPE_LOCALIZABLE_FIELD_NAME = "value";
+
+    /**
+     * Default maximum number of instances localized sequentially by a batch localization task.
+     */
+    private static final int DEFAULT_BATCH_THRESHOLD = 256;
+
+    /**
+     * Maximum number of fallback locales tried when resolving a resource bundle key.
+     */
+    private static final int FALLBACK_MAX_HOP = 4;
+
+    /**
+     * Maximum number of cached fallback chains.
+     */
+    private static final int MAX_FALLBACK_CHAINS = 1_024;
+
+    /**
+     * Maximum number of cached plural keys.
+     */
+    private static final int MAX_PLURAL_KEYS = 16_384;
+
+    /**
+     * Minimum interval between two fallback log messages for a same resource bundle and language.
+     */
+    private static final Duration FALLBACK_LOG_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * Throttle of the fallback log messages.
+     */
+    private static final LogThrottle FALLBACK_LOG_THROTTLE = new LogThrottle(FALLBACK_LOG_INTERVAL);
+
+    /**
+     * Suffix of the name of the localizer classes generated by the {@code lychee-processor} annotation processor.
+     */
+    private static final String LOCALIZER_SUFFIX = "Localizer";
+
+    /**
+     * Generated localizers of the localizable classes (empty if at least one class of the hierarchy has annotated
+     * fields but no generated localizer, in which case the localization is realized by reflection).
+     */
+    private static final ClassValue<Optional<List<Localizer<Localizable>>>> LOCALIZERS = new ClassValue<>()
+    {
+        @Override
+        protected Optional<List<Localizer<Localizable>>> computeValue(final Class<?> type)
+        {
+            return findLocalizers(type);
+        }
+    };
+
+    /**
+     * Locales the resource bundles are loaded for, computed once as the JVM available locales do not change.
+     */
+    private static final List<Locale> FILTERED_LOCALES = FilteredLocales.get();
+
+    /**
+     * Binary catalog the resource bundles are read from when available, {@code null} otherwise (the resource bundle
+     * properties files being parsed).
+     */
+    private static final BinaryCatalog CATALOG = BinaryCatalog.find().orElse(null);
 
     /**
      * Creates the unique (per JVM) instance of the singleton.
@@ -61,21 +136,72 @@ public final class ResourceBundleManager
     private static final ResourceBundleManager instance = new ResourceBundleManager();
 
     /**
-     * Resource bundle manager current locale.
+     * Resource bundle manager current (global) locale.
      */
-    @Getter
-    private Locale locale;
+    private volatile Locale locale;
 
     /**
      * Resource bundle manager default locale.
      */
     @Getter
-    private Locale defaultLocale;
+    private volatile Locale defaultLocale;
+
+    /**
+     * Lock serializing the writers (readers never lock).
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * In-flight resource bundle loading requests (k = bundle name and requested language, v = loading completion).
+     */
+    private final Map<String, CompletableFuture<ResourceBundleIndex>> loadings = new ConcurrentHashMap<>();
+
+    /**
+     * Pre-compiled index of the registered resource bundles and their entries, rebuilt each time the registered
+     * resource bundles change and read without any lock.
+     */
+    private volatile ResourceBundleIndex index = ResourceBundleIndex.EMPTY;
+
+    /**
+     * Catalog epoch, incremented each time a new index is published (written under the lock).
+     */
+    private volatile long epoch;
+
+    /**
+     * Watcher of the external directory the resource bundles are read from first, {@code null} if none.
+     */
+    private volatile BundleDirectoryWatcher watcher;
+
+    /**
+     * Fallback chains (k = language, current, default and JVM default locales, v = fallback chain).
+     */
+    private final Map<List<Locale>, List<Locale>> chains = new ConcurrentHashMap<>();
+
+    /**
+     * Plural keys (k = resource bundle entry key, v = keys suffixed by the plural category names).
+     */
+    private final Map<String, String[]> pluralKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Metrics of the manager (lookup counters and latency histograms).
+     */
+    @Getter
+    private final LocalizationMetrics metrics = new LocalizationMetrics();
+
+    /**
+     * Maximum number of instances localized sequentially by a batch localization task.
+     */
+    private volatile int batchThreshold = DEFAULT_BATCH_THRESHOLD;
+
+    /**
+     * Last warm-up or {@code null} if none has been started.
+     */
+    private volatile WarmUp warmUp;
 
     /**
-     * Collection of resource bundles (k = locale, v = Resource bundle name, w = Resource bundle).
+     * Localization stamps of the nodes of the localized object graphs.
      */
-    private final Map<Locale, Map<String, ResourceBundle>> bundles = new HashMap<>();
+    private final LocalizationStamps stamps = new LocalizationStamps();
 
     /**
      * Returns the unique instance of the resource manager.
@@ -94,31 +220,60 @@ public final class ResourceBundleManager
         Locale.setDefault(Locale.ENGLISH); // Set the JVM default locale to english
         defaultLocale = Locale.ENGLISH; // Set the default locale of the manager.
         this.locale = defaultLocale; // Set the current locale of the manager.
+
+        String snapshot = System.getProperty(SNAPSHOT_PROPERTY);
+        if (snapshot != null)
+        {
+            try
+            {
+                restoreSnapshot(Paths.get(snapshot));
+            }
+            catch (ResourceBundleException e)
+            {
+                log.warn(String.format("Catalog snapshot cannot be restored, resource bundles will be loaded instead: %s", e.getMessage()));
+            }
+        }
     }
 
     /**
      * Sets the default locale to use.
      * @param locale Default locale to set.
      */
-    @Synchronized
     public void setDefaultLocale(final @NonNull Locale locale)
     {
-        if (defaultLocale != locale)
+        lock.lock();
+        try
+        {
+            if (defaultLocale != locale)
+            {
+                defaultLocale = locale;
+                log.info(String.format(
+                        "Default locale changed to language(tag=%s, name=%s)",
+                        defaultLocale,
+                        defaultLocale.getDisplayLanguage(Locale.ENGLISH)));
+                this.locale = defaultLocale;
+            }
+        }
+        finally
         {
-            defaultLocale = locale;
-            log.info(String.format(
-                    "Default locale changed to language(tag=%s, name=%s)",
-                    defaultLocale,
-                    defaultLocale.getDisplayLanguage(Locale.ENGLISH)));
-            this.locale = defaultLocale;
+            lock.unlock();
         }
     }
 
     /**
-     * Sets the default locale to use.
-     * @param locale Default locale to set.
+     * Returns the current locale: the locale bound to the current thread by a {@link LocaleContext} if any, the
+     * global locale of the manager otherwise.
+     * @return Current locale.
+     */
+    public Locale getLocale()
+    {
+        return LocaleContext.current().orElse(locale);
+    }
+
+    /**
+     * Sets the (global) locale to use when no locale is bound to the current thread by a {@link LocaleContext}.
+     * @param locale Locale to set.
      */
-    @Synchronized
     public void setLocale(final @NonNull Locale locale)
     {
         this.locale = locale;
@@ -147,338 +302,1627 @@ public final class ResourceBundleManager
      */
     public void load(final @NonNull String filePath, final Locale locale)
     {
-        boolean exist = false;
+        register(filePath, locale);
+    }
 
-        if (locale != null)
-        {
-            try
-            {
-                add(filePath,locale);
-                exist = true;
-            }
-            catch (Exception e)
-            {
-                // Do nothing!
-            }
-        }
-        else
+    /**
+     * Loads and registers a resource bundle or a set of resource bundles.
+     * <br>
+     * Loading requests are idempotent: once served (whether resource bundle files have been found or not), they are
+     * recorded in the index and further identical requests return immediately. Concurrent identical requests share a
+     * single in-flight loading.
+     * @param filePath Resource bundle path.
+     * @param locale Locale or {@code null} to load all the available resource bundle properties files.
+     * @return Published index, containing the loaded resource bundles.
+     * @throws ResourceBundleException Thrown in case no resource bundle file can be found.
+     */
+    private ResourceBundleIndex register(final @NonNull String filePath, final Locale locale)
+    {
+        Locale language = locale != null ? ResourceBundleIndex.languageOf(locale) : null;
+        ResourceBundleIndex snapshot = index;
+
+        if (!snapshot.isRegistered(filePath, language))
         {
-            for (Locale current : getFilteredLocales())
+            String request = filePath + '#' + (language != null ? language.toLanguageTag() : "*");
+            CompletableFuture<ResourceBundleIndex> created = new CompletableFuture<>();
+            CompletableFuture<ResourceBundleIndex> pending = loadings.putIfAbsent(request, created);
+
+            if (pending == null)
             {
+                // This thread serves the request, other ones wait for its completion.
                 try
                 {
-                    add(filePath,current);
-                    exist = true;
+                    created.complete(register(filePath, locale, language));
                 }
-                catch (Exception e)
+                catch (RuntimeException | Error e)
+                {
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                finally
                 {
-                    // Do nothing!
+                    loadings.remove(request, created);
                 }
+
+                pending = created;
+            }
+
+            try
+            {
+                snapshot = pending.join();
+            }
+            catch (CompletionException e)
+            {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
             }
         }
 
-        if (!exist)
+        if (language != null ? snapshot.getBundleLocale(filePath, language) == null : snapshot.getLanguages(filePath).isEmpty())
         {
             // Inform the specified bundle file has not been found at all!
             throw new ResourceBundleException(String.format("Resource bundle file: '%s' cannot be found for any locale!", filePath));
         }
+
+        return snapshot;
     }
 
     /**
-     * Returns a list of filtered {@link Locale} based on a range of authorized languages.
-     * @return List of filtered {@link Locale}.
+     * Loads the resource bundle files of a loading request and publishes them.
+     * @param filePath Resource bundle path.
+     * @param locale Locale or {@code null} to load all the available resource bundle properties files.
+     * @param language Language of the locale or {@code null} to load all the available resource bundle properties files.
+     * @return Published index, containing the loaded resource bundles (if any) and recording the request as served.
      */
-    private List<Locale> getFilteredLocales()
+    private ResourceBundleIndex register(final @NonNull String filePath, final Locale locale, final Locale language)
     {
-        final String languagesPriorityRange = "en;q=1.0,fr;q=0.5,de;q=0.5,it;q=0.5,es;q=0.5,ja;q=0.5,af;q=0.5," +
-                "ar;q=0.5,bg;q=0.5,cs;q=0.5,da;q=0.5,el;q=0.5,et;q=0.5,fi;q=0.5,hi;q=0.5,hu;q=0.5,iw;q=0.5,ko;q=0.5," +
-                "nl;q=0.5,no;q=0.5,pl;q=0.5,pt;q=0.5,ro;q=0.5,ru;q=0.5,sq;q=0.5,th;q=0.5,tr;q=0.5,zh;q=0.5";
+        long start = metrics.start();
+        BundleLoadEvent event = new BundleLoadEvent();
+        event.begin();
+
+        // Resource bundles are read outside the lock, only the publication of the new index is serialized.
+        Map<Locale, ResourceBundle> loaded = new HashMap<>();
 
-        List<String> listWithDuplicates = new ArrayList<>();
-        // Get only locales for languages
-        for (Locale current : Locale.getAvailableLocales())
+        for (Locale current : locale != null ? Collections.singletonList(locale) : FILTERED_LOCALES)
         {
-            listWithDuplicates.add(current.getLanguage());
+            // Recorded as a negative entry by the index when not found, the resource bundle file won't be searched again.
+            read(filePath, current, watcher).ifPresent(bundle -> loaded.put(ResourceBundleIndex.languageOf(current), bundle));
         }
 
-        // Remove duplicates
-        List<String> listWithoutDuplicates = listWithDuplicates.stream()
-                .distinct()
-                .collect(Collectors.toList());
+        ResourceBundleIndex published = update(current -> current.with(filePath, language, loaded));
+        metrics.stop(LocalizationTimer.LOAD, start);
+        event.record(filePath, locale, loaded.size(), false);
 
-        List<Locale.LanguageRange> languageRanges = Locale.LanguageRange.parse(languagesPriorityRange);
-        List<String> filtered = Locale.filterTags(languageRanges, listWithoutDuplicates);
-
-        return filtered.stream().map(Locale::forLanguageTag).collect(Collectors.toList());
+        return published;
     }
 
     /**
-     * Adds a resource bundle to the collection of managed resource bundles.
-     * @param filePath Resource bundle path and name.
+     * Reads a resource bundle, from the watched directory first, then from the binary catalog and finally from the
+     * resource bundle properties files of the classpath.
+     * @param filePath Resource bundle path.
      * @param locale Locale.
+     * @param directory Watcher of the external directory or {@code null} if none.
+     * @return Optional resource bundle, empty if no resource bundle file can be found.
+     */
+    private Optional<ResourceBundle> read(final @NonNull String filePath, final @NonNull Locale locale, final BundleDirectoryWatcher directory)
+    {
+        Locale language = ResourceBundleIndex.languageOf(locale);
+        if (locale.equals(language))
+        {
+            Optional<ResourceBundle> external = directory != null ? directory.getBundle(filePath, language) : Optional.empty();
+            if (external.isPresent())
+            {
+                return external;
+            }
+
+            Optional<ResourceBundle> compiled = CATALOG != null ? CATALOG.getBundle(filePath, language) : Optional.empty();
+            if (compiled.isPresent())
+            {
+                // Read from the binary catalog, no parsing involved.
+                return compiled;
+            }
+        }
+
+        try
+        {
+            return Optional.of(ResourceBundle.getBundle(filePath, locale));
+        }
+        catch (Exception e)
+        {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Watches an external directory of resource bundle properties files. Its files take precedence over the ones of
+     * the classpath (and the binary catalog) and the registered resource bundles are hot reloaded when they change.
+     * A previous watcher is closed.
+     * @param directory Directory mirroring the resource bundle layout of the classpath (for example containing an
+     * {@code i18n/day_fr.properties} file).
+     * @return Watcher, to close to stop watching the directory.
+     * @throws ResourceBundleException Thrown in case the directory cannot be watched.
      */
-    private void add(final @NonNull String filePath, final @NonNull Locale locale)
+    public BundleDirectoryWatcher watch(final @NonNull Path directory)
     {
-        ResourceBundle bundle = ResourceBundle.getBundle(filePath, locale);
-        bundles.computeIfAbsent(
-                Locale.forLanguageTag(locale.getLanguage()),
-                function -> Maps.newHashMap()).put(filePath, bundle);
+        BundleDirectoryWatcher created = new BundleDirectoryWatcher(this, directory);
+        BundleDirectoryWatcher previous;
+
+        lock.lock();
+        try
+        {
+            previous = watcher;
+            watcher = created;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        if (previous != null)
+        {
+            previous.close();
+        }
+
+        created.start();
+        return created;
     }
 
     /**
-     * Retrieves a resource bundle entry key for the default locale.
-     * @param key Resource bundle entry key.
-     * @return Value of the resource bundle entry.
+     * Stops reading the resource bundles from the directory of the given watcher, if it is the current one.
+     * @param directory Watcher.
      */
-    public String get(final @NonNull String key)
+    void unwatch(final @NonNull BundleDirectoryWatcher directory)
     {
-        return get(key, locale);
+        lock.lock();
+        try
+        {
+            if (watcher == directory)
+            {
+                watcher = null;
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
     }
 
     /**
-     * Retrieves a resource bundle entry key for the given locale.
-     * @param key Resource bundle entry key.
-     * @param locale Locale.
-     * @return Value of the resource bundle entry.
+     * Reloads a registered resource bundle and atomically swaps it in.
+     * @param filePath Resource bundle path.
+     * @param changed Languages whose file changed or {@code null} to reload all the registered languages.
+     * @param directory Watcher of the directory the resource bundle files changed in.
+     * @return True if the resource bundle has been reloaded, false if it is not registered (or the watcher is no more
+     * the current one).
      */
-    public String get(final @NonNull String key, final @NonNull Locale locale)
+    boolean reload(final @NonNull String filePath, final Set<Locale> changed, final @NonNull BundleDirectoryWatcher directory)
     {
-        return lookup(key, locale);
+        Set<Locale> registered = index.getLanguages(filePath);
+        if (watcher != directory || registered.isEmpty())
+        {
+            return false;
+        }
+
+        long start = metrics.start();
+        BundleLoadEvent event = new BundleLoadEvent();
+        event.begin();
+
+        // Resource bundles are rebuilt outside the lock, only the swap is serialized.
+        Map<Locale, ResourceBundle> reloaded = new HashMap<>();
+        for (Locale language : changed != null ? changed : registered)
+        {
+            read(filePath, language, directory).ifPresent(bundle -> reloaded.put(language, bundle));
+        }
+
+        update(current -> current.replace(filePath, reloaded));
+        metrics.stop(LocalizationTimer.RELOAD, start);
+        event.record(filePath, null, reloaded.size(), true);
+
+        return !reloaded.isEmpty();
     }
 
     /**
-     * Retrieves a resource bundle entry key for the given bundle and locale.
-     * @param bundle Resource bundle path name.
-     * @param key Resource bundle entry key.
-     * @param locale Locale.
-     * @return Value of the resource bundle entry.
+     * Warms up the manager using the default options (see {@link #warmUp(WarmUpOptions)}).
+     * @return Warm-up handle.
      */
-    public String get(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    public WarmUp warmUp()
     {
-        load(bundle, locale);
-        return lookup(key,locale);
+        return warmUp(WarmUpOptions.defaults());
     }
 
     /**
-     * Lookups for the first matching resource bundle entry in registered resource bundles.
-     * @param key Resource bundle entry key.
-     * @param locale Locale.
-     * @return Value of the resource bundle entry.
+     * Warms up the manager in the background, on a dedicated fork/join pool: the resource bundles found in the
+     * classpath directory of the options are loaded (all the languages of a resource bundle being read in parallel)
+     * then the localized values of the enumerations of the packages of the options (the ones having a generated
+     * localizer) are pre-resolved.
+     * <p>
+     * Use {@link WarmUp#await()} to block until the warm-up is done, or {@link WarmUp#isReady()} (or
+     * {@link #getWarmUp()}) to report the readiness of the application.
+     * @param options Warm-up options.
+     * @return Warm-up handle.
      */
-    private String lookup(final @NonNull String key, final @NonNull Locale locale)
+    public WarmUp warmUp(final @NonNull WarmUpOptions options)
     {
-        if (bundles.isEmpty())
-        {
-            throw new ResourceBundleException(String.format(
-                    "No resource bundle found containing key: '%s' for locale: '%s'. Try loading the resource bundle first using one of the ResourceBundleManager#load services!",
-                    key,
-                    locale));
-        }
+        WarmUp handle = new WarmUp(options);
+        warmUp = handle;
 
-        Locale currentLocale = Locale.forLanguageTag(locale.getLanguage());
+        AtomicInteger threads = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(options.getParallelism(), element ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(element);
+            thread.setName("lychee-warm-up-" + threads.incrementAndGet());
+            return thread;
+        }, null, false);
 
-        Map<String, ResourceBundle> elements = bundles.get(currentLocale);
-        for (ResourceBundle bundle : elements.values())
+        pool.execute(() ->
         {
-            if (!currentLocale.getDisplayLanguage().equals(locale.getDisplayLanguage()))
+            Throwable failure = null;
+            try
             {
-                log.warn(String.format("No resource bundle: '%s' for language(tag: '%s', language: '%s') found!",
-                        bundle.getBaseBundleName(), locale.toLanguageTag(), locale.getDisplayLanguage()));
+                warmUpBundles(handle, options);
+                warmUpEnumerations(handle, options);
             }
-
-            if (bundle.containsKey(key))
+            catch (RuntimeException | Error e)
             {
-                return bundle.getString(key);
+                failure = e;
             }
-            else
+            finally
             {
-                loadBundle(bundle, locale);
-                if (bundle.containsKey(key))
-                {
-                    return bundle.getString(key);
-                }
+                pool.shutdown();
+                handle.complete(failure);
+                log.info(String.format("Warm-up done: %s", handle));
             }
-        }
+        });
 
-        throw new ResourceBundleException(String.format("Resource key: '%s' for locale: '%s' not found!", key, locale));
+        return handle;
     }
 
     /**
-     * Loads a resource bundle (if absent).
-     * @param bundle Resource bundle.
-     * @param locale Locale.
+     * Returns the last warm-up.
+     * @return Optional warm-up, empty if none has been started.
      */
-    private void loadBundle(final @NonNull ResourceBundle bundle, final @NonNull Locale locale)
+    public Optional<WarmUp> getWarmUp()
     {
-        try
+        return Optional.ofNullable(warmUp);
+    }
+
+    /**
+     * Loads, in parallel, the resource bundles found in the classpath directory of the given warm-up options.
+     * @param handle Warm-up handle.
+     * @param options Warm-up options.
+     */
+    private void warmUpBundles(final @NonNull WarmUp handle, final @NonNull WarmUpOptions options)
+    {
+        Set<String> names = findBundles(options.getDirectory());
+        handle.setBundleCount(names.size());
+
+        ForkJoinTask.invokeAll(names.stream()
+                .map(name -> ForkJoinTask.adapt(() -> handle.bundleLoaded(warmUpBundle(name, options.getLocales()))))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Finds the names of the resource bundles contained in a classpath directory (and in the binary catalog).
+     * @param directory Classpath directory.
+     * @return Resource bundle names (for example {@code i18n/day}).
+     */
+    private static Set<String> findBundles(final @NonNull String directory)
+    {
+        Set<String> names = new TreeSet<>();
+
+        for (String resource : ClasspathScanner.findResources(ResourceBundleManager.class.getClassLoader(), directory, true))
         {
-            load(bundle.getBaseBundleName(), locale);
+            Matcher matcher = BinaryCatalogCompiler.PROPERTIES_FILE.matcher(resource);
+            if (matcher.matches())
+            {
+                names.add(matcher.group(1));
+            }
         }
-        catch (Exception e)
+
+        if (CATALOG != null)
         {
-            // Do nothing!
+            CATALOG.getBundles().stream().filter(name -> name.startsWith(directory + "/")).forEach(names::add);
         }
+
+        return names;
     }
 
     /**
-     * Resolves the localization of an element annotated with the {@link Localize} annotation.
-     * @param instance Object instance (containing the element to localize).
-     * @param locale Locale.
-     * @return Localized value.
+     * Loads a resource bundle for the given languages, the languages being read in parallel and the resource bundles
+     * published at once. Languages the resource bundle has already been loaded for are skipped.
+     * @param filePath Resource bundle path.
+     * @param languages Languages or an empty list to load the resource bundle for all the configured languages.
+     * @return True if the resource bundle exists for at least one language, false otherwise.
      */
-    public String resolve(final @NonNull Object instance, final Locale locale)
+    private boolean warmUpBundle(final @NonNull String filePath, final @NonNull List<Locale> languages)
     {
-        Method method;
+        ResourceBundleIndex snapshot = index;
+        List<Locale> missing = languages.isEmpty()
+                ? (snapshot.isRegistered(filePath, null) ? Collections.emptyList() : FILTERED_LOCALES)
+                : languages.stream().filter(language -> !snapshot.isRegistered(filePath, language)).collect(Collectors.toList());
 
-        // Invoked from an enumeration?
-        if (instance instanceof Enum)
+        if (missing.isEmpty())
         {
-            return resolveEnum(instance, locale);
+            return !snapshot.getLanguages(filePath).isEmpty();
         }
-        else
+
+        long start = metrics.start();
+        BundleLoadEvent event = new BundleLoadEvent();
+        event.begin();
+
+        BundleDirectoryWatcher directory = watcher;
+        Map<Locale, ResourceBundle> loaded = new ConcurrentHashMap<>();
+        ForkJoinTask.invokeAll(missing.stream()
+                .map(current -> ForkJoinTask.adapt(() -> read(filePath, current, directory)
+                        .ifPresent(bundle -> loaded.put(ResourceBundleIndex.languageOf(current), bundle))))
+                .collect(Collectors.toList()));
+
+        ResourceBundleIndex published = update(current ->
         {
-            // Invoked from a normal class that should implement the Localizable interface.
-            method = getCallerMethod();
-            if (method == null)
+            if (languages.isEmpty())
             {
-                try
-                {
-                    throw new AnnotationException(String.format(
-                            "Service 'ResourceBundleManager#resolve' invoked from a class not being an enum nor from an annotated method! Please check class: '%s'",
-                            instance.getClass().getDeclaringClass().getName()));
-                }
-                catch (Exception e)
-                {
-                    throw new AnnotationException(String.format(
-                            "Service 'ResourceBundleManager#resolve' invoked from a class not being an enum nor from an annotated method! Please check class: '%s'",
-                            instance.getClass().getName()));
-                }
+                return current.with(filePath, null, loaded);
+            }
+
+            // Resource bundles are merged by the first request, the other ones are only recorded as served.
+            ResourceBundleIndex next = current;
+            for (Locale language : missing)
+            {
+                next = next.with(filePath, language, next == current ? loaded : Collections.emptyMap());
             }
+
+            return next;
+        });
+
+        metrics.stop(LocalizationTimer.LOAD, start);
+        event.record(filePath, null, loaded.size(), false);
+
+        return !published.getLanguages(filePath).isEmpty();
+    }
+
+    /**
+     * Pre-resolves, in parallel, the localized values of the enumerations of the packages of the given warm-up
+     * options. The generated localizers of the enumerations are initialized first, creating their tables of
+     * localized values (see {@link LocalizedEnumTable}).
+     * @param handle Warm-up handle.
+     * @param options Warm-up options.
+     */
+    private void warmUpEnumerations(final @NonNull WarmUp handle, final @NonNull WarmUpOptions options)
+    {
+        ClassLoader loader = ResourceBundleManager.class.getClassLoader();
+        for (String name : options.getPackages())
+        {
+            ClasspathScanner.findResources(loader, name.replace('.', '/'), true).stream()
+                    .filter(resource -> resource.endsWith(LOCALIZER_SUFFIX + ".class"))
+                    .forEach(resource -> initializeLocalizer(loader, resource));
+        }
+
+        List<Locale> languages = options.getLocales().isEmpty() ? FILTERED_LOCALES : options.getLocales();
+        ForkJoinTask.invokeAll(LocalizedEnumTable.getTables().stream()
+                .map(table -> ForkJoinTask.adapt(() ->
+                {
+                    int[] counts = table.preload(languages);
+                    handle.valuesResolved(counts[0], counts[1]);
+                }))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Initializes a generated localizer class if it holds tables of localized enumeration values.
+     * @param loader Class loader.
+     * @param resource Class file resource name (for example {@code org/ressec/lychee/DayTypeLocalizer.class}).
+     */
+    private static void initializeLocalizer(final @NonNull ClassLoader loader, final @NonNull String resource)
+    {
+        String name = resource.substring(0, resource.length() - ".class".length()).replace('/', '.');
+        try
+        {
+            Class<?> type = Class.forName(name, false, loader);
+            if (Arrays.stream(type.getDeclaredFields()).anyMatch(field -> field.getType() == LocalizedEnumTable.class))
+            {
+                Class.forName(name, true, loader);
+            }
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            log.debug(String.format("Localizer class: '%s' cannot be initialized due to: %s", name, e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes a snapshot of the registered resource bundles and of the fallback chains to a file, to be restored on
+     * the next start (see {@link #restoreSnapshot(Path)}). It is meant to be written once the resource bundles are
+     * loaded (for example after a {@link #warmUp(WarmUpOptions)}).
+     * @param path Snapshot file path.
+     * @throws ResourceBundleException Thrown in case an external directory is watched (its resource bundles cannot be
+     * validated on restore) or the file cannot be written.
+     */
+    public void writeSnapshot(final @NonNull Path path)
+    {
+        if (watcher != null)
+        {
+            throw new ResourceBundleException(String.format("Cannot write catalog snapshot: '%s' while watching directory: '%s'!", path, watcher.getDirectory()));
+        }
+
+        CatalogSnapshot snapshot = CatalogSnapshot.of(index, chains);
+        snapshot.write(path);
+        log.info(String.format("Catalog snapshot: '%s' written with %d resource bundles", path, snapshot.size()));
+    }
+
+    /**
+     * Restores the resource bundles and the fallback chains of a snapshot file written by
+     * {@link #writeSnapshot(Path)}, with a single bulk read and without parsing any resource bundle file. The snapshot
+     * is only restored if the resource bundle files (and the binary catalog) it has been taken from are unchanged
+     * (same checksums) and the manager configuration is the same. Resource bundles already registered are kept.
+     * @param path Snapshot file path.
+     * @return True if the snapshot has been restored, false if the file does not exist or is not valid anymore.
+     * @throws ResourceBundleException Thrown in case the file cannot be read or is not a snapshot file.
+     */
+    public boolean restoreSnapshot(final @NonNull Path path)
+    {
+        long start = System.nanoTime();
+
+        Optional<CatalogSnapshot> snapshot = CatalogSnapshot.read(path);
+        if (snapshot.isEmpty())
+        {
+            log.info(String.format("Catalog snapshot: '%s' not found or outdated, resource bundles will be loaded", path));
+            return false;
+        }
+
+        update(current -> snapshot.get().restore(current, CATALOG));
+        snapshot.get().getChains().forEach(chains::putIfAbsent);
+
+        log.info(String.format("Catalog snapshot: '%s' restored with %d resource bundles in %d ms", path,
+                snapshot.get().size(), Duration.ofNanos(System.nanoTime() - start).toMillis()));
+
+        return true;
+    }
+
+    /**
+     * Returns the locales the resource bundles are loaded for.
+     * @return List of filtered {@link Locale}.
+     */
+    static List<Locale> getFilteredLocales()
+    {
+        return FILTERED_LOCALES;
+    }
+
+    /**
+     * Publishes a new index computed from the current one, incrementing the catalog epoch if the index changed.
+     * @param function Function computing the new index.
+     * @return Published index.
+     */
+    private ResourceBundleIndex update(final @NonNull UnaryOperator<ResourceBundleIndex> function)
+    {
+        lock.lock();
+        try
+        {
+            ResourceBundleIndex updated = function.apply(index);
+            if (updated != index)
+            {
+                // The index is published first, so a reader seeing the new epoch also sees the new index.
+                index = updated;
+                epoch++;
+            }
+
+            return index;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves a resource bundle entry key for the default locale.
+     * @param key Resource bundle entry key.
+     * @return Value of the resource bundle entry.
+     */
+    public String get(final @NonNull String key)
+    {
+        return get(key, getLocale());
+    }
+
+    /**
+     * Retrieves a resource bundle entry key for the given locale.
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @return Value of the resource bundle entry.
+     */
+    public String get(final @NonNull String key, final @NonNull Locale locale)
+    {
+        LookupEvent event = new LookupEvent();
+        event.begin();
+        String value = null;
+        try
+        {
+            value = lookup(index, LocalizationMetrics.ANY_BUNDLE, key, locale);
+            return value;
+        }
+        finally
+        {
+            event.record(LocalizationMetrics.ANY_BUNDLE, key, locale, value != null);
+        }
+    }
+
+    /**
+     * Retrieves a resource bundle entry key for the given bundle and locale.
+     * @param bundle Resource bundle path name.
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @return Value of the resource bundle entry.
+     */
+    public String get(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    {
+        LookupEvent event = new LookupEvent();
+        event.begin();
+        String value = null;
+        try
+        {
+            Locale language = ResourceBundleIndex.languageOf(locale);
+            value = index.get(bundle, key, language);
+            if (value != null)
+            {
+                metrics.count(bundle, language, LookupOutcome.HIT);
+                return value;
+            }
+
+            value = lookup(register(bundle, locale), bundle, key, locale);
+            return value;
+        }
+        finally
+        {
+            event.record(bundle, key, locale, value != null);
+        }
+    }
+
+    /**
+     * Lookups for the first matching resource bundle entry in registered resource bundles.
+     * @param snapshot Index snapshot.
+     * @param bundle Resource bundle path name the lookup is counted for (see {@link LocalizationMetrics}).
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @return Value of the resource bundle entry.
+     */
+    private String lookup(final @NonNull ResourceBundleIndex snapshot, final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    {
+        Locale language = ResourceBundleIndex.languageOf(locale);
+
+        if (snapshot.isEmpty())
+        {
+            metrics.count(bundle, language, LookupOutcome.MISS);
+            throw new ResourceBundleException(String.format(
+                    "No resource bundle found containing key: '%s' for locale: '%s'. Try loading the resource bundle first using one of the ResourceBundleManager#load services!",
+                    key,
+                    locale));
+        }
+
+        String value = snapshot.lookup(key, language);
+        metrics.count(bundle, language, value != null ? LookupOutcome.HIT : LookupOutcome.MISS);
+        if (value == null)
+        {
+            throw new ResourceBundleException(String.format("Resource key: '%s' for locale: '%s' not found!", key, locale));
+        }
+
+        return value;
+    }
+
+    /**
+     * Resolves the localization of an element annotated with the {@link Localize} annotation.
+     * @param instance Object instance (containing the element to localize).
+     * @param locale Locale.
+     * @return Localized value.
+     */
+    public String resolve(final @NonNull Object instance, final Locale locale)
+    {
+        Optional<LocalizeCaller> caller;
+
+        // Invoked from an enumeration?
+        if (instance instanceof Enum)
+        {
+            return resolveEnum(instance, locale);
+        }
+        else
+        {
+            // Invoked from a normal class that should implement the Localizable interface.
+            long start = metrics.start();
+            caller = LocalizeCallerResolver.findCaller();
+            metrics.stop(LocalizationTimer.CALLER, start);
+            if (caller.isEmpty())
+            {
+                try
+                {
+                    throw new AnnotationException(String.format(
+                            "Service 'ResourceBundleManager#resolve' invoked from a class not being an enum nor from an annotated method! Please check class: '%s'",
+                            instance.getClass().getDeclaringClass().getName()));
+                }
+                catch (Exception e)
+                {
+                    throw new AnnotationException(String.format(
+                            "Service 'ResourceBundleManager#resolve' invoked from a class not being an enum nor from an annotated method! Please check class: '%s'",
+                            instance.getClass().getName()));
+                }
+            }
+        }
+
+        return resolveMethod(instance,caller.get(),locale);
+    }
+
+    /**
+     * Resolves the localization of a resource bundle entry whose bundle and key have already been expanded.
+     * <br>
+     * This service is invoked by the resolvers generated at compile time by the {@code lychee-processor} annotation
+     * processor. If the resource bundle does not exist for the given locale, the value is retrieved using the fallback
+     * locales (in order: the current locale, the default locale and the JVM default locale).
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @return Localized value.
+     */
+    public String resolve(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    {
+        return getKey(bundle, key, locale);
+    }
+
+    /**
+     * Resolves the localization of several keys of a resource bundle for a locale.
+     * <br>
+     * Same as calling {@link #resolve(String, String, Locale)} for each key, but the resource bundle loading and the
+     * fallback language are resolved once for the whole batch.
+     * @param bundle Resource bundle path and name.
+     * @param keys Resource bundle entry keys.
+     * @param locale Locale.
+     * @return Localized values, in the order of the keys.
+     * @throws ResourceBundleException Thrown in case a key cannot be found.
+     */
+    public String[] resolve(final @NonNull String bundle, final @NonNull List<String> keys, final @NonNull Locale locale)
+    {
+        BatchTarget target = getBatchTarget(bundle, locale);
+
+        String[] values = new String[keys.size()];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = target.get(keys.get(i));
+        }
+
+        return values;
+    }
+
+    /**
+     * Resolves the localization of all the keys of a resource bundle starting with a given prefix for a locale.
+     * <br>
+     * The resource bundle loading and the fallback language are resolved once for the whole batch.
+     * @param bundle Resource bundle path and name.
+     * @param prefix Key prefix (an empty prefix matches all the keys).
+     * @param locale Locale.
+     * @return Localized values (k = key, v = value) sorted by key.
+     */
+    public SortedMap<String, String> resolvePrefix(final @NonNull String bundle, final @NonNull String prefix, final @NonNull Locale locale)
+    {
+        BatchTarget target = getBatchTarget(bundle, locale);
+
+        SortedMap<String, String> values = new TreeMap<>();
+        for (String key : target.snapshot.getKeys(bundle, target.language))
+        {
+            if (key.startsWith(prefix))
+            {
+                values.put(key, target.get(key));
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Resolves the localization of a key of a resource bundle for several locales.
+     * <br>
+     * Same as calling {@link #resolve(String, String, Locale)} for each locale, but the resource bundle is loaded once
+     * for the whole batch and the fallback language is resolved once per distinct language.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key.
+     * @param locales Locales.
+     * @return Localized values (k = locale, v = value), in the order of the locales.
+     * @throws ResourceBundleException Thrown in case the key cannot be found for a locale.
+     */
+    public Map<Locale, String> resolve(final @NonNull String bundle, final @NonNull String key, final @NonNull Collection<Locale> locales)
+    {
+        ResourceBundleIndex snapshot = loadAll(bundle);
+        Map<Locale, String> languages = new HashMap<>();
+
+        Map<Locale, String> values = new LinkedHashMap<>();
+        for (Locale locale : locales)
+        {
+            String value = languages.get(ResourceBundleIndex.languageOf(locale));
+            if (value == null)
+            {
+                value = new BatchTarget(snapshot, bundle, locale).get(key);
+                languages.put(ResourceBundleIndex.languageOf(locale), value);
+            }
+
+            values.put(locale, value);
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns the compiled message of a resource bundle entry. Messages are compiled once per resource bundle, key,
+     * locale and fallback chain (see {@link LocaleContext}) and cached until the registered resource bundles change.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @return Compiled message, thread safe.
+     * @throws ResourceBundleException Thrown in case the key cannot be found or its value is not a valid message
+     * pattern.
+     */
+    public MessageTemplate getMessage(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
+    {
+        List<Locale> chain = getFallbackChain(ResourceBundleIndex.languageOf(locale));
+        return index.getMessage(bundle, key, locale, chain, () -> new MessageTemplate(getKey(bundle, key, locale), locale));
+    }
+
+    /**
+     * Formats the message of a resource bundle entry with positional arguments.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @param arguments Arguments.
+     * @return Formatted message.
+     * @throws ResourceBundleException Thrown in case the key cannot be found or its value is not a valid message
+     * pattern.
+     */
+    public String format(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale, final Object... arguments)
+    {
+        return getMessage(bundle, key, locale).format(arguments);
+    }
+
+    /**
+     * Formats the message of a resource bundle entry with named arguments.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @param arguments Arguments (k = argument name, v = value).
+     * @return Formatted message.
+     * @throws ResourceBundleException Thrown in case the key cannot be found or its value is not a valid message
+     * pattern.
+     */
+    public String format(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale, final @NonNull Map<String, ?> arguments)
+    {
+        return getMessage(bundle, key, locale).format(arguments);
+    }
+
+    /**
+     * Formats the message of a resource bundle entry with positional arguments into an appendable.
+     * @param output Output.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key.
+     * @param locale Locale.
+     * @param arguments Arguments.
+     * @param <A> Appendable type.
+     * @return Output.
+     * @throws ResourceBundleException Thrown in case the key cannot be found, its value is not a valid message pattern
+     * or the message cannot be appended to the output.
+     */
+    public <A extends Appendable> A formatTo(final @NonNull A output, final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale, final Object... arguments)
+    {
+        return getMessage(bundle, key, locale).formatTo(output, arguments);
+    }
+
+    /**
+     * Resolves the plural form of a resource bundle entry for a quantity.
+     * <br>
+     * The plural category of the quantity is selected by the {@link PluralRules} of the locale and the value is read
+     * from the entry whose key is suffixed by the category name (for example {@code country.count.few}), then from the
+     * {@code other} entry and finally from the entry itself.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key (without plural suffix).
+     * @param locale Locale.
+     * @param quantity Quantity.
+     * @return Localized value.
+     * @throws ResourceBundleException Thrown in case no entry can be found.
+     */
+    public String resolvePlural(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale, final @NonNull Number quantity)
+    {
+        BatchTarget target = getBatchTarget(bundle, locale);
+        return target.get(selectPluralKey(target, key, quantity));
+    }
+
+    /**
+     * Formats the plural form of a message for a quantity, the quantity being the first argument of the message.
+     * @param bundle Resource bundle path and name.
+     * @param key Resource bundle entry key (without plural suffix).
+     * @param locale Locale.
+     * @param quantity Quantity.
+     * @param arguments Other arguments of the message (from index 1).
+     * @return Formatted message.
+     * @throws ResourceBundleException Thrown in case no entry can be found or its value is not a valid message pattern.
+     */
+    public String formatPlural(final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale, final @NonNull Number quantity, final Object... arguments)
+    {
+        Object[] values = new Object[arguments != null ? arguments.length + 1 : 1];
+        values[0] = quantity;
+        if (arguments != null)
+        {
+            System.arraycopy(arguments, 0, values, 1, arguments.length);
+        }
+
+        return getMessage(bundle, selectPluralKey(getBatchTarget(bundle, locale), key, quantity), locale).format(values);
+    }
+
+    /**
+     * Selects the key of the plural form of a resource bundle entry for a quantity.
+     * @param target Batch target.
+     * @param key Resource bundle entry key (without plural suffix).
+     * @param quantity Quantity.
+     * @return Key of the entry suffixed by the plural category of the quantity if it exists, else the key suffixed by
+     * the {@code other} category if it exists, else the given key.
+     */
+    private String selectPluralKey(final @NonNull BatchTarget target, final @NonNull String key, final @NonNull Number quantity)
+    {
+        String[] keys = getPluralKeys(key);
+
+        String selected = keys[PluralRules.forLocale(target.language).select(quantity).ordinal()];
+        if (target.find(selected) != null)
+        {
+            return selected;
+        }
+
+        selected = keys[PluralCategory.OTHER.ordinal()];
+        return target.find(selected) != null ? selected : key;
+    }
+
+    /**
+     * Returns the plural keys of a resource bundle entry key, indexed by {@link PluralCategory} ordinal.
+     * @param key Resource bundle entry key.
+     * @return Plural keys.
+     */
+    private String[] getPluralKeys(final @NonNull String key)
+    {
+        String[] keys = pluralKeys.get(key);
+        if (keys == null)
+        {
+            if (pluralKeys.size() >= MAX_PLURAL_KEYS)
+            {
+                pluralKeys.clear();
+            }
+
+            keys = new String[PluralCategory.values().length];
+            for (PluralCategory category : PluralCategory.values())
+            {
+                keys[category.ordinal()] = key + '.' + category.getName();
+            }
+
+            pluralKeys.putIfAbsent(key, keys);
+        }
+
+        return keys;
+    }
+
+    /**
+     * Returns the target of a batch resolution for a resource bundle and a locale.
+     * @param bundle Resource bundle path and name.
+     * @param locale Locale.
+     * @return Batch target.
+     */
+    private BatchTarget getBatchTarget(final @NonNull String bundle, final @NonNull Locale locale)
+    {
+        return new BatchTarget(loadAll(bundle), bundle, locale);
+    }
+
+    /**
+     * Ensures a resource bundle is loaded for all the languages.
+     * @param bundle Resource bundle path and name.
+     * @return Index snapshot containing the resource bundle.
+     * @throws ResourceBundleException Thrown in case no resource bundle file can be found.
+     */
+    private ResourceBundleIndex loadAll(final @NonNull String bundle)
+    {
+        ResourceBundleIndex snapshot = index;
+        return snapshot.isRegistered(bundle, null) && !snapshot.getLanguages(bundle).isEmpty() ? snapshot : register(bundle, null);
+    }
+
+    /**
+     * Returns the current index snapshot.
+     * @return Index snapshot.
+     */
+    ResourceBundleIndex snapshot()
+    {
+        return index;
+    }
+
+    /**
+     * Retrieves the given key from the given resource bundle path, only if a resource bundle file exists for the
+     * language of the given locale (no fallback locale is used).
+     * @param filePath Resource bundle path and name.
+     * @param key Key.
+     * @param locale Locale.
+     * @return Localized value or {@code null} if no resource bundle file exists for the given locale.
+     */
+    String resolveNative(final @NonNull String filePath, final @NonNull String key, final @NonNull Locale locale)
+    {
+        Locale language = ResourceBundleIndex.languageOf(locale);
+        ResourceBundleIndex snapshot = index;
+
+        Locale bundleLocale = snapshot.getBundleLocale(filePath, language);
+        if (bundleLocale == null)
+        {
+            snapshot = register(filePath, null);
+            bundleLocale = snapshot.getBundleLocale(filePath, language);
+        }
+
+        if (bundleLocale == null || !bundleLocale.toLanguageTag().equals(language.toLanguageTag()))
+        {
+            return null;
+        }
+
+        return getNativeKey(snapshot, filePath, key, language);
+    }
+
+    /**
+     * Retrieves the given key from the given resource bundle path.
+     * <br>
+     * If the resource bundle does not exist for the given locale, the value is retrieved using the fallback chain of
+     * the locale (in order: the current locale, the default locale and the JVM default locale). Values resolved
+     * through a fallback chain are memoized until the registered resource bundles change.
+     * @param filePath Resource bundle path and name.
+     * @param key Key.
+     * @param locale Locale.
+     * @return Localized value.
+     */
+    private String getKey(final @NonNull String filePath, final @NonNull String key, final @NonNull Locale locale)
+    {
+        LookupEvent event = new LookupEvent();
+        event.begin();
+        String value = null;
+        try
+        {
+            value = findKey(filePath, key, locale);
+            return value;
+        }
+        finally
+        {
+            event.record(filePath, key, locale, value != null);
+        }
+    }
+
+    /**
+     * Finds the given key from the given resource bundle path, using the fallback chain of the locale if needed (see
+     * {@link #getKey(String, String, Locale)}).
+     * @param filePath Resource bundle path and name.
+     * @param key Key.
+     * @param locale Locale.
+     * @return Localized value.
+     */
+    private String findKey(final @NonNull String filePath, final @NonNull String key, final @NonNull Locale locale)
+    {
+        Locale language = ResourceBundleIndex.languageOf(locale);
+
+        // The whole resolution (including the fallback hops) is realized against the same index snapshot.
+        ResourceBundleIndex snapshot = index;
+        Locale bundleLocale = snapshot.getBundleLocale(filePath, language);
+        boolean loaded = false;
+        if (bundleLocale == null)
+        {
+            // Ensure the resource bundles are loaded
+            snapshot = register(filePath, null);
+            loaded = true;
+            bundleLocale = snapshot.getBundleLocale(filePath, language);
+        }
+
+        if (bundleLocale != null && bundleLocale.toLanguageTag().equals(language.toLanguageTag()))
+        {
+            String value = getNativeKey(snapshot, filePath, key, language);
+            metrics.count(filePath, language, LookupOutcome.HIT);
+            return value;
+        }
+
+        List<Locale> chain = getFallbackChain(language);
+        String value = snapshot.getFallback(filePath, key, chain);
+        if (value != null)
+        {
+            metrics.count(filePath, language, LookupOutcome.FALLBACK);
+            return value;
+        }
+
+        for (int hop = 1; hop < chain.size(); hop++)
+        {
+            logFallback(filePath, key, chain.get(hop - 1), chain.get(hop), bundleLocale != null);
+
+            Locale currentLocale = chain.get(hop);
+            bundleLocale = snapshot.getBundleLocale(filePath, currentLocale);
+            if (bundleLocale == null && !loaded)
+            {
+                snapshot = register(filePath, null);
+                loaded = true;
+                bundleLocale = snapshot.getBundleLocale(filePath, currentLocale);
+            }
+
+            if (bundleLocale != null && bundleLocale.toLanguageTag().equals(currentLocale.toLanguageTag()))
+            {
+                value = getNativeKey(snapshot, filePath, key, currentLocale);
+                snapshot.putFallback(filePath, key, chain, value);
+                metrics.count(filePath, language, LookupOutcome.FALLBACK);
+                return value;
+            }
+        }
+
+        metrics.count(filePath, language, LookupOutcome.MISS);
+        throw new ResourceBundleException(
+                String.format(
+                        "Can't find resource bundle(name=%s, key=%s) for language(tag=%s, name=%s) nor for any of its fallback languages",
+                        filePath,
+                        key,
+                        locale,
+                        locale.getDisplayLanguage(Locale.ENGLISH)));
+    }
+
+    /**
+     * Retrieves the given key from a resource bundle existing for the given language.
+     * @param snapshot Index snapshot.
+     * @param filePath Resource bundle path and name.
+     * @param key Key.
+     * @param language Language locale.
+     * @return Localized value.
+     * @throws ResourceBundleException Thrown in case the key does not exist.
+     */
+    private String getNativeKey(final @NonNull ResourceBundleIndex snapshot, final @NonNull String filePath, final @NonNull String key, final @NonNull Locale language)
+    {
+        String value = snapshot.get(filePath, key, language);
+        if (value == null)
+        {
+            metrics.count(filePath, language, LookupOutcome.MISS);
+            throw new ResourceBundleException(
+                    String.format(
+                            "Can't find resource bundle(name=%s, key=%s) for language(tag=%s, name=%s)",
+                            filePath,
+                            key,
+                            language,
+                            language.getDisplayLanguage(Locale.ENGLISH)));
+        }
+
+        return value;
+    }
+
+    /**
+     * Logs (at most once per {@link #FALLBACK_LOG_INTERVAL} for a given resource bundle and language) a fallback hop.
+     * @param filePath Resource bundle path and name.
+     * @param key Key.
+     * @param from Language having no resource bundle.
+     * @param to Fallback language.
+     * @param fallback True if a fallback resource bundle (of another language) is registered for the language, false
+     * if no resource bundle is registered at all for it.
+     */
+    private void logFallback(final @NonNull String filePath, final @NonNull String key, final @NonNull Locale from, final @NonNull Locale to, final boolean fallback)
+    {
+        if (fallback ? !log.isWarnEnabled() : !log.isDebugEnabled())
+        {
+            return;
+        }
+
+        long suppressed = FALLBACK_LOG_THROTTLE.tryAcquire(filePath + '#' + from.toLanguageTag());
+        if (suppressed < 0)
+        {
+            return;
+        }
+
+        String message = String.format("No resource bundle(name=%s, key=%s) for language(tag=%s, name=%s) found! Use of the default language(tag=%s, name=%s) instead%s",
+                filePath,
+                key,
+                from,
+                from.getDisplayLanguage(Locale.ENGLISH),
+                to,
+                to.getDisplayLanguage(Locale.ENGLISH),
+                suppressed > 0 ? String.format(" (%d similar messages suppressed)", suppressed) : "");
+
+        if (fallback)
+        {
+            // The resource bundle file for this language does not exist, the loaded one is a fallback one!
+            log.warn(message);
+        }
+        else
+        {
+            // In this case, no resource bundle exist for the given locale! Try another locale...
+            log.debug(message);
+        }
+    }
+
+    /**
+     * Returns the fallback chain of a language: the language itself followed by the languages to try, in order, when
+     * no resource bundle exists for the previous one. Chains are computed once per language and configuration of the
+     * current, default and JVM default locales.
+     * @param language Language locale.
+     * @return Fallback chain (language locales, without duplicates).
+     */
+    private List<Locale> getFallbackChain(final @NonNull Locale language)
+    {
+        Locale managerLocale = getLocale();
+        List<Locale> configuration = Arrays.asList(language, managerLocale, defaultLocale, Locale.getDefault());
+
+        List<Locale> chain = chains.get(configuration);
+        if (chain == null)
+        {
+            if (chains.size() >= MAX_FALLBACK_CHAINS)
+            {
+                chains.clear();
+            }
+
+            Set<Locale> elements = new LinkedHashSet<>();
+            Locale currentLocale = language;
+            elements.add(currentLocale);
+            for (int hop = 0; hop < FALLBACK_MAX_HOP; hop++)
+            {
+                currentLocale = ResourceBundleIndex.languageOf(getFallbackLocale(currentLocale, managerLocale));
+                elements.add(currentLocale);
+            }
+
+            chain = Collections.unmodifiableList(new ArrayList<>(elements));
+            List<Locale> existing = chains.putIfAbsent(configuration, chain);
+            chain = existing != null ? existing : chain;
+        }
+
+        return chain;
+    }
+
+    /**
+     * Returns the next locale to try when no resource bundle exist for the given (language) locale.
+     * @param locale Language locale.
+     * @param managerLocale Current locale.
+     * @return Fallback locale.
+     */
+    private Locale getFallbackLocale(final @NonNull Locale locale, final @NonNull Locale managerLocale)
+    {
+        Locale current;
+
+        if (!locale.equals(ResourceBundleIndex.languageOf(managerLocale)))
+        {
+            // Fallback scenario #1 ... try the ResourceBundleManager current locale.
+           current = managerLocale;
+        }
+        else
+        {
+            if (locale.equals(ResourceBundleIndex.languageOf(defaultLocale)))
+            {
+                // Fallback scenario #3 ... try the ResourceBundleManager JVM locale.
+                current = Locale.getDefault();
+            }
+            else
+            {
+                // Fallback scenario #2 ... try the ResourceBundleManager default locale.
+                current = defaultLocale;
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the catalog epoch: a counter incremented each time the loaded resource bundles change (a resource bundle
+     * being loaded, reloaded or restored, or the resource bundles being cleared). An object localized at the current
+     * epoch to a given locale does not need to be localized again to this locale.
+     * @return Catalog epoch.
+     */
+    public long getEpoch()
+    {
+        return epoch;
+    }
+
+    /**
+     * Clears the loaded resource bundles.
+     */
+    public final void clear()
+    {
+        update(current -> ResourceBundleIndex.empty());
+    }
+
+    /**
+     * Returns the estimated heap footprint of the loaded resource bundle entries. Entries of the resource bundles read
+     * from the binary catalog are held off-heap and are not accounted for.
+     * @return Footprint report.
+     */
+    public final CatalogFootprint getFootprint()
+    {
+        return index.footprint();
+    }
+
+    /**
+     * Resolves entities implementing the {@link Localizable} interface.
+     * @param instance Object instance containing elements to localize.
+     * @param locale Locale.
+     */
+    public void resolveLocalizable(final @NonNull Object instance, final Locale locale)
+    {
+        resolveInstance(instance, locale, true);
+        stamps.forget(instance);
+    }
+
+    /**
+     * Resolves entities implementing the {@link Localizable} interface unless the instance is already localized to
+     * the given locale at the current catalog epoch (see {@link #getEpoch()}). Only the instances localized through
+     * this service (or through a graph localization) are stamped, the other localizations being unaffected.
+     * @param instance Object instance containing elements to localize.
+     * @param locale Locale.
+     * @return True if the instance has been localized, false if it was up to date.
+     */
+    public boolean resolveLocalizableIfStale(final @NonNull Object instance, final @NonNull Locale locale)
+    {
+        long current = epoch;
+        LocalizationStamps.Stamp stamp = stamps.get(instance);
+        if (stamp != null && stamp.isCurrent(locale, current))
+        {
+            return false;
+        }
+
+        resolveInstance(instance, locale, true);
+        stamps.stamp(instance, null, locale, current);
+        return true;
+    }
+
+    /**
+     * Localizes an object graph: the given root and, transitively, the {@link Localizable} instances and {@link Rope}s
+     * held by the fields of its {@link Localizable} nodes, directly or as elements of collections, values of maps and
+     * elements of arrays (see {@link LocalizationPlan} for the fields taken into account).
+     * <p>
+     * Each node is visited once (nodes are compared by identity, so cycles and shared nodes are supported). A
+     * {@link Localizable} node already localized to the given locale from the current catalog is skipped with its
+     * whole subtree, so the work is proportional to the number of stale nodes (and of their ancestors), not to the size
+     * of the graph. Loading, reloading or clearing resource bundles (see {@link #getEpoch()}) makes all the nodes
+     * stale. Changes made to a node (such as a child being added to one of its collections) are not detected: the node
+     * has to be invalidated (see {@link #invalidate(Object)}).
+     * @param root Root of the object graph.
+     * @param locale Locale.
+     * @return Number of {@link Localizable} nodes localized.
+     */
+    public int resolveGraph(final @NonNull Object root, final @NonNull Locale locale)
+    {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object[]> pending = new ArrayDeque<>();
+        pending.push(new Object[] { root, null });
+
+        int count = 0;
+        while (!pending.isEmpty())
+        {
+            Object[] entry = pending.pop();
+            Object node = entry[0];
+            Object parent = entry[1];
+            if (!visited.add(node))
+            {
+                if (node instanceof Localizable)
+                {
+                    LocalizationStamps.Stamp stamp = stamps.get(node);
+                    if (stamp != null)
+                    {
+                        stamps.link(stamp, parent);
+                    }
+                }
+                continue;
+            }
+
+            if (node instanceof Rope)
+            {
+                ((Rope) node).localize(locale);
+            }
+            else if (node instanceof Localizable)
+            {
+                long current = epoch;
+                LocalizationStamps.Stamp stamp = stamps.get(node);
+                if (stamp != null && stamp.isCurrent(locale, current))
+                {
+                    stamps.link(stamp, parent);
+                    if (!stamp.clean())
+                    {
+                        // Up to date subtree.
+                        continue;
+                    }
+                }
+                else
+                {
+                    resolveInstance(node, locale, node == root);
+                    stamps.stamp(node, parent, locale, current);
+                    count++;
+                }
+
+                for (MethodHandle child : LocalizationPlan.of(node.getClass()).getChildren())
+                {
+                    push(pending, readChild(child, node), node);
+                }
+            }
+            else if (node instanceof Collection)
+            {
+                ((Collection<?>) node).forEach(element -> push(pending, element, parent));
+            }
+            else if (node instanceof Map)
+            {
+                ((Map<?, ?>) node).values().forEach(element -> push(pending, element, parent));
+            }
+            else if (node instanceof Object[])
+            {
+                for (Object element : (Object[]) node)
+                {
+                    push(pending, element, parent);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Invalidates a node of a localized object graph so that it is localized again, with its subtree, by the next
+     * graph localization (see {@link #resolveGraph(Object, Locale)}). The ancestors the node has been reached from are
+     * not localized again, their subtrees are only traversed down to the node.
+     * @param node Node.
+     */
+    public void invalidate(final @NonNull Object node)
+    {
+        stamps.invalidate(node);
+    }
+
+    /**
+     * Localizes an instance: using its generated localizers if available, its localization plan otherwise.
+     * @param instance Object instance.
+     * @param locale Locale.
+     * @param caller True to resolve the annotated caller method (if any) of an instance localized by its plan.
+     */
+    private void resolveInstance(final @NonNull Object instance, final Locale locale, final boolean caller)
+    {
+        // Use the localizers generated at compile time, if available
+        Optional<List<Localizer<Localizable>>> localizers = LOCALIZERS.get(instance.getClass());
+        if (localizers.isPresent() && locale != null)
+        {
+            for (Localizer<Localizable> localizer : localizers.get())
+            {
+                localizer.localize((Localizable) instance, locale);
+            }
+
+            return;
+        }
+
+        // Resolve annotated fields
+        resolveFields(instance, locale);
+
+        // Resolve caller method if annotated
+        if (caller)
+        {
+            LocalizeCallerResolver.findCaller().ifPresent(element -> resolveMethod(instance, element, locale));
+        }
+    }
+
+    /**
+     * Pushes a node of an object graph (if not {@code null}) on the pending nodes.
+     * @param pending Pending nodes (node and nearest {@link Localizable} ancestor).
+     * @param node Node.
+     * @param parent Nearest {@link Localizable} ancestor of the node.
+     */
+    private static void push(final @NonNull Deque<Object[]> pending, final Object node, final Object parent)
+    {
+        if (node != null)
+        {
+            pending.push(new Object[] { node, parent });
+        }
+    }
+
+    /**
+     * Reads a child of a node of an object graph.
+     * @param accessor Child accessor.
+     * @param instance Object instance.
+     * @return Child or {@code null} if none.
+     */
+    private static Object readChild(final @NonNull MethodHandle accessor, final @NonNull Object instance)
+    {
+        try
+        {
+            return (Object) accessor.invokeExact(instance);
+        }
+        catch (Error | RuntimeException e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new LocalizationException(String.format("Cannot read a child of: '%s' due to: %s", instance.getClass().getName(), e.getMessage()),
+                    e instanceof Exception ? (Exception) e : new RuntimeException(e));
+        }
+    }
+
+    /**
+     * Localizes a collection of {@link Localizable} instances, in parallel on the common fork/join pool when the
+     * collection holds more instances than the batch threshold (see {@link #setBatchThreshold(int)}).
+     * @param elements Instances to localize.
+     * @param locale Locale.
+     * @param <C> Type of the collection.
+     * @return The given collection, its instances being localized.
+     */
+    public <C extends Collection<? extends Localizable>> C localizeAll(final @NonNull C elements, final @NonNull Locale locale)
+    {
+        return localizeAll(elements, locale, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Localizes a collection of {@link Localizable} instances, in parallel on the given fork/join pool when the
+     * collection holds more instances than the batch threshold (see {@link #setBatchThreshold(int)}).
+     * <p>
+     * Instances are grouped by class so that the way of localizing a class (generated localizers or localization plan)
+     * is resolved once per class, then each group is split in ranges localized by the tasks of the pool. The locale
+     * bound to the calling thread (see {@link LocaleContext}), if any, is bound to the tasks.
+     * @param elements Instances to localize.
+     * @param locale Locale.
+     * @param pool Fork/join pool.
+     * @param <C> Type of the collection.
+     * @return The given collection, its instances being localized.
+     */
+    public <C extends Collection<? extends Localizable>> C localizeAll(final @NonNull C elements, final @NonNull Locale locale, final @NonNull ForkJoinPool pool)
+    {
+        Map<Class<?>, List<Localizable>> groups = new LinkedHashMap<>();
+        for (Localizable element : elements)
+        {
+            groups.computeIfAbsent(element.getClass(), type -> new ArrayList<>()).add(element);
+        }
+
+        // Annotated caller method (if any), only found from the calling thread.
+        Optional<LocalizeCaller> caller = groups.keySet().stream().allMatch(type -> LOCALIZERS.get(type).isPresent())
+                ? Optional.empty()
+                : LocalizeCallerResolver.findCaller();
+
+        int threshold = batchThreshold;
+        Locale bound = LocaleContext.current().orElse(null);
+
+        List<LocalizationTask> tasks = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Localizable>> group : groups.entrySet())
+        {
+            tasks.add(new LocalizationTask(group.getValue(), getLocalization(group.getKey(), caller), locale, bound, threshold, 0, group.getValue().size()));
+        }
+
+        if (elements.size() <= threshold)
+        {
+            // Not worth the hand-off to the pool.
+            tasks.forEach(LocalizationTask::compute);
+        }
+        else
+        {
+            pool.invoke(ForkJoinTask.adapt(() ->
+            {
+                ForkJoinTask.invokeAll(tasks);
+            }));
+        }
+
+        return elements;
+    }
+
+    /**
+     * Returns a collector localizing the collected {@link Localizable} instances (see
+     * {@link #localizeAll(Collection, Locale)}) into a list.
+     * @param locale Locale.
+     * @param <T> Type of the instances.
+     * @return Collector.
+     */
+    public static <T extends Localizable> Collector<T, ?, List<T>> toLocalizedList(final @NonNull Locale locale)
+    {
+        return Collector.<T, List<T>, List<T>>of(ArrayList::new, List::add, (first, second) ->
+        {
+            first.addAll(second);
+            return first;
+        }, list -> getInstance().localizeAll(list, locale));
+    }
+
+    /**
+     * Returns the maximum number of instances localized sequentially by a batch localization task.
+     * @return Batch threshold.
+     */
+    public int getBatchThreshold()
+    {
+        return batchThreshold;
+    }
+
+    /**
+     * Sets the maximum number of instances localized sequentially by a batch localization task (see
+     * {@link #localizeAll(Collection, Locale)}). Smaller thresholds spread the work over more tasks.
+     * @param threshold Batch threshold.
+     * @throws ResourceBundleException Thrown in case the threshold is not strictly positive.
+     */
+    public void setBatchThreshold(final int threshold)
+    {
+        if (threshold <= 0)
+        {
+            throw new ResourceBundleException(String.format("Invalid batch threshold: %d!", threshold));
         }
 
-        return resolveMethod(instance,method,locale);
+        batchThreshold = threshold;
     }
 
     /**
-     * Retrieves the given key from the given resource bundle path.
-     * @param filePath Resource bundle path and name.
-     * @param key Key.
-     * @param locale Locale.
-     * @return Localized value.
+     * Returns the localization of the instances of a class: its generated localizers if available, its localization
+     * plan otherwise.
+     * @param type Class.
+     * @param caller Annotated caller method, if any.
+     * @return Localization of an instance.
      */
-    private String getKey(final @NonNull String filePath, final @NonNull String key, final @NonNull Locale locale)
+    private BiConsumer<Object, Locale> getLocalization(final @NonNull Class<?> type, final @NonNull Optional<LocalizeCaller> caller)
     {
-        ResourceBundle bundle;
-        Locale currentLocale = locale;
-        Locale oldLocale = currentLocale;
-
-        // Ensure the resource bundles are loaded
-        load(filePath);
-
-        Map<String, ResourceBundle> elements = bundles.get(currentLocale);
-        if (elements != null)
+        Optional<List<Localizer<Localizable>>> localizers = LOCALIZERS.get(type);
+        if (localizers.isPresent())
         {
-            bundle = elements.get(filePath);
-            if (bundle != null)
+            List<Localizer<Localizable>> elements = localizers.get();
+            return (instance, locale) ->
             {
-                if (!bundle.getLocale().toLanguageTag().equals(currentLocale.toLanguageTag()))
+                for (Localizer<Localizable> localizer : elements)
                 {
-                    currentLocale = this.locale;
-
-                    log.warn(String.format("No resource bundle(name=%s, key=%s) for language(tag=%s, name=%s) found! Use of the default language(tag=%s, name=%s) instead",
-                            filePath,
-                            key,
-                            oldLocale,
-                            oldLocale.getDisplayLanguage(Locale.ENGLISH),
-                            currentLocale,
-                            currentLocale.getDisplayLanguage(Locale.ENGLISH)));
-
-                    return getKey(filePath, key, currentLocale);
+                    localizer.localize((Localizable) instance, locale);
                 }
 
-                try
-                {
-                    return bundle.getString(key);
-                }
-                catch (MissingResourceException e)
-                {
-                    throw new ResourceBundleException(
-                            String.format(
-                                    "Can't find resource bundle(name=%s, key=%s) for language(tag=%s, name=%s)",
-                                    filePath,
-                                    key,
-                                    currentLocale,
-                                    currentLocale.getDisplayLanguage(Locale.ENGLISH)));
-                }
-            }
+                stamps.forget(instance);
+            };
         }
-        else
-        {
-            // In this case, no resource bundle exist for the given locale! Try another locale...
-            currentLocale = getFallbackLocale(currentLocale);
 
-            log.debug(String.format("No resource bundle(name=%s, key=%s) for language(tag=%s, name=%s) found! Use of the default language(tag=%s, name=%s) instead",
-                    filePath,
-                    key,
-                    oldLocale,
-                    oldLocale.getDisplayLanguage(Locale.ENGLISH),
-                    currentLocale,
-                    currentLocale.getDisplayLanguage(Locale.ENGLISH)));
-        }
+        // Computed once, from the calling thread.
+        LocalizationPlan.of(type);
 
-        return getKey(filePath, key, currentLocale);
+        return (instance, locale) ->
+        {
+            resolveFields(instance, locale);
+            caller.ifPresent(element -> resolveMethod(instance, element, locale));
+            stamps.forget(instance);
+        };
     }
 
-    private Locale getFallbackLocale(final @NonNull Locale locale)
+    /**
+     * Finds the localizers generated at compile time for the given class and its super classes.
+     * @param type Class.
+     * @return Optional list of localizers, empty if at least one class of the hierarchy declares fields annotated with
+     * the {@link Localize} annotation but has no generated localizer.
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<List<Localizer<Localizable>>> findLocalizers(final @NonNull Class<?> type)
     {
-        Locale current = locale;
+        List<Localizer<Localizable>> localizers = new ArrayList<>();
 
-        if (locale != this.locale)
+        if (!Localizable.class.isAssignableFrom(type) || type.isAnonymousClass() || type.isLocalClass())
         {
-            // Fallback scenario #1 ... try the ResourceBundleManager current locale.
-           current = this.locale;
+            return Optional.empty();
         }
-        else
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
         {
-            if (current == defaultLocale)
+            if (Arrays.stream(current.getDeclaredFields()).noneMatch(field -> field.isAnnotationPresent(Localize.class)))
             {
-                // Fallback scenario #3 ... try the ResourceBundleManager JVM locale.
-                current = Locale.getDefault();
+                continue;
             }
-            else
+
+            try
             {
-                // Fallback scenario #2 ... try the ResourceBundleManager default locale.
-                current = defaultLocale;
+                Class<?> generated = Class.forName(getLocalizerName(current), true, current.getClassLoader());
+                if (!Localizer.class.isAssignableFrom(generated))
+                {
+                    return Optional.empty();
+                }
+
+                localizers.add((Localizer<Localizable>) generated.getConstructor().newInstance());
+            }
+            catch (ReflectiveOperationException | LinkageError | SecurityException e)
+            {
+                // Class not processed at compile time, the localization will be realized by reflection.
+                return Optional.empty();
             }
         }
 
-        return current;
-    }
-
-    /**
-     * Clears the loaded resource bundles.
-     */
-    public final void clear()
-    {
-        bundles.clear();
+        return Optional.of(Collections.unmodifiableList(localizers));
     }
 
     /**
-     * Resolves entities implementing the {@link Localizable} interface.
-     * @param instance Object instance containing elements to localize.
-     * @param locale Locale.
+     * Returns the name of the localizer class generated for the given class ({@code Outer_InnerLocalizer} for a
+     * nested class).
+     * @param type Class.
+     * @return Generated localizer class name.
      */
-    public void resolveLocalizable(final @NonNull Object instance, final Locale locale)
+    private static String getLocalizerName(final @NonNull Class<?> type)
     {
-        // Resolve annotated fields
-        resolveFields(instance, locale);
-
-        // Resolve caller method if annotated
-        Method method = getCallerMethod();
-        if (method != null && method.isAnnotationPresent(Localize.class))
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Class<?> enclosing = type.getEnclosingClass(); enclosing != null; enclosing = enclosing.getEnclosingClass())
         {
-            resolveMethod(instance,method,locale);
+            name.insert(0, enclosing.getSimpleName() + "_");
         }
+
+        return type.getPackageName().isEmpty()
+                ? name.append(LOCALIZER_SUFFIX).toString()
+                : type.getPackageName() + "." + name.append(LOCALIZER_SUFFIX);
     }
 
     /**
@@ -486,26 +1930,25 @@ public final class ResourceBundleManager
      * @param instance Object instance.
      * @param reference Reference object.
      * @param locale Locale.
+     * @return True if a localized value has been assigned to the rope, false otherwise (free text rope or key not
+     * found in the loaded resource bundles).
      */
-    public void resolveRope(final @NonNull Object instance, final Object reference, final Locale locale)
+    public boolean resolveRope(final @NonNull Object instance, final Object reference, final Locale locale)
     {
         if (instance instanceof Rope)
         {
-            String methodName = SETTER_PREFIX + StringUtils.capitalize(ROPE_LOCALIZABLE_FIELD_NAME);
-
             Rope element = (Rope) instance;
+            Object target = reference != null ? reference : instance;
             if (element.getBundle() != null && element.getKey() != null)
             {
-                String expandedBundle;
-                String expandedKey;
-                Method method;
                 try
                 {
-                    method = instance.getClass().getMethod(methodName, String.class);
-                    expandedBundle = StringExpander.expandVariables(reference != null ? reference : instance, element.getBundle());
-                    expandedKey = StringExpander.expandVariables(reference != null ? reference : instance, element.getKey());
-                    String translated = get(expandedBundle, expandedKey, locale);
-                    method.invoke(instance, translated);
+                    String bundle = KeyTemplate.expand(target, element.getBundle());
+                    String key = KeyTemplate.expand(target, element.getKey());
+                    element.setValue(element.getArguments() != null || element.getQuantity() != null
+                            ? formatRope(element, bundle, key, locale)
+                            : get(bundle, key, locale));
+                    return true;
                 }
                 catch (Exception e)
                 {
@@ -514,17 +1957,17 @@ public final class ResourceBundleManager
             }
             else if (element.getKey() != null) // No bundle specified, the resource bundle should be already loaded!
             {
-                String expandedKey;
-                Method method;
                 try
                 {
-                    method = instance.getClass().getMethod(methodName, String.class);
-                    expandedKey = StringExpander.expandVariables(reference != null ? reference : instance, element.getKey());
+                    String expandedKey = KeyTemplate.expand(target, element.getKey());
 
-                    Optional<String> result = findBundle(expandedKey);
+                    Optional<String> result = index.findBundle(expandedKey);
                     if (result.isPresent())
                     {
-                        method.invoke(instance, getKey(result.get(), expandedKey, locale));
+                        element.setValue(element.getArguments() != null || element.getQuantity() != null
+                                ? formatRope(element, result.get(), expandedKey, locale)
+                                : getKey(result.get(), expandedKey, locale));
+                        return true;
                     }
                 }
                 catch (Exception e)
@@ -533,131 +1976,88 @@ public final class ResourceBundleManager
                 }
             }
         }
+
+        return false;
     }
 
     /**
-     * Finds in the collection of resource bundles if one contains the given key.
-     * @param key Key to find.
-     * @return Optional containing the resource bundle name containing the key.
+     * Formats the message of a rope carrying arguments and/or a quantity.
+     * @param element Rope.
+     * @param bundle Resource bundle path and name (expanded).
+     * @param key Resource bundle entry key (expanded).
+     * @param locale Locale.
+     * @return Formatted message, the plural form being selected by the quantity if any. Without arguments, the
+     * quantity is the only argument of the message.
      */
-    private Optional<String> findBundle(final @NonNull String key)
+    private String formatRope(final @NonNull Rope element, final @NonNull String bundle, final @NonNull String key, final @NonNull Locale locale)
     {
-        Map<String, ResourceBundle> map = bundles.get(Locale.ENGLISH);
+        Number quantity = element.getQuantity();
+        String selected = quantity != null ? selectPluralKey(getBatchTarget(bundle, locale), key, quantity) : key;
 
-        if (map != null)
-        {
-            for (Map.Entry<String, ResourceBundle> entry : map.entrySet())
-            {
-                if (entry.getValue().containsKey(key))
-                {
-                    return Optional.of(entry.getKey());
-                }
-            }
-        }
-
-        return Optional.empty();
+        return getMessage(bundle, selected, locale).format(element.getArguments() != null ? element.getArguments() : new Object[] { quantity });
     }
-    
+
     /**
-     * Resolves localization of all fields annotated with the {@link Localize} annotation.
+     * Resolves localization of all fields annotated with the {@link Localize} annotation, running the localization
+     * plan of the instance class (see {@link LocalizationPlan}).
      * @param instance Object instance.
      * @param locale Locale.
      */
     private void resolveFields(final @NonNull Object instance, final Locale locale)
     {
-        Localize annotation;
-        Rope rope;
-        Method getter;
-
-        List<Field> fields = ReflectionHelper.findAnnotatedFieldsInClassHierarchy(instance.getClass(), Localize.class);
-        for (Field field : fields)
+        try
         {
-            annotation = field.getDeclaredAnnotation(Localize.class);
-
-            try
+            for (LocalizationPlan.Step step : LocalizationPlan.of(instance.getClass()).getSteps())
             {
-                getter = getGetterMethod(instance, field.getName());
-                if (getter.invoke(instance) instanceof Rope)
+                Object value = step.read(instance);
+                if (value instanceof Rope)
                 {
-                    rope = (Rope) getter.invoke(instance);
-                    if (rope != null)
-                    {
-                        if (rope.getValue() == null && rope.getBundle() == null && rope.getKey() == null)
-                        {
-                            resolveField(instance, annotation, field, locale);
-                        }
-                        else
-                        {
-                            resolveRopeAnnotatedField(instance,field, annotation, locale);
-                        }
-                    }
+                    resolveRopeField(instance, step, (Rope) value, locale);
                 }
-                else if (Localizable.class.isAssignableFrom(field.getDeclaringClass()))
+                else if (step.isLocalizable() && step.getFieldType() == String.class)
                 {
-                    if (annotation != null)
-                    {
-                        if (field.getType() == String.class)
-                        {
-                            resolveField(instance, annotation, field, locale);
-                        }
-                        else if (field.getType() == Rope.class)
-                        {
-                            getter = getGetterMethod(instance, field.getName());
-                            rope = (Rope) getter.invoke(instance);
-                            if (rope != null)
-                            {
-                                if (rope.getValue() == null && rope.getBundle() == null && rope.getKey() == null)
-                                {
-                                    resolveField(instance, annotation, field, locale);
-                                }
-                                else
-                                {
-                                    resolveRopeAnnotatedField(instance,field, annotation, locale);
-                                }
-                            }
-                        }
-                    }
-                    else
-                    {
-                        throw new NotImplementedException("To be fixed!");
-                    }
+                    resolveField(instance, step, locale);
                 }
-
-            }
-            catch (Exception e)
-            {
-                throw new LocalizationException(e);
             }
         }
+        catch (Exception e)
+        {
+            throw new LocalizationException(e);
+        }
     }
 
-    private void resolveRopeAnnotatedField(final @NonNull Object instance, final @NonNull Field field, final @NonNull Localize annotation, final @NonNull Locale locale)
+    /**
+     * Resolves localization of the given {@link Rope} field annotated with the {@link Localize} annotation.
+     * @param instance Object instance.
+     * @param step Plan step of the field.
+     * @param rope Field value.
+     * @param locale Locale.
+     */
+    private void resolveRopeField(final @NonNull Object instance, final @NonNull LocalizationPlan.Step step, final @NonNull Rope rope, final Locale locale)
     {
-        String expandedBundle;
-        String expandedKey;
-        Rope rope;
-
-        Method getter = getGetterMethod(instance, field.getName());
+        if (rope.getValue() == null && rope.getBundle() == null && rope.getKey() == null)
+        {
+            resolveField(instance, step, locale);
+            return;
+        }
 
         try
         {
-            rope = (Rope) getter.invoke(instance);
+            String expandedBundle;
+            String expandedKey;
 
             if (rope.getBundle() != null && rope.getKey() != null)
             {
-                expandedBundle = StringExpander.expandVariables(instance, rope.getBundle());
-                expandedKey = StringExpander.expandVariables(instance, rope.getKey());
+                expandedBundle = KeyTemplate.expand(instance, rope.getBundle());
+                expandedKey = KeyTemplate.expand(instance, rope.getKey());
             }
             else
             {
-                expandedBundle = StringExpander.expandVariables(instance, annotation.bundle());
-                expandedKey = StringExpander.expandVariables(instance, annotation.key());
+                expandedBundle = KeyTemplate.expand(instance, step.getAnnotation().bundle());
+                expandedKey = KeyTemplate.expand(instance, step.getAnnotation().key());
             }
 
-            String translated = get(expandedBundle, expandedKey, locale);
-            Method setter = getSetterMethod(rope, ROPE_LOCALIZABLE_FIELD_NAME, String.class);
-
-            setter.invoke(rope, translated);
+            rope.setValue(get(expandedBundle, expandedKey, locale));
         }
         catch (Exception e)
         {
@@ -668,15 +2068,16 @@ public final class ResourceBundleManager
     /**
      * Resolves localization for the given method annotated with the {@link Localize} annotation.
      * @param instance Object instance (containing the method).
-     * @param method Method instance.
+     * @param caller Annotated caller method.
      * @param locale Locale.
      * @return Localized value.
      */
-    private String resolveMethod(final @NonNull Object instance, final @NonNull Method method, final @NonNull Locale locale)
+    private String resolveMethod(final @NonNull Object instance, final @NonNull LocalizeCaller caller, final @NonNull Locale locale)
     {
         String key;
         String bundle;
-        Localize annotation = method.getAnnotation(Localize.class);
+        Method method = caller.getMethod();
+        Localize annotation = caller.getAnnotation();
 
         if (annotation.key().isEmpty())
         {
@@ -699,17 +2100,10 @@ public final class ResourceBundleManager
         }
 
         // Do the variables substitution (if some) for the 'bundle' and the 'key' properties.
-        try
-        {
-            key = StringExpander.expandVariables(instance, annotation.key());
-            bundle = StringExpander.expandVariables(instance, annotation.bundle());
-        }
-        catch (StringExpanderException e)
-        {
-            throw new LocalizationException(e);
-        }
+        key = KeyTemplate.expand(instance, annotation.key());
+        bundle = KeyTemplate.expand(instance, annotation.bundle());
 
-        return getKey(bundle, key, Locale.forLanguageTag(locale.getLanguage()));
+        return getKey(bundle, key, locale);
     }
 
     /**
@@ -731,10 +2125,10 @@ public final class ResourceBundleManager
                             instance.getClass(), Localizable.class));
         }
 
-        Method method = getCallerMethod();
-        if (method != null)
+        Optional<LocalizeCaller> caller = LocalizeCallerResolver.findCaller();
+        if (caller.isPresent())
         {
-            return resolveMethod(instance, method, locale);
+            return resolveMethod(instance, caller.get(), locale);
         }
         else
         {
@@ -766,219 +2160,24 @@ public final class ResourceBundleManager
         // Ensure the resource bundle properties files are loaded
         load(annotation.bundle());
 
-        try
-        {
-            return getKey(
-                    StringExpander.expandVariables(instance, annotation.bundle()),
-                    StringExpander.expandVariables(instance, annotation.key()), locale);
-        }
-        catch (StringExpanderException e)
-        {
-            throw new LocalizationException(e);
-        }
+        return getKey(
+                KeyTemplate.expand(instance, annotation.bundle()),
+                KeyTemplate.expand(instance, annotation.key()), locale);
     }
 
     /**
      * Resolves localization of the given field annotated with the {@link Localize} annotation.
      * @param instance Object instance.
-     * @param annotation Annotation instance.
-     * @param field Field instance.
+     * @param step Plan step of the field.
      * @param locale Locale.
      */
-    private void resolveField(final @NonNull Object instance, final @NonNull Localize annotation, final @NonNull Field field, final @NonNull Locale locale)
+    private void resolveField(final @NonNull Object instance, final @NonNull LocalizationPlan.Step step, final @NonNull Locale locale)
     {
-        String value;
-        String bundle;
-        String key;
-
-        if (annotation.key().isEmpty())
-        {
-            throw new AnnotationException(
-                    String.format(
-                            "Field: '%s' of class: '%s' annotated with: '%s' must have the property: 'key' set!",
-                            field.getName(),
-                            instance.getClass().getName(),
-                            Localize.class.getName()));
-        }
-
-        if (annotation.bundle().isEmpty())
-        {
-            throw new AnnotationException(
-                    String.format(
-                            "Field: '%s' of class: '%s' annotated with: '%s' must have the property: 'bundle' set!",
-                            field.getName(),
-                            instance.getClass().getName(),
-                            Localize.class.getName()));
-        }
-
         // Do the variables substitution (if some) for the 'bundle' and the 'key' properties.
-        try
-        {
-            key = StringExpander.expandVariables(instance, annotation.key());
-            bundle = StringExpander.expandVariables(instance, annotation.bundle());
-
-            value = getKey(bundle, key, locale);
-            setFieldValue(instance, field, value);
-        }
-        catch (StringExpanderException e)
-        {
-            throw new LocalizationException(e);
-        }
-    }
-
-    /**
-     * Sets dynamically the value of a given field.
-     * @param instance Object instance (containing the field).
-     * @param field Field instance.
-     * @param value Value to set.
-     */
-    private void setFieldValue(final @NonNull Object instance, final @NonNull Field field, final @NonNull String value)
-    {
-        Method setter = getSetterMethod(instance, field.getName(), String.class);
-
-        try
-        {
-            setter.invoke(instance, value);
-        }
-        catch (Exception e)
-        {
-            throw new ResourceBundleException(e);
-        }
-    }
-
-    /**
-     * Retrieves the caller method.
-     * @return Caller method.
-     */
-    private Method getCallerMethod()
-    {
-        Class<?> clazz;
-
-        for (StackTraceElement trace : Thread.currentThread().getStackTrace())
-        {
-            try
-            {
-                clazz = Class.forName(trace.getClassName());
-                Method method = getCaller(clazz, trace);
-                if (method != null)
-                {
-                    return method;
-                }
-            }
-            catch (ClassNotFoundException e)
-            {
-                // Do nothing, just process the next trace!
-            }
-        }
-
-        return null; // No method found annotated with I18n annotation!
-    }
-
-    /**
-     * Finds the caller method (annotated with the Localization annotation).
-     * @param clazz Class containing the method to evaluate.
-     * @param trace Stack trace element containing the method name.
-     * @return Found caller {@link Method}.
-     */
-    private Method getCaller(final @NonNull Class<?> clazz, final @NonNull StackTraceElement trace)
-    {
-        Method method;
-
-        try
-        {
-            method = clazz.getMethod(trace.getMethodName());
-            if (method.isAnnotationPresent(Localize.class))
-            {
-                return method;
-            }
-
-            // Do we have another method with the same name and that would be annotated?
-            Set<Method> methods = ReflectionUtils.getAllMethods(method.getDeclaringClass(),
-                    ReflectionUtils.withModifier(Modifier.PUBLIC),
-                    ReflectionUtils.withPrefix(method.getName()));
-
-            for (Method m : methods)
-            {
-                if (m.isAnnotationPresent(Localize.class))
-                {
-                    return m;
-                }
-            }
-        }
-        catch (NoSuchMethodException nsme)
-        {
-            try
-            {
-                // Maybe another method with a Locale parameter?
-                method = clazz.getMethod(trace.getMethodName(), Locale.class);
-
-                // We found our caller.
-                if (method.isAnnotationPresent(Localize.class))
-                {
-                    return method;
-                }
-            }
-            catch (NoSuchMethodException e)
-            {
-                // Do nothing, seems to be the wrong method!
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Returns the public {@code getter} method for the given object instance and field name.
-     * @param instance Object instance.
-     * @param fieldName Field name.
-     * @param parameterClasses Parameter(s) class.
-     * @return Method representing the public getter.
-     */
-    private Method getGetterMethod(final @NonNull Object instance, final @NonNull String fieldName, final Class<?>... parameterClasses)
-    {
-        Method method;
-        String methodName = GETTER_PREFIX + StringUtils.capitalize(fieldName);
-
-        try
-        {
-            method = instance.getClass().getDeclaredMethod(methodName, parameterClasses);
-        }
-        catch (Exception e)
-        {
-            throw new AnnotationException(String.format(
-                    "No public getter found for field name: '%s', instance class name: '%s'!",
-                    fieldName,
-                    instance.getClass().getName()));
-        }
-
-        return method;
-    }
-
-    /**
-     * Returns the public {@code setter} method for the given object instance and field name.
-     * @param instance Object instance.
-     * @param fieldName Field name.
-     * @param parameterClasses Parameter(s) class.
-     * @return Method representing the public getter.
-     */
-    private Method getSetterMethod(final @NonNull Object instance, final @NonNull String fieldName, final Class<?>... parameterClasses)
-    {
-        Method method;
-        String methodName = SETTER_PREFIX + StringUtils.capitalize(fieldName);
-
-        try
-        {
-            method = instance.getClass().getDeclaredMethod(methodName, parameterClasses);
-        }
-        catch (Exception e)
-        {
-            throw new AnnotationException(String.format(
-                    "No public setter found for field name: '%s', instance class name: '%s'!",
-                    fieldName,
-                    instance.getClass().getName()));
-        }
+        String key = step.expandKey(instance);
+        String bundle = step.expandBundle(instance);
 
-        return method;
+        step.write(instance, getKey(bundle, key, locale));
     }
 
     /**
@@ -988,19 +2187,7 @@ public final class ResourceBundleManager
      */
     public int getLocalesCount(final @NonNull String name)
     {
-        Map<String, ResourceBundle> list;
-        int count = 0;
-
-        for (Locale bundleLocale : bundles.keySet())
-        {
-            list = bundles.get(bundleLocale);
-            if (list.containsKey(name))
-            {
-                count += 1;
-            }
-        }
-
-        return count;
+        return index.getLanguages(name).size();
     }
 
     /**
@@ -1010,19 +2197,7 @@ public final class ResourceBundleManager
      */
     public List<Locale> getLocalesList(final @NonNull String name)
     {
-        Map<String, ResourceBundle> list;
-        List<Locale> result = new ArrayList<>();
-
-        for (Locale bundleLocale : bundles.keySet())
-        {
-            list = bundles.get(bundleLocale);
-            if (list.containsKey(name))
-            {
-                result.add(bundleLocale);
-            }
-        }
-
-        return result;
+        return new ArrayList<>(index.getLanguages(name));
     }
 
     /**
@@ -1033,10 +2208,7 @@ public final class ResourceBundleManager
      */
     public boolean existLocale(final @NonNull String name, final @NonNull Locale locale)
     {
-        Locale criteria = Locale.forLanguageTag(locale.getLanguage());
-        List<Locale> list = getLocalesList(name);
-
-        return list.contains(criteria);
+        return index.getBundleLocale(name, ResourceBundleIndex.languageOf(locale)) != null;
     }
 
     /**
@@ -1045,7 +2217,6 @@ public final class ResourceBundleManager
      * @return Translation request containing the result of the underlying translation operations.
      * @throws TranslationException Thrown in case an error occurred while executing the translation request.
      */
-    @Synchronized
     public final Optional<ITranslationRequest> executeTranslationRequest(final @NonNull ITranslationRequest request) throws TranslationException
     {
         ITranslationProcessor processor = GoogleTranslationProcessorVersion1.builder()
@@ -1065,7 +2236,6 @@ public final class ResourceBundleManager
      * @return Translation translate operation.
      * @throws TranslationException Thrown in case an error occurred while executing the translation operation.
      */
-    @Synchronized
     public final TranslationOperationTranslate translate(final @NonNull Locale sourceLanguage, final @NonNull Locale targetLanguage, final @NonNull String text) throws TranslationException
     {
         ITranslationRequest request = new TranslationRequest("translate");
@@ -1092,7 +2262,6 @@ public final class ResourceBundleManager
      * @return Translation translate operation.
      * @throws TranslationException Thrown in case an error occurred while executing the translation operation.
      */
-    @Synchronized
     public final TranslationOperationTranslate translate(final @NonNull Locale targetLanguage, final @NonNull String text) throws TranslationException
     {
         ITranslationRequest request = new TranslationRequest("translate");
@@ -1117,7 +2286,6 @@ public final class ResourceBundleManager
      * @return Translation detect operation.
      * @throws TranslationException Thrown in case an error occurred while executing the translation operation.
      */
-    @Synchronized
     public final TranslationOperationDetect detect(final @NonNull String text) throws TranslationException
     {
         ITranslationRequest request = new TranslationRequest("detect");
@@ -1141,7 +2309,6 @@ public final class ResourceBundleManager
      * @return Translation supported languages operation (containing list of supported languages).
      * @throws TranslationException Thrown in case an error occurred while executing the translation operation.
      */
-    @Synchronized
     public final TranslationOperationSupportedLanguages getSupportedLanguage(final @NonNull Locale language) throws TranslationException
     {
         ITranslationRequest request = new TranslationRequest("supported");
@@ -1158,4 +2325,95 @@ public final class ResourceBundleManager
 
         throw new TranslationException(EXCEPTION_NO_TRANSLATION_REQUEST_AVAILABLE);
     }
+
+    /**
+     * The resource bundle (and its language, once the fallback chain applied) a batch resolution reads from.
+     */
+    private final class BatchTarget
+    {
+        /**
+         * Index snapshot the batch is resolved against.
+         */
+        private final ResourceBundleIndex snapshot;
+
+        /**
+         * Resource bundle path and name.
+         */
+        private final String bundle;
+
+        /**
+         * Language of the resource bundle the values are read from.
+         */
+        private final Locale language;
+
+        /**
+         * Requested language (the lookups are counted for).
+         */
+        private final Locale requested;
+
+        /**
+         * Creates a new batch target.
+         * @param snapshot Index snapshot containing the resource bundle for all its languages.
+         * @param bundle Resource bundle path and name.
+         * @param locale Requested locale.
+         * @throws ResourceBundleException Thrown in case no resource bundle exists for the locale nor for any of its
+         * fallback languages.
+         */
+        BatchTarget(final @NonNull ResourceBundleIndex snapshot, final @NonNull String bundle, final @NonNull Locale locale)
+        {
+            this.snapshot = snapshot;
+            this.bundle = bundle;
+            this.language = findLanguage(locale);
+            this.requested = ResourceBundleIndex.languageOf(locale);
+        }
+
+        /**
+         * Finds the first language of the fallback chain of a locale having a resource bundle.
+         * @param locale Requested locale.
+         * @return Language locale.
+         * @throws ResourceBundleException Thrown in case no resource bundle exists for the locale nor for any of its
+         * fallback languages.
+         */
+        private Locale findLanguage(final @NonNull Locale locale)
+        {
+            for (Locale current : getFallbackChain(ResourceBundleIndex.languageOf(locale)))
+            {
+                Locale bundleLocale = snapshot.getBundleLocale(bundle, current);
+                if (bundleLocale != null && bundleLocale.toLanguageTag().equals(current.toLanguageTag()))
+                {
+                    return current;
+                }
+            }
+
+            throw new ResourceBundleException(
+                    String.format(
+                            "Can't find resource bundle(name=%s) for language(tag=%s, name=%s) nor for any of its fallback languages",
+                            bundle,
+                            locale,
+                            locale.getDisplayLanguage(Locale.ENGLISH)));
+        }
+
+        /**
+         * Returns the value of a key if it exists.
+         * @param key Resource bundle entry key.
+         * @return Localized value or {@code null} if the key does not exist.
+         */
+        String find(final @NonNull String key)
+        {
+            return snapshot.get(bundle, key, language);
+        }
+
+        /**
+         * Returns the value of a key.
+         * @param key Resource bundle entry key.
+         * @return Localized value.
+         * @throws ResourceBundleException Thrown in case the key cannot be found.
+         */
+        String get(final @NonNull String key)
+        {
+            String value = getNativeKey(snapshot, bundle, key, language);
+            metrics.count(bundle, requested, language.equals(requested) ? LookupOutcome.HIT : LookupOutcome.FALLBACK);
+            return value;
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A pool of encoded resource bundle values, shared by all the resource bundles (and languages) of an index so that
+ * identical values (for example a country name being the same in several languages) are stored once.
+ * <p>
+ * Values are encoded as byte arrays whose first byte is the encoding: {@link #LATIN1} when all the characters of the
+ * value fit in one byte, {@link #UTF8} otherwise. They are decoded to a {@link String} when retrieved.
+ * <p>
+ * A pool is not thread safe: it is only updated by the {@link ResourceBundleManager} writers, while holding the lock
+ * serializing them, when a new index is built. Encoded values are immutable and can be read by any thread.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class ValuePool
+{
+    /**
+     * Latin-1 encoding tag.
+     */
+    static final byte LATIN1 = 0;
+
+    /**
+     * UTF-8 encoding tag.
+     */
+    static final byte UTF8 = 1;
+
+    /**
+     * Pooled values (open addressing hash table).
+     */
+    private byte[][] table = new byte[1024][];
+
+    /**
+     * Number of pooled values.
+     */
+    private int size;
+
+    /**
+     * Returns the pooled encoded value equal to the given value, adding it to the pool if needed.
+     * @param value Value.
+     * @return Pooled encoded value.
+     */
+    byte[] intern(final @NonNull String value)
+    {
+        byte[] encoded = encode(value);
+        int mask = table.length - 1;
+        int index = Arrays.hashCode(encoded) & mask;
+
+        while (table[index] != null)
+        {
+            if (Arrays.equals(table[index], encoded))
+            {
+                return table[index];
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        table[index] = encoded;
+        if (++size * 2 > table.length)
+        {
+            resize();
+        }
+
+        return encoded;
+    }
+
+    /**
+     * Returns the number of pooled values.
+     * @return Number of distinct values.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Encodes a value.
+     * @param value Value.
+     * @return Encoded value.
+     */
+    static byte[] encode(final @NonNull String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (value.charAt(i) > 0xFF)
+            {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                byte[] encoded = new byte[utf8.length + 1];
+                encoded[0] = UTF8;
+                System.arraycopy(utf8, 0, encoded, 1, utf8.length);
+                return encoded;
+            }
+        }
+
+        byte[] encoded = new byte[value.length() + 1];
+        encoded[0] = LATIN1;
+        for (int i = 0; i < value.length(); i++)
+        {
+            encoded[i + 1] = (byte) value.charAt(i);
+        }
+
+        return encoded;
+    }
+
+    /**
+     * Decodes a value.
+     * @param encoded Encoded value.
+     * @return Value.
+     */
+    static String decode(final @NonNull byte[] encoded)
+    {
+        return new String(encoded, 1, encoded.length - 1, encoded[0] == LATIN1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Doubles the capacity of the pool.
+     */
+    private void resize()
+    {
+        byte[][] previous = table;
+        table = new byte[previous.length * 2][];
+        int mask = table.length - 1;
+
+        for (byte[] element : previous)
+        {
+            if (element != null)
+            {
+                int index = Arrays.hashCode(element) & mask;
+                while (table[index] != null)
+                {
+                    index = (index + 1) & mask;
+                }
+
+                table[index] = element;
+            }
+        }
+    }
+}
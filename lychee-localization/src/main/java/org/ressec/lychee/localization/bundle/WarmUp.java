@@ -0,0 +1,303 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A handle on a warm-up of the {@link ResourceBundleManager} (see {@link ResourceBundleManager#warmUp(WarmUpOptions)})
+ * reporting its progress and readiness.
+ * <p>
+ * A warm-up runs in the background: callers wanting to block until it is done use {@link #await()} or
+ * {@link #await(Duration)}, the other ones poll {@link #isReady()}. Resource bundles or values failing to load are
+ * counted but do not fail the warm-up, they will be loaded (and their failure reported) on first use.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class WarmUp
+{
+    /**
+     * Warm-up options.
+     */
+    private final WarmUpOptions options;
+
+    /**
+     * Completion of the warm-up.
+     */
+    private final CompletableFuture<WarmUp> completion = new CompletableFuture<>();
+
+    /**
+     * Start time (in nanoseconds).
+     */
+    private final long start = System.nanoTime();
+
+    /**
+     * Duration of the warm-up (in nanoseconds) or {@code -1} while running.
+     */
+    private final AtomicLong duration = new AtomicLong(-1);
+
+    /**
+     * Number of resource bundles found.
+     */
+    private final AtomicInteger bundles = new AtomicInteger();
+
+    /**
+     * Number of resource bundles loaded.
+     */
+    private final AtomicInteger loadedBundles = new AtomicInteger();
+
+    /**
+     * Number of resource bundles failed to load.
+     */
+    private final AtomicInteger failedBundles = new AtomicInteger();
+
+    /**
+     * Number of localized enumeration values resolved.
+     */
+    private final AtomicInteger resolvedValues = new AtomicInteger();
+
+    /**
+     * Number of localized enumeration values failed to resolve.
+     */
+    private final AtomicInteger failedValues = new AtomicInteger();
+
+    /**
+     * Creates a new warm-up handle.
+     * @param options Warm-up options.
+     */
+    WarmUp(final @NonNull WarmUpOptions options)
+    {
+        this.options = options;
+    }
+
+    /**
+     * Returns the warm-up options.
+     * @return Warm-up options.
+     */
+    public WarmUpOptions getOptions()
+    {
+        return options;
+    }
+
+    /**
+     * Returns if the warm-up is done, successfully or not.
+     * @return True if the warm-up is done, false otherwise.
+     */
+    public boolean isDone()
+    {
+        return completion.isDone();
+    }
+
+    /**
+     * Returns if the warm-up has completed successfully.
+     * @return True if the warm-up has completed successfully, false otherwise.
+     */
+    public boolean isReady()
+    {
+        return completion.isDone() && !completion.isCompletedExceptionally();
+    }
+
+    /**
+     * Waits for the warm-up to be done.
+     * @return This warm-up.
+     * @throws ResourceBundleException Thrown in case the warm-up has failed or the waiting thread has been interrupted.
+     */
+    public WarmUp await()
+    {
+        try
+        {
+            return completion.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ResourceBundleException("Interrupted while waiting for the warm-up!", e);
+        }
+        catch (ExecutionException | CancellationException e)
+        {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Waits at most the given duration for the warm-up to be done.
+     * @param timeout Maximum duration to wait.
+     * @return True if the warm-up is ready, false if it is still running after the given duration.
+     * @throws ResourceBundleException Thrown in case the warm-up has failed or the waiting thread has been interrupted.
+     */
+    public boolean await(final @NonNull Duration timeout)
+    {
+        try
+        {
+            completion.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        }
+        catch (TimeoutException e)
+        {
+            return false;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ResourceBundleException("Interrupted while waiting for the warm-up!", e);
+        }
+        catch (ExecutionException | CancellationException e)
+        {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Returns a future completed when the warm-up is done.
+     * @return Completable future (a copy, completing it has no effect on the warm-up).
+     */
+    public CompletableFuture<WarmUp> toCompletableFuture()
+    {
+        return completion.copy();
+    }
+
+    /**
+     * Returns the number of resource bundles found.
+     * @return Number of resource bundles.
+     */
+    public int getBundleCount()
+    {
+        return bundles.get();
+    }
+
+    /**
+     * Returns the number of resource bundles loaded (or already loaded before the warm-up).
+     * @return Number of resource bundles.
+     */
+    public int getLoadedBundleCount()
+    {
+        return loadedBundles.get();
+    }
+
+    /**
+     * Returns the number of resource bundles failed to load.
+     * @return Number of resource bundles.
+     */
+    public int getFailedBundleCount()
+    {
+        return failedBundles.get();
+    }
+
+    /**
+     * Returns the number of localized enumeration values resolved.
+     * @return Number of values.
+     */
+    public int getResolvedValueCount()
+    {
+        return resolvedValues.get();
+    }
+
+    /**
+     * Returns the number of localized enumeration values failed to resolve.
+     * @return Number of values.
+     */
+    public int getFailedValueCount()
+    {
+        return failedValues.get();
+    }
+
+    /**
+     * Returns the duration of the warm-up, up to now if it is still running.
+     * @return Duration.
+     */
+    public Duration getDuration()
+    {
+        long elapsed = duration.get();
+        return Duration.ofNanos(elapsed >= 0 ? elapsed : System.nanoTime() - start);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("WarmUp(ready=%s, bundles=%d/%d, failedBundles=%d, values=%d, failedValues=%d, duration=%d ms)",
+                isReady(), loadedBundles.get(), bundles.get(), failedBundles.get(), resolvedValues.get(),
+                failedValues.get(), getDuration().toMillis());
+    }
+
+    /**
+     * Sets the number of resource bundles found.
+     * @param count Number of resource bundles.
+     */
+    void setBundleCount(final int count)
+    {
+        bundles.set(count);
+    }
+
+    /**
+     * Records the loading of a resource bundle.
+     * @param loaded True if the resource bundle has been loaded, false if it failed to load.
+     */
+    void bundleLoaded(final boolean loaded)
+    {
+        (loaded ? loadedBundles : failedBundles).incrementAndGet();
+    }
+
+    /**
+     * Records the resolution of localized enumeration values.
+     * @param resolved Number of values resolved.
+     * @param failed Number of values failed to resolve.
+     */
+    void valuesResolved(final int resolved, final int failed)
+    {
+        resolvedValues.addAndGet(resolved);
+        failedValues.addAndGet(failed);
+    }
+
+    /**
+     * Completes the warm-up.
+     * @param exception Exception that made the warm-up fail or {@code null} if it has succeeded.
+     */
+    void complete(final Throwable exception)
+    {
+        duration.compareAndSet(-1, System.nanoTime() - start);
+
+        if (exception != null)
+        {
+            completion.completeExceptionally(exception);
+        }
+        else
+        {
+            completion.complete(this);
+        }
+    }
+
+    /**
+     * Converts a warm-up failure to a resource bundle exception.
+     * @param exception Exception.
+     * @return Resource bundle exception.
+     */
+    private static ResourceBundleException failure(final @NonNull Exception exception)
+    {
+        Throwable cause = exception instanceof ExecutionException || exception instanceof CompletionException ? exception.getCause() : exception;
+        if (cause instanceof ResourceBundleException)
+        {
+            return (ResourceBundleException) cause;
+        }
+
+        return new ResourceBundleException(String.format("Warm-up failed due to: %s", cause.getMessage()), cause instanceof Exception ? (Exception) cause : exception);
+    }
+}
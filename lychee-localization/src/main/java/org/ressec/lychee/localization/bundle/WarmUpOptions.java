@@ -0,0 +1,98 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.bundle;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The options of a warm-up of the {@link ResourceBundleManager} (see
+ * {@link ResourceBundleManager#warmUp(WarmUpOptions)}).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class WarmUpOptions
+{
+    /**
+     * Default classpath directory containing the resource bundle files.
+     */
+    public static final String DEFAULT_DIRECTORY = "i18n";
+
+    /**
+     * Default package containing the enumerations to pre-resolve.
+     */
+    public static final String DEFAULT_PACKAGE = "org.ressec.lychee";
+
+    /**
+     * Classpath directory containing the resource bundle files to load.
+     */
+    @Getter
+    private final String directory;
+
+    /**
+     * Languages to load the resource bundles for or an empty list to load them for all the configured languages.
+     */
+    @Getter
+    private final List<Locale> locales;
+
+    /**
+     * Packages (and their sub packages) containing the enumerations whose localized values are pre-resolved.
+     */
+    @Getter
+    private final List<String> packages;
+
+    /**
+     * Number of threads used to warm up.
+     */
+    @Getter
+    private final int parallelism;
+
+    /**
+     * Creates new warm-up options.
+     * @param directory Classpath directory containing the resource bundle files or {@code null} to use
+     * {@link #DEFAULT_DIRECTORY}.
+     * @param locales Languages to load the resource bundles for or {@code null} to load them for all the configured
+     * languages.
+     * @param packages Packages containing the enumerations to pre-resolve or {@code null} to use
+     * {@link #DEFAULT_PACKAGE}.
+     * @param parallelism Number of threads or {@code 0} to use the number of available processors.
+     */
+    @Builder(setterPrefix = "with")
+    public WarmUpOptions(final String directory, final List<Locale> locales, final List<String> packages, final int parallelism)
+    {
+        if (parallelism < 0)
+        {
+            throw new ResourceBundleException(String.format("Invalid warm-up parallelism: %d!", parallelism));
+        }
+
+        this.directory = directory != null ? directory : DEFAULT_DIRECTORY;
+        this.locales = locales != null
+                ? Collections.unmodifiableList(locales.stream().map(ResourceBundleIndex::languageOf).distinct().collect(Collectors.toList()))
+                : Collections.emptyList();
+        this.packages = Collections.unmodifiableList(packages != null ? packages : Collections.singletonList(DEFAULT_PACKAGE));
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the default warm-up options.
+     * @return Warm-up options.
+     */
+    public static WarmUpOptions defaults()
+    {
+        return builder().build();
+    }
+}
@@ -106,7 +106,7 @@ public enum DayType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(DayType.class, locale);
+        return DayTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -126,7 +126,7 @@ public enum DayType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return DayTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -146,6 +146,6 @@ public enum DayType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return DayTypeLocalizer.getDescription(this, locale);
     }
 }
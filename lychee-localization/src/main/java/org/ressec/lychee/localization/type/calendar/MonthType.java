@@ -136,7 +136,7 @@ public enum MonthType implements Serializable
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(DayType.class, locale);
+        return MonthTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -156,7 +156,7 @@ public enum MonthType implements Serializable
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return MonthTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -176,6 +176,6 @@ public enum MonthType implements Serializable
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return MonthTypeLocalizer.getDescription(this, locale);
     }
 }
@@ -163,7 +163,7 @@ public enum SeasonType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(DayType.class, locale);
+        return SeasonTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -183,7 +183,7 @@ public enum SeasonType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return SeasonTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -203,6 +203,6 @@ public enum SeasonType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return SeasonTypeLocalizer.getDescription(this, locale);
     }
 }
@@ -117,7 +117,7 @@ public enum DirectionType
     @Localize(bundle = "i18n/direction", key = "direction.definition")
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(DayType.class, locale);
+        return DirectionTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -137,7 +137,7 @@ public enum DirectionType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return DirectionTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -157,6 +157,6 @@ public enum DirectionType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return DirectionTypeLocalizer.getDescription(this, locale);
     }
 }
@@ -74,7 +74,7 @@ public enum HemisphereType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(HemisphereType.class, locale);
+        return HemisphereTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -94,7 +94,7 @@ public enum HemisphereType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return HemisphereTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -114,6 +114,6 @@ public enum HemisphereType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return HemisphereTypeLocalizer.getDescription(this, locale);
     }
 }
@@ -340,7 +340,7 @@ public enum LanguageType
     @Localize(bundle = BUNDLE_NAME_LANGUAGE, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(LanguageType.class, locale);
+        return LanguageTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -360,7 +360,7 @@ public enum LanguageType
     @Localize(bundle = BUNDLE_NAME_LANGUAGE, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return LanguageTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -380,6 +380,6 @@ public enum LanguageType
     @Localize(bundle = BUNDLE_NAME_LANGUAGE, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return LanguageTypeLocalizer.getDescription(this, locale);
     }
 }
@@ -218,7 +218,7 @@ public enum ContinentSubRegionType
     @Localize(bundle = BUNDLE_NAME_SUBREGION, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(ContinentSubRegionType.class, locale);
+        return ContinentSubRegionTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -238,7 +238,7 @@ public enum ContinentSubRegionType
     @Localize(bundle = BUNDLE_NAME_SUBREGION, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return ContinentSubRegionTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -258,6 +258,6 @@ public enum ContinentSubRegionType
     @Localize(bundle = BUNDLE_NAME_SUBREGION, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return ContinentSubRegionTypeLocalizer.getDescription(this, locale);
     }
 }
@@ -106,7 +106,7 @@ public enum ContinentType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(DayType.class, locale);
+        return ContinentTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -126,7 +126,7 @@ public enum ContinentType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return ContinentTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -146,6 +146,6 @@ public enum ContinentType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return ContinentTypeLocalizer.getDefinition(this, locale);
     }
 }
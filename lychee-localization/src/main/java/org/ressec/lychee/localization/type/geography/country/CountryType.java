@@ -1753,7 +1753,7 @@ public enum CountryType
     @Localize(bundle = BUNDLE_NAME, key = BUNDLE_PATH_FOR_TERM_DEFINITION)
     public static String getTermDefinition(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(CountryType.class, locale);
+        return CountryTypeLocalizer.getTermDefinition(locale);
     }
 
     /**
@@ -1773,7 +1773,7 @@ public enum CountryType
     @Localize(bundle = CountryType.BUNDLE_NAME, key = BUNDLE_PATH_FOR_PROPERTY_NAME)
     public final String getName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return CountryTypeLocalizer.getName(this, locale);
     }
 
     /**
@@ -1793,7 +1793,7 @@ public enum CountryType
     @Localize(bundle = CountryType.BUNDLE_NAME, key = CountryType.BUNDLE_PATH_FOR_PROPERTY_OFFICIAL)
     public final String getOfficialName(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return CountryTypeLocalizer.getOfficialName(this, locale);
     }
 
     /**
@@ -1813,7 +1813,7 @@ public enum CountryType
     @Localize(bundle = CountryType.BUNDLE_NAME, key = CountryType.BUNDLE_PATH_FOR_PROPERTY_DESCRIPTION)
     public final String getDescription(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return CountryTypeLocalizer.getDescription(this, locale);
     }
 
     /**
@@ -1833,7 +1833,7 @@ public enum CountryType
     @Localize(bundle = CountryType.BUNDLE_NAME, key = CountryType.BUNDLE_PATH_FOR_PROPERTY_MOTTO)
     public final String getMotto(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return CountryTypeLocalizer.getMotto(this, locale);
     }
 
     /**
@@ -1853,6 +1853,6 @@ public enum CountryType
     @Localize(bundle = CountryType.BUNDLE_NAME, key = CountryType.BUNDLE_PATH_FOR_PROPERTY_ANTHEM)
     public final String getAnthem(final @NonNull Locale locale)
     {
-        return ResourceBundleManager.getInstance().resolve(this, locale);
+        return CountryTypeLocalizer.getAnthem(this, locale);
     }
 }
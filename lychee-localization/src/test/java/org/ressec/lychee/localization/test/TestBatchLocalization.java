@@ -0,0 +1,131 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.bundle.LocaleContext;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+import org.ressec.lychee.localization.test.localizable.LocalizableObject;
+import org.ressec.lychee.localization.type.calendar.DayType;
+import org.ressec.lychee.localization.type.calendar.MonthType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A class for unit testing the batch localization services of the {@link ResourceBundleManager}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("batch")
+final class TestBatchLocalization extends BaseUnitTest
+{
+    /**
+     * Number of instances localized by the tests.
+     */
+    private static final int COUNT = 2_000;
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().setLocale(Locale.ENGLISH);
+        ResourceBundleManager.getInstance().setBatchThreshold(16);
+    }
+
+    @AfterEach
+    final void tearDown()
+    {
+        ResourceBundleManager.getInstance().setBatchThreshold(256);
+    }
+
+    @Test
+    @DisplayName("Should localize a collection of localizable instances in parallel")
+    final void shouldLocalizeAll()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        List<LocalizableObject> objects = create();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            Assertions.assertSame(objects, manager.localizeAll(objects, Locale.GERMAN, pool));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        for (LocalizableObject object : objects)
+        {
+            Assertions.assertEquals(object.getDay().getName(Locale.GERMAN), object.getDayName());
+            Assertions.assertEquals(object.getMonth().getName(Locale.GERMAN), object.getMonthName());
+        }
+
+        // Below the threshold, on the calling thread.
+        manager.setBatchThreshold(COUNT);
+        manager.localizeAll(objects, Locale.FRENCH);
+        Assertions.assertEquals("Samedi", objects.get(DayType.SATURDAY.ordinal()).getDayName());
+
+        Assertions.assertThrows(ResourceBundleException.class, () -> manager.setBatchThreshold(0));
+    }
+
+    @Test
+    @DisplayName("Should localize the instances collected from a stream")
+    final void shouldCollectLocalized()
+    {
+        List<LocalizableObject> objects = create().parallelStream()
+                .collect(ResourceBundleManager.toLocalizedList(Locale.ITALIAN));
+
+        Assertions.assertEquals(COUNT, objects.size());
+        Assertions.assertEquals(DayType.MONDAY.getName(Locale.ITALIAN), objects.get(DayType.MONDAY.ordinal()).getDayName());
+    }
+
+    @Test
+    @DisplayName("Should bind the locale of the calling thread to the batch localization tasks")
+    final void shouldPropagateLocaleContext()
+    {
+        List<Localizable> objects = new ArrayList<>(create());
+
+        // Vietnamese is not available, the values fall back to the locale bound to the calling thread.
+        LocaleContext.run(Locale.FRENCH, () -> ResourceBundleManager.getInstance().localizeAll(objects, Locale.forLanguageTag("vi")));
+
+        Assertions.assertEquals("Samedi", ((LocalizableObject) objects.get(DayType.SATURDAY.ordinal())).getDayName());
+        for (Localizable object : objects)
+        {
+            LocalizableObject element = (LocalizableObject) object;
+            Assertions.assertEquals(element.getDay().getName(Locale.FRENCH), element.getDayName());
+        }
+    }
+
+    /**
+     * Creates the instances to localize, the day of an instance being the one whose ordinal is the instance index
+     * (modulo the number of days).
+     * @return Instances.
+     */
+    private static List<LocalizableObject> create()
+    {
+        DayType[] days = DayType.values();
+        MonthType[] months = MonthType.values();
+
+        List<LocalizableObject> objects = new ArrayList<>();
+        IntStream.range(0, COUNT).forEach(index -> objects.add(new LocalizableObject(days[index % days.length], months[index % months.length], null, null)));
+
+        return objects;
+    }
+}
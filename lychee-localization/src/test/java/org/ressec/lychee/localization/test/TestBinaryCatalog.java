@@ -0,0 +1,110 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.bundle.BinaryCatalog;
+import org.ressec.lychee.localization.bundle.BinaryCatalogCompiler;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * A class for unit testing the {@link BinaryCatalog} and {@link BinaryCatalogCompiler} entities.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("catalog")
+final class TestBinaryCatalog extends BaseUnitTest
+{
+    /**
+     * Resource bundles checked by the tests.
+     */
+    private static final String[] BUNDLES = { "i18n/day", "i18n/month", "i18n/country", "i18n/language" };
+
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Should compile the resource bundle properties files into a catalog returning the same values")
+    final void shouldCompileCatalog() throws Exception
+    {
+        BinaryCatalog catalog = BinaryCatalog.open(compile());
+
+        for (String name : BUNDLES)
+        {
+            Assertions.assertTrue(catalog.contains(name));
+            ResourceBundleManager.getInstance().load(name);
+            Assertions.assertEquals(ResourceBundleManager.getInstance().getLocalesCount(name), catalog.getLanguages(name).size());
+
+            for (Locale language : catalog.getLanguages(name))
+            {
+                ResourceBundle expected = ResourceBundle.getBundle(name, language);
+                ResourceBundle actual = catalog.getBundle(name, language).orElseThrow();
+
+                Assertions.assertEquals(expected.getLocale(), actual.getLocale());
+                Assertions.assertEquals(expected.keySet(), actual.keySet());
+                for (String key : expected.keySet())
+                {
+                    Assertions.assertEquals(expected.getString(key), catalog.get(name, key, language));
+                }
+            }
+        }
+
+        Assertions.assertEquals("Lundi", catalog.get("i18n/day", "day.MONDAY.name", Locale.FRENCH));
+        Assertions.assertNull(catalog.get("i18n/day", "day.UNKNOWN.name", Locale.FRENCH));
+        Assertions.assertNull(catalog.get("i18n/unknown", "day.MONDAY.name", Locale.FRENCH));
+        Assertions.assertFalse(catalog.getBundle("i18n/day", Locale.forLanguageTag("vi")).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should read a catalog from a stream into an off-heap buffer")
+    final void shouldReadCatalogFromStream() throws Exception
+    {
+        BinaryCatalog catalog = BinaryCatalog.read(new ByteArrayInputStream(Files.readAllBytes(compile())));
+
+        Assertions.assertEquals("Montag", catalog.get("i18n/day", "day.MONDAY.name", Locale.GERMAN));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid catalog file")
+    final void shouldRejectInvalidCatalog() throws Exception
+    {
+        Path file = Files.write(folder.resolve("invalid.catalog"), new byte[64]);
+
+        Assertions.assertThrows(ResourceBundleException.class, () -> BinaryCatalog.open(file));
+    }
+
+    /**
+     * Compiles the resource bundle properties files of the classpath into a catalog file.
+     * @return Catalog file.
+     * @throws Exception Thrown in case an error occurred while compiling.
+     */
+    private Path compile() throws Exception
+    {
+        Path root = Paths.get(getClass().getClassLoader().getResource("i18n/day.properties").toURI()).getParent().getParent();
+        Path output = folder.resolve("lychee.catalog");
+
+        BinaryCatalogCompiler.compile(root, "i18n", output);
+
+        return output;
+    }
+}
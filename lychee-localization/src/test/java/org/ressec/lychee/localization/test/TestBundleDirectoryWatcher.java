@@ -0,0 +1,220 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.base.Localize;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.BundleDirectoryWatcher;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A class for unit testing the {@link BundleDirectoryWatcher} entity.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("reload")
+final class TestBundleDirectoryWatcher extends BaseUnitTest
+{
+    /**
+     * Resource bundle (only available in the watched directory) used by the tests.
+     */
+    private static final String BUNDLE = "i18n/watched";
+
+    /**
+     * Maximum duration to wait for a reload, in milliseconds.
+     */
+    private static final long TIMEOUT = 20_000;
+
+    @TempDir
+    Path folder;
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @AfterEach
+    final void tearDown()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("Should reload a resource bundle when one of its files of the watched directory changes")
+    final void shouldReloadChangedFile() throws Exception
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        write("watched.properties", "greeting=Hello\nfarewell=Goodbye\n");
+        write("watched_fr.properties", "greeting=Bonjour\n");
+
+        try (BundleDirectoryWatcher watcher = manager.watch(folder))
+        {
+            manager.load(BUNDLE);
+            Assertions.assertEquals("Bonjour", manager.get(BUNDLE, "greeting", Locale.FRENCH));
+            Assertions.assertEquals("Goodbye", manager.get(BUNDLE, "farewell", Locale.FRENCH));
+
+            write("watched_fr.properties", "greeting=Salut\nfarewell=Au revoir\n");
+            await(() -> "Salut".equals(manager.get(BUNDLE, "greeting", Locale.FRENCH)));
+            Assertions.assertEquals("Au revoir", manager.get(BUNDLE, "farewell", Locale.FRENCH));
+
+            // A change of the base file is applied to all the languages.
+            write("watched.properties", "greeting=Hello\nfarewell=Bye\n");
+            await(() -> "Bye".equals(manager.get(BUNDLE, "farewell", Locale.GERMAN)));
+            Assertions.assertEquals("Au revoir", manager.get(BUNDLE, "farewell", Locale.FRENCH));
+
+            Assertions.assertTrue(watcher.getReloadCount() >= 2);
+            Assertions.assertEquals(0, watcher.getFailedReloadCount());
+            Assertions.assertTrue(watcher.getTotalReloadDuration().compareTo(watcher.getLastReloadDuration()) >= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should localize again the ropes and localizable objects after a reload only")
+    final void shouldRefreshAfterReload() throws Exception
+    {
+        /**
+         * A localizable greeting.
+         */
+        final class Greeting implements Localizable
+        {
+            @Getter
+            @Setter
+            @Localize(bundle = BUNDLE, key = "greeting")
+            private String text;
+        }
+
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        write("watched.properties", "greeting=Hello\n");
+        write("watched_fr.properties", "greeting=Bonjour\n");
+
+        try (BundleDirectoryWatcher ignored = manager.watch(folder))
+        {
+            Rope rope = Rope.from(BUNDLE, "greeting");
+            rope.localize(Locale.FRENCH);
+            Greeting greeting = new Greeting();
+            greeting.localizeIfStale(Locale.FRENCH);
+            Assertions.assertEquals("Bonjour", rope.getValue());
+            Assertions.assertEquals("Bonjour", greeting.getText());
+
+            // Up to date objects are not localized again.
+            long epoch = manager.getEpoch();
+            greeting.setText(null);
+            greeting.localizeIfStale(Locale.FRENCH);
+            Assertions.assertNull(greeting.getText());
+            Assertions.assertFalse(manager.resolveLocalizableIfStale(greeting, Locale.FRENCH));
+
+            write("watched_fr.properties", "greeting=Salut\n");
+            await(() -> "Salut".equals(manager.get(BUNDLE, "greeting", Locale.FRENCH)));
+            Assertions.assertTrue(manager.getEpoch() > epoch);
+
+            rope.localize(Locale.FRENCH);
+            greeting.localize(Locale.FRENCH, Locale.FRENCH);
+            Assertions.assertEquals("Salut", rope.getValue());
+            Assertions.assertEquals("Salut", greeting.getText());
+            Assertions.assertFalse(manager.resolveLocalizableIfStale(greeting, Locale.FRENCH));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore the region specific files of the watched directory")
+    final void shouldIgnoreRegionFiles() throws Exception
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        write("watched.properties", "greeting=Hello\n");
+        write("watched_fr.properties", "greeting=Bonjour\n");
+        write("watched_fr_CA.properties", "greeting=Allô\n");
+
+        try (BundleDirectoryWatcher watcher = manager.watch(folder))
+        {
+            manager.load(BUNDLE);
+            Assertions.assertEquals("Bonjour", manager.get(BUNDLE, "greeting", Locale.CANADA_FRENCH));
+            Assertions.assertThrows(ResourceBundleException.class, () -> manager.load(BUNDLE + "_fr_CA"));
+            Assertions.assertEquals(0, watcher.getOverflowCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should give precedence to the watched directory over the classpath")
+    final void shouldOverrideClasspath() throws Exception
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        manager.load("i18n/day", Locale.FRENCH);
+        Assertions.assertEquals("Lundi", manager.get("i18n/day", "day.MONDAY.name", Locale.FRENCH));
+
+        write("day_fr.properties", "day.MONDAY.name=Lundi (corrigé)\n");
+        try (BundleDirectoryWatcher watcher = manager.watch(folder))
+        {
+            // Registered resource bundles having files in the directory are reloaded when the watcher starts.
+            Assertions.assertEquals("Lundi (corrigé)", manager.get("i18n/day", "day.MONDAY.name", Locale.FRENCH));
+            Assertions.assertTrue(watcher.isRunning());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop reading the watched directory once the watcher is closed")
+    final void shouldStopWatching() throws Exception
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        write("watched.properties", "greeting=Hello\n");
+
+        BundleDirectoryWatcher watcher = manager.watch(folder);
+        watcher.close();
+        await(() -> !watcher.isRunning());
+
+        Assertions.assertThrows(ResourceBundleException.class, () -> manager.load(BUNDLE));
+        Assertions.assertThrows(ResourceBundleException.class, () -> manager.watch(folder.resolve("unknown")));
+    }
+
+    /**
+     * Writes (atomically, as a deployment would) a resource bundle properties file into the watched directory.
+     * @param name File name.
+     * @param content File content.
+     * @throws Exception Thrown in case an error occurred while writing the file.
+     */
+    private void write(final String name, final String content) throws Exception
+    {
+        Path directory = Files.createDirectories(folder.resolve("i18n"));
+        Path temporary = Files.write(directory.resolve(name + ".tmp"), content.getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Waits until a condition is met.
+     * @param condition Condition.
+     * @throws Exception Thrown in case the condition is not met in time.
+     */
+    private static void await(final BooleanSupplier condition) throws Exception
+    {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean())
+        {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time!");
+            Thread.sleep(20);
+        }
+    }
+}
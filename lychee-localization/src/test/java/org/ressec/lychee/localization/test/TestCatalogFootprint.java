@@ -0,0 +1,79 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.bundle.CatalogFootprint;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * A class for unit testing the compact storage of the resource bundle entries by the {@link ResourceBundleManager}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+final class TestCatalogFootprint extends BaseUnitTest
+{
+    /**
+     * Resource bundle (not part of the binary catalog) used by the tests.
+     */
+    private static final String BUNDLE = "i18n/test";
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @AfterEach
+    final void tearDown()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("Should return the same values as the resource bundles once stored compactly")
+    final void shouldReturnSameValues()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        manager.load(BUNDLE);
+
+        for (Locale language : manager.getLocalesList(BUNDLE))
+        {
+            ResourceBundle expected = ResourceBundle.getBundle(BUNDLE, language);
+            for (String key : expected.keySet())
+            {
+                Assertions.assertEquals(expected.getString(key), manager.get(BUNDLE, key, language));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a smaller footprint than the resource bundles")
+    final void shouldReportSmallerFootprint()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        Assertions.assertEquals(0, manager.getFootprint().getEntries());
+
+        manager.load(BUNDLE);
+        CatalogFootprint footprint = manager.getFootprint();
+
+        Assertions.assertEquals(manager.getLocalesCount(BUNDLE), footprint.getBundles());
+        Assertions.assertTrue(footprint.getDistinctValues() < footprint.getEntries());
+        Assertions.assertTrue(footprint.getCompactBytes() < footprint.getLegacyBytes());
+        Assertions.assertTrue(footprint.getSavedBytes() > 0);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * A class for unit testing the catalog snapshot services of the {@link ResourceBundleManager}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("snapshot")
+final class TestCatalogSnapshot extends BaseUnitTest
+{
+    /**
+     * Resource bundle containing the messages used by the tests.
+     */
+    private static final String BUNDLE = "i18n/test";
+
+    /**
+     * Temporary folder.
+     */
+    @TempDir
+    Path folder;
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("Should restore the resource bundles of a catalog snapshot")
+    final void shouldRestoreSnapshot()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        Path snapshot = folder.resolve("lychee.snapshot");
+
+        manager.load(BUNDLE);
+        manager.load("i18n/day", Locale.GERMAN);
+        String english = manager.get(BUNDLE, "lychee.localization.FRUIT.name", Locale.ENGLISH);
+        String french = manager.get(BUNDLE, "lychee.localization.FRUIT.name", Locale.FRENCH);
+        manager.writeSnapshot(snapshot);
+
+        manager.clear();
+        Assertions.assertFalse(manager.existLocale(BUNDLE, Locale.FRENCH));
+
+        Assertions.assertTrue(manager.restoreSnapshot(snapshot));
+        Assertions.assertTrue(manager.existLocale(BUNDLE, Locale.FRENCH));
+        Assertions.assertTrue(manager.existLocale("i18n/day", Locale.GERMAN));
+        Assertions.assertFalse(manager.existLocale("i18n/day", Locale.FRENCH));
+        Assertions.assertEquals(english, manager.get(BUNDLE, "lychee.localization.FRUIT.name", Locale.ENGLISH));
+        Assertions.assertEquals(french, manager.get(BUNDLE, "lychee.localization.FRUIT.name", Locale.FRENCH));
+        Assertions.assertEquals("1 fruit in the basket", manager.formatPlural(BUNDLE, "lychee.localization.FRUIT.basket", Locale.ENGLISH, 1));
+
+        // Languages not part of the snapshot are still loaded on demand.
+        manager.load("i18n/day", Locale.FRENCH);
+        Assertions.assertTrue(manager.existLocale("i18n/day", Locale.FRENCH));
+    }
+
+    @Test
+    @DisplayName("Should not restore a missing, outdated or corrupted catalog snapshot")
+    final void shouldRejectInvalidSnapshot() throws IOException
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        Path snapshot = folder.resolve("lychee.snapshot");
+
+        Assertions.assertFalse(manager.restoreSnapshot(snapshot));
+
+        manager.load(BUNDLE);
+        manager.writeSnapshot(snapshot);
+        manager.clear();
+
+        // Taken with another JVM default locale.
+        Locale previous = Locale.getDefault();
+        try
+        {
+            Locale.setDefault(Locale.FRENCH);
+            Assertions.assertFalse(manager.restoreSnapshot(snapshot));
+        }
+        finally
+        {
+            Locale.setDefault(previous);
+        }
+
+        byte[] content = Files.readAllBytes(snapshot);
+        content[content.length / 2] ^= 0x5A;
+        Files.write(snapshot, content);
+        Assertions.assertThrows(ResourceBundleException.class, () -> manager.restoreSnapshot(snapshot));
+        Assertions.assertFalse(manager.existLocale(BUNDLE, Locale.ENGLISH));
+    }
+}
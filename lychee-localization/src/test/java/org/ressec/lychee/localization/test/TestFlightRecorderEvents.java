@@ -0,0 +1,105 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * A class for unit testing the JDK Flight Recorder events emitted by the {@link ResourceBundleManager} and the
+ * {@link Rope}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("jfr")
+final class TestFlightRecorderEvents extends BaseUnitTest
+{
+    /**
+     * Resource bundle used by the tests.
+     */
+    private static final String BUNDLE = "i18n/test";
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("Should provide valid flight recorder settings for the events")
+    final void shouldProvideSettings() throws Exception
+    {
+        try (Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream("jfr/lychee.jfc"), StandardCharsets.UTF_8))
+        {
+            Configuration configuration = Configuration.create(reader);
+            Assertions.assertEquals("1 ms", configuration.getSettings().get("org.ressec.lychee.Lookup#threshold"));
+            Assertions.assertEquals("0 ms", configuration.getSettings().get("org.ressec.lychee.Translation#threshold"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit flight recorder events for loads, lookups and rope localizations")
+    final void shouldEmitEvents() throws Exception
+    {
+        Path file = Files.createTempFile("lychee", ".jfr");
+        try (Recording recording = new Recording())
+        {
+            recording.enable("org.ressec.lychee.Lookup").withThreshold(Duration.ZERO);
+            recording.enable("org.ressec.lychee.BundleLoad").withThreshold(Duration.ZERO);
+            recording.enable("org.ressec.lychee.Rope").withThreshold(Duration.ZERO);
+            recording.start();
+
+            ResourceBundleManager manager = ResourceBundleManager.getInstance();
+            manager.resolve(BUNDLE, "lychee.localization.FRUIT.name", Locale.FRENCH);
+            Assertions.assertThrows(ResourceBundleException.class, () -> manager.resolve(BUNDLE, "lychee.localization.FRUIT.unknown", Locale.FRENCH));
+            Rope.from(BUNDLE, "lychee.localization.FRUIT.name").localize(Locale.GERMAN);
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> lookups = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("org.ressec.lychee.Lookup"))
+                    .filter(event -> BUNDLE.equals(event.getString("bundle")))
+                    .collect(Collectors.toList());
+
+            Assertions.assertTrue(lookups.stream().anyMatch(event -> event.getString("key").equals("lychee.localization.FRUIT.name") && event.getBoolean("found")));
+            Assertions.assertTrue(lookups.stream().anyMatch(event -> event.getString("key").equals("lychee.localization.FRUIT.unknown") && !event.getBoolean("found")));
+            Assertions.assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("org.ressec.lychee.BundleLoad")
+                    && BUNDLE.equals(event.getString("bundle")) && event.getInt("languages") > 0));
+            Assertions.assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("org.ressec.lychee.Rope")
+                    && "localize".equals(event.getString("operation")) && "de".equals(event.getString("locale"))));
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.base.Localize;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A class for unit testing the localization of object graphs (see
+ * {@link ResourceBundleManager#resolveGraph(Object, Locale)}).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("graph")
+final class TestGraphLocalization extends BaseUnitTest
+{
+    @BeforeEach
+    void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+        ResourceBundleManager.getInstance().setLocale(Locale.ENGLISH);
+    }
+
+    @Test
+    @DisplayName("Should localize a graph of nested localizable objects, skipping the up to date subtrees")
+    final void shouldLocalizeGraph()
+    {
+        /**
+         * A localizable day, node of the graph.
+         */
+        final class DayNode implements Localizable
+        {
+            @Getter
+            @Setter
+            private String day;
+
+            @Getter
+            @Setter
+            @Localize(bundle = "i18n/day", key = "day.UPPER(${day}).name")
+            private String dayName;
+
+            @Getter
+            @Setter
+            private DayNode next;
+
+            @Getter
+            private final List<DayNode> children = new ArrayList<>();
+
+            @Getter
+            private final Map<String, Rope> ropes = new LinkedHashMap<>();
+
+            private DayNode(final String day)
+            {
+                this.day = day;
+            }
+        }
+
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+
+        DayNode monday = new DayNode("monday");
+        DayNode tuesday = new DayNode("tuesday");
+        DayNode friday = new DayNode("friday");
+        monday.getChildren().add(tuesday);
+        monday.getChildren().add(friday);
+        tuesday.setNext(friday);
+        friday.setNext(monday); // Cycle.
+        friday.getRopes().put("sunday", Rope.from("i18n/day", "day.SUNDAY.name"));
+
+        manager.resolveGraph(monday, Locale.GERMAN);
+        Assertions.assertEquals("Montag", monday.getDayName());
+        Assertions.assertEquals("Dienstag", tuesday.getDayName());
+        Assertions.assertEquals("Freitag", friday.getDayName());
+        Assertions.assertEquals("Sonntag", friday.getRopes().get("sunday").getValue());
+
+        // Up to date nodes are skipped.
+        Assertions.assertEquals(0, manager.resolveGraph(monday, Locale.GERMAN));
+
+        // Invalidated nodes are localized again, with their subtree only.
+        tuesday.setDay("sunday");
+        manager.invalidate(tuesday);
+        Assertions.assertEquals(1, manager.resolveGraph(monday, Locale.GERMAN));
+        Assertions.assertEquals("Sonntag", tuesday.getDayName());
+
+        // A locale change makes every node stale.
+        monday.localizeGraph(Locale.FRENCH);
+        Assertions.assertEquals("Lundi", monday.getDayName());
+        Assertions.assertEquals("Vendredi", friday.getDayName());
+        Assertions.assertEquals("Dimanche", friday.getRopes().get("sunday").getValue());
+
+        // So does a catalog change.
+        manager.clear();
+        Assertions.assertEquals(3, manager.resolveGraph(monday, Locale.FRENCH));
+    }
+
+    @Test
+    @DisplayName("Should ignore the fields of the platform super classes and the non localizable collections")
+    final void shouldIgnorePlatformFields()
+    {
+        /**
+         * A localizable event, extending a platform class.
+         */
+        final class DayEvent extends EventObject implements Localizable
+        {
+            @Getter
+            @Setter
+            @Localize(bundle = "i18n/day", key = "day.MONDAY.name")
+            private String dayName;
+
+            @Getter
+            private final List<String> payload = new ArrayList<>();
+
+            @Getter
+            private final List<Rope> ropes = new ArrayList<>();
+
+            private DayEvent(final Object source)
+            {
+                super(source);
+            }
+        }
+
+        DayEvent event = new DayEvent(this);
+        event.getPayload().add("payload");
+        event.getRopes().add(Rope.from("i18n/day", "day.SUNDAY.name"));
+
+        event.localize(Locale.FRENCH);
+        Assertions.assertEquals("Lundi", event.getDayName());
+
+        Assertions.assertEquals(1, ResourceBundleManager.getInstance().resolveGraph(event, Locale.GERMAN));
+        Assertions.assertEquals("Montag", event.getDayName());
+        Assertions.assertEquals("Sonntag", event.getRopes().get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("Should localize again a stamped object after a plain localization to another locale")
+    final void shouldForgetStampOnPlainLocalization()
+    {
+        /**
+         * A localizable day.
+         */
+        final class Day implements Localizable
+        {
+            @Getter
+            @Setter
+            @Localize(bundle = "i18n/day", key = "day.MONDAY.name")
+            private String dayName;
+        }
+
+        ResourceBundleManager.getInstance().load("i18n/day");
+        Day day = new Day();
+        day.localizeIfStale(Locale.FRENCH);
+        Assertions.assertFalse(ResourceBundleManager.getInstance().resolveLocalizableIfStale(day, Locale.FRENCH));
+
+        day.localize(Locale.GERMAN);
+        Assertions.assertEquals("Montag", day.getDayName());
+
+        day.localizeIfStale(Locale.FRENCH);
+        Assertions.assertEquals("Lundi", day.getDayName());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.CaseFunction;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.base.LocalizationException;
+import org.ressec.lychee.localization.base.Localize;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.util.Locale;
+
+/**
+ * A class for unit testing the compiled bundle and key templates (including their case functions) of the
+ * {@link Localize} annotation.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("internal")
+final class TestKeyTemplate extends BaseUnitTest
+{
+    @BeforeEach
+    void setUp()
+    {
+        ResourceBundleManager.getInstance().setLocale(Locale.ENGLISH);
+    }
+
+    @Test
+    @DisplayName("Should apply the case functions")
+    final void shouldApplyCaseFunctions()
+    {
+        Assertions.assertEquals("monday", CaseFunction.LOWER.apply("MONDAY"));
+        Assertions.assertEquals("MONDAY", CaseFunction.UPPER.apply("monday"));
+        Assertions.assertEquals("Monday", CaseFunction.CAPITALIZE.apply("MONDAY"));
+        Assertions.assertEquals("MONDAY", CaseFunction.CAPFIRST.apply("mONDAY"));
+        Assertions.assertEquals("New Zealand", CaseFunction.CAPFIRSTALL.apply("new zealand"));
+        Assertions.assertEquals("", CaseFunction.CAPITALIZE.apply(""));
+        Assertions.assertFalse(CaseFunction.from("LOWERCASE").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should localize an annotated field using a case function")
+    final void shouldLocalizeFieldUsingCaseFunction()
+    {
+        DayObject day = new DayObject("monday");
+
+        day.localize(Locale.GERMAN);
+        Assertions.assertEquals("Montag", day.getDayName());
+
+        day.setDay("sunday");
+        day.localize(Locale.FRENCH);
+        Assertions.assertEquals("Dimanche", day.getDayName());
+    }
+
+    @Test
+    @DisplayName("Should localize an annotated method using a case function")
+    final void shouldLocalizeMethodUsingCaseFunction()
+    {
+        Assertions.assertEquals("Lundi", new DayObject("monday").getName(Locale.FRENCH));
+        Assertions.assertEquals("Sunday", new DayObject("sunday").getName(Locale.ENGLISH));
+    }
+
+    @Test
+    @DisplayName("Should raise an exception when a template references an unknown field")
+    final void shouldFailOnUnknownField()
+    {
+        ResourceBundleException exception = Assertions.assertThrows(ResourceBundleException.class,
+                () -> Rope.from("i18n/day", "day.UPPER(${unknown}).name"));
+
+        Assertions.assertTrue(exception.getCause() instanceof LocalizationException);
+    }
+
+    /**
+     * A localizable object whose key templates use a case function.
+     */
+    static final class DayObject implements Localizable
+    {
+        @Getter
+        @Setter
+        private String day;
+
+        @Getter
+        @Setter
+        @Localize(bundle = "i18n/day", key = "day.UPPER(${day}).name")
+        private String dayName;
+
+        DayObject(final String day)
+        {
+            this.day = day;
+        }
+
+        @Localize(bundle = "i18n/day", key = "day.UPPER(${day}).name")
+        public String getName(final @NonNull Locale locale)
+        {
+            return ResourceBundleManager.getInstance().resolve(this, locale);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.LocaleContext;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+import org.ressec.lychee.localization.type.calendar.DayType;
+
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A class for unit testing the {@link LocaleContext} entity.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("internal")
+final class TestLocaleContext extends BaseUnitTest
+{
+    @BeforeEach
+    void setUp()
+    {
+        ResourceBundleManager.getInstance().setLocale(Locale.ENGLISH);
+    }
+
+    @Test
+    @DisplayName("Should bind a locale to the current thread for the duration of a scope")
+    final void shouldBindLocaleToScope()
+    {
+        try (LocaleContext.Scope scope = LocaleContext.open(Locale.FRENCH))
+        {
+            Assertions.assertEquals(Locale.FRENCH, ResourceBundleManager.getInstance().getLocale());
+            Assertions.assertEquals("Lundi", DayType.MONDAY.getName());
+
+            try (LocaleContext.Scope nested = LocaleContext.open(Locale.GERMAN))
+            {
+                Assertions.assertEquals("Montag", DayType.MONDAY.getName());
+                Assertions.assertEquals("Sonntag", Rope.from("i18n/day", "day.SUNDAY.name").getValue());
+            }
+
+            Assertions.assertEquals("Lundi", DayType.MONDAY.getName());
+        }
+
+        Assertions.assertFalse(LocaleContext.current().isPresent());
+        Assertions.assertEquals(Locale.ENGLISH, ResourceBundleManager.getInstance().getLocale());
+        Assertions.assertEquals("Monday", DayType.MONDAY.getName());
+    }
+
+    @Test
+    @DisplayName("Should serve different locales concurrently")
+    final void shouldServeDifferentLocalesConcurrently() throws InterruptedException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        try
+        {
+            executor.execute(() -> localize(start, failure, Locale.FRENCH, "Lundi"));
+            executor.execute(() -> localize(start, failure, Locale.JAPANESE, "月曜"));
+            start.countDown();
+        }
+        finally
+        {
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+
+        Assertions.assertNull(failure.get(), () -> "Unexpected failure: " + failure.get());
+    }
+
+    @Test
+    @DisplayName("Should propagate the bound locale to tasks submitted through a wrapped executor")
+    final void shouldPropagateLocaleToWrappedExecutor() throws Exception
+    {
+        ExecutorService executor = LocaleContext.wrap(Executors.newSingleThreadExecutor());
+
+        try
+        {
+            Future<String> french;
+            try (LocaleContext.Scope scope = LocaleContext.open(Locale.FRENCH))
+            {
+                french = executor.submit(() -> DayType.MONDAY.getName());
+            }
+
+            Future<String> unbound = executor.submit(() -> DayType.MONDAY.getName());
+
+            Assertions.assertEquals("Lundi", french.get(1, TimeUnit.MINUTES));
+            Assertions.assertEquals("Monday", unbound.get(1, TimeUnit.MINUTES)); // No locale leaked in the pool thread
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should execute wrapped callables and suppliers with the locale bound at wrapping time")
+    final void shouldExecuteWrappedTasksWithBoundLocale() throws Exception
+    {
+        Callable<String> callable;
+        Supplier<String> supplier;
+        try (LocaleContext.Scope scope = LocaleContext.open(Locale.FRENCH))
+        {
+            callable = LocaleContext.wrapCallable(() -> DayType.MONDAY.getName());
+            supplier = LocaleContext.wrapSupplier(() -> DayType.MONDAY.getName());
+        }
+
+        Assertions.assertEquals("Lundi", callable.call());
+        Assertions.assertEquals("Lundi", supplier.get());
+        Assertions.assertEquals("Monday", DayType.MONDAY.getName()); // Locale only bound during the execution
+    }
+
+    @Test
+    @DisplayName("Should propagate the bound locale to completable futures")
+    final void shouldPropagateLocaleToCompletableFutures() throws Exception
+    {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        try
+        {
+            CompletableFuture<String> future;
+            try (LocaleContext.Scope scope = LocaleContext.open(Locale.GERMAN))
+            {
+                future = LocaleContext.supplyAsync(() -> DayType.MONDAY.getName(), pool)
+                        .thenApplyAsync(name -> name + " " + DayType.SUNDAY.getName(), LocaleContext.capture(pool));
+            }
+
+            Assertions.assertEquals("Montag Sonntag", future.get(1, TimeUnit.MINUTES));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve the compiled messages of an unsupported locale through the bound locale")
+    final void shouldResolveMessagesThroughBoundLocale()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        Locale vietnamese = new Locale("vi");
+        String key = "lychee.localization.FRUIT.basket.other";
+
+        AtomicReference<String> german = new AtomicReference<>();
+        AtomicReference<String> french = new AtomicReference<>();
+        LocaleContext.run(Locale.GERMAN, () -> german.set(manager.getMessage("i18n/test", key, vietnamese).format(new Object[] { 3 })));
+        LocaleContext.run(Locale.FRENCH, () -> french.set(manager.getMessage("i18n/test", key, vietnamese).format(new Object[] { 3 })));
+
+        Assertions.assertEquals("3 fruits in the basket", german.get());
+        Assertions.assertEquals("3 fruits dans le panier", french.get());
+    }
+
+    /**
+     * Repeatedly localizes a day name with the given locale bound to the current thread.
+     * @param start Start signal.
+     * @param failure First failure.
+     * @param locale Locale to bind.
+     * @param expected Expected localized value.
+     */
+    private static void localize(final CountDownLatch start, final AtomicReference<Throwable> failure, final Locale locale, final String expected)
+    {
+        try
+        {
+            start.await();
+            LocaleContext.run(locale, () -> {
+                for (int i = 0; i < 10_000 && failure.get() == null; i++)
+                {
+                    String value = DayType.MONDAY.getName();
+                    if (!expected.equals(value))
+                    {
+                        failure.compareAndSet(null, new AssertionError(String.format("Expected: '%s' but was: '%s'", expected, value)));
+                    }
+                }
+            });
+        }
+        catch (Throwable e)
+        {
+            failure.compareAndSet(null, e);
+        }
+    }
+}
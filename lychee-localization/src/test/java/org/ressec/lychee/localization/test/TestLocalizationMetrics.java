@@ -0,0 +1,140 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.bundle.*;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * A class for unit testing the {@link LocalizationMetrics} of the {@link ResourceBundleManager}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("metrics")
+final class TestLocalizationMetrics extends BaseUnitTest
+{
+    /**
+     * Resource bundle used by the tests.
+     */
+    private static final String BUNDLE = "i18n/test";
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+        ResourceBundleManager.getInstance().getMetrics().reset();
+        ResourceBundleManager.getInstance().getMetrics().setEnabled(true);
+    }
+
+    @AfterEach
+    final void tearDown()
+    {
+        ResourceBundleManager.getInstance().getMetrics().setEnabled(false);
+        ResourceBundleManager.getInstance().getMetrics().unregisterMBean();
+    }
+
+    @Test
+    @DisplayName("Should estimate the percentiles of the recorded latencies")
+    final void shouldEstimatePercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(Duration.ZERO, histogram.getPercentile(99));
+
+        for (int i = 1; i <= 100; i++)
+        {
+            histogram.record(i * 1_000L);
+        }
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(Duration.ofNanos(100_000), histogram.getMax());
+        Assertions.assertEquals(Duration.ofNanos(50_500), histogram.getMean());
+
+        // Estimates are the upper bound of the power of two bucket the percentile falls in.
+        long median = histogram.getPercentile(50).toNanos();
+        Assertions.assertTrue(median >= 50_000 && median < 100_000);
+        Assertions.assertEquals(Duration.ofNanos(100_000), histogram.getPercentile(100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    @DisplayName("Should count the lookups by resource bundle, language and outcome")
+    final void shouldCountLookups()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        LocalizationMetrics metrics = manager.getMetrics();
+
+        manager.resolve(BUNDLE, "lychee.localization.FRUIT.name", Locale.FRENCH);
+        manager.resolve(BUNDLE, "lychee.localization.FRUIT.name", Locale.FRENCH);
+        manager.resolve(BUNDLE, "lychee.localization.FRUIT.name", Locale.JAPANESE);
+        Assertions.assertThrows(ResourceBundleException.class, () -> manager.resolve(BUNDLE, "lychee.localization.FRUIT.unknown", Locale.FRENCH));
+
+        Assertions.assertEquals(2, metrics.getCount(BUNDLE, Locale.FRENCH, LookupOutcome.HIT));
+        Assertions.assertEquals(1, metrics.getCount(BUNDLE, Locale.FRENCH, LookupOutcome.MISS));
+        Assertions.assertEquals(1, metrics.getCount(BUNDLE, Locale.JAPANESE, LookupOutcome.FALLBACK));
+        Assertions.assertEquals(1, metrics.getFallbackCount());
+        Assertions.assertTrue(metrics.getHistogram(LocalizationTimer.LOAD).getCount() > 0);
+
+        // Disabled metrics are not recorded.
+        metrics.setEnabled(false);
+        manager.resolve(BUNDLE, "lychee.localization.FRUIT.name", Locale.FRENCH);
+        Assertions.assertEquals(2, metrics.getCount(BUNDLE, Locale.FRENCH, LookupOutcome.HIT));
+    }
+
+    @Test
+    @DisplayName("Should export the metrics and expose them through JMX")
+    final void shouldExportMetrics() throws Exception
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        LocalizationMetrics metrics = manager.getMetrics();
+        manager.resolve(BUNDLE, "lychee.localization.FRUIT.name", Locale.ENGLISH);
+
+        Map<String, Long> counters = new HashMap<>();
+        Set<LocalizationTimer> timers = EnumSet.noneOf(LocalizationTimer.class);
+        metrics.export(new MetricsExporter()
+        {
+            @Override
+            public void exportCounter(final @NonNull String bundle, final @NonNull Locale language, final @NonNull LookupOutcome outcome, final long count)
+            {
+                counters.put(bundle + '/' + language + '/' + outcome, count);
+            }
+
+            @Override
+            public void exportHistogram(final @NonNull LocalizationTimer timer, final @NonNull LatencyHistogram histogram)
+            {
+                timers.add(timer);
+            }
+        });
+
+        Assertions.assertEquals(1L, counters.get(BUNDLE + "/en/HIT"));
+        Assertions.assertEquals(0L, counters.get(BUNDLE + "/en/MISS"));
+        Assertions.assertEquals(EnumSet.allOf(LocalizationTimer.class), timers);
+
+        metrics.registerMBean();
+        metrics.registerMBean();
+        ObjectName name = new ObjectName(LocalizationMetrics.OBJECT_NAME);
+        Assertions.assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "HitCount"));
+        Assertions.assertEquals(true, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"));
+        Assertions.assertTrue(metrics.getLatencies().containsKey("load.p99"));
+        Assertions.assertEquals(1L, metrics.getCounters().get(BUNDLE + "#en#hit"));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Localizable;
+import org.ressec.lychee.localization.base.LocalizationException;
+import org.ressec.lychee.localization.base.Localize;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.util.Locale;
+
+/**
+ * A class for unit testing the localization plans used to localize, by reflection, the {@link Localizable} classes
+ * having no generated localizer (local classes are never processed at compile time).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("internal")
+final class TestLocalizationPlan extends BaseUnitTest
+{
+    @BeforeEach
+    void setUp()
+    {
+        ResourceBundleManager.getInstance().setLocale(Locale.ENGLISH);
+    }
+
+    @Test
+    @DisplayName("Should localize the annotated fields of a class having no generated localizer")
+    final void shouldLocalizeUsingPlan()
+    {
+        /**
+         * A localizable object localized by reflection.
+         */
+        final class DayObject implements Localizable
+        {
+            @Getter
+            @Setter
+            private String day;
+
+            @Getter
+            @Setter
+            @Localize(bundle = "i18n/day", key = "day.UPPER(${day}).name")
+            private String dayName;
+
+            @Getter
+            @Setter
+            @Localize(bundle = "i18n/day", key = "day.definition")
+            private Rope definition = new Rope();
+
+            @Getter
+            @Localize
+            private Rope sunday = Rope.from("i18n/day", "day.SUNDAY.name");
+        }
+
+        DayObject day = new DayObject();
+        day.setDay("monday");
+
+        day.localize(Locale.GERMAN);
+        Assertions.assertEquals("Montag", day.getDayName());
+        Assertions.assertEquals("Sonntag", day.getSunday().getValue());
+        Assertions.assertTrue(day.getDefinition().getValue().startsWith("Ein Tag"));
+
+        day.setDay("friday");
+        day.localize(Locale.FRENCH);
+        Assertions.assertEquals("Vendredi", day.getDayName());
+        Assertions.assertEquals("Dimanche", day.getSunday().getValue());
+
+        // The plan is computed once, other instances reuse it.
+        DayObject other = new DayObject();
+        other.setDay("sunday");
+        other.localize(Locale.ENGLISH);
+        Assertions.assertEquals("Sunday", other.getDayName());
+    }
+
+    @Test
+    @DisplayName("Should raise an exception when an annotated field has no setter")
+    final void shouldFailWithoutSetter()
+    {
+        /**
+         * A localizable object whose annotated field has no setter.
+         */
+        final class ReadOnlyObject implements Localizable
+        {
+            @Getter
+            @Localize(bundle = "i18n/day", key = "day.MONDAY.name")
+            private String name;
+        }
+
+        ReadOnlyObject instance = new ReadOnlyObject();
+        Assertions.assertThrows(LocalizationException.class, () -> instance.localize(Locale.FRENCH));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.bundle.LocaleContext;
+import org.ressec.lychee.localization.bundle.LocalizedEnumTable;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+import org.ressec.lychee.localization.type.calendar.DayType;
+import org.ressec.lychee.localization.type.geography.country.CountryType;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * A class for unit testing the {@link LocalizedEnumTable} entity used by the generated enumeration resolvers.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("internal")
+final class TestLocalizedEnumTable extends BaseUnitTest
+{
+    @BeforeEach
+    void setUp()
+    {
+        ResourceBundleManager.getInstance().setLocale(Locale.ENGLISH);
+    }
+
+    @Test
+    @DisplayName("Should resolve the same values through the table as through the resource bundle manager")
+    final void shouldResolveSameValuesAsManager()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+
+        for (int pass = 0; pass < 2; pass++)
+        {
+            for (CountryType country : CountryType.values())
+            {
+                Assertions.assertEquals(
+                        outcome(() -> manager.resolve("i18n/country", "country." + country.name() + ".name", Locale.FRENCH)),
+                        outcome(() -> country.getName(Locale.FRENCH)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should discard the table values when the catalog changes")
+    final void shouldDiscardValuesOnCatalogChange()
+    {
+        Assertions.assertEquals("Lundi", DayType.MONDAY.getName(Locale.FRENCH));
+
+        ResourceBundleManager.getInstance().clear();
+        Assertions.assertEquals("Lundi", DayType.MONDAY.getName(Locale.FRENCH));
+        Assertions.assertEquals("Montag", DayType.MONDAY.getName(Locale.GERMAN));
+    }
+
+    @Test
+    @DisplayName("Should not cache values resolved through a fallback locale")
+    final void shouldNotCacheFallbackValues()
+    {
+        Locale vietnamese = Locale.forLanguageTag("vi");
+
+        Assertions.assertEquals("Lundi", LocaleContext.call(Locale.FRENCH, () -> DayType.MONDAY.getName(vietnamese)));
+        Assertions.assertEquals("Montag", LocaleContext.call(Locale.GERMAN, () -> DayType.MONDAY.getName(vietnamese)));
+    }
+
+    /**
+     * Returns the outcome of a resolution: the localized value or the message of the raised exception.
+     * @param resolution Resolution.
+     * @return Outcome.
+     */
+    private static String outcome(final Supplier<String> resolution)
+    {
+        try
+        {
+            return resolution.get();
+        }
+        catch (ResourceBundleException e)
+        {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.MessageTemplate;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.io.StringWriter;
+import java.text.MessageFormat;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A class for unit testing the {@link MessageTemplate} entity and the message formatting services of the
+ * {@link ResourceBundleManager}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("message")
+final class TestMessageTemplate extends BaseUnitTest
+{
+    /**
+     * Resource bundle containing the messages used by the tests.
+     */
+    private static final String BUNDLE = "i18n/test";
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should format messages the same way as the message format")
+    @ValueSource(strings = {
+            "Plain text",
+            "{0} and {1}",
+            "It''s {0}",
+            "Quoted '{0}' and {1}",
+            "{1,number,#0.00} for {0}",
+            "{1,number,integer} items",
+            "{1,number,percent}",
+            "{1,choice,0#none|1#one|1<{1,number,integer} items} for {0}",
+            "Missing {2} argument"
+    })
+    final void shouldFormatLikeMessageFormat(final String pattern)
+    {
+        for (Locale locale : Arrays.asList(Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN))
+        {
+            for (Object[] arguments : Arrays.asList(new Object[] { "apple", 0 }, new Object[] { "pear", 1 }, new Object[] { "plum", 1234.5 }))
+            {
+                Assertions.assertEquals(
+                        new MessageFormat(pattern, locale).format(arguments),
+                        new MessageTemplate(pattern, locale).format(arguments));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should format messages with named arguments into an appendable")
+    final void shouldFormatNamedArguments()
+    {
+        MessageTemplate message = new MessageTemplate("{count,choice,0#No fruit|1#One fruit|1<{count} fruits} for {name}", Locale.ENGLISH);
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("name", "Alice");
+
+        arguments.put("count", 0);
+        Assertions.assertEquals("No fruit for Alice", message.format(arguments));
+
+        arguments.put("count", 2500);
+        StringWriter writer = message.formatTo(new StringWriter(), arguments);
+        Assertions.assertEquals("2,500 fruits for Alice", writer.toString());
+        Assertions.assertEquals("> One fruit for {name}", message.formatTo(new StringBuilder("> "), Collections.singletonMap("count", 1)).toString());
+
+        Assertions.assertTrue(message.hasArguments());
+        Assertions.assertFalse(new MessageTemplate("Plain text", Locale.ENGLISH).hasArguments());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid message patterns")
+    final void shouldRejectInvalidPatterns()
+    {
+        Assertions.assertThrows(ResourceBundleException.class, () -> new MessageTemplate("{0", Locale.ENGLISH));
+        Assertions.assertThrows(ResourceBundleException.class, () -> new MessageTemplate("0}", Locale.ENGLISH));
+        Assertions.assertThrows(ResourceBundleException.class, () -> new MessageTemplate("{}", Locale.ENGLISH));
+        Assertions.assertThrows(ResourceBundleException.class, () -> new MessageTemplate("{0,unknown}", Locale.ENGLISH));
+    }
+
+    @Test
+    @DisplayName("Should format resource bundle messages compiled once per locale")
+    final void shouldFormatResourceBundleMessages()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("count", 3);
+        arguments.put("basket", "red");
+        Assertions.assertEquals("3 fruits in the red basket", manager.format(BUNDLE, "lychee.localization.FRUIT.count", Locale.ENGLISH, arguments));
+        Assertions.assertEquals("3 fruits dans le panier 'red'", manager.format(BUNDLE, "lychee.localization.FRUIT.count", Locale.FRENCH, arguments));
+        Assertions.assertEquals("L'orange coûte 1,50 euros", manager.format(BUNDLE, "lychee.localization.FRUIT.price", Locale.FRENCH, "orange", 1.5));
+        Assertions.assertEquals("The apple costs 2.00 euros", manager.formatTo(new StringBuilder(), BUNDLE, "lychee.localization.FRUIT.price", Locale.ENGLISH, "apple", 2).toString());
+
+        MessageTemplate message = manager.getMessage(BUNDLE, "lychee.localization.FRUIT.price", Locale.FRENCH);
+        Assertions.assertSame(message, manager.getMessage(BUNDLE, "lychee.localization.FRUIT.price", Locale.FRENCH));
+
+        // Compiled messages are discarded when the registered resource bundles change.
+        manager.clear();
+        Assertions.assertNotSame(message, manager.getMessage(BUNDLE, "lychee.localization.FRUIT.price", Locale.FRENCH));
+    }
+
+    @Test
+    @DisplayName("Should localize ropes carrying message arguments")
+    final void shouldLocalizeRopeWithArguments()
+    {
+        Rope rope = Rope.from(BUNDLE, "lychee.localization.FRUIT.price", "banana", 0.25);
+        rope.localize(Locale.ENGLISH);
+        Assertions.assertEquals("The banana costs 0.25 euros", rope.getValue());
+
+        rope.withArguments("cherry", 3);
+        Assertions.assertEquals("The cherry costs 3.00 euros", rope.getValue());
+
+        rope.localize(Locale.FRENCH);
+        Assertions.assertEquals("L'cherry coûte 3,00 euros", rope.getValue());
+    }
+
+    @Test
+    @DisplayName("Should share a compiled message between threads")
+    final void shouldFormatConcurrently() throws Exception
+    {
+        MessageTemplate message = new MessageTemplate("{0,number,#,##0.00} / {1,date,short}", Locale.FRENCH);
+        Date date = new Date(0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try
+        {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++)
+            {
+                final int offset = thread;
+                results.add(executor.submit(() ->
+                {
+                    for (int i = 0; i < 2_000; i++)
+                    {
+                        double value = offset * 10_000 + i;
+                        String expected = new MessageFormat("{0,number,#,##0.00} / {1,date,short}", Locale.FRENCH).format(new Object[] { value, date });
+                        if (!expected.equals(message.format(value, date)))
+                        {
+                            return false;
+                        }
+                    }
+
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> result : results)
+            {
+                Assertions.assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.PluralCategory;
+import org.ressec.lychee.localization.bundle.PluralRules;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * A class for unit testing the {@link PluralRules} entity and the plural resolution services of the
+ * {@link ResourceBundleManager}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("plural")
+final class TestPluralRules extends BaseUnitTest
+{
+    /**
+     * Resource bundle containing the messages used by the tests.
+     */
+    private static final String BUNDLE = "i18n/test";
+
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("Should select the plural categories of the CLDR samples")
+    final void shouldSelectCldrCategories()
+    {
+        PluralRules english = PluralRules.forLocale(Locale.ENGLISH);
+        Assertions.assertEquals(PluralCategory.ONE, english.select(1));
+        Assertions.assertEquals(PluralCategory.OTHER, english.select(0));
+        Assertions.assertEquals(PluralCategory.OTHER, english.select(101));
+        Assertions.assertEquals(PluralCategory.OTHER, english.select(1.5));
+        Assertions.assertEquals(PluralCategory.ONE, english.select(-1));
+
+        PluralRules french = PluralRules.forLocale(Locale.FRANCE);
+        Assertions.assertEquals(PluralCategory.ONE, french.select(0));
+        Assertions.assertEquals(PluralCategory.ONE, french.select(1.5));
+        Assertions.assertEquals(PluralCategory.OTHER, french.select(2));
+        Assertions.assertEquals(PluralCategory.MANY, french.select(1_000_000));
+        Assertions.assertEquals(PluralCategory.MANY, french.select(BigInteger.TEN.pow(30)));
+        Assertions.assertEquals(PluralCategory.OTHER, french.select(1_000_001));
+
+        PluralRules russian = PluralRules.forLocale(new Locale("ru"));
+        Assertions.assertEquals(PluralCategory.ONE, russian.select(1));
+        Assertions.assertEquals(PluralCategory.FEW, russian.select(2));
+        Assertions.assertEquals(PluralCategory.MANY, russian.select(5));
+        Assertions.assertEquals(PluralCategory.MANY, russian.select(11));
+        Assertions.assertEquals(PluralCategory.ONE, russian.select(21));
+        Assertions.assertEquals(PluralCategory.FEW, russian.select(1_022));
+        Assertions.assertEquals(PluralCategory.MANY, russian.select(112));
+        Assertions.assertEquals(PluralCategory.OTHER, russian.select(1.5));
+        Assertions.assertEquals(PluralCategory.OTHER, russian.select(new BigDecimal("1.0")));
+
+        PluralRules polish = PluralRules.forLocale(new Locale("pl"));
+        Assertions.assertEquals(PluralCategory.FEW, polish.select(22));
+        Assertions.assertEquals(PluralCategory.MANY, polish.select(12));
+
+        PluralRules arabic = PluralRules.forLocale(new Locale("ar"));
+        Assertions.assertEquals(PluralCategory.ZERO, arabic.select(0));
+        Assertions.assertEquals(PluralCategory.TWO, arabic.select(2));
+        Assertions.assertEquals(PluralCategory.FEW, arabic.select(103));
+        Assertions.assertEquals(PluralCategory.MANY, arabic.select(11));
+        Assertions.assertEquals(PluralCategory.OTHER, arabic.select(100));
+
+        Assertions.assertEquals(PluralCategory.MANY, PluralRules.forLocale(new Locale("cs")).select(0.5));
+        Assertions.assertEquals(PluralCategory.FEW, PluralRules.forLocale(new Locale("ro")).select(119));
+        Assertions.assertEquals(PluralCategory.TWO, PluralRules.forLocale(new Locale("he")).select(2));
+        Assertions.assertEquals(PluralCategory.OTHER, PluralRules.forLocale(Locale.JAPANESE).select(1));
+        Assertions.assertEquals(PluralCategory.OTHER, PluralRules.forLocale(new Locale("xx")).select(1));
+        Assertions.assertSame(french, PluralRules.forLocale(Locale.CANADA_FRENCH));
+    }
+
+    @Test
+    @DisplayName("Should select the category of numbers having zero fraction digits")
+    final void shouldSelectCategoryOfZeroFractionDigits()
+    {
+        // one: n = 1 also matches 1.0 and 1.00
+        for (String language : new String[] { "af", "bg", "el", "es", "hu", "no", "sq", "tr" })
+        {
+            PluralRules rules = PluralRules.forLocale(new Locale(language));
+            Assertions.assertEquals(PluralCategory.ONE, rules.select(new BigDecimal("1.0")), language);
+            Assertions.assertEquals(PluralCategory.ONE, rules.select(new BigDecimal("1.00")), language);
+            Assertions.assertEquals(PluralCategory.OTHER, rules.select(new BigDecimal("1.5")), language);
+            Assertions.assertEquals(PluralCategory.OTHER, rules.select(new BigDecimal("2.0")), language);
+        }
+
+        // one: i = 1 and v = 0 does not
+        Assertions.assertEquals(PluralCategory.OTHER, PluralRules.forLocale(Locale.ENGLISH).select(new BigDecimal("1.0")));
+        Assertions.assertEquals(PluralCategory.OTHER, PluralRules.forLocale(Locale.GERMAN).select(new BigDecimal("1.0")));
+        Assertions.assertEquals(PluralCategory.OTHER, PluralRules.forLocale(Locale.ITALIAN).select(new BigDecimal("1.0")));
+
+        // one: n = 1 or t != 0 and i = 0,1
+        PluralRules danish = PluralRules.forLocale(new Locale("da"));
+        Assertions.assertEquals(PluralCategory.ONE, danish.select(new BigDecimal("1.0")));
+        Assertions.assertEquals(PluralCategory.ONE, danish.select(new BigDecimal("0.5")));
+        Assertions.assertEquals(PluralCategory.OTHER, danish.select(new BigDecimal("0.0")));
+    }
+
+    @Test
+    @DisplayName("Should resolve and format the plural forms of a resource bundle entry")
+    final void shouldResolvePluralForms()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+
+        Assertions.assertEquals("{0,number,integer} fruit in the basket", manager.resolvePlural(BUNDLE, "lychee.localization.FRUIT.basket", Locale.ENGLISH, 1));
+        Assertions.assertEquals("1 fruit in the basket", manager.formatPlural(BUNDLE, "lychee.localization.FRUIT.basket", Locale.ENGLISH, 1));
+        Assertions.assertEquals("2,500 fruits in the basket", manager.formatPlural(BUNDLE, "lychee.localization.FRUIT.basket", Locale.ENGLISH, 2_500));
+        Assertions.assertEquals("0 fruit dans le panier", manager.formatPlural(BUNDLE, "lychee.localization.FRUIT.basket", Locale.FRENCH, 0));
+        Assertions.assertTrue(manager.formatPlural(BUNDLE, "lychee.localization.FRUIT.basket", Locale.FRENCH, 1_000_000).endsWith(" de fruits dans le panier"));
+
+        // Missing categories fall back to the 'other' category, then to the entry itself.
+        Assertions.assertEquals("{0,number,integer} fruits in the basket", manager.resolvePlural(BUNDLE, "lychee.localization.FRUIT.basket", Locale.ENGLISH, 1_000_000));
+        Assertions.assertEquals("Fruit", manager.resolvePlural(BUNDLE, "lychee.localization.FRUIT.name", Locale.ENGLISH, 3));
+    }
+
+    @Test
+    @DisplayName("Should localize ropes carrying a quantity")
+    final void shouldLocalizeRopeWithQuantity()
+    {
+        Rope rope = Rope.plural(BUNDLE, "lychee.localization.FRUIT.basket", 1);
+        rope.localize(Locale.ENGLISH);
+        Assertions.assertEquals("1 fruit in the basket", rope.getValue());
+
+        rope.withQuantity(3);
+        Assertions.assertEquals("3 fruits in the basket", rope.getValue());
+
+        rope.localize(Locale.FRENCH);
+        Assertions.assertEquals("3 fruits dans le panier", rope.getValue());
+
+        rope = Rope.builder()
+                .withBundle(BUNDLE)
+                .withKey("lychee.localization.FRUIT.basket")
+                .withQuantity(1_000_000)
+                .build();
+        rope.localize(Locale.ENGLISH);
+        Assertions.assertEquals("1,000,000 fruits in the basket", rope.getValue());
+    }
+}
@@ -20,8 +20,7 @@ import org.ressec.lychee.localization.bundle.ResourceBundleException;
 import org.ressec.lychee.localization.bundle.ResourceBundleManager;
 import org.ressec.lychee.translation.base.TranslationException;
 
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
 
 /**
  * A class for unit testing the {@link ResourceBundleManager} entity.
@@ -267,6 +266,88 @@ final class TestResourceBundleManager extends BaseUnitTest
                         Locale.FRANCE));
     }
 
+    /**
+     * This test should rebuild the resource bundle entries lookup index when the resource bundles are cleared and loaded.
+     * Test the {@link ResourceBundleManager#clear()} and {@link ResourceBundleManager#load(String)} services.
+     */
+    @Test
+    @DisplayName("Should rebuild the lookup index when resource bundles are cleared and loaded")
+    @Tag("ResourceBundleManager")
+    final void shouldRebuildLookupIndexWhenClearedAndLoaded()
+    {
+        ResourceBundleManager.getInstance().load(RESOURCE_BUNDLE_NAME);
+        Assertions.assertEquals("Sonntag", ResourceBundleManager.getInstance().get("day.SUNDAY.name", Locale.GERMANY));
+
+        ResourceBundleManager.getInstance().clear();
+        Assertions.assertThrows(ResourceBundleException.class, () ->
+                ResourceBundleManager.getInstance().get("day.SUNDAY.name", Locale.GERMANY));
+
+        ResourceBundleManager.getInstance().load(RESOURCE_BUNDLE_NAME);
+        Assertions.assertEquals("Sonntag", ResourceBundleManager.getInstance().get("day.SUNDAY.name", Locale.GERMANY));
+    }
+
+    /**
+     * This test should resolve resource bundle values of unsupported locales through their fallback chain.
+     * Test the {@link ResourceBundleManager#resolve(String, String, Locale)} service.
+     */
+    @Test
+    @DisplayName("Should resolve values of unsupported locales through their fallback chain")
+    @Tag("ResourceBundleManager")
+    final void shouldResolveThroughFallbackChain()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        Locale unsupported = Locale.forLanguageTag("vi-VN");
+
+        Assertions.assertEquals("Lundi", manager.resolve(RESOURCE_BUNDLE_NAME, "day.MONDAY.name", Locale.CANADA_FRENCH));
+        for (int i = 0; i < 3; i++)
+        {
+            // Memoized after the first resolution.
+            Assertions.assertEquals("Lundi", manager.resolve(RESOURCE_BUNDLE_NAME, "day.MONDAY.name", unsupported));
+        }
+
+        // The fallback chain depends on the current locale.
+        manager.setLocale(Locale.GERMAN);
+        Assertions.assertEquals("Montag", manager.resolve(RESOURCE_BUNDLE_NAME, "day.MONDAY.name", unsupported));
+
+        manager.clear();
+        Assertions.assertEquals("Montag", manager.resolve(RESOURCE_BUNDLE_NAME, "day.MONDAY.name", unsupported));
+        Assertions.assertThrows(ResourceBundleException.class, () -> manager.resolve(RESOURCE_BUNDLE_NAME, "day.UNKNOWN.name", unsupported));
+    }
+
+    /**
+     * This test should resolve several keys or several locales in one call, the same way as single resolutions.
+     * Test the {@link ResourceBundleManager#resolve(String, List, Locale)},
+     * {@link ResourceBundleManager#resolvePrefix(String, String, Locale)} and
+     * {@link ResourceBundleManager#resolve(String, String, java.util.Collection)} services.
+     */
+    @Test
+    @DisplayName("Should resolve several keys or several locales in one call")
+    @Tag("ResourceBundleManager")
+    final void shouldResolveInBatch()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        List<String> keys = Arrays.asList("day.MONDAY.name", "day.SUNDAY.name", "day.FRIDAY.name");
+        Locale unsupported = Locale.forLanguageTag("vi");
+
+        String[] values = manager.resolve(RESOURCE_BUNDLE_NAME, keys, unsupported);
+        for (int i = 0; i < keys.size(); i++)
+        {
+            Assertions.assertEquals(manager.resolve(RESOURCE_BUNDLE_NAME, keys.get(i), unsupported), values[i]);
+        }
+
+        Map<String, String> prefixed = manager.resolvePrefix(RESOURCE_BUNDLE_NAME, "day.MONDAY.", Locale.GERMAN);
+        Assertions.assertFalse(prefixed.isEmpty());
+        Assertions.assertEquals("Montag", prefixed.get("day.MONDAY.name"));
+        prefixed.forEach((key, value) -> Assertions.assertEquals(manager.resolve(RESOURCE_BUNDLE_NAME, key, Locale.GERMAN), value));
+
+        List<Locale> locales = Arrays.asList(Locale.GERMAN, Locale.CANADA_FRENCH, unsupported, Locale.ITALIAN);
+        Map<Locale, String> translations = manager.resolve(RESOURCE_BUNDLE_NAME, "day.MONDAY.name", locales);
+        Assertions.assertEquals(locales, new ArrayList<>(translations.keySet()));
+        locales.forEach(locale -> Assertions.assertEquals(manager.resolve(RESOURCE_BUNDLE_NAME, "day.MONDAY.name", locale), translations.get(locale)));
+
+        Assertions.assertThrows(ResourceBundleException.class, () -> manager.resolve(RESOURCE_BUNDLE_NAME, Collections.singletonList("day.UNKNOWN.name"), Locale.FRENCH));
+    }
+
     /**
      * This test should raise an exception when trying to get a non-existing resource bundle key.
      * Test the {@link ResourceBundleManager#get(String, String, Locale)} service.
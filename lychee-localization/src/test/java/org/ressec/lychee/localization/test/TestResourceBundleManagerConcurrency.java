@@ -0,0 +1,247 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.bundle.ResourceBundleException;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+import org.ressec.lychee.localization.type.calendar.DayType;
+import org.ressec.lychee.localization.type.calendar.MonthType;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A class for stress testing the {@link ResourceBundleManager} entity while being concurrently accessed by readers
+ * and writers.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("concurrency")
+final class TestResourceBundleManagerConcurrency extends BaseUnitTest
+{
+    /**
+     * Resource bundle names used by the stress tests.
+     */
+    private static final List<String> BUNDLES = Arrays.asList("i18n/day", "i18n/month");
+
+    /**
+     * Languages used by the stress tests.
+     */
+    private static final List<Locale> LANGUAGES = Arrays.asList(
+            Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN, Locale.ITALIAN, Locale.forLanguageTag("es"));
+
+    /**
+     * Number of reader threads.
+     */
+    private static final int READERS = 8;
+
+    /**
+     * Number of iterations per thread.
+     */
+    private static final int ITERATIONS = 2_000;
+
+    /**
+     * Expected values (k = bundle/key/language, v = value) computed single threaded before the stress tests.
+     */
+    private final Map<List<Object>, String> expected = new HashMap<>();
+
+    @BeforeEach
+    void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+        ResourceBundleManager.getInstance().setLocale(Locale.ENGLISH);
+
+        for (Locale language : LANGUAGES)
+        {
+            for (DayType day : DayType.values())
+            {
+                expected.put(Arrays.asList(BUNDLES.get(0), "day." + day + ".name", language), day.getName(language));
+            }
+
+            for (MonthType month : MonthType.values())
+            {
+                expected.put(Arrays.asList(BUNDLES.get(1), "month." + month + ".name", language), month.getName(language));
+            }
+        }
+
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("Should return consistent values while resource bundles are concurrently loaded")
+    final void shouldReadConsistentValuesWhileLoading() throws InterruptedException
+    {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        run(failure, false);
+
+        Assertions.assertNull(failure.get(), () -> "Unexpected failure: " + failure.get());
+        Assertions.assertEquals(28, ResourceBundleManager.getInstance().getLocalesCount(BUNDLES.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should never return a wrong value while resource bundles are concurrently loaded and cleared")
+    final void shouldReadConsistentValuesWhileLoadingAndClearing() throws InterruptedException
+    {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        run(failure, true);
+
+        Assertions.assertNull(failure.get(), () -> "Unexpected failure: " + failure.get());
+
+        // Once the writers are stopped, the manager must be in a consistent state.
+        ResourceBundleManager.getInstance().load(BUNDLES.get(0));
+        Assertions.assertEquals(28, ResourceBundleManager.getInstance().getLocalesCount(BUNDLES.get(0)));
+        expected.forEach((entry, value) -> Assertions.assertEquals(value, ResourceBundleManager.getInstance()
+                .resolve((String) entry.get(0), (String) entry.get(1), (Locale) entry.get(2))));
+    }
+
+    @Test
+    @DisplayName("Should serve concurrent identical loading requests once and remember the missing resource bundles")
+    final void shouldServeConcurrentLoadingRequestsOnce() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            for (int i = 0; i < READERS; i++)
+            {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ResourceBundleManager.getInstance().load(BUNDLES.get(0));
+                    return ResourceBundleManager.getInstance().resolve(BUNDLES.get(0), "day.MONDAY.name", Locale.FRENCH);
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                Assertions.assertEquals("Lundi", future.get(1, TimeUnit.MINUTES));
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(28, ResourceBundleManager.getInstance().getLocalesCount(BUNDLES.get(0)));
+
+        // Negative entries: a missing resource bundle keeps being reported as missing.
+        for (int i = 0; i < 2; i++)
+        {
+            Assertions.assertThrows(ResourceBundleException.class, () -> ResourceBundleManager.getInstance().load("i18n/unknown"));
+            Assertions.assertThrows(ResourceBundleException.class, () -> ResourceBundleManager.getInstance().load("i18n/unknown", Locale.FRENCH));
+        }
+    }
+
+    /**
+     * Runs the readers and the writers concurrently.
+     * @param failure First unexpected failure.
+     * @param clear Should the writers also clear the resource bundles?
+     * @throws InterruptedException Thrown in case the test is interrupted.
+     */
+    private void run(final AtomicReference<Throwable> failure, final boolean clear) throws InterruptedException
+    {
+        List<List<Object>> entries = new ArrayList<>(expected.keySet());
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger(READERS);
+
+        try
+        {
+            for (int i = 0; i < READERS; i++)
+            {
+                final int seed = i;
+                executor.execute(() -> {
+                    try
+                    {
+                        start.await();
+                        Random random = new Random(seed);
+                        for (int n = 0; n < ITERATIONS && failure.get() == null; n++)
+                        {
+                            List<Object> entry = entries.get(random.nextInt(entries.size()));
+                            try
+                            {
+                                String value = ResourceBundleManager.getInstance()
+                                        .resolve((String) entry.get(0), (String) entry.get(1), (Locale) entry.get(2));
+                                if (!expected.get(entry).equals(value))
+                                {
+                                    failure.compareAndSet(null, new AssertionError(String.format(
+                                            "Expected: '%s' but was: '%s' for: %s", expected.get(entry), value, entry)));
+                                }
+                            }
+                            catch (ResourceBundleException e)
+                            {
+                                // Only acceptable while resource bundles are being cleared.
+                                if (!clear)
+                                {
+                                    failure.compareAndSet(null, e);
+                                }
+                            }
+                        }
+                    }
+                    catch (Throwable e)
+                    {
+                        failure.compareAndSet(null, e);
+                    }
+                    finally
+                    {
+                        running.decrementAndGet();
+                    }
+                });
+            }
+
+            for (String bundle : BUNDLES)
+            {
+                executor.execute(() -> {
+                    try
+                    {
+                        start.await();
+                        while (running.get() > 0 && failure.get() == null)
+                        {
+                            if (clear)
+                            {
+                                ResourceBundleManager.getInstance().clear();
+                            }
+
+                            ResourceBundleManager.getInstance().load(bundle);
+                        }
+                    }
+                    catch (Throwable e)
+                    {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+            }
+
+            start.countDown();
+        }
+        finally
+        {
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Stress test did not complete in time!");
+        }
+    }
+}
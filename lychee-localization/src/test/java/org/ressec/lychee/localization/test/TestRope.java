@@ -16,6 +16,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.ressec.avocado.core.junit.BaseUnitTest;
 import org.ressec.lychee.localization.base.Rope;
+import org.ressec.lychee.localization.bundle.LocalizationMetrics;
 import org.ressec.lychee.localization.bundle.ResourceBundleManager;
 import org.ressec.lychee.translation.base.TranslationException;
 
@@ -166,6 +167,53 @@ final class TestRope extends BaseUnitTest
                 text.getValue());
     }
 
+    @Test
+    @DisplayName("Should switch back to an already seen locale without resolving the value again")
+    final void shouldSwitchLocalesUsingCache()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+        LocalizationMetrics metrics = manager.getMetrics();
+        Rope element = Rope.from("i18n/test", TEST_BUNDLE_ENTRY_KEY_NAME);
+        element.localize(Locale.GERMAN);
+        element.localize(Locale.FRENCH);
+
+        metrics.reset();
+        metrics.setEnabled(true);
+        try
+        {
+            element.localize(Locale.GERMAN);
+            Assertions.assertEquals("Obst", element.getValue());
+            element.localize(Locale.FRENCH);
+            Assertions.assertEquals("Fruit", element.getValue());
+            Assertions.assertEquals(0, metrics.getHitCount() + metrics.getFallbackCount() + metrics.getMissCount());
+
+            // A catalog change discards the cached values.
+            manager.clear();
+            element.localize(Locale.GERMAN);
+            Assertions.assertEquals("Obst", element.getValue());
+            Assertions.assertTrue(metrics.getHitCount() > 0);
+        }
+        finally
+        {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache a value the localization did not assign")
+    final void shouldNotCacheUnresolvedValue()
+    {
+        Rope element = new Rope(null, "lychee.localization.UNKNOWN.name", "first");
+        element.localize(Locale.ENGLISH);
+        Assertions.assertEquals("first", element.getValue());
+
+        element.setValue("second");
+        element.localize(Locale.GERMAN);
+        element.localize(Locale.ENGLISH);
+        Assertions.assertEquals("second", element.getValue());
+    }
+
     @Test
     @DisplayName("Should translate the given text")
     final void shouldTranslateGivenText() throws TranslationException
@@ -0,0 +1,78 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.localization.test;
+
+import org.junit.jupiter.api.*;
+import org.ressec.avocado.core.junit.BaseUnitTest;
+import org.ressec.lychee.localization.bundle.ResourceBundleManager;
+import org.ressec.lychee.localization.bundle.WarmUp;
+import org.ressec.lychee.localization.bundle.WarmUpOptions;
+import org.ressec.lychee.localization.type.calendar.DayType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A class for unit testing the warm-up services of the {@link ResourceBundleManager}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("warm-up")
+final class TestWarmUp extends BaseUnitTest
+{
+    @BeforeEach
+    final void setUp()
+    {
+        ResourceBundleManager.getInstance().clear();
+    }
+
+    @Test
+    @DisplayName("Should load the resource bundles and pre-resolve the enumerations while blocking")
+    final void shouldWarmUpBlocking()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+
+        WarmUp warmUp = manager.warmUp(WarmUpOptions.builder()
+                .withLocales(Arrays.asList(Locale.ENGLISH, Locale.FRANCE, Locale.GERMAN))
+                .withParallelism(2)
+                .build()).await();
+
+        Assertions.assertTrue(warmUp.isDone());
+        Assertions.assertTrue(warmUp.isReady());
+        Assertions.assertSame(warmUp, manager.getWarmUp().orElse(null));
+        Assertions.assertTrue(warmUp.getBundleCount() > 0);
+        Assertions.assertEquals(warmUp.getBundleCount(), warmUp.getLoadedBundleCount() + warmUp.getFailedBundleCount());
+        Assertions.assertTrue(warmUp.getResolvedValueCount() > 0);
+        Assertions.assertTrue(manager.existLocale("i18n/day", Locale.FRENCH));
+        Assertions.assertTrue(manager.existLocale("i18n/month", Locale.GERMAN));
+        Assertions.assertEquals("Dimanche", DayType.SUNDAY.getName(Locale.FRENCH));
+    }
+
+    @Test
+    @DisplayName("Should warm up in the background and report its readiness")
+    final void shouldWarmUpInBackground()
+    {
+        ResourceBundleManager manager = ResourceBundleManager.getInstance();
+
+        WarmUp warmUp = manager.warmUp();
+        Assertions.assertTrue(warmUp.await(Duration.ofMinutes(1)));
+        Assertions.assertTrue(warmUp.isReady());
+        Assertions.assertTrue(warmUp.toCompletableFuture().isDone());
+        Assertions.assertTrue(manager.existLocale("i18n/day", Locale.ITALIAN));
+
+        // A second warm-up finds the resource bundles already loaded.
+        WarmUp second = manager.warmUp(WarmUpOptions.defaults()).await();
+        Assertions.assertEquals(warmUp.getLoadedBundleCount(), second.getLoadedBundleCount());
+    }
+}
@@ -0,0 +1,640 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor generating, at compile time, a static resolver class for each class having methods and/or
+ * fields annotated with the {@code Localize} annotation.
+ * <p>
+ * For a class named {@code CountryType}, a {@code CountryTypeLocalizer} class is generated in the same package. It
+ * provides one static method per annotated method, named after it, directly invoking the resource bundle manager
+ * with the bundle and key templates pre-split into their literal and variable parts. When the class implements the
+ * {@code Localizable} interface, the generated class also implements the {@code Localizer} interface to localize its
+ * annotated fields, so that neither stack walking nor reflection is needed at runtime.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@SupportedAnnotationTypes(LocalizeProcessor.LOCALIZE)
+public final class LocalizeProcessor extends AbstractProcessor
+{
+    /**
+     * Localize annotation class name.
+     */
+    static final String LOCALIZE = "org.ressec.lychee.localization.base.Localize";
+
+    /**
+     * Localizable interface class name.
+     */
+    private static final String LOCALIZABLE = "org.ressec.lychee.localization.base.Localizable";
+
+    /**
+     * Localizer interface class name.
+     */
+    private static final String LOCALIZER = "org.ressec.lychee.localization.base.Localizer";
+
+    /**
+     * Rope class name.
+     */
+    private static final String ROPE = "org.ressec.lychee.localization.base.Rope";
+
+    /**
+     * Resource bundle manager class name.
+     */
+    private static final String MANAGER = "org.ressec.lychee.localization.bundle.ResourceBundleManager";
+
+    /**
+     * Localized enumeration table class name.
+     */
+    private static final String TABLE = "org.ressec.lychee.localization.bundle.LocalizedEnumTable";
+
+    /**
+     * Generated class name suffix.
+     */
+    static final String SUFFIX = "Localizer";
+
+    /**
+     * Template variable referencing the instance itself.
+     */
+    private static final String VARIABLE_THIS = "this";
+
+    /**
+     * Name of the instance parameter in the generated methods.
+     */
+    private static final String INSTANCE = "instance";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment environment)
+    {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(LOCALIZE);
+        if (annotation == null)
+        {
+            return false;
+        }
+
+        Map<TypeElement, List<Element>> types = new LinkedHashMap<>();
+        for (Element element : environment.getElementsAnnotatedWith(annotation))
+        {
+            if (element.getKind() == ElementKind.METHOD || element.getKind() == ElementKind.FIELD)
+            {
+                types.computeIfAbsent((TypeElement) element.getEnclosingElement(), type -> new ArrayList<>()).add(element);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<Element>> entry : types.entrySet())
+        {
+            generate(entry.getKey(), entry.getValue());
+        }
+
+        return false;
+    }
+
+    /**
+     * Generates the resolver class of a type.
+     * @param type Type containing annotated elements.
+     * @param elements Annotated elements.
+     */
+    private void generate(final TypeElement type, final List<Element> elements)
+    {
+        if (type.getNestingKind() == NestingKind.ANONYMOUS || type.getNestingKind() == NestingKind.LOCAL)
+        {
+            warning(type, "Class: '%s' is a local or anonymous class, its elements annotated with: '%s' are resolved at runtime!", type, LOCALIZE);
+            return;
+        }
+
+        if (type.getModifiers().contains(Modifier.PRIVATE))
+        {
+            error(type, "Class: '%s' containing elements annotated with: '%s' cannot be private!", type.getQualifiedName(), LOCALIZE);
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String className = getLocalizerName(type);
+        String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        boolean localizable = isLocalizable(type);
+
+        StringBuilder body = new StringBuilder();
+        Set<String> names = new HashSet<>();
+        List<VariableElement> fields = new ArrayList<>();
+        boolean valid = true;
+
+        for (Element element : elements)
+        {
+            if (element.getKind() == ElementKind.FIELD)
+            {
+                if (localizable)
+                {
+                    fields.add((VariableElement) element);
+                }
+                else
+                {
+                    warning(element, "Field: '%s' of class: '%s' is ignored as the class does not implement: '%s'!",
+                            element.getSimpleName(), type.getQualifiedName(), LOCALIZABLE);
+                }
+            }
+            else if (!names.add(element.getSimpleName().toString()))
+            {
+                error(element, "Method: '%s' of class: '%s' cannot be annotated more than once with: '%s'!",
+                        element.getSimpleName(), type.getQualifiedName(), LOCALIZE);
+                valid = false;
+            }
+            else
+            {
+                valid &= generateMethod(body, type, typeName, (ExecutableElement) element);
+            }
+        }
+
+        if (!fields.isEmpty())
+        {
+            valid &= generateLocalize(body, type, typeName, fields);
+        }
+
+        if (valid)
+        {
+            write(type, elements, packageName, className, typeName, !fields.isEmpty(), body);
+        }
+    }
+
+    /**
+     * Generates the static resolver method of an annotated method.
+     * @param body Generated class body.
+     * @param type Type containing the method.
+     * @param typeName Type name.
+     * @param method Annotated method.
+     * @return True if the method has been generated, false otherwise.
+     */
+    private boolean generateMethod(final StringBuilder body, final TypeElement type, final String typeName, final ExecutableElement method)
+    {
+        boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+        Optional<String[]> templates = getTemplates(type, method, isStatic);
+        if (templates.isEmpty())
+        {
+            return false;
+        }
+
+        String resolution;
+        if (!isStatic && type.getKind() == ElementKind.ENUM)
+        {
+            // Enumeration constants are resolved through an ordinal indexed table of localized values.
+            String table = getConstantName(method.getSimpleName().toString());
+            body.append("    /**\n")
+                    .append("     * Localized values of: {@link ").append(type.getQualifiedName()).append('#')
+                    .append(method.getSimpleName()).append("}.\n")
+                    .append("     */\n")
+                    .append("    private static final ").append(TABLE).append('<').append(typeName).append("> ").append(table)
+                    .append(" = new ").append(TABLE).append("<>(").append(typeName).append(".class,\n")
+                    .append("            ").append(INSTANCE).append(" -> ").append(templates.get()[0]).append(",\n")
+                    .append("            ").append(INSTANCE).append(" -> ").append(templates.get()[1]).append(");\n\n");
+            resolution = table + ".get(" + INSTANCE + ", locale)";
+        }
+        else
+        {
+            resolution = getResolution(templates.get(), "resolve");
+        }
+
+        body.append("    /**\n")
+                .append("     * Resolves the localized value of: {@link ").append(type.getQualifiedName()).append('#')
+                .append(method.getSimpleName()).append("}.\n");
+        if (!isStatic)
+        {
+            body.append("     * @param instance Object instance.\n");
+        }
+        body.append("     * @param locale Locale.\n")
+                .append("     * @return Localized value.\n")
+                .append("     */\n")
+                .append("    public static String ").append(method.getSimpleName()).append('(')
+                .append(isStatic ? "" : "final " + typeName + " " + INSTANCE + ", ")
+                .append("final java.util.Locale locale)\n")
+                .append("    {\n")
+                .append("        return ").append(resolution).append(";\n")
+                .append("    }\n\n");
+
+        return true;
+    }
+
+    /**
+     * Generates the {@code Localizer#localize} method localizing the annotated fields.
+     * @param body Generated class body.
+     * @param type Type containing the fields.
+     * @param typeName Type name.
+     * @param fields Annotated fields.
+     * @return True if the method has been generated, false otherwise.
+     */
+    private boolean generateLocalize(final StringBuilder body, final TypeElement type, final String typeName, final List<VariableElement> fields)
+    {
+        StringBuilder statements = new StringBuilder();
+        boolean valid = true;
+
+        for (VariableElement field : fields)
+        {
+            String name = field.getSimpleName().toString();
+
+            if (field.getModifiers().contains(Modifier.STATIC))
+            {
+                error(field, "Field: '%s' of class: '%s' annotated with: '%s' cannot be static!", name, type.getQualifiedName(), LOCALIZE);
+                valid = false;
+            }
+            else if (isType(field.asType(), String.class.getName()))
+            {
+                Optional<String> resolution = getResolution(type, field, false, "resolve");
+                if (resolution.isPresent())
+                {
+                    statements.append("        ").append(getWriteAccessor(type, field, resolution.get())).append(";\n");
+                }
+                valid &= resolution.isPresent();
+            }
+            else if (isType(field.asType(), ROPE))
+            {
+                Optional<String> resolution = getResolution(type, field, false, "get");
+                if (resolution.isPresent())
+                {
+                    statements.append("\n        ").append(ROPE).append(' ').append(name).append(" = ")
+                            .append(getReadAccessor(type, field)).append(";\n")
+                            .append("        if (").append(name).append(" != null)\n")
+                            .append("        {\n")
+                            .append("            if (").append(name).append(".getBundle() != null && ").append(name).append(".getKey() != null)\n")
+                            .append("            {\n")
+                            .append("                ").append(MANAGER).append(".getInstance().resolveRope(").append(name).append(", ")
+                            .append(INSTANCE).append(", locale);\n")
+                            .append("            }\n")
+                            .append("            else\n")
+                            .append("            {\n")
+                            .append("                ").append(name).append(".setValue(").append(resolution.get()).append(");\n")
+                            .append("            }\n")
+                            .append("        }\n");
+                }
+                valid &= resolution.isPresent();
+            }
+            else
+            {
+                error(field, "Field: '%s' of class: '%s' annotated with: '%s' must be of type: '%s' or: '%s'!",
+                        name, type.getQualifiedName(), LOCALIZE, String.class.getName(), ROPE);
+                valid = false;
+            }
+        }
+
+        body.append("    @Override\n")
+                .append("    public void localize(final ").append(typeName).append(' ').append(INSTANCE)
+                .append(", final java.util.Locale locale)\n")
+                .append("    {\n")
+                .append(statements)
+                .append("    }\n\n");
+
+        return valid;
+    }
+
+    /**
+     * Returns the Java expression resolving the localized value of an annotated element.
+     * @param type Type containing the element.
+     * @param element Annotated element.
+     * @param isStatic Is the element static (no instance available to expand the variables)?
+     * @param service Resource bundle manager service to invoke.
+     * @return Optional Java expression, empty if the annotation is invalid.
+     */
+    private Optional<String> getResolution(final TypeElement type, final Element element, final boolean isStatic, final String service)
+    {
+        return getTemplates(type, element, isStatic).map(templates -> getResolution(templates, service));
+    }
+
+    /**
+     * Returns the Java expression resolving a localized value.
+     * @param templates Java expressions expanding the bundle and the key templates.
+     * @param service Resource bundle manager service to invoke.
+     * @return Java expression.
+     */
+    private String getResolution(final String[] templates, final String service)
+    {
+        return MANAGER + ".getInstance()." + service + "(" + templates[0] + ", " + templates[1] + ", locale)";
+    }
+
+    /**
+     * Returns the Java expressions expanding the bundle and the key templates of an annotated element.
+     * @param type Type containing the element.
+     * @param element Annotated element.
+     * @param isStatic Is the element static (no instance available to expand the variables)?
+     * @return Optional Java expressions (bundle, key), empty if the annotation is invalid.
+     */
+    private Optional<String[]> getTemplates(final TypeElement type, final Element element, final boolean isStatic)
+    {
+        String kind = element.getKind() == ElementKind.FIELD ? "Field" : "Method";
+        String bundle = getAnnotationValue(element, "bundle");
+        String key = getAnnotationValue(element, "key");
+
+        if (key.isEmpty() || bundle.isEmpty())
+        {
+            error(element, "%s: '%s' of class: '%s' annotated with: '%s' must have the property: '%s' set!",
+                    kind, element.getSimpleName(), type.getQualifiedName(), LOCALIZE, key.isEmpty() ? "key" : "bundle");
+            return Optional.empty();
+        }
+
+        try
+        {
+            LocalizeTemplate bundleTemplate = LocalizeTemplate.parse(bundle);
+            LocalizeTemplate keyTemplate = LocalizeTemplate.parse(key);
+
+            List<String> variables = new ArrayList<>(bundleTemplate.getVariables());
+            variables.addAll(keyTemplate.getVariables());
+            for (String variable : variables)
+            {
+                if (isStatic)
+                {
+                    error(element, "%s: '%s' of class: '%s' is static and cannot use variable: '${%s}'!",
+                            kind, element.getSimpleName(), type.getQualifiedName(), variable);
+                    return Optional.empty();
+                }
+
+                if (!VARIABLE_THIS.equals(variable) && findField(type, variable) == null)
+                {
+                    error(element, "%s: '%s' of class: '%s' uses variable: '${%s}' not matching any field!",
+                            kind, element.getSimpleName(), type.getQualifiedName(), variable);
+                    return Optional.empty();
+                }
+            }
+
+            return Optional.of(new String[] {
+                    bundleTemplate.toExpression(variable -> getVariableAccessor(type, variable)),
+                    keyTemplate.toExpression(variable -> getVariableAccessor(type, variable)) });
+        }
+        catch (IllegalArgumentException e)
+        {
+            error(element, "%s: '%s' of class: '%s' has an invalid '%s' annotation: %s",
+                    kind, element.getSimpleName(), type.getQualifiedName(), LOCALIZE, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the Java expression accessing the value of a template variable.
+     * @param type Type containing the variable.
+     * @param variable Variable name.
+     * @return Java expression.
+     */
+    private String getVariableAccessor(final TypeElement type, final String variable)
+    {
+        return VARIABLE_THIS.equals(variable) ? INSTANCE : getReadAccessor(type, findField(type, variable));
+    }
+
+    /**
+     * Returns the Java expression reading the value of a field (directly or through its getter if it is private).
+     * @param type Type using the field.
+     * @param field Field.
+     * @return Java expression.
+     */
+    private String getReadAccessor(final TypeElement type, final VariableElement field)
+    {
+        String name = field.getSimpleName().toString();
+        if (isAccessible(type, field))
+        {
+            return INSTANCE + "." + name;
+        }
+
+        String prefix = field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get";
+        return INSTANCE + "." + prefix + capitalize(name) + "()";
+    }
+
+    /**
+     * Returns the Java statement writing the value of a field (directly or through its setter if it is private).
+     * @param type Type using the field.
+     * @param field Field.
+     * @param value Java expression of the value to write.
+     * @return Java statement.
+     */
+    private String getWriteAccessor(final TypeElement type, final VariableElement field, final String value)
+    {
+        String name = field.getSimpleName().toString();
+        if (isAccessible(type, field) && !field.getModifiers().contains(Modifier.FINAL))
+        {
+            return INSTANCE + "." + name + " = " + value;
+        }
+
+        return INSTANCE + ".set" + capitalize(name) + "(" + value + ")";
+    }
+
+    /**
+     * Checks if a field can be directly accessed by the generated class (located in the package of the given type).
+     * @param type Type.
+     * @param field Field.
+     * @return True if the field is accessible, false otherwise.
+     */
+    private boolean isAccessible(final TypeElement type, final VariableElement field)
+    {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE))
+        {
+            return false;
+        }
+
+        return modifiers.contains(Modifier.PUBLIC) || processingEnv.getElementUtils().getPackageOf(field)
+                .equals(processingEnv.getElementUtils().getPackageOf(type));
+    }
+
+    /**
+     * Finds a field in the class hierarchy of the given type.
+     * @param type Type.
+     * @param name Field name.
+     * @return Field or {@code null} if not found.
+     */
+    private VariableElement findField(final TypeElement type, final String name)
+    {
+        TypeElement current = type;
+        while (current != null)
+        {
+            for (Element element : current.getEnclosedElements())
+            {
+                if (element.getKind() == ElementKind.FIELD && element.getSimpleName().contentEquals(name))
+                {
+                    return (VariableElement) element;
+                }
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the value of a {@code Localize} annotation property.
+     * @param element Annotated element.
+     * @param property Property name.
+     * @return Property value.
+     */
+    private String getAnnotationValue(final Element element, final String property)
+    {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors())
+        {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(LOCALIZE))
+            {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                        : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet())
+                {
+                    if (entry.getKey().getSimpleName().contentEquals(property))
+                    {
+                        return String.valueOf(entry.getValue().getValue());
+                    }
+                }
+            }
+        }
+
+        return "";
+    }
+
+    /**
+     * Checks if a type implements the {@code Localizable} interface.
+     * @param type Type.
+     * @return True if the type is localizable, false otherwise.
+     */
+    private boolean isLocalizable(final TypeElement type)
+    {
+        TypeElement localizable = processingEnv.getElementUtils().getTypeElement(LOCALIZABLE);
+        return localizable != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type.asType()),
+                processingEnv.getTypeUtils().erasure(localizable.asType()));
+    }
+
+    /**
+     * Checks if a type mirror represents the given class.
+     * @param mirror Type mirror.
+     * @param className Class name.
+     * @return True if the type mirror represents the class, false otherwise.
+     */
+    private boolean isType(final TypeMirror mirror, final String className)
+    {
+        return mirror.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) mirror).asElement()).getQualifiedName().contentEquals(className);
+    }
+
+    /**
+     * Returns the name of the generated resolver class of a type ({@code Outer_InnerLocalizer} for a nested type).
+     * @param type Type.
+     * @return Generated class simple name.
+     */
+    static String getLocalizerName(final TypeElement type)
+    {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement)
+        {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name.append(SUFFIX).toString();
+    }
+
+    /**
+     * Writes the generated resolver class.
+     * @param type Type containing the annotated elements.
+     * @param elements Annotated elements (originating elements).
+     * @param packageName Package name.
+     * @param className Generated class name.
+     * @param typeName Type name.
+     * @param localizer Does the generated class have to implement the {@code Localizer} interface?
+     * @param body Generated class body.
+     */
+    private void write(final TypeElement type, final List<Element> elements, final String packageName, final String className,
+                       final String typeName, final boolean localizer, final StringBuilder body)
+    {
+        try
+        {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? className : packageName + "." + className,
+                    elements.toArray(new Element[0]));
+
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer))
+            {
+                if (!packageName.isEmpty())
+                {
+                    out.print("package " + packageName + ";\n\n");
+                }
+
+                out.print("/**\n");
+                out.print(" * Generated resolver of the elements of {@link " + type.getQualifiedName()
+                        + "} annotated with the {@link " + LOCALIZE + "} annotation.\n");
+                out.print(" */\n");
+                out.print("@javax.annotation.processing.Generated(\"" + LocalizeProcessor.class.getName() + "\")\n");
+                out.print("public final class " + className
+                        + (localizer ? " implements " + LOCALIZER + "<" + typeName + ">" : "") + "\n");
+                out.print("{\n");
+                out.print(body.toString().replaceAll("\n+$", "\n"));
+                out.print("}\n");
+            }
+        }
+        catch (IOException e)
+        {
+            error(type, "Cannot generate class: '%s' due to: %s", className, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the constant name (upper snake case) of the given camel case name.
+     * @param name Camel case name.
+     * @return Constant name.
+     */
+    private static String getConstantName(final String name)
+    {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Capitalizes the given text.
+     * @param text Text.
+     * @return Capitalized text.
+     */
+    private static String capitalize(final String text)
+    {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    /**
+     * Reports an error.
+     * @param element Element the error relates to.
+     * @param format Message format.
+     * @param arguments Message arguments.
+     */
+    private void error(final Element element, final String format, final Object... arguments)
+    {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, arguments), element);
+    }
+
+    /**
+     * Reports a warning.
+     * @param element Element the warning relates to.
+     * @param format Message format.
+     * @param arguments Message arguments.
+     */
+    private void warning(final Element element, final String format, final Object... arguments)
+    {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format(format, arguments), element);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.processor;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@code Localize} bundle or key template (for example: {@code country.${this}.name} or
+ * {@code day.LOWER(${day}).name}) pre-split at compile time into its literal and variable segments.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class LocalizeTemplate
+{
+    /**
+     * Variable segment prefix.
+     */
+    private static final String VARIABLE_PREFIX = "${";
+
+    /**
+     * Variable segment suffix.
+     */
+    private static final String VARIABLE_SUFFIX = "}";
+
+    /**
+     * Case function enumeration class name.
+     */
+    private static final String CASE_FUNCTION = "org.ressec.lychee.localization.base.CaseFunction";
+
+    /**
+     * Names of the case functions that can wrap a variable.
+     */
+    private static final Set<String> CASE_FUNCTIONS = new HashSet<>(Arrays.asList("LOWER", "UPPER", "CAPITALIZE", "CAPFIRST", "CAPFIRSTALL"));
+
+    /**
+     * Template segments.
+     */
+    private final List<Segment> segments;
+
+    /**
+     * Creates a new template.
+     * @param segments Template segments.
+     */
+    private LocalizeTemplate(final List<Segment> segments)
+    {
+        this.segments = segments;
+    }
+
+    /**
+     * Parses a template.
+     * @param template Template to parse.
+     * @return Parsed template.
+     * @throws IllegalArgumentException Thrown in case the template is malformed.
+     */
+    static LocalizeTemplate parse(final String template)
+    {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+
+        while (position < template.length())
+        {
+            int start = template.indexOf(VARIABLE_PREFIX, position);
+            if (start < 0)
+            {
+                literal.append(template, position, template.length());
+                break;
+            }
+
+            int end = template.indexOf(VARIABLE_SUFFIX, start);
+            if (end < 0)
+            {
+                throw new IllegalArgumentException(String.format("Unclosed variable at position: %d of template: '%s'", start, template));
+            }
+
+            String name = template.substring(start + VARIABLE_PREFIX.length(), end).trim();
+            if (name.isEmpty())
+            {
+                throw new IllegalArgumentException(String.format("Empty variable at position: %d of template: '%s'", start, template));
+            }
+
+            literal.append(template, position, start);
+            position = end + VARIABLE_SUFFIX.length();
+
+            // Is the variable wrapped by a case function such as: LOWER(${name})?
+            String function = null;
+            if (position < template.length() && template.charAt(position) == ')')
+            {
+                function = findFunction(literal);
+                if (function != null)
+                {
+                    literal.setLength(literal.length() - function.length() - 1);
+                    position++;
+                }
+            }
+
+            if (literal.length() > 0)
+            {
+                segments.add(new Segment(literal.toString(), false, null));
+                literal.setLength(0);
+            }
+
+            segments.add(new Segment(name, true, function));
+        }
+
+        if (literal.length() > 0)
+        {
+            segments.add(new Segment(literal.toString(), false, null));
+        }
+
+        return new LocalizeTemplate(Collections.unmodifiableList(segments));
+    }
+
+    /**
+     * Finds the case function whose opening (for example: {@code LOWER(}) ends the given literal.
+     * @param literal Literal preceding a variable.
+     * @return Case function name or {@code null} if none.
+     */
+    private static String findFunction(final StringBuilder literal)
+    {
+        int open = literal.length() - 1;
+        if (open < 0 || literal.charAt(open) != '(')
+        {
+            return null;
+        }
+
+        int start = open;
+        while (start > 0 && Character.isUpperCase(literal.charAt(start - 1)))
+        {
+            start--;
+        }
+
+        String name = literal.substring(start, open);
+        return CASE_FUNCTIONS.contains(name) ? name : null;
+    }
+
+    /**
+     * Returns the names of the variables used by the template.
+     * @return List of variable names.
+     */
+    List<String> getVariables()
+    {
+        List<String> variables = new ArrayList<>();
+        for (Segment segment : segments)
+        {
+            if (segment.variable)
+            {
+                variables.add(segment.text);
+            }
+        }
+
+        return variables;
+    }
+
+    /**
+     * Returns the Java expression building the expanded template.
+     * @param accessor Function returning the Java expression accessing the value of a variable.
+     * @return Java expression.
+     */
+    String toExpression(final UnaryOperator<String> accessor)
+    {
+        if (segments.isEmpty())
+        {
+            return "\"\"";
+        }
+
+        StringBuilder expression = new StringBuilder();
+        for (Segment segment : segments)
+        {
+            if (expression.length() > 0)
+            {
+                expression.append(" + ");
+            }
+
+            if (!segment.variable)
+            {
+                expression.append(quote(segment.text));
+            }
+            else if (segment.function != null)
+            {
+                expression.append(CASE_FUNCTION).append('.').append(segment.function)
+                        .append(".apply(String.valueOf(").append(accessor.apply(segment.text)).append("))");
+            }
+            else
+            {
+                expression.append("String.valueOf(").append(accessor.apply(segment.text)).append(')');
+            }
+        }
+
+        return expression.toString();
+    }
+
+    /**
+     * Returns the Java string literal representing the given text.
+     * @param text Text.
+     * @return Java string literal.
+     */
+    static String quote(final String text)
+    {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : text.toCharArray())
+        {
+            switch (c)
+            {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7E)
+                    {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    }
+                    else
+                    {
+                        literal.append(c);
+                    }
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    /**
+     * A template segment (literal text or variable name).
+     */
+    private static final class Segment
+    {
+        private final String text;
+        private final boolean variable;
+        private final String function;
+
+        /**
+         * Creates a new segment.
+         * @param text Literal text or variable name.
+         * @param variable Is it a variable segment?
+         * @param function Name of the case function applied to the variable or {@code null} if none.
+         */
+        Segment(final String text, final boolean variable, final String function)
+        {
+            this.text = text;
+            this.variable = variable;
+            this.function = function;
+        }
+    }
+}
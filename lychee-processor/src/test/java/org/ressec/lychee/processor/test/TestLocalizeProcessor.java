@@ -0,0 +1,279 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.processor.test;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.ressec.lychee.processor.LocalizeProcessor;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A class for unit testing the {@link LocalizeProcessor} annotation processor.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Tag("i18n")
+@Tag("processor")
+final class TestLocalizeProcessor
+{
+    private static final String LOCALIZE = "package org.ressec.lychee.localization.base;\n"
+            + "public @interface Localize { String bundle() default \"\"; String key() default \"\"; }";
+
+    private static final String LOCALIZABLE = "package org.ressec.lychee.localization.base;\n"
+            + "public interface Localizable extends java.io.Serializable {}";
+
+    private static final String LOCALIZER = "package org.ressec.lychee.localization.base;\n"
+            + "public interface Localizer<T extends Localizable> { void localize(T instance, java.util.Locale locale); }";
+
+    private static final String TABLE = "package org.ressec.lychee.localization.bundle;\n"
+            + "public final class LocalizedEnumTable<E extends Enum<E>> {\n"
+            + "  public LocalizedEnumTable(Class<E> type, java.util.function.Function<E, String> bundle, java.util.function.Function<E, String> key) {}\n"
+            + "  public String get(E constant, java.util.Locale locale) { return null; }\n"
+            + "}";
+
+    @Test
+    @DisplayName("Should generate static resolvers for annotated enum methods")
+    final void shouldGenerateEnumResolvers()
+    {
+        Compilation compilation = compile("org.test.SeasonType",
+                "package org.test;\n"
+                        + "import org.ressec.lychee.localization.base.Localize;\n"
+                        + "public enum SeasonType {\n"
+                        + "  SPRING;\n"
+                        + "  @Localize(bundle = \"i18n/season\", key = \"season.definition\")\n"
+                        + "  public static String getTermDefinition(java.util.Locale locale) { return null; }\n"
+                        + "  @Localize(bundle = \"i18n/season\", key = \"season.${this}.name\")\n"
+                        + "  public String getName(java.util.Locale locale) { return null; }\n"
+                        + "}");
+
+        Assertions.assertTrue(compilation.errors.isEmpty(), compilation.errors::toString);
+
+        String source = compilation.getSource("org.test.SeasonTypeLocalizer");
+        Assertions.assertTrue(source.contains("public final class SeasonTypeLocalizer\n"));
+        Assertions.assertTrue(source.contains("public static String getTermDefinition(final java.util.Locale locale)"));
+        Assertions.assertTrue(source.contains("resolve(\"i18n/season\", \"season.definition\", locale)"));
+        Assertions.assertTrue(source.contains("public static String getName(final org.test.SeasonType instance, final java.util.Locale locale)"));
+        Assertions.assertTrue(source.contains("private static final org.ressec.lychee.localization.bundle.LocalizedEnumTable<org.test.SeasonType> GET_NAME"));
+        Assertions.assertTrue(source.contains("instance -> \"season.\" + String.valueOf(instance) + \".name\""));
+        Assertions.assertTrue(source.contains("return GET_NAME.get(instance, locale);"));
+    }
+
+    @Test
+    @DisplayName("Should generate a localizer for the annotated fields of a localizable class")
+    final void shouldGenerateFieldLocalizer()
+    {
+        Compilation compilation = compile("org.test.Calendar",
+                "package org.test;\n"
+                        + "import org.ressec.lychee.localization.base.*;\n"
+                        + "public class Calendar implements Localizable {\n"
+                        + "  private String day;\n"
+                        + "  String month;\n"
+                        + "  @Localize(bundle = \"i18n/day\", key = \"day.${day}.name\")\n"
+                        + "  private String dayName;\n"
+                        + "  @Localize(bundle = \"i18n/month\", key = \"month.${month}.name\")\n"
+                        + "  String monthName;\n"
+                        + "  public String getDay() { return day; }\n"
+                        + "  public void setDayName(String dayName) { this.dayName = dayName; }\n"
+                        + "}");
+
+        Assertions.assertTrue(compilation.errors.isEmpty(), compilation.errors::toString);
+
+        String source = compilation.getSource("org.test.CalendarLocalizer");
+        Assertions.assertTrue(source.contains("implements org.ressec.lychee.localization.base.Localizer<org.test.Calendar>"));
+        Assertions.assertTrue(source.contains("instance.setDayName(org.ressec.lychee.localization.bundle.ResourceBundleManager.getInstance()"
+                + ".resolve(\"i18n/day\", \"day.\" + String.valueOf(instance.getDay()) + \".name\", locale));"));
+        Assertions.assertTrue(source.contains("instance.monthName = org.ressec.lychee.localization.bundle.ResourceBundleManager.getInstance()"
+                + ".resolve(\"i18n/month\", \"month.\" + String.valueOf(instance.month) + \".name\", locale);"));
+    }
+
+    @Test
+    @DisplayName("Should generate case function invocations for wrapped variables")
+    final void shouldGenerateCaseFunctions()
+    {
+        Compilation compilation = compile("org.test.MonthType",
+                "package org.test;\n"
+                        + "import org.ressec.lychee.localization.base.Localize;\n"
+                        + "public enum MonthType {\n"
+                        + "  JUNE;\n"
+                        + "  @Localize(bundle = \"i18n/month\", key = \"month.LOWER(${this}).FOO(${this})\")\n"
+                        + "  public String getName(java.util.Locale locale) { return null; }\n"
+                        + "}");
+
+        Assertions.assertTrue(compilation.errors.isEmpty(), compilation.errors::toString);
+
+        String source = compilation.getSource("org.test.MonthTypeLocalizer");
+        Assertions.assertTrue(source.contains("\"month.\" + org.ressec.lychee.localization.base.CaseFunction.LOWER.apply(String.valueOf(instance))"
+                + " + \".FOO(\" + String.valueOf(instance) + \")\""));
+    }
+
+    @Test
+    @DisplayName("Should report an error when an annotation uses an unknown variable")
+    final void shouldReportUnknownVariable()
+    {
+        Compilation compilation = compile("org.test.Unknown",
+                "package org.test;\n"
+                        + "import org.ressec.lychee.localization.base.Localize;\n"
+                        + "public enum Unknown {\n"
+                        + "  A;\n"
+                        + "  @Localize(bundle = \"i18n/unknown\", key = \"unknown.${code}.name\")\n"
+                        + "  public String getName(java.util.Locale locale) { return null; }\n"
+                        + "}");
+
+        Assertions.assertEquals(1, compilation.errors.size());
+        Assertions.assertTrue(compilation.errors.get(0).contains("${code}"));
+        Assertions.assertNull(compilation.sources.get("org.test.UnknownLocalizer"));
+    }
+
+    @Test
+    @DisplayName("Should report an error when a static annotated method uses a variable")
+    final void shouldReportVariableInStaticMethod()
+    {
+        Compilation compilation = compile("org.test.Static",
+                "package org.test;\n"
+                        + "import org.ressec.lychee.localization.base.Localize;\n"
+                        + "public enum Static {\n"
+                        + "  A;\n"
+                        + "  @Localize(bundle = \"i18n/static\", key = \"static.${this}.name\")\n"
+                        + "  public static String getName(java.util.Locale locale) { return null; }\n"
+                        + "}");
+
+        Assertions.assertEquals(1, compilation.errors.size());
+        Assertions.assertTrue(compilation.errors.get(0).contains("is static"));
+    }
+
+    @Test
+    @DisplayName("Should report an error when an annotation has no key")
+    final void shouldReportMissingKey()
+    {
+        Compilation compilation = compile("org.test.NoKey",
+                "package org.test;\n"
+                        + "import org.ressec.lychee.localization.base.Localize;\n"
+                        + "public enum NoKey {\n"
+                        + "  A;\n"
+                        + "  @Localize(bundle = \"i18n/nokey\")\n"
+                        + "  public String getName(java.util.Locale locale) { return null; }\n"
+                        + "}");
+
+        Assertions.assertEquals(1, compilation.errors.size());
+        Assertions.assertTrue(compilation.errors.get(0).contains("'key'"));
+    }
+
+    /**
+     * Runs the annotation processor (only) on the given source.
+     * @param className Class name.
+     * @param source Class source.
+     * @return Compilation result.
+     */
+    private static Compilation compile(final String className, final String source)
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Compilation compilation = new Compilation();
+
+        JavaFileManager manager = new ForwardingJavaFileManager<>(compiler.getStandardFileManager(diagnostics, Locale.ENGLISH, StandardCharsets.UTF_8))
+        {
+            @Override
+            public JavaFileObject getJavaFileForOutput(final Location location, final String name, final JavaFileObject.Kind kind, final FileObject sibling)
+            {
+                return new SimpleJavaFileObject(URI.create("mem:///" + name.replace('.', '/') + kind.extension), kind)
+                {
+                    @Override
+                    public OutputStream openOutputStream()
+                    {
+                        return new ByteArrayOutputStream()
+                        {
+                            @Override
+                            public void close()
+                            {
+                                compilation.sources.put(name, toString(StandardCharsets.UTF_8));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public CharSequence getCharContent(final boolean ignoreEncodingErrors)
+                    {
+                        return compilation.sources.get(name);
+                    }
+                };
+            }
+        };
+
+        List<JavaFileObject> units = Arrays.asList(
+                source("org.ressec.lychee.localization.base.Localize", LOCALIZE),
+                source("org.ressec.lychee.localization.base.Localizable", LOCALIZABLE),
+                source("org.ressec.lychee.localization.base.Localizer", LOCALIZER),
+                source("org.ressec.lychee.localization.bundle.LocalizedEnumTable", TABLE),
+                source(className, source));
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, manager, diagnostics, Collections.singletonList("-proc:only"), null, units);
+        task.setProcessors(Collections.singletonList(new LocalizeProcessor()));
+        task.call();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+        {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            {
+                compilation.errors.add(diagnostic.getMessage(Locale.ENGLISH));
+            }
+        }
+
+        return compilation;
+    }
+
+    /**
+     * Creates an in-memory source file.
+     * @param className Class name.
+     * @param source Class source.
+     * @return Source file.
+     */
+    private static JavaFileObject source(final String className, final String source)
+    {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE)
+        {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors)
+            {
+                return source;
+            }
+        };
+    }
+
+    /**
+     * Result of a compilation.
+     */
+    private static final class Compilation
+    {
+        private final Map<String, String> sources = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+
+        /**
+         * Returns a generated source.
+         * @param className Generated class name.
+         * @return Generated source.
+         */
+        String getSource(final String className)
+        {
+            String source = sources.get(className);
+            Assertions.assertNotNull(source, () -> "No source generated for: " + className + ", generated: " + sources.keySet());
+            return source;
+        }
+    }
+}
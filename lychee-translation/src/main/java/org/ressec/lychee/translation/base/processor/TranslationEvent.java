@@ -0,0 +1,82 @@
+/*
+ * Copyright(c) 2021 by Resse Christophe.
+ * --------------------------------------------------------------------------------------
+ * This file is part of Resse Christophe public projects which is licensed
+ * under the Apache license version 2 and use is subject to license terms.
+ * You should have received a copy of the license with the project's artifact
+ * binaries and/or sources.
+ *
+ * License can be consulted at http://www.apache.org/licenses/LICENSE-2.0
+ * --------------------------------------------------------------------------------------
+ */
+package org.ressec.lychee.translation.base.processor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.NonNull;
+import org.ressec.lychee.translation.base.TranslationApiVersionType;
+import org.ressec.lychee.translation.base.operation.ITranslationOperation;
+
+/**
+ * A JDK Flight Recorder event emitted for each call of a remote translation API by a {@link TranslationProcessor}.
+ * <p>
+ * Only the calls lasting at least the event threshold (0 ms by default) are recorded. As any JFR setting, the
+ * threshold can be changed for a recording (for example using a {@code .jfc} settings file).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Name(TranslationEvent.NAME)
+@Label("Translation")
+@Description("Call of a remote translation API")
+@Category({ "Lychee", "Translation" })
+@StackTrace(false)
+@Threshold("0 ms")
+final class TranslationEvent extends Event
+{
+    /**
+     * Name of the event.
+     */
+    static final String NAME = "org.ressec.lychee.Translation";
+
+    @Label("Engine")
+    @Description("Translation API")
+    String engine;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Source Language")
+    String sourceLanguage;
+
+    @Label("Target Language")
+    String targetLanguage;
+
+    @Label("HTTP Status")
+    @Description("HTTP status code of the response, 0 if no response has been received")
+    int status;
+
+    /**
+     * Commits the event if it has to be recorded.
+     * @param api Translation API.
+     * @param operation Translation operation.
+     * @param status HTTP status code of the response, 0 if no response has been received.
+     */
+    void record(final TranslationApiVersionType api, final @NonNull ITranslationOperation operation, final int status)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.engine = api != null ? api.name() : null;
+            this.operation = operation.getOperationType() != null ? operation.getOperationType().name() : null;
+            this.sourceLanguage = operation.getSourceLanguage() != null ? operation.getSourceLanguage().toLanguageTag() : null;
+            this.targetLanguage = operation.getTargetLanguage() != null ? operation.getTargetLanguage().toLanguageTag() : null;
+            this.status = status;
+            commit();
+        }
+    }
+}
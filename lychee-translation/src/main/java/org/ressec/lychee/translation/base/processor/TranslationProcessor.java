@@ -15,6 +15,7 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
@@ -58,6 +59,12 @@ public abstract class TranslationProcessor implements ITranslationProcessor
     @Getter
     protected TranslationApiVersionType api;
 
+    /**
+     * Endpoint URL the translation API is called at or {@code null} to call the URL of the translation API version.
+     */
+    @Setter
+    private String endpoint;
+
     /**
      * Gson builder.
      */
@@ -111,10 +118,21 @@ public abstract class TranslationProcessor implements ITranslationProcessor
 
                         http = new HttpGet(url);
                         http.setHeader( "Accept", "application/json" );
+                        TranslationEvent event = new TranslationEvent();
+                        event.begin();
                         start = Instant.now();
-                        response = httpClient.execute(new HttpGet(url));
+                        try
+                        {
+                            response = httpClient.execute(new HttpGet(url));
+                        }
+                        catch (IOException e)
+                        {
+                            event.record(api, operation, 0);
+                            throw e;
+                        }
                         stop = Instant.now();
                         statusLine = response.getStatusLine();
+                        event.record(api, operation, statusLine.getStatusCode());
 
                         if (statusLine.getStatusCode() == HttpStatus.SC_OK)
                         {
@@ -177,6 +195,16 @@ public abstract class TranslationProcessor implements ITranslationProcessor
 
     protected abstract String buildUrl(final @NonNull ITranslationOperation operation);
 
+    /**
+     * Returns the endpoint URL the translation API is called at: the one set (for example a local fake endpoint) if
+     * any, the URL of the translation API version otherwise.
+     * @return Endpoint URL.
+     */
+    public final String getEndpoint()
+    {
+        return endpoint != null ? endpoint : api.getUrl();
+    }
+
     /**
      * Extracts the response string from the received HTTP response.
      * @param response HTTP response.
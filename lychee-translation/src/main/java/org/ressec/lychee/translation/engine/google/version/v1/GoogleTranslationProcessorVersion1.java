@@ -62,7 +62,7 @@ public final class GoogleTranslationProcessorVersion1 extends TranslationProcess
     @Override
     protected String buildUrl(final @NonNull ITranslationOperation operation)
     {
-        StringBuilder url = new StringBuilder(getApi().getUrl());
+        StringBuilder url = new StringBuilder(getEndpoint());
         String textEncoded = null;
 
         if (operation.getText() != null)
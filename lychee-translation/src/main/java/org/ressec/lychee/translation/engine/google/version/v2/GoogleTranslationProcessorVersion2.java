@@ -70,7 +70,7 @@ public final class GoogleTranslationProcessorVersion2 extends TranslationProcess
 
     protected String buildUrl(final @NonNull ITranslationOperation operation)
     {
-        StringBuilder url = new StringBuilder(getApi().getUrl());
+        StringBuilder url = new StringBuilder(getEndpoint());
         String textEncoded = null;
 
         if (operation.getText() != null)